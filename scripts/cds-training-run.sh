@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Builds the startup-optimized JAR and records a CDS archive from a training run.
+#
+# 1. Packages the application with Spring AOT processing (-Paot)
+# 2. Extracts the executable JAR, which CDS requires (classes must be loaded from plain JARs)
+# 3. Starts the application once with -Dspring.context.exit=onRefresh, dumping every class
+#    loaded during startup into target/cds/application.jsa
+#
+# Start the optimized application with:
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true \
+#        -jar target/cds/pricing-service-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ARTIFACT=pricing-service-0.0.1-SNAPSHOT.jar
+CDS_DIR=target/cds
+
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+  mvn -B -q -Paot -DskipTests package
+fi
+
+rm -rf "$CDS_DIR"
+java -Djarmode=tools -jar "target/$ARTIFACT" extract --destination "$CDS_DIR"
+
+java -XX:ArchiveClassesAtExit="$CDS_DIR/application.jsa" \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar "$CDS_DIR/$ARTIFACT"
+
+echo "CDS archive written to $CDS_DIR/application.jsa"
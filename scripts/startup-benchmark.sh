@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Measures startup time and first-request latency of the plain JAR against the
+# AOT + CDS build produced by scripts/cds-training-run.sh.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+ARTIFACT=pricing-service-0.0.1-SNAPSHOT.jar
+URL="http://localhost:$PORT/api/v1/prices?applicationDate=2020-06-14T10:00:00&productId=35455&brandId=1"
+
+if [[ ! -f "target/cds/application.jsa" ]]; then
+  echo "Missing target/cds/application.jsa, run scripts/cds-training-run.sh first" >&2
+  exit 1
+fi
+
+# Runs the given command RUNS times and prints the average startup and first-request latency.
+measure() {
+  local label=$1; shift
+  local startup_total=0 first_total=0
+
+  for ((i = 1; i <= RUNS; i++)); do
+    local log
+    log=$(mktemp)
+    "$@" --server.port="$PORT" --spring.jpa.show-sql=false --logging.level.root=INFO > "$log" 2>&1 &
+    local pid=$!
+
+    until grep -q "Started PricingServiceApplication" "$log"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        cat "$log" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+
+    local startup first
+    startup=$(grep -o "Started PricingServiceApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]*" | head -1)
+    first=$(curl -s -o /dev/null -w "%{time_total}" "$URL")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+
+    startup_total=$(awk "BEGIN { print $startup_total + $startup }")
+    first_total=$(awk "BEGIN { print $first_total + $first }")
+  done
+
+  awk -v label="$label" -v startup="$startup_total" -v first="$first_total" -v runs="$RUNS" \
+    'BEGIN { printf "%-12s startup %6.3f s   first request %7.1f ms\n", label, startup / runs, first * 1000 / runs }'
+}
+
+measure "plain" java -jar "target/$ARTIFACT"
+measure "aot+cds" java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true \
+  -jar "target/cds/$ARTIFACT"
@@ -1,9 +1,12 @@
 package com.capitole.ecommerce.pricing;
 
+import com.capitole.ecommerce.pricing.infrastructure.config.PricingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(PricingRuntimeHints.class)
 public class PricingServiceApplication {
 
 	public static void main(String[] args) {
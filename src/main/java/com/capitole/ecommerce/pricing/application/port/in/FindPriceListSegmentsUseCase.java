@@ -0,0 +1,25 @@
+package com.capitole.ecommerce.pricing.application.port.in;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Input port for finding every product and period where a price list is the applicable one.
+ * Used when a price list is edited or withdrawn, to purge the caches and re-index the search
+ * of exactly the products it affects.
+ */
+public interface FindPriceListSegmentsUseCase {
+
+    /**
+     * Streams the periods won by a price list over all products and brands.
+     *
+     * @param priceList The price list
+     * @param activeAfter Only periods still running after this date are streamed, null for all of them
+     * @param action Receives the periods, ordered by product, brand and start date
+     * @return Number of periods streamed
+     * @throws IllegalArgumentException if the price list is not positive
+     */
+    long forEachSegment(int priceList, LocalDateTime activeAfter, Consumer<PriceSegment> action);
+}
@@ -1,6 +1,7 @@
 package com.capitole.ecommerce.pricing.application.port.in;
 
 
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
 import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
 import com.capitole.ecommerce.pricing.domain.model.Price;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
@@ -21,6 +22,7 @@ public interface GetPriceUseCase {
      * @return The applicable price with the highest priority
      * @throws PriceNotFoundException if no price is found matching the criteria
      * @throws IllegalArgumentException if the query contains invalid data
+     * @throws DeadlineExceededException if the query's deadline passes before the price is found
      */
     Price getPrice(PriceQuery query);
 }
\ No newline at end of file
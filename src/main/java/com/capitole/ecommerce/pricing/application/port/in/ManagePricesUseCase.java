@@ -0,0 +1,40 @@
+package com.capitole.ecommerce.pricing.application.port.in;
+
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+
+/**
+ * Input port for maintaining the stored prices.
+ * Every successful write is visible to the lookups of this instance once it returns.
+ */
+public interface ManagePricesUseCase {
+
+    /**
+     * @param id The price identifier
+     * @return The stored price
+     * @throws PriceNotFoundException if no price has this identifier
+     */
+    Price findPrice(Long id);
+
+    /**
+     * @param price The price to store, without identifier
+     * @return The stored price, with its identifier
+     */
+    Price createPrice(Price price);
+
+    /**
+     * Replaces a stored price, possibly moving it to another product or brand.
+     *
+     * @param id The price identifier
+     * @param price The new values of the price
+     * @return The stored price
+     * @throws PriceNotFoundException if no price has this identifier
+     */
+    Price updatePrice(Long id, Price price);
+
+    /**
+     * @param id The price identifier
+     * @throws PriceNotFoundException if no price has this identifier
+     */
+    void deletePrice(Long id);
+}
@@ -0,0 +1,48 @@
+package com.capitole.ecommerce.pricing.application.port.in;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+
+import java.util.Set;
+
+/**
+ * Input port for following the effective price of products over time.
+ * Instead of polling, subscribers are told the current price of every key
+ * and then notified exactly when a scheduled price starts or ends.
+ */
+public interface WatchPriceChangesUseCase {
+
+    /**
+     * Subscribes to the effective price changes of the given products and brands.
+     * The listener immediately receives the current state of every key, then one notification per change.
+     *
+     * @param keys The products and brands to follow
+     * @param listener Receiver of the notifications, called from scheduler threads
+     * @return Handle to cancel the subscription
+     * @throws IllegalArgumentException if no key is given
+     */
+    Subscription watch(Set<PriceKey> keys, Listener listener);
+
+    /**
+     * Receiver of effective price changes.
+     */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * @param change The new effective price of a followed key
+         */
+        void onChange(PriceChange change);
+    }
+
+    /**
+     * Handle of an active subscription.
+     */
+    interface Subscription {
+
+        /**
+         * Stops the notifications. Safe to call more than once.
+         */
+        void cancel();
+    }
+}
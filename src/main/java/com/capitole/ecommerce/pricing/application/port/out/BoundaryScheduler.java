@@ -0,0 +1,31 @@
+package com.capitole.ecommerce.pricing.application.port.out;
+
+import java.time.Instant;
+
+/**
+ * Output port for running tasks at price boundaries.
+ * Implementations are expected to handle a very large number of pending tasks cheaply,
+ * trading some precision (a scheduler tick) for it.
+ */
+public interface BoundaryScheduler {
+
+    /**
+     * Schedules a task. Tasks due in the past run on the next tick.
+     *
+     * @param at When the task should run
+     * @param task The task
+     * @return Handle to cancel the task
+     */
+    Scheduled schedule(Instant at, Runnable task);
+
+    /**
+     * Handle of a scheduled task.
+     */
+    interface Scheduled {
+
+        /**
+         * Cancels the task if it did not run yet.
+         */
+        void cancel();
+    }
+}
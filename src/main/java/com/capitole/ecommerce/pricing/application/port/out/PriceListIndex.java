@@ -0,0 +1,24 @@
+package com.capitole.ecommerce.pricing.application.port.out;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Output port for the reverse index of resolved prices: from a price list to the periods where it wins.
+ * Unlike the prices of a price list, the segments leave out every period where a price of another list
+ * has a higher priority.
+ */
+public interface PriceListIndex {
+
+    /**
+     * Streams the segments won by a price list, without loading them all in memory.
+     *
+     * @param priceList The price list
+     * @param endingAfter Only segments ending after this date are streamed, null for all of them
+     * @param action Receives the segments, ordered by product, brand and start date
+     * @return Number of segments streamed
+     */
+    long forEachSegment(int priceList, LocalDateTime endingAfter, Consumer<PriceSegment> action);
+}
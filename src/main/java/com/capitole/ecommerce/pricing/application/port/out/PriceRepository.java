@@ -1,16 +1,24 @@
 package com.capitole.ecommerce.pricing.application.port.out;
 
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
 import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Output port for price persistence operations.
- * This interface defines the contract for retrieving prices from the data store.
+ * This interface defines the contract for retrieving and storing prices in the data store.
  *
  * Following hexagonal architecture, this port is implemented by infrastructure adapters
  * (e.g., JPA adapter) and called by the application service.
+ *
+ * Calls run in the workload class (interactive, bulk, background) that the adapter receiving the request bound
+ * to the calling thread; implementations that query a data store take their connections from the share
+ * of the pool reserved for that class, so one class cannot exhaust the connections of the others.
  */
 public interface PriceRepository {
 
@@ -23,8 +31,58 @@ public interface PriceRepository {
      * 2. Filter those where applicationDate is between startDate and endDate
      * 3. Return the one with highest priority
      *
+     * Implementations that query a data store bound the query by the remaining budget of the query's deadline.
+     *
      * @param query The search criteria containing application date, product ID, and brand ID
      * @return Optional containing the applicable price with highest priority, or empty if none found
+     * @throws DeadlineExceededException if the query's deadline passes before the price is found
      */
     Optional<Price> findApplicablePrice(PriceQuery query);
-}
\ No newline at end of file
+
+    /**
+     * Finds every price of a product and brand, whatever its validity period.
+     * Used by callers that resolve several dates of the same product and brand from one load.
+     *
+     * Implementations that query a data store, or wait for another caller's load, bound the wait
+     * by the remaining budget of the deadline.
+     *
+     * @param key The product and brand
+     * @param deadline When the caller stops waiting for the prices, {@link Deadline#NONE} if it waits for them
+     * @return All prices of the product and brand, ordered by start date
+     * @throws DeadlineExceededException if the deadline passes before the prices are loaded
+     */
+    List<Price> findPrices(PriceKey key, Deadline deadline);
+
+    /**
+     * Finds every price of a product and brand, however long it takes.
+     *
+     * @param key The product and brand
+     * @return All prices of the product and brand, ordered by start date
+     */
+    default List<Price> findPrices(PriceKey key) {
+        return findPrices(key, Deadline.NONE);
+    }
+
+    /**
+     * Finds a stored price by its identifier.
+     *
+     * @param id The price identifier
+     * @return Optional containing the price, or empty if none has this identifier
+     */
+    Optional<Price> findById(Long id);
+
+    /**
+     * Stores a price: inserts it when it has no identifier, otherwise replaces the price with its identifier.
+     *
+     * @param price The price to store
+     * @return The stored price, with its identifier
+     */
+    Price save(Price price);
+
+    /**
+     * Deletes a stored price.
+     *
+     * @param id The price identifier
+     */
+    void deleteById(Long id);
+}
@@ -0,0 +1,234 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import com.capitole.ecommerce.pricing.application.port.in.WatchPriceChangesUseCase;
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Application service implementing the WatchPriceChanges use case.
+ * Every followed key keeps its precomputed timeline and a single scheduled task at its next boundary,
+ * shared by all subscribers of the key, so the scheduling cost grows with the followed keys
+ * and not with the subscriptions.
+ * When prices are written, only the written keys are re-resolved, and their subscribers are notified
+ * if the effective price or its period changed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceChangeService implements WatchPriceChangesUseCase {
+
+    private final PriceRepository priceRepository;
+    private final BoundaryScheduler boundaryScheduler;
+    private final Clock clock;
+
+    private final Map<PriceKey, WatchedKey> watched = new ConcurrentHashMap<>();
+
+    @Override
+    public Subscription watch(Set<PriceKey> keys, Listener listener) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one product and brand must be watched");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<PriceKey> joined = new ArrayList<>(keys.size());
+        try {
+            for (PriceKey key : keys) {
+                WatchedKey watchedKey = join(key, listener);
+                joined.add(key);
+                watchedKey.scheduleNextAfter(now);
+                listener.onChange(watchedKey.currentChange(now));
+            }
+        } catch (RuntimeException ex) {
+            // A key failed to load: leave no listener behind on the keys joined so far
+            joined.forEach(key -> unwatch(key, listener));
+            throw ex;
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        return () -> {
+            if (cancelled.compareAndSet(false, true)) {
+                keys.forEach(key -> unwatch(key, listener));
+            }
+        };
+    }
+
+    /**
+     * Re-resolves the timelines of the written keys that are followed, once the write has committed.
+     *
+     * @param event The written products and brands
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesChanged(PricesChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (PriceKey key : event.keys()) {
+            WatchedKey watchedKey = watched.get(key);
+            if (watchedKey != null) {
+                watchedKey.replaceTimeline(load(key), now);
+            }
+        }
+    }
+
+    /**
+     * @return Products and brands currently followed by at least one subscriber
+     */
+    public int watchedKeys() {
+        return watched.size();
+    }
+
+    /**
+     * @return Active key subscriptions, summed over all followed keys
+     */
+    public long subscriptions() {
+        return watched.values().stream().mapToLong(watchedKey -> watchedKey.listeners.size()).sum();
+    }
+
+    /**
+     * Adds the listener to a key, following the key first if nobody does yet.
+     * The timeline of a new key is loaded outside the map, so that the round trip locks no other key.
+     */
+    private WatchedKey join(PriceKey key, Listener listener) {
+        WatchedKey watchedKey = join(key, listener, null);
+        return watchedKey != null ? watchedKey : join(key, listener, load(key));
+    }
+
+    private WatchedKey join(PriceKey key, Listener listener, PriceTimeline loaded) {
+        return watched.compute(key, (k, existing) -> {
+            WatchedKey target = existing != null ? existing : loaded != null ? new WatchedKey(loaded) : null;
+            if (target != null) {
+                target.listeners.add(listener);
+            }
+            return target;
+        });
+    }
+
+    private PriceTimeline load(PriceKey key) {
+        return PriceTimeline.resolve(key, priceRepository.findPrices(key));
+    }
+
+    private void unwatch(PriceKey key, Listener listener) {
+        watched.computeIfPresent(key, (k, watchedKey) -> {
+            watchedKey.listeners.remove(listener);
+            if (watchedKey.listeners.isEmpty()) {
+                watchedKey.cancel();
+                return null;
+            }
+            return watchedKey;
+        });
+    }
+
+    /**
+     * A followed key: its timeline, its subscribers and the task scheduled at its next boundary.
+     */
+    private final class WatchedKey {
+
+        private final PriceKey key;
+        private final Set<Listener> listeners = ConcurrentHashMap.newKeySet();
+        private PriceTimeline timeline;
+        private PriceChange lastChange;
+        private LocalDateTime nextBoundary;
+        private BoundaryScheduler.Scheduled scheduled;
+
+        private WatchedKey(PriceTimeline timeline) {
+            this.key = timeline.key();
+            this.timeline = timeline;
+        }
+
+        private synchronized PriceChange currentChange(LocalDateTime now) {
+            PriceChange change = timeline.changeAt(now);
+            if (lastChange == null) {
+                lastChange = change;
+            }
+            return change;
+        }
+
+        private void replaceTimeline(PriceTimeline replacement, LocalDateTime now) {
+            PriceChange change;
+            synchronized (this) {
+                if (watched.get(key) != this) {
+                    return;
+                }
+                cancel();
+                timeline = replacement;
+                scheduleNextAfter(now);
+                change = timeline.changeAt(now);
+                if (change.equals(lastChange)) {
+                    return;
+                }
+                lastChange = change;
+            }
+            notifyListeners(change);
+        }
+
+        private synchronized void scheduleNextAfter(LocalDateTime date) {
+            if (scheduled != null) {
+                return;
+            }
+            timeline.nextChangeAfter(date).ifPresent(boundary -> {
+                nextBoundary = boundary;
+                scheduled = boundaryScheduler.schedule(boundary.atZone(clock.getZone()).toInstant(), this::onBoundary);
+            });
+        }
+
+        private void onBoundary() {
+            LocalDateTime boundary;
+            PriceChange change;
+            synchronized (this) {
+                if (watched.get(key) != this || nextBoundary == null) {
+                    return;
+                }
+                boundary = nextBoundary;
+                scheduled = null;
+                nextBoundary = null;
+                if (LocalDateTime.now(clock).isBefore(boundary)) {
+                    // Fired early (the scheduler ticks on its own clock): wait for the actual boundary
+                    nextBoundary = boundary;
+                    scheduled = boundaryScheduler.schedule(boundary.atZone(clock.getZone()).toInstant(), this::onBoundary);
+                    return;
+                }
+                scheduleNextAfter(boundary);
+                change = timeline.changeAt(boundary);
+                lastChange = change;
+            }
+            notifyListeners(change);
+        }
+
+        private void notifyListeners(PriceChange change) {
+            log.debug("Effective price of {} changed at {}: {}", key, change.effectiveFrom(), change.price());
+            for (Listener listener : List.copyOf(listeners)) {
+                try {
+                    listener.onChange(change);
+                } catch (RuntimeException ex) {
+                    log.warn("Price change listener of {} failed: {}", key, ex.getMessage());
+                }
+            }
+        }
+
+        private synchronized void cancel() {
+            if (scheduled != null) {
+                scheduled.cancel();
+                scheduled = null;
+            }
+            nextBoundary = null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import com.capitole.ecommerce.pricing.application.port.in.ManagePricesUseCase;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Application service implementing the ManagePrices use case.
+ * Every write publishes a PricesChangedEvent with the products and brands it touched,
+ * which the lookup structures use to re-resolve only those once the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceCommandService implements ManagePricesUseCase {
+
+    private final PriceRepository priceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Price findPrice(Long id) {
+        return priceRepository.findById(id).orElseThrow(() -> new PriceNotFoundException(id));
+    }
+
+    @Override
+    @Transactional
+    public Price createPrice(Price price) {
+        if (price.id() != null) {
+            throw new IllegalArgumentException("A new price cannot have an id");
+        }
+
+        Price created = priceRepository.save(price);
+        log.info("Created price id={} for productId={}, brandId={}, priceList={}",
+                created.id(), created.productId(), created.brandId(), created.priceList());
+
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(PriceKey.of(created))));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public Price updatePrice(Long id, Price price) {
+        Price existing = findPrice(id);
+
+        Price updated = priceRepository.save(price.withId(id));
+        log.info("Updated price id={} for productId={}, brandId={}, priceList={}",
+                id, updated.productId(), updated.brandId(), updated.priceList());
+
+        // Both keys change when a price moves to another product or brand
+        Set<PriceKey> changed = new HashSet<>(List.of(PriceKey.of(existing), PriceKey.of(updated)));
+        eventPublisher.publishEvent(new PricesChangedEvent(changed));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public void deletePrice(Long id) {
+        Price existing = findPrice(id);
+
+        priceRepository.deleteById(id);
+        log.info("Deleted price id={} of productId={}, brandId={}", id, existing.productId(), existing.brandId());
+
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(PriceKey.of(existing))));
+    }
+}
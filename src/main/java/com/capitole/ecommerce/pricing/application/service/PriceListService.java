@@ -0,0 +1,37 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import com.capitole.ecommerce.pricing.application.port.in.FindPriceListSegmentsUseCase;
+import com.capitole.ecommerce.pricing.application.port.out.PriceListIndex;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Application service implementing the FindPriceListSegments use case.
+ * The segments are read from the reverse index in a single read-only transaction,
+ * so that the stream is a consistent view even while prices are written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceListService implements FindPriceListSegmentsUseCase {
+
+    private final PriceListIndex priceListIndex;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachSegment(int priceList, LocalDateTime activeAfter, Consumer<PriceSegment> action) {
+        if (priceList <= 0) {
+            throw new IllegalArgumentException("Price list must be positive");
+        }
+
+        long segments = priceListIndex.forEachSegment(priceList, activeAfter, action);
+        log.info("Streamed {} segments of price list {}", segments, priceList);
+        return segments;
+    }
+}
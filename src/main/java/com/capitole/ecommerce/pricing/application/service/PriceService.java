@@ -10,6 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Application service implementing the GetPrice use case.
  * This service orchestrates the business logic for retrieving applicable prices.
@@ -28,10 +30,18 @@ public class PriceService implements GetPriceUseCase {
         log.info("Getting price for productId={}, brandId={}, date={}",
                 query.productId(), query.brandId(), query.applicationDate());
 
-        return priceRepository.findApplicablePrice(query)
-                .orElseThrow(() -> {
-                    log.warn("No price found for query: {}", query);
-                    return new PriceNotFoundException(query);
-                });
+        query.deadline().check("price lookup");
+        PriceServiceEvent event = PriceServiceEvent.start();
+        Optional<Price> price = Optional.empty();
+        try {
+            price = priceRepository.findApplicablePrice(query);
+        } finally {
+            event.complete(query.productId(), query.brandId(), price.isPresent());
+        }
+
+        return price.orElseThrow(() -> {
+            log.warn("No price found for query: {}", query);
+            return new PriceNotFoundException(query);
+        });
     }
 }
@@ -0,0 +1,49 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering a price lookup in the application service, repository layers included.
+ * Fields are only set when the event is recorded, so a disabled event costs no more than its timestamps.
+ */
+@Name(PriceServiceEvent.NAME)
+@Label("Price Service Lookup")
+@Category({"Pricing", "Lookup"})
+@Description("Price lookup through GetPriceUseCase, repository layers included")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PriceServiceEvent extends Event {
+
+    public static final String NAME = "com.capitole.pricing.Service";
+
+    @Label("Product Id")
+    int productId;
+
+    @Label("Brand Id")
+    int brandId;
+
+    @Label("Found")
+    boolean found;
+
+    static PriceServiceEvent start() {
+        PriceServiceEvent event = new PriceServiceEvent();
+        event.begin();
+        return event;
+    }
+
+    void complete(int productId, int brandId, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.productId = productId;
+            this.brandId = brandId;
+            this.found = found;
+            commit();
+        }
+    }
+}
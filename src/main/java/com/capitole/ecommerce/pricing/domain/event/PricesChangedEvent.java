@@ -0,0 +1,24 @@
+package com.capitole.ecommerce.pricing.domain.event;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+
+import java.util.Set;
+
+/**
+ * Domain event published when stored prices are created, updated or deleted.
+ *
+ * @param keys Products and brands whose prices changed
+ */
+public record PricesChangedEvent(
+        Set<PriceKey> keys
+) {
+    /**
+     * Compact constructor with validation.
+     */
+    public PricesChangedEvent {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("Changed keys cannot be empty");
+        }
+        keys = Set.copyOf(keys);
+    }
+}
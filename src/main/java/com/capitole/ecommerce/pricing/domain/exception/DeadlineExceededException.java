@@ -0,0 +1,30 @@
+package com.capitole.ecommerce.pricing.domain.exception;
+
+/**
+ * Exception thrown when a lookup is abandoned because its caller's deadline has passed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String stage;
+
+    /**
+     * @param stage The work that was not started, or was cut short, because of the deadline
+     */
+    public DeadlineExceededException(String stage) {
+        super("Deadline exceeded before " + stage);
+        this.stage = stage;
+    }
+
+    /**
+     * @param stage The work cut short because of the deadline
+     * @param cause The timeout that cut it short
+     */
+    public DeadlineExceededException(String stage, Throwable cause) {
+        super("Deadline exceeded during " + stage, cause);
+        this.stage = stage;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+}
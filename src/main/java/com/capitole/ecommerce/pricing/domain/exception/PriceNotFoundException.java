@@ -27,6 +27,10 @@ public class PriceNotFoundException extends RuntimeException {
         ));
     }
 
+    public PriceNotFoundException(Long priceId) {
+        super(String.format("No price found with id %d", priceId));
+    }
+
     public PriceNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
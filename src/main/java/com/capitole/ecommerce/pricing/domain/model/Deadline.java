@@ -0,0 +1,62 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Point in time after which the caller of a lookup no longer waits for its answer.
+ * Measured on the monotonic clock of this process, so it only travels within the instance;
+ * callers send the budget they grant, and the receiving adapter turns it into a deadline.
+ *
+ * @param expiresAtNanos {@link System#nanoTime()} at which the deadline passes
+ */
+public record Deadline(long expiresAtNanos) {
+
+    /**
+     * No deadline: the lookup runs to completion whatever it takes.
+     */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    /**
+     * @param budget How long the caller waits from now
+     * @return The deadline at the end of the budget
+     */
+    public static Deadline after(Duration budget) {
+        long nanos = budget.isNegative() ? 0 : budget.toNanos();
+        return new Deadline(System.nanoTime() + Math.min(nanos, Long.MAX_VALUE / 2));
+    }
+
+    /**
+     * @return false for {@link #NONE}
+     */
+    public boolean isSet() {
+        return expiresAtNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * @return Time left, negative once passed; {@link Long#MAX_VALUE} when not set
+     */
+    public long remainingNanos() {
+        return isSet() ? expiresAtNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return true once the deadline has passed
+     */
+    public boolean isExpired() {
+        return isSet() && remainingNanos() <= 0;
+    }
+
+    /**
+     * Abandons the lookup if the deadline has passed, before starting the given stage.
+     *
+     * @param stage The work about to start, as reported in the error and metrics
+     * @throws DeadlineExceededException If the deadline has passed
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(stage);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.capitole.ecommerce.pricing.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * Domain entity representing a price for a product in a specific brand and time range.
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
  * @param price Final sale price to apply
  * @param currency ISO currency code (e.g., EUR, USD)
  * @param priority Disambiguation value for applying prices when multiple match (higher value = higher priority)
+ * @param id Identifier of the stored price, null for a price not stored yet
  */
 public record Price(
         Integer productId,
@@ -24,8 +26,16 @@ public record Price(
         LocalDateTime endDate,
         BigDecimal price,
         String currency,
-        Integer priority
+        Integer priority,
+        Long id
 ) {
+    /**
+     * Precedence among prices applicable at the same date: higher priority first,
+     * ties broken by the higher price list so that the result is deterministic.
+     */
+    public static final Comparator<Price> PRECEDENCE =
+            Comparator.comparing(Price::priority).thenComparing(Price::priceList).reversed();
+
     /**
      * Compact constructor with validation.
      * Ensures all required fields are present and valid.
@@ -60,6 +70,30 @@ public record Price(
         }
     }
 
+    /**
+     * Creates a price that is not stored yet.
+     */
+    public Price(
+            Integer productId,
+            Integer brandId,
+            Integer priceList,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal price,
+            String currency,
+            Integer priority
+    ) {
+        this(productId, brandId, priceList, startDate, endDate, price, currency, priority, null);
+    }
+
+    /**
+     * @param id Identifier of the stored price
+     * @return A copy of this price with the given identifier
+     */
+    public Price withId(Long id) {
+        return new Price(productId, brandId, priceList, startDate, endDate, price, currency, priority, id);
+    }
+
     /**
      * Checks if this price is applicable for the given date.
      *
@@ -0,0 +1,25 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Effective price of a product and brand over the period that starts when it changed.
+ *
+ * @param key The product and brand
+ * @param effectiveFrom When this state started, null if it always held
+ * @param effectiveUntil When this state ends (exclusive), null if nothing is scheduled after it
+ * @param price The applicable price during the period, null if no price applies
+ */
+public record PriceChange(
+        PriceKey key,
+        LocalDateTime effectiveFrom,
+        LocalDateTime effectiveUntil,
+        Price price
+) {
+    /**
+     * @return true if a price applies during the period
+     */
+    public boolean hasPrice() {
+        return price != null;
+    }
+}
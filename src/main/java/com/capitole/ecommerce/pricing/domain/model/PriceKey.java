@@ -0,0 +1,33 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+/**
+ * Value object identifying the prices of one product in one brand.
+ * All prices sharing a key compete with each other when resolving the applicable price.
+ *
+ * @param productId The unique identifier of the product
+ * @param brandId The unique identifier of the brand/chain
+ */
+public record PriceKey(
+        Integer productId,
+        Integer brandId
+) {
+    /**
+     * Compact constructor with validation.
+     */
+    public PriceKey {
+        if (productId == null || productId <= 0) {
+            throw new IllegalArgumentException("Product ID must be positive");
+        }
+        if (brandId == null || brandId <= 0) {
+            throw new IllegalArgumentException("Brand ID must be positive");
+        }
+    }
+
+    /**
+     * @param price A price
+     * @return The key of the price's product and brand
+     */
+    public static PriceKey of(Price price) {
+        return new PriceKey(price.productId(), price.brandId());
+    }
+}
@@ -1,6 +1,8 @@
 package com.capitole.ecommerce.pricing.domain.model;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Value object representing a query for finding applicable prices.
@@ -9,11 +11,13 @@ import java.time.LocalDateTime;
  * @param applicationDate The date and time when the price should be applicable
  * @param productId The unique identifier of the product
  * @param brandId The unique identifier of the brand/chain
+ * @param deadline When the caller stops waiting for the answer, {@link Deadline#NONE} if it waits for it
  */
 public record PriceQuery(
         LocalDateTime applicationDate,
         Integer productId,
-        Integer brandId
+        Integer brandId,
+        Deadline deadline
 ) {
     /**
      * Compact constructor with validation.
@@ -28,5 +32,42 @@ public record PriceQuery(
         if (brandId == null || brandId <= 0) {
             throw new IllegalArgumentException("Brand ID must be positive");
         }
+        if (deadline == null) {
+            deadline = Deadline.NONE;
+        }
+    }
+
+    /**
+     * Query whose caller waits for the answer, however long it takes.
+     */
+    public PriceQuery(LocalDateTime applicationDate, Integer productId, Integer brandId) {
+        this(applicationDate, productId, brandId, Deadline.NONE);
+    }
+
+    /**
+     * @return The key of the queried product and brand
+     */
+    public PriceKey key() {
+        return new PriceKey(productId, brandId);
+    }
+
+    /**
+     * @param deadline When the caller stops waiting for the answer
+     * @return The same query with the given deadline
+     */
+    public PriceQuery withDeadline(Deadline deadline) {
+        return new PriceQuery(applicationDate, productId, brandId, deadline);
+    }
+
+    /**
+     * Resolves this query against prices already loaded for its product and brand.
+     *
+     * @param candidates Prices of the queried product and brand
+     * @return The applicable price with the highest precedence, or empty if none applies
+     */
+    public Optional<Price> selectFrom(Collection<Price> candidates) {
+        return candidates.stream()
+                .filter(price -> price.isApplicableAt(applicationDate))
+                .min(Price.PRECEDENCE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Period during which one price is the applicable price of its product and brand.
+ * Segments are the resolved form of a set of overlapping prices: within a segment no other price wins.
+ *
+ * @param start First instant of the period (inclusive)
+ * @param end End of the period (exclusive)
+ * @param price The applicable price during the period
+ */
+public record PriceSegment(
+        LocalDateTime start,
+        LocalDateTime end,
+        Price price
+) {
+    /**
+     * Compact constructor with validation.
+     */
+    public PriceSegment {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Segment start must be before its end");
+        }
+        if (price == null) {
+            throw new IllegalArgumentException("Segment price cannot be null");
+        }
+    }
+
+    /**
+     * @param date The date to check
+     * @return true if the date falls within the segment
+     */
+    public boolean contains(LocalDateTime date) {
+        return !date.isBefore(start) && date.isBefore(end);
+    }
+}
@@ -0,0 +1,143 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Applicable price of a product and brand over time, precomputed from all of its prices.
+ * Overlapping prices are resolved once with the precedence rule, leaving ordered, non-overlapping segments;
+ * the boundaries between them are exactly the instants at which the effective price changes.
+ *
+ * @param key The product and brand
+ * @param segments Resolved segments, ordered by start date; dates not covered have no applicable price
+ */
+public record PriceTimeline(
+        PriceKey key,
+        List<PriceSegment> segments
+) {
+    /**
+     * Compact constructor with validation.
+     */
+    public PriceTimeline {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        segments = List.copyOf(segments);
+    }
+
+    /**
+     * Resolves the prices of one product and brand into a timeline.
+     * Sweeps the start and end boundaries in order, keeping the prices active at each boundary
+     * in a queue ordered by precedence, and merges adjacent segments won by the same price.
+     *
+     * @param key The product and brand
+     * @param prices All prices of the product and brand
+     * @return The resolved timeline
+     */
+    public static PriceTimeline resolve(PriceKey key, Collection<Price> prices) {
+        List<Price> byStart = prices.stream()
+                .sorted(Comparator.comparing(Price::startDate))
+                .toList();
+        TreeSet<LocalDateTime> boundaries = new TreeSet<>();
+        for (Price price : byStart) {
+            boundaries.add(price.startDate());
+            boundaries.add(exclusiveEnd(price));
+        }
+
+        PriorityQueue<Price> active = new PriorityQueue<>(Price.PRECEDENCE);
+        List<PriceSegment> segments = new ArrayList<>();
+        int next = 0;
+        for (LocalDateTime boundary : boundaries) {
+            while (next < byStart.size() && !byStart.get(next).startDate().isAfter(boundary)) {
+                active.add(byStart.get(next++));
+            }
+            while (!active.isEmpty() && !exclusiveEnd(active.peek()).isAfter(boundary)) {
+                active.poll();
+            }
+            if (active.isEmpty()) {
+                continue;
+            }
+
+            Price winner = active.peek();
+            LocalDateTime end = boundaries.higher(boundary);
+            PriceSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && last.end().equals(boundary) && last.price().equals(winner)) {
+                segments.set(segments.size() - 1, new PriceSegment(last.start(), end, winner));
+            } else {
+                segments.add(new PriceSegment(boundary, end, winner));
+            }
+        }
+        return new PriceTimeline(key, segments);
+    }
+
+    /**
+     * @param date The date to look up
+     * @return The segment containing the date, or empty if no price applies
+     */
+    public Optional<PriceSegment> segmentAt(LocalDateTime date) {
+        int index = lastStartingAtOrBefore(date);
+        return index >= 0 && segments.get(index).contains(date) ? Optional.of(segments.get(index)) : Optional.empty();
+    }
+
+    /**
+     * @param date The date to look up
+     * @return The applicable price at the date, or empty if none applies
+     */
+    public Optional<Price> priceAt(LocalDateTime date) {
+        return segmentAt(date).map(PriceSegment::price);
+    }
+
+    /**
+     * Describes the state holding at a date: the applicable price (if any) and the boundaries around it.
+     *
+     * @param date The date to look up
+     * @return The effective price at the date and the period it holds for
+     */
+    public PriceChange changeAt(LocalDateTime date) {
+        int index = lastStartingAtOrBefore(date);
+        if (index >= 0 && segments.get(index).contains(date)) {
+            PriceSegment segment = segments.get(index);
+            return new PriceChange(key, segment.start(), segment.end(), segment.price());
+        }
+        LocalDateTime from = index >= 0 ? segments.get(index).end() : null;
+        LocalDateTime until = index + 1 < segments.size() ? segments.get(index + 1).start() : null;
+        return new PriceChange(key, from, until, null);
+    }
+
+    /**
+     * @param date The date to look up from
+     * @return The first instant after the date at which the effective price changes, or empty if none is scheduled
+     */
+    public Optional<LocalDateTime> nextChangeAfter(LocalDateTime date) {
+        return Optional.ofNullable(changeAt(date).effectiveUntil());
+    }
+
+    /**
+     * Exclusive end of a price's validity: prices are valid up to and including their end date.
+     */
+    static LocalDateTime exclusiveEnd(Price price) {
+        return price.endDate().plusNanos(1);
+    }
+
+    private int lastStartingAtOrBefore(LocalDateTime date) {
+        int low = 0;
+        int high = segments.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segments.get(mid).start().isAfter(date)) {
+                high = mid - 1;
+            } else {
+                found = mid;
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+}
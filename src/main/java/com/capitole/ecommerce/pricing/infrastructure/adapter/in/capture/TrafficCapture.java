@@ -0,0 +1,209 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends the incoming price lookups to a capture file in the {@link TrafficLog} format, to be replayed later.
+ * Request threads only encode their record into an in-memory buffer under a short lock; full buffers are handed
+ * to a dedicated thread that appends them to the file, which also writes out the partial buffer every
+ * {@code flushInterval}. When the file reaches {@code maxBytes}, or the writer falls more than a few buffers
+ * behind, lookups are not captured rather than slowed down.
+ */
+@Slf4j
+public class TrafficCapture implements AutoCloseable {
+
+    private static final int PENDING_BUFFERS = 4;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int bufferSize;
+    private final long maxBytes;
+    private final long flushMillis;
+    private final BlockingQueue<Chunk> pending = new ArrayBlockingQueue<>(PENDING_BUFFERS);
+    private final Thread writer;
+    private final long startNanos;
+
+    private final Counter captured;
+    private final Counter droppedFull;
+    private final Counter droppedBehind;
+    private final Counter written;
+
+    private final long startSecond;
+    private byte[] buffer;
+    private int position;
+    private int records;
+    private long reservedBytes;
+    private long lastArrivalMicros;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the capture file and starts the writer thread.
+     *
+     * @param file The capture file, which must not exist yet
+     * @param bufferSize Bytes encoded in memory before being handed to the writer
+     * @param maxBytes Size of the file after which lookups are no longer captured
+     * @param flushInterval Longest time a captured lookup stays in memory
+     * @throws IOException if the file cannot be created
+     */
+    public TrafficCapture(Path file, int bufferSize, long maxBytes, Duration flushInterval, Clock clock,
+                          MeterRegistry meterRegistry) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.bufferSize = Math.max(bufferSize, TrafficLog.MAX_RECORD_BYTES + TrafficLog.HEADER_BYTES);
+        this.maxBytes = maxBytes;
+        this.flushMillis = Math.max(1, flushInterval.toMillis());
+        this.captured = Counter.builder("pricing.capture.records")
+                .description("Lookups written to the capture file")
+                .register(meterRegistry);
+        this.droppedFull = droppedCounter(meterRegistry, "limit");
+        this.droppedBehind = droppedCounter(meterRegistry, "behind");
+        this.written = Counter.builder("pricing.capture.bytes")
+                .description("Bytes appended to the capture file")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Instant startedAt = clock.instant();
+        this.startNanos = System.nanoTime();
+        this.startSecond = startedAt.getEpochSecond();
+        byte[] header = new byte[TrafficLog.HEADER_BYTES];
+        TrafficLog.writeHeader(startedAt, header);
+        write(new Chunk(header, header.length, 0));
+        this.buffer = new byte[this.bufferSize];
+        this.reservedBytes = TrafficLog.HEADER_BYTES;
+
+        this.writer = new Thread(this::writeLoop, "price-traffic-capture");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Capturing price lookups into {} (at most {} MB)", file, maxBytes >> 20);
+    }
+
+    /**
+     * Captures one lookup, arriving now.
+     *
+     * @param query The lookup
+     * @param timeoutMillis Time budget of the caller, null if it has none
+     */
+    public void record(PriceQuery query, Long timeoutMillis) {
+        long epochSecond = query.applicationDate().toEpochSecond(ZoneOffset.UTC);
+        synchronized (this) {
+            if (!running || reservedBytes + TrafficLog.MAX_RECORD_BYTES > maxBytes) {
+                droppedFull.increment();
+                return;
+            }
+            if (position + TrafficLog.MAX_RECORD_BYTES > buffer.length) {
+                // Offered under the lock, so that the writer never takes the next buffer ahead of this one
+                if (!pending.offer(new Chunk(buffer, position, records))) {
+                    // Replay sees the lookups after the lost ones arrive earlier by the time the lost ones spanned
+                    droppedBehind.increment(records);
+                }
+                buffer = new byte[bufferSize];
+                position = 0;
+                records = 0;
+            }
+            // Read under the lock, so that arrivals are in the order of the records
+            long arrivalMicros = (System.nanoTime() - startNanos) / 1000;
+            int start = position;
+            position = TrafficLog.writeRecord(buffer, position, arrivalMicros - lastArrivalMicros,
+                    epochSecond - startSecond, query.applicationDate().getNano(), query.productId(),
+                    query.brandId(), timeoutMillis);
+            reservedBytes += position - start;
+            records++;
+            lastArrivalMicros = arrivalMicros;
+        }
+    }
+
+    /**
+     * @return The capture file
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Writes out every captured lookup and closes the file.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        // Not interrupted: an interrupt during a write would close the channel
+        running = false;
+        writer.join(flushMillis + TimeUnit.SECONDS.toMillis(5));
+        Chunk chunk;
+        while ((chunk = pending.poll()) != null) {
+            write(chunk);
+        }
+        write(takeCurrent());
+        channel.close();
+        log.info("Stopped capturing price lookups into {}", file);
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                Chunk chunk = pending.poll(flushMillis, TimeUnit.MILLISECONDS);
+                write(chunk != null ? chunk : takeCurrent());
+            } catch (InterruptedException ex) {
+                return;
+            } catch (IOException ex) {
+                log.warn("Could not append to the capture file {}, capture stopped: {}", file, ex.getMessage());
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * @return The partial buffer, or null if it is empty or full buffers are still to be written before it
+     */
+    private synchronized Chunk takeCurrent() {
+        if (position == 0 || !pending.isEmpty()) {
+            return null;
+        }
+        Chunk chunk = new Chunk(buffer, position, records);
+        buffer = new byte[bufferSize];
+        position = 0;
+        records = 0;
+        return chunk;
+    }
+
+    /**
+     * Called by the constructor, then by the writer thread alone, then by {@link #close()} once it has stopped.
+     */
+    private void write(Chunk chunk) throws IOException {
+        if (chunk == null) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(chunk.bytes, 0, chunk.length);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        written.increment(chunk.length);
+        captured.increment(chunk.records);
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("pricing.capture.dropped")
+                .description("Lookups not captured: limit (the file reached its size limit), "
+                        + "behind (the writer could not keep up with the file)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Chunk(byte[] bytes, int length, int records) {
+    }
+}
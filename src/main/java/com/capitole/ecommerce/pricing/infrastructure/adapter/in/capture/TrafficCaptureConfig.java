@@ -0,0 +1,36 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Wiring of the traffic capture, enabled with {@code pricing.capture.enabled}.
+ * When disabled no capture exists and the REST API records nothing.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.capture", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TrafficCaptureProperties.class)
+public class TrafficCaptureConfig {
+
+    private static final DateTimeFormatter FILE_NAME =
+            DateTimeFormatter.ofPattern("'prices-'yyyyMMdd-HHmmss'.pqtl'").withZone(ZoneOffset.UTC);
+
+    @Bean
+    public TrafficCapture trafficCapture(TrafficCaptureProperties properties, Clock clock,
+                                         MeterRegistry meterRegistry) throws IOException {
+        Path directory = Files.createDirectories(properties.getDirectory());
+        return new TrafficCapture(directory.resolve(FILE_NAME.format(clock.instant())),
+                (int) properties.getBufferSize().toBytes(), properties.getMaxSize().toBytes(),
+                properties.getFlushInterval(), clock, meterRegistry);
+    }
+}
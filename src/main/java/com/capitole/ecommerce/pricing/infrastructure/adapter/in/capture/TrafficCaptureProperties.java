@@ -0,0 +1,41 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for capturing the incoming price lookups, to replay them later.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.capture")
+public class TrafficCaptureProperties {
+
+    /**
+     * Whether the lookups received by the REST API are captured.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the capture files, one per run of the application, named after its start.
+     */
+    private Path directory = Path.of("captures");
+
+    /**
+     * Size of a capture file after which lookups are no longer captured.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Lookups encoded in memory before being appended to the file, in bytes.
+     */
+    private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+    /**
+     * Longest time a captured lookup stays in memory before being appended to the file.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,185 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary format of captured price lookups: a header followed by one variable-length record per lookup, in arrival order.
+ * <p>
+ * The header is the magic number {@code PQTL}, a version byte and the capture start as epoch milliseconds.
+ * Every record is a run of varints (7 bits per byte, low bits first):
+ * <ol>
+ *     <li>arrival, in microseconds after the previous record (after the capture start for the first one)</li>
+ *     <li>product identifier</li>
+ *     <li>brand identifier</li>
+ *     <li>application date, in seconds (UTC) relative to the capture start, zigzag-encoded</li>
+ *     <li>nanoseconds of the application date</li>
+ *     <li>time budget of the caller in milliseconds plus one, 0 if it had none</li>
+ * </ol>
+ * Lookups close to now, the common case, take about 11 bytes. Dates are relative to the start rather than to the
+ * previous record, so that a run of records lost while capturing only shifts the arrivals that follow.
+ */
+public final class TrafficLog {
+
+    static final int MAGIC = 0x5051544C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 13;
+
+    /**
+     * Longest encoding of a record: the arrival and the relative date take at most 10 bytes, the other fields 5.
+     */
+    static final int MAX_RECORD_BYTES = 40;
+
+    private TrafficLog() {
+    }
+
+    /**
+     * Captured lookup.
+     *
+     * @param arrivalMicros Arrival, in microseconds after the capture start
+     * @param applicationDate Queried date
+     * @param productId Queried product
+     * @param brandId Queried brand
+     * @param timeoutMillis Time budget of the caller, null if it had none
+     */
+    public record Entry(
+            long arrivalMicros,
+            LocalDateTime applicationDate,
+            int productId,
+            int brandId,
+            Long timeoutMillis
+    ) {
+    }
+
+    /**
+     * @param startedAt Capture start
+     * @param target Receives the 13 header bytes
+     */
+    static void writeHeader(Instant startedAt, byte[] target) {
+        long millis = startedAt.toEpochMilli();
+        for (int i = 0; i < 4; i++) {
+            target[i] = (byte) (MAGIC >>> (24 - 8 * i));
+        }
+        target[4] = (byte) VERSION;
+        for (int i = 0; i < 8; i++) {
+            target[5 + i] = (byte) (millis >>> (56 - 8 * i));
+        }
+    }
+
+    /**
+     * Encodes a record.
+     *
+     * @param target Receives the record, with at least {@link #MAX_RECORD_BYTES} left after the position
+     * @param position Where the record starts
+     * @return Position after the record
+     */
+    static int writeRecord(byte[] target, int position, long deltaMicros, long secondsFromStart, int nanos,
+                           int productId, int brandId, Long timeoutMillis) {
+        position = writeVarint(target, position, deltaMicros);
+        position = writeVarint(target, position, productId);
+        position = writeVarint(target, position, brandId);
+        position = writeVarint(target, position, (secondsFromStart << 1) ^ (secondsFromStart >> 63));
+        position = writeVarint(target, position, nanos);
+        long timeout = timeoutMillis == null ? 0 : Math.max(0, Math.min(timeoutMillis, Integer.MAX_VALUE - 1)) + 1;
+        return writeVarint(target, position, timeout);
+    }
+
+    /**
+     * @param file A capture file
+     * @return A reader of its records, to be closed
+     * @throws IOException if the file cannot be read or is not a capture
+     */
+    public static Reader open(Path file) throws IOException {
+        return new Reader(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+    }
+
+    /**
+     * Reads the records of a capture in arrival order. A record cut short by a crash ends the capture.
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final Instant startedAt;
+        private final long startSecond;
+        private long arrivalMicros;
+
+        private Reader(InputStream stream) throws IOException {
+            this.in = new DataInputStream(stream);
+            try {
+                if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                    throw new IOException("Not a price traffic capture (version " + VERSION + ")");
+                }
+                this.startedAt = Instant.ofEpochMilli(in.readLong());
+                this.startSecond = startedAt.getEpochSecond();
+            } catch (EOFException ex) {
+                throw new IOException("Not a price traffic capture: truncated header", ex);
+            }
+        }
+
+        /**
+         * @return When the capture started
+         */
+        public Instant startedAt() {
+            return startedAt;
+        }
+
+        /**
+         * @return The next record, or null at the end of the capture
+         * @throws IOException if the file cannot be read
+         */
+        public Entry next() throws IOException {
+            try {
+                int first = in.read();
+                if (first < 0) {
+                    return null;
+                }
+                arrivalMicros += readVarint(first);
+                int productId = (int) readVarint(in.readUnsignedByte());
+                int brandId = (int) readVarint(in.readUnsignedByte());
+                long zigzag = readVarint(in.readUnsignedByte());
+                long epochSecond = startSecond + ((zigzag >>> 1) ^ -(zigzag & 1));
+                int nanos = (int) readVarint(in.readUnsignedByte());
+                long timeout = readVarint(in.readUnsignedByte());
+                return new Entry(arrivalMicros, LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC),
+                        productId, brandId, timeout == 0 ? null : timeout - 1);
+            } catch (EOFException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private long readVarint(int first) throws IOException {
+            long value = first & 0x7F;
+            int shift = 7;
+            int current = first;
+            while ((current & 0x80) != 0) {
+                current = in.readUnsignedByte();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            }
+            return value;
+        }
+    }
+
+    private static int writeVarint(byte[] target, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+}
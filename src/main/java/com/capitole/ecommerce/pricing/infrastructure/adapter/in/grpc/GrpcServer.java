@@ -0,0 +1,75 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifecycle of the gRPC server, started and stopped together with the application context.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private volatile Server server;
+
+    public GrpcServer(GrpcServerProperties properties, List<BindableService> services) {
+        this.properties = properties;
+        this.services = services;
+    }
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = ServerBuilder.forPort(properties.getPort());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + properties.getPort(), ex);
+        }
+        log.info("gRPC server started on port {} with {} service(s)", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * @return Port the server is bound to, useful when configured with port 0
+     */
+    public int getPort() {
+        Server running = server;
+        if (running == null) {
+            throw new IllegalStateException("gRPC server is not running");
+        }
+        return running.getPort();
+    }
+}
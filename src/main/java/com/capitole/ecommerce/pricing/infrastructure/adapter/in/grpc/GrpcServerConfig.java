@@ -0,0 +1,38 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import com.capitole.ecommerce.pricing.application.port.in.GetPriceUseCase;
+import io.grpc.BindableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Wiring of the gRPC inbound adapter, next to the REST adapter.
+ * Enabled with {@code pricing.grpc.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.grpc", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(GrpcServerProperties.class)
+public class GrpcServerConfig {
+
+    @Bean
+    public PriceGrpcMapper priceGrpcMapper(Clock clock) {
+        return new PriceGrpcMapper(clock);
+    }
+
+    @Bean
+    public PriceGrpcService priceGrpcService(GetPriceUseCase getPriceUseCase, PriceGrpcMapper priceGrpcMapper,
+                                             MeterRegistry meterRegistry) {
+        return new PriceGrpcService(getPriceUseCase, priceGrpcMapper, meterRegistry);
+    }
+
+    @Bean
+    public GrpcServer grpcServer(GrpcServerProperties properties, List<BindableService> services) {
+        return new GrpcServer(properties, services);
+    }
+}
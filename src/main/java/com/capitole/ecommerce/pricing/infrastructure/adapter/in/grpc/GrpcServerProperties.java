@@ -0,0 +1,29 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the gRPC server exposing the pricing API.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.grpc")
+public class GrpcServerProperties {
+
+    /**
+     * Whether the gRPC server is started.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the gRPC server, 0 for a random port.
+     */
+    private int port = 9090;
+
+    /**
+     * Time given to in-flight calls to complete on shutdown.
+     */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+}
@@ -0,0 +1,80 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceReply;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Currency;
+
+/**
+ * Mapper for converting between protobuf messages and domain models.
+ * Instants are converted to local price dates in the service time zone,
+ * amounts to minor units of their currency.
+ */
+public class PriceGrpcMapper {
+
+    private final ZoneId zone;
+
+    public PriceGrpcMapper(Clock clock) {
+        this.zone = clock.getZone();
+    }
+
+    /**
+     * Converts a lookup request to a PriceQuery domain object.
+     *
+     * @param request The protobuf request
+     * @return The domain query object
+     * @throws IllegalArgumentException if the request contains invalid data
+     */
+    public PriceQuery toDomain(PriceLookupRequest request) {
+        return new PriceQuery(
+                toLocalDateTime(request.getApplicationEpochMillis()),
+                request.getProductId(),
+                request.getBrandId()
+        );
+    }
+
+    /**
+     * Converts a Price domain object to a protobuf reply.
+     *
+     * @param price The domain model
+     * @return The protobuf reply
+     * @throws ArithmeticException if the price has more decimals than its currency allows
+     */
+    public PriceReply toReply(Price price) {
+        int exponent = currencyExponent(price.currency(), price.price().scale());
+
+        return PriceReply.newBuilder()
+                .setProductId(price.productId())
+                .setBrandId(price.brandId())
+                .setPriceList(price.priceList())
+                .setStartEpochMillis(toEpochMillis(price.startDate()))
+                .setEndEpochMillis(toEpochMillis(price.endDate()))
+                .setAmountMinor(price.price().movePointRight(exponent).longValueExact())
+                .setCurrencyExponent(exponent)
+                .setCurrency(price.currency())
+                .build();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static int currencyExponent(String currencyCode, int fallback) {
+        try {
+            int digits = Currency.getInstance(currencyCode).getDefaultFractionDigits();
+            return digits >= 0 ? digits : fallback;
+        } catch (IllegalArgumentException ex) {
+            return fallback;
+        }
+    }
+}
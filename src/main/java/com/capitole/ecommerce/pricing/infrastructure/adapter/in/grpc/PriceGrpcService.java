@@ -0,0 +1,122 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import com.capitole.ecommerce.pricing.application.port.in.GetPriceUseCase;
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.LookupError;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupResult;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceReply;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PricingServiceGrpc;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC inbound adapter for price queries.
+ * Exposes the GetPrice use case as a unary call and as a bidirectional stream
+ * for high-rate lookups over a single connection.
+ */
+@Slf4j
+public class PriceGrpcService extends PricingServiceGrpc.PricingServiceImplBase {
+
+    private final GetPriceUseCase getPriceUseCase;
+    private final PriceGrpcMapper mapper;
+    private final MeterRegistry meterRegistry;
+
+    public PriceGrpcService(GetPriceUseCase getPriceUseCase, PriceGrpcMapper mapper) {
+        this(getPriceUseCase, mapper, new SimpleMeterRegistry());
+    }
+
+    public PriceGrpcService(GetPriceUseCase getPriceUseCase, PriceGrpcMapper mapper, MeterRegistry meterRegistry) {
+        this.getPriceUseCase = getPriceUseCase;
+        this.mapper = mapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void getPrice(PriceLookupRequest request, StreamObserver<PriceReply> responseObserver) {
+        try {
+            responseObserver.onNext(lookup(request, deadline(Context.current().getDeadline())));
+            responseObserver.onCompleted();
+        } catch (DeadlineExceededException ex) {
+            Counter.builder("pricing.deadline.exceeded")
+                    .description("Lookups abandoned because the caller's deadline passed, by stage not completed")
+                    .tag("stage", ex.getStage())
+                    .tag("transport", "grpc")
+                    .register(meterRegistry)
+                    .increment();
+            responseObserver.onError(Status.DEADLINE_EXCEEDED.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (PriceNotFoundException ex) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (IllegalArgumentException ex) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error in gRPC GetPrice", ex);
+            responseObserver.onError(Status.INTERNAL.withDescription("An unexpected error occurred").asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<PriceLookupRequest> streamPrices(StreamObserver<PriceLookupResult> responseObserver) {
+        return new StreamObserver<>() {
+
+            @Override
+            public void onNext(PriceLookupRequest request) {
+                responseObserver.onNext(lookupResult(request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("gRPC price stream cancelled by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private PriceLookupResult lookupResult(PriceLookupRequest request) {
+        PriceLookupResult.Builder result = PriceLookupResult.newBuilder().setRequestId(request.getRequestId());
+        try {
+            return result.setPrice(lookup(request, Deadline.NONE)).build();
+        } catch (PriceNotFoundException ex) {
+            return result.setError(error(LookupError.Code.NOT_FOUND, ex.getMessage())).build();
+        } catch (IllegalArgumentException ex) {
+            return result.setError(error(LookupError.Code.INVALID_ARGUMENT, ex.getMessage())).build();
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error in gRPC price stream", ex);
+            return result.setError(error(LookupError.Code.INTERNAL, "An unexpected error occurred")).build();
+        }
+    }
+
+    private PriceReply lookup(PriceLookupRequest request, Deadline deadline) {
+        Price price = getPriceUseCase.getPrice(mapper.toDomain(request).withDeadline(deadline));
+        deadline.check("serialization");
+        return mapper.toReply(price);
+    }
+
+    /**
+     * @param callDeadline Deadline the client set on the call, null if none
+     * @return The same deadline on this process' clock
+     */
+    private static Deadline deadline(io.grpc.Deadline callDeadline) {
+        return callDeadline == null ? Deadline.NONE
+                : Deadline.after(Duration.ofNanos(callDeadline.timeRemaining(TimeUnit.NANOSECONDS)));
+    }
+
+    private static LookupError error(LookupError.Code code, String message) {
+        return LookupError.newBuilder().setCode(code).setMessage(message).build();
+    }
+}
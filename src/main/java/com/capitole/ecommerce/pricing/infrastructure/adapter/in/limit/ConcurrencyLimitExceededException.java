@@ -0,0 +1,23 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because its endpoint has reached its concurrency limit.
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String endpoint;
+    private final int limit;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(String endpoint, int limit, Duration retryAfter) {
+        super(String.format("Endpoint '%s' is at its concurrency limit of %d, retry later", endpoint, limit));
+        this.endpoint = endpoint;
+        this.limit = limit;
+        this.retryAfter = retryAfter;
+    }
+}
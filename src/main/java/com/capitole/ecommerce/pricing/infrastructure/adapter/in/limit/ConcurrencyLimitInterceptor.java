@@ -0,0 +1,103 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds the requests to {@link ConcurrencyLimited} handlers beyond their endpoint's adaptive limit,
+ * before they reach the use case: rejected requests fail at once with {@link ConcurrencyLimitExceededException},
+ * which GlobalExceptionHandler turns into 503 with Retry-After, instead of queuing behind a slow database.
+ * Accepted requests feed their latency to the limiter when they complete; server errors release their slot
+ * without a sample, since a failing dependency often fails fast.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".acquired";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyLimited annotation = method.getMethodAnnotation(ConcurrencyLimited.class);
+        if (annotation == null) {
+            return true;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(annotation.value(), this::register);
+        if (!endpoint.limiter.tryAcquire()) {
+            endpoint.rejected.increment();
+            throw new ConcurrencyLimitExceededException(annotation.value(), endpoint.limiter.getLimit(),
+                    properties.getRetryAfter());
+        }
+        endpoint.accepted.increment();
+        request.setAttribute(ACQUIRED, new Acquired(endpoint.limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(ACQUIRED) instanceof Acquired acquired)) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED);
+        if (ex == null && response.getStatus() < 500) {
+            acquired.limiter.complete(System.nanoTime() - acquired.startNanos);
+        } else {
+            acquired.limiter.cancel();
+        }
+    }
+
+    /**
+     * @param endpoint Name of an endpoint
+     * @return Its limiter, null if no request reached it yet
+     */
+    public GradientConcurrencyLimiter limiter(String endpoint) {
+        Endpoint registered = endpoints.get(endpoint);
+        return registered == null ? null : registered.limiter;
+    }
+
+    private Endpoint register(String name) {
+        GradientConcurrencyLimiter limiter = properties.limit(name).newLimiter();
+        Gauge.builder("pricing.limiter.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of an endpoint")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("pricing.limiter.inflight", limiter, GradientConcurrencyLimiter::getInflight)
+                .description("Requests of an endpoint holding a concurrency slot")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        return new Endpoint(limiter, callCounter(name, "accepted"), callCounter(name, "rejected"));
+    }
+
+    private Counter callCounter(String endpoint, String result) {
+        return Counter.builder("pricing.limiter.calls")
+                .description("Requests by outcome: accepted (within the limit), rejected (shed with 503)")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Endpoint(GradientConcurrencyLimiter limiter, Counter accepted, Counter rejected) {
+    }
+
+    private record Acquired(GradientConcurrencyLimiter limiter, long startNanos) {
+    }
+}
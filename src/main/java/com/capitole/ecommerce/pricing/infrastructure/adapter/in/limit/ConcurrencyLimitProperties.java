@@ -0,0 +1,88 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the adaptive concurrency limits of the REST endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.limiter")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests beyond the concurrency limit of their endpoint are rejected with 503.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Value of the Retry-After header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Limit settings of the endpoints not listed under {@code endpoints}.
+     */
+    private Limit defaults = new Limit();
+
+    /**
+     * Limit settings per endpoint name, as given by {@link ConcurrencyLimited}.
+     */
+    private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+    /**
+     * @param endpoint Name of an endpoint
+     * @return Its limit settings, or the defaults
+     */
+    public Limit limit(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Limit before any latency was observed.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Lowest limit, kept however slow requests get.
+         */
+        private int minLimit = 2;
+
+        /**
+         * Highest limit, however fast requests are.
+         */
+        private int maxLimit = 200;
+
+        /**
+         * Latency increase over the baseline tolerated before the limit shrinks (1.5 = 50% slower).
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * Weight of every new estimate of the limit, between 0 (never changes) and 1 (no smoothing).
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Requests averaged into one short-term latency sample, after which the limit is updated.
+         */
+        private int windowSize = 10;
+
+        /**
+         * Windows averaged into the long-term latency baseline.
+         */
+        private int longWindow = 600;
+
+        GradientConcurrencyLimiter newLimiter() {
+            return new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                    windowSize, longWindow);
+        }
+    }
+}
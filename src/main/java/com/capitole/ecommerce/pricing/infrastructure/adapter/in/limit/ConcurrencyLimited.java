@@ -0,0 +1,20 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a REST handler method behind the adaptive concurrency limiter of the given endpoint.
+ * Handlers sharing an endpoint name share one limit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    /**
+     * @return Name of the endpoint, as configured under {@code pricing.limiter.endpoints} and shown in metrics
+     */
+    String value();
+}
@@ -0,0 +1,134 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adapted to the observed latency, after the gradient algorithm of Netflix' concurrency-limits.
+ * Latencies are averaged over windows of {@code windowSize} requests (the short-term latency) and folded into an
+ * exponential average over about {@code longWindow} windows (the long-term latency, the no-load baseline).
+ * At the end of every window the limit moves by the gradient between the two:
+ * <pre>
+ * gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)
+ * limit    = limit * (1 - smoothing) + (limit * gradient + sqrt(limit)) * smoothing
+ * </pre>
+ * so it grows by about sqrt(limit) while latency stays within {@code tolerance} of the baseline,
+ * and shrinks as soon as requests start queuing behind a slower dependency.
+ * The limit does not grow while fewer than half of it is in use, since latency then says nothing about it.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSize;
+    private final int longWindow;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRtt;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInflight;
+
+    public GradientConcurrencyLimiter(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double tolerance,
+            double smoothing,
+            int windowSize,
+            int longWindow
+    ) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+        this.longWindow = longWindow;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if fewer requests than the limit are in flight. Never waits.
+     *
+     * @return true if the request may proceed; it must then call {@link #complete} or {@link #cancel}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a request that completed normally, feeding its latency to the limit.
+     *
+     * @param rttNanos How long the request held its slot
+     */
+    public void complete(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        sample(rttNanos, current);
+    }
+
+    /**
+     * Releases the slot of a request whose latency says nothing about the load, such as a failed one.
+     */
+    public void cancel() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * @return Current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Requests holding a slot
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inflightAtCompletion) {
+        windowRttSum += rttNanos;
+        windowCount++;
+        windowMaxInflight = Math.max(windowMaxInflight, inflightAtCompletion);
+        if (windowCount < windowSize) {
+            return;
+        }
+        double shortRtt = Math.max(1, (double) windowRttSum / windowCount);
+        int maxInflight = windowMaxInflight;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInflight = 0;
+
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / longWindow;
+        if (longRtt / shortRtt > 2) {
+            // Latency dropped well below the baseline (a slow phase ended): let the baseline catch up faster
+            longRtt *= 0.95;
+        }
+        if (maxInflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
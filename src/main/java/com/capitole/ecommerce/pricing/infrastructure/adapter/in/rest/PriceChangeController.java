@@ -0,0 +1,98 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.application.port.in.WatchPriceChangesUseCase;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceChangeResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.mapper.PriceRestMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller streaming effective price changes as server-sent events.
+ * Replaces polling of the price endpoint: clients get the current price of every followed product
+ * and then one event exactly when a scheduled price starts or ends.
+ * Events are written to the client by the {@link PriceChangeSender}, never by the thread notifying the change.
+ */
+@RestController
+@RequestMapping("/api/v1/prices")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(name = "Prices", description = "Price query operations for e-commerce products")
+public class PriceChangeController {
+
+    static final String EVENT_NAME = "price-change";
+
+    private final WatchPriceChangesUseCase watchPriceChangesUseCase;
+    private final PriceRestMapper mapper;
+    private final PriceChangeStreamProperties properties;
+    private final PriceChangeSender sender;
+
+    /**
+     * Opens a stream of effective price changes for the given products and brands.
+     *
+     * @param keys Products and brands to follow, as {@code productId:brandId}
+     * @return Emitter of the {@code price-change} events
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream effective price changes",
+            description = "Server-sent event stream. Sends the current price of every followed product and brand, " +
+                    "then a 'price-change' event every time a scheduled price starts or ends. " +
+                    "The stream closes after a timeout; clients reconnect to resume."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = PriceChangeResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Missing, malformed or too many keys")
+    })
+    public SseEmitter streamPriceChanges(
+            @Parameter(
+                    description = "Products and brands to follow, as productId:brandId",
+                    required = true,
+                    example = "35455:1"
+            )
+            @RequestParam
+            @NotEmpty(message = "At least one key is required")
+            List<String> keys
+    ) {
+        Set<PriceKey> priceKeys = mapper.toKeys(keys);
+        if (priceKeys.size() > properties.getMaxKeys()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxKeys() + " keys can be followed per stream");
+        }
+        log.info("GET /api/v1/prices/changes - keys={}", priceKeys);
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        PriceChangeStream stream = sender.open(emitter);
+        stream.attach(watchPriceChangesUseCase.watch(priceKeys, change -> stream.send(mapper.toResponse(change))));
+
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        return emitter;
+    }
+}
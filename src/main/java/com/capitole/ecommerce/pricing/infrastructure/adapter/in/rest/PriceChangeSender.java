@@ -0,0 +1,39 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Threads writing the events of every price change stream to its client, so that neither the boundary
+ * dispatch threads nor the writes notifying the streams ever wait on a client's socket.
+ */
+public class PriceChangeSender implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final int maxPendingEvents;
+
+    /**
+     * @param threads Threads writing events, shared by all streams
+     * @param maxPendingEvents Events queued per stream at most, beyond which the stream is closed
+     */
+    public PriceChangeSender(int threads, int maxPendingEvents) {
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().daemon().name("price-change-send-", 0).factory());
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * @param emitter Emitter of the stream
+     * @return Stream queueing its events for the client of the emitter
+     */
+    PriceChangeStream open(SseEmitter emitter) {
+        return new PriceChangeStream(emitter, executor, maxPendingEvents);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
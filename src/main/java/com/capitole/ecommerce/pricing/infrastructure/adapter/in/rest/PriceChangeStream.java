@@ -0,0 +1,115 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.application.port.in.WatchPriceChangesUseCase;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceChangeResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open price change stream: the events waiting for its client and the subscription feeding them.
+ * Events are queued by the notifying thread (a boundary dispatch thread, or a write once it commits)
+ * and written to the client in order by at most one sender thread at a time, so a slow client only delays itself.
+ * A client that lets more than {@code maxPendingEvents} events pile up is closed; it reconnects
+ * and starts again from the current prices.
+ */
+@Slf4j
+final class PriceChangeStream {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final BlockingQueue<PriceChangeResponse> pending;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile WatchPriceChangesUseCase.Subscription subscription;
+
+    PriceChangeStream(SseEmitter emitter, Executor executor, int maxPendingEvents) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.pending = new ArrayBlockingQueue<>(maxPendingEvents);
+    }
+
+    /**
+     * Attaches the subscription feeding the stream, cancelling it at once if the stream already closed.
+     *
+     * @param subscription The subscription
+     */
+    void attach(WatchPriceChangesUseCase.Subscription subscription) {
+        this.subscription = subscription;
+        if (closed.get()) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Queues an event for the client without waiting for it to be written.
+     *
+     * @param event The event
+     */
+    void send(PriceChangeResponse event) {
+        if (closed.get()) {
+            return;
+        }
+        if (!pending.offer(event)) {
+            log.warn("Price change stream closed: client not keeping up, {} events pending", pending.size());
+            close();
+            emitter.complete();
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                close();
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Stops the stream: drops the pending events and cancels the subscription. Safe to call more than once.
+     */
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            WatchPriceChangesUseCase.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private void drain() {
+        do {
+            PriceChangeResponse event;
+            while (!closed.get() && (event = pending.poll()) != null) {
+                write(event);
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag was cleared found the drain still running
+        } while (!closed.get() && !pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void write(PriceChangeResponse event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(PriceChangeController.EVENT_NAME)
+                    .data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Price change stream closed: {}", ex.getMessage());
+            close();
+        }
+    }
+}
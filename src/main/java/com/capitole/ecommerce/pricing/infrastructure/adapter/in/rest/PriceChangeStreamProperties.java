@@ -0,0 +1,35 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the server-sent event stream of effective price changes.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.changes")
+public class PriceChangeStreamProperties {
+
+    /**
+     * How long a stream stays open before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Maximum products and brands followed by one stream.
+     */
+    private int maxKeys = 500;
+
+    /**
+     * Threads writing events to the clients, shared by all streams.
+     */
+    private int sendThreads = 4;
+
+    /**
+     * Events waiting for the client of one stream at most, beyond which the stream is closed.
+     * At least {@code maxKeys}, since a stream starts with one event per key.
+     */
+    private int maxPendingEvents = 1000;
+}
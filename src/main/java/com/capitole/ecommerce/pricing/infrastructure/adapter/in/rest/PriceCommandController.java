@@ -0,0 +1,143 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.application.port.in.ManagePricesUseCase;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit.ConcurrencyLimited;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.ErrorResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceDetailResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceWriteRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.mapper.PriceRestMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * REST controller for maintaining prices.
+ * Writes go through the PriceRepository port; once a write returns, lookups on this instance see it.
+ */
+@RestController
+@RequestMapping("/api/v1/prices")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(name = "Price Management", description = "Create, update and delete stored prices")
+public class PriceCommandController {
+
+    private final ManagePricesUseCase managePricesUseCase;
+    private final PriceRestMapper mapper;
+
+    /**
+     * Retrieves a stored price.
+     *
+     * @param id The price identifier
+     * @return ResponseEntity containing the stored price
+     */
+    @GetMapping("/{id}")
+    @ConcurrencyLimited("stored-prices")
+    @Operation(summary = "Get stored price", description = "Retrieves a stored price by its identifier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price found",
+                    content = @Content(schema = @Schema(implementation = PriceDetailResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No price with this identifier",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PriceDetailResponse> getStoredPrice(
+            @Parameter(description = "Price identifier", required = true, example = "1")
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(mapper.toDetailResponse(managePricesUseCase.findPrice(id)));
+    }
+
+    /**
+     * Creates a price.
+     *
+     * @param request The price to create
+     * @return ResponseEntity containing the stored price and its location
+     */
+    @PostMapping
+    @ConcurrencyLimited("price-writes")
+    @Operation(summary = "Create price", description = "Stores a new price. Lookups see it once the request returns.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Price created",
+                    content = @Content(schema = @Schema(implementation = PriceDetailResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid price",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PriceDetailResponse> createPrice(@Valid @RequestBody PriceWriteRequest request) {
+        log.info("POST /api/v1/prices - productId={}, brandId={}, priceList={}",
+                request.getProductId(), request.getBrandId(), request.getPriceList());
+
+        Price created = managePricesUseCase.createPrice(mapper.toDomain(request));
+
+        return ResponseEntity
+                .created(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(created.id()).toUri())
+                .body(mapper.toDetailResponse(created));
+    }
+
+    /**
+     * Replaces a stored price.
+     *
+     * @param id The price identifier
+     * @param request The new values of the price
+     * @return ResponseEntity containing the stored price
+     */
+    @PutMapping("/{id}")
+    @ConcurrencyLimited("price-writes")
+    @Operation(summary = "Update price", description = "Replaces a stored price. Lookups see it once the request returns.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price updated",
+                    content = @Content(schema = @Schema(implementation = PriceDetailResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid price",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No price with this identifier",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PriceDetailResponse> updatePrice(
+            @Parameter(description = "Price identifier", required = true, example = "1")
+            @PathVariable Long id,
+            @Valid @RequestBody PriceWriteRequest request
+    ) {
+        log.info("PUT /api/v1/prices/{} - productId={}, brandId={}, priceList={}",
+                id, request.getProductId(), request.getBrandId(), request.getPriceList());
+
+        Price updated = managePricesUseCase.updatePrice(id, mapper.toDomain(request));
+
+        return ResponseEntity.ok(mapper.toDetailResponse(updated));
+    }
+
+    /**
+     * Deletes a stored price.
+     *
+     * @param id The price identifier
+     * @return Empty ResponseEntity
+     */
+    @DeleteMapping("/{id}")
+    @ConcurrencyLimited("price-writes")
+    @Operation(summary = "Delete price", description = "Deletes a stored price. Lookups see it once the request returns.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Price deleted"),
+            @ApiResponse(responseCode = "404", description = "No price with this identifier",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> deletePrice(
+            @Parameter(description = "Price identifier", required = true, example = "1")
+            @PathVariable Long id
+    ) {
+        log.info("DELETE /api/v1/prices/{}", id);
+
+        managePricesUseCase.deletePrice(id);
+
+        return ResponseEntity.noContent().build();
+    }
+}
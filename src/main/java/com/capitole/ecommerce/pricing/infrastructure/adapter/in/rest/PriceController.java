@@ -1,11 +1,16 @@
 package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
 
 import com.capitole.ecommerce.pricing.application.port.in.GetPriceUseCase;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
 import com.capitole.ecommerce.pricing.domain.model.Price;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture.TrafficCapture;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit.ConcurrencyLimited;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.ErrorResponse;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.mapper.PriceRestMapper;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRequestEvent;
+import com.capitole.ecommerce.pricing.infrastructure.timing.ServerTiming;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,11 +23,14 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -37,8 +45,14 @@ import java.time.LocalDateTime;
 @Tag(name = "Prices", description = "Price query operations for e-commerce products")
 public class PriceController {
 
+    /**
+     * Request header carrying the time budget of the caller, in milliseconds.
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
     private final GetPriceUseCase getPriceUseCase;
     private final PriceRestMapper mapper;
+    private final ObjectProvider<TrafficCapture> trafficCapture;
 
     /**
      * Retrieves the applicable price for the given criteria.
@@ -46,9 +60,11 @@ public class PriceController {
      * @param applicationDate The date and time when the price should be applicable (ISO format)
      * @param productId The product identifier
      * @param brandId The brand identifier
+     * @param timeoutMillis Time budget of the caller in milliseconds, null if it waits for the answer
      * @return ResponseEntity containing the applicable price
      */
     @GetMapping
+    @ConcurrencyLimited("prices")
     @Operation(
             summary = "Get applicable price",
             description = "Retrieves the applicable price for a product at a specific date and time. " +
@@ -116,6 +132,22 @@ public class PriceController {
                         """
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "504",
+                    description = "The time budget of the X-Request-Timeout header ran out before the answer",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Concurrency limit reached, retry after the delay in the Retry-After header",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
     public ResponseEntity<PriceResponse> getPrice(
@@ -147,17 +179,61 @@ public class PriceController {
             @RequestParam
             @NotNull(message = "Brand ID is required")
             @Positive(message = "Brand ID must be positive")
-            Integer brandId
+            Integer brandId,
+
+            @Parameter(
+                    description = "Milliseconds the caller waits for the answer; the lookup is abandoned with 504 "
+                            + "once they have passed",
+                    example = "50"
+            )
+            @RequestHeader(name = TIMEOUT_HEADER, required = false)
+            Long timeoutMillis
     ) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.mark(ServerTiming.Stage.VALIDATION);
+        }
+        Deadline deadline = timeoutMillis == null ? Deadline.NONE : Deadline.after(Duration.ofMillis(timeoutMillis));
         log.info("GET /api/v1/prices - applicationDate={}, productId={}, brandId={}",
                 applicationDate, productId, brandId);
 
-        PriceQuery query = new PriceQuery(applicationDate, productId, brandId);
-        Price price = getPriceUseCase.getPrice(query);
-        PriceResponse response = mapper.toResponse(price);
+        PriceRequestEvent event = PriceRequestEvent.start();
+        boolean found = false;
+        try {
+            PriceQuery query = new PriceQuery(applicationDate, productId, brandId, deadline);
+            // Warm-up lookups call the controller outside of any HTTP request: only received traffic is captured
+            if (RequestContextHolder.getRequestAttributes() != null) {
+                trafficCapture.ifAvailable(capture -> capture.record(query, timeoutMillis));
+            }
+            Price price = getPriceUseCase.getPrice(query);
+            if (timing != null) {
+                timing.mark(ServerTiming.Stage.USE_CASE);
+            }
+            // Nobody reads a response past the deadline: skip mapping and serializing it
+            deadline.check("serialization");
+            PriceResponse response = mapper.toResponse(price);
+            if (timing != null) {
+                timing.mark(ServerTiming.Stage.MAPPING);
+            }
+            found = true;
+
+            log.info("Returning price: priceList={}, price={}", response.getPriceList(), response.getPrice());
 
-        log.info("Returning price: priceList={}, price={}", response.getPriceList(), response.getPrice());
+            return ResponseEntity.ok(response);
+        } finally {
+            event.complete(productId, brandId, found);
+        }
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Retrieves the applicable price for the given criteria, without a deadline.
+     *
+     * @param applicationDate The date and time when the price should be applicable
+     * @param productId The product identifier
+     * @param brandId The brand identifier
+     * @return ResponseEntity containing the applicable price
+     */
+    public ResponseEntity<PriceResponse> getPrice(LocalDateTime applicationDate, Integer productId, Integer brandId) {
+        return getPrice(applicationDate, productId, brandId, null);
     }
 }
\ No newline at end of file
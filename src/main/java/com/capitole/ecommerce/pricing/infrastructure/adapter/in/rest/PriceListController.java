@@ -0,0 +1,118 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.application.port.in.FindPriceListSegmentsUseCase;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.ErrorResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceListSegmentResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.mapper.PriceRestMapper;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.Workload;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller listing where a price list wins, for cache purges and search re-indexing
+ * when the price list is edited or withdrawn.
+ * The periods are streamed as newline-delimited JSON while they are read from the reverse index,
+ * so a price list covering millions of products needs no more memory than a small one.
+ */
+@RestController
+@RequestMapping("/api/v1/price-lists")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(name = "Price Lists", description = "Where price lists are the applicable price")
+public class PriceListController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final FindPriceListSegmentsUseCase findPriceListSegmentsUseCase;
+    private final PriceRestMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the periods during which a price list is the applicable price, over all products and brands.
+     *
+     * @param priceList The price list
+     * @param activeAfter Only periods still running after this date, all of them if absent
+     * @return The periods, one JSON object per line
+     */
+    @GetMapping(path = "/{priceList}/segments", produces = NDJSON)
+    @Workload(WorkloadClass.BULK)
+    @Operation(
+            summary = "Stream the periods won by a price list",
+            description = "Newline-delimited JSON, one line per product, brand and period where a price of the " +
+                    "price list is the applicable price, ordered by product, brand and start. Periods where a " +
+                    "price of another list has a higher priority are left out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of periods, empty if the price list wins nowhere",
+                    content = @Content(
+                            mediaType = NDJSON,
+                            schema = @Schema(implementation = PriceListSegmentResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid price list or date",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> streamPriceListSegments(
+            @Parameter(description = "Price list identifier", required = true, example = "1")
+            @PathVariable
+            @Positive(message = "Price list must be positive")
+            Integer priceList,
+
+            @Parameter(
+                    description = "Only periods still running after this date (ISO format)",
+                    example = "2020-06-14T00:00:00"
+            )
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime activeAfter
+    ) {
+        log.info("GET /api/v1/price-lists/{}/segments - activeAfter={}", priceList, activeAfter);
+
+        StreamingResponseBody body = output -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+                long segments = findPriceListSegmentsUseCase.forEachSegment(priceList, activeAfter, segment -> {
+                    try {
+                        writer.write(mapper.toSegmentResponse(segment));
+                    } catch (IOException ex) {
+                        // Ends the read: the client went away
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                // Values are only separated: end the last line too
+                writer.flush();
+                if (segments > 0) {
+                    output.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
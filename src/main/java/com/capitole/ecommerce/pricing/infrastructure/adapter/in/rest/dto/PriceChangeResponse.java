@@ -0,0 +1,39 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for effective price changes.
+ * Sent as the data of every event of the price change stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Effective price of a product from the moment it changed")
+public class PriceChangeResponse {
+
+    @Schema(description = "Product identifier", example = "35455")
+    private Integer productId;
+
+    @Schema(description = "Brand identifier (1 = ZARA)", example = "1")
+    private Integer brandId;
+
+    @Schema(description = "When this price became effective, null if it always was", example = "2020-06-14T15:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime effectiveFrom;
+
+    @Schema(description = "When the next change is scheduled, null if none is", example = "2020-06-14T18:30:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime effectiveUntil;
+
+    @Schema(description = "Applicable price, null if no price applies")
+    private PriceResponse price;
+}
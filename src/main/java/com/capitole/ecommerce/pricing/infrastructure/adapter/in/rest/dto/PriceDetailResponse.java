@@ -0,0 +1,52 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for stored prices.
+ * Unlike PriceResponse, it carries the identifier and priority needed to maintain the price.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Stored price")
+public class PriceDetailResponse {
+
+    @Schema(description = "Price identifier", example = "5")
+    private Long id;
+
+    @Schema(description = "Product identifier", example = "35455")
+    private Integer productId;
+
+    @Schema(description = "Brand identifier (1 = ZARA)", example = "1")
+    private Integer brandId;
+
+    @Schema(description = "Price list identifier", example = "5")
+    private Integer priceList;
+
+    @Schema(description = "Start date of price validity", example = "2020-06-16T10:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startDate;
+
+    @Schema(description = "End date of price validity", example = "2020-06-16T20:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endDate;
+
+    @Schema(description = "Final sale price", example = "19.99")
+    private BigDecimal price;
+
+    @Schema(description = "Currency code (ISO 4217)", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Disambiguation value when prices overlap (higher wins)", example = "2")
+    private Integer priority;
+}
@@ -0,0 +1,40 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the periods won by a price list.
+ * Sent as one line of the price list segment stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Period during which a price of the price list is the applicable price of a product")
+public class PriceListSegmentResponse {
+
+    @Schema(description = "Product identifier", example = "35455")
+    private Integer productId;
+
+    @Schema(description = "Brand identifier (1 = ZARA)", example = "1")
+    private Integer brandId;
+
+    @Schema(description = "Start of the period", example = "2020-06-14T15:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime activeFrom;
+
+    @Schema(description = "End of the period: the price applies up to and including this second",
+            example = "2020-06-14T18:30:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime activeUntil;
+
+    @Schema(description = "The applicable price during the period")
+    private PriceDetailResponse price;
+}
@@ -0,0 +1,66 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for creating and updating prices.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Price to create, or new values of a stored price")
+public class PriceWriteRequest {
+
+    @Schema(description = "Product identifier", example = "35455")
+    @NotNull(message = "Product ID is required")
+    @Positive(message = "Product ID must be positive")
+    private Integer productId;
+
+    @Schema(description = "Brand identifier (1 = ZARA)", example = "1")
+    @NotNull(message = "Brand ID is required")
+    @Positive(message = "Brand ID must be positive")
+    private Integer brandId;
+
+    @Schema(description = "Price list identifier", example = "5")
+    @NotNull(message = "Price list is required")
+    private Integer priceList;
+
+    @Schema(description = "Start date of price validity (inclusive)", example = "2020-06-16T10:00:00")
+    @NotNull(message = "Start date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startDate;
+
+    @Schema(description = "End date of price validity (inclusive)", example = "2020-06-16T20:00:00")
+    @NotNull(message = "End date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endDate;
+
+    @Schema(description = "Final sale price", example = "19.99")
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.00", message = "Price must be non-negative")
+    @Digits(integer = 17, fraction = 2, message = "Price must have at most 2 decimals")
+    private BigDecimal price;
+
+    @Schema(description = "Currency code (ISO 4217)", example = "EUR")
+    @NotNull(message = "Currency is required")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency;
+
+    @Schema(description = "Disambiguation value when prices overlap (higher wins)", example = "2")
+    @NotNull(message = "Priority is required")
+    private Integer priority;
+}
@@ -1,11 +1,22 @@
 package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.mapper;
 
 import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceChangeResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceDetailResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceListSegmentResponse;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceRequest;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceWriteRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Mapper for converting between REST DTOs and domain models.
  * Isolates the REST layer from the domain layer following hexagonal architecture.
@@ -52,4 +63,114 @@ public class PriceRestMapper {
                 .currency(price.currency())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts keys written as {@code productId:brandId} to PriceKey domain objects.
+     *
+     * @param keys The keys as received in the request
+     * @return The distinct keys, in request order
+     * @throws IllegalArgumentException if a key is malformed
+     */
+    public Set<PriceKey> toKeys(Collection<String> keys) {
+        Set<PriceKey> priceKeys = new LinkedHashSet<>();
+        for (String key : keys) {
+            String[] parts = key.trim().split(":");
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
+                }
+                priceKeys.add(new PriceKey(Integer.valueOf(parts[0]), Integer.valueOf(parts[1])));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid key '" + key + "', expected productId:brandId");
+            }
+        }
+        return priceKeys;
+    }
+
+    /**
+     * Converts a PriceChange domain object to a PriceChangeResponse DTO.
+     *
+     * @param change The domain model
+     * @return The REST response DTO
+     */
+    public PriceChangeResponse toResponse(PriceChange change) {
+        if (change == null) {
+            return null;
+        }
+
+        return PriceChangeResponse.builder()
+                .productId(change.key().productId())
+                .brandId(change.key().brandId())
+                .effectiveFrom(change.effectiveFrom())
+                .effectiveUntil(change.effectiveUntil())
+                .price(toResponse(change.price()))
+                .build();
+    }
+
+    /**
+     * Converts a PriceWriteRequest DTO to a Price domain object, not stored yet.
+     *
+     * @param request The REST request DTO
+     * @return The domain model
+     */
+    public Price toDomain(PriceWriteRequest request) {
+        if (request == null) {
+            return null;
+        }
+
+        return new Price(
+                request.getProductId(),
+                request.getBrandId(),
+                request.getPriceList(),
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getPrice(),
+                request.getCurrency(),
+                request.getPriority()
+        );
+    }
+
+    /**
+     * Converts a stored Price domain object to a PriceDetailResponse DTO.
+     *
+     * @param price The domain model
+     * @return The REST response DTO
+     */
+    public PriceDetailResponse toDetailResponse(Price price) {
+        if (price == null) {
+            return null;
+        }
+
+        return PriceDetailResponse.builder()
+                .id(price.id())
+                .productId(price.productId())
+                .brandId(price.brandId())
+                .priceList(price.priceList())
+                .startDate(price.startDate())
+                .endDate(price.endDate())
+                .price(price.price())
+                .currency(price.currency())
+                .priority(price.priority())
+                .build();
+    }
+
+    /**
+     * Converts a PriceSegment domain object to a PriceListSegmentResponse DTO.
+     *
+     * @param segment The domain model
+     * @return The REST response DTO
+     */
+    public PriceListSegmentResponse toSegmentResponse(PriceSegment segment) {
+        if (segment == null) {
+            return null;
+        }
+
+        return PriceListSegmentResponse.builder()
+                .productId(segment.price().productId())
+                .brandId(segment.price().brandId())
+                .activeFrom(segment.start())
+                .activeUntil(segment.end())
+                .price(toDetailResponse(segment.price()))
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PriceRepository decorator collapsing concurrent identical loads into one.
+ * A lookup runs the indexed query for its own date through the delegate; lookups of the same product, brand and date
+ * arriving while it is in flight wait for it and share its answer. A lookup arriving while every price of its product
+ * and brand is being loaded (a miss of the engine above) resolves its date from that load instead. Whole-key loads
+ * are collapsed on the product and brand alone. The first caller of a load (the leader) runs it; the others wait
+ * for its result or get its failure. Waiters give up after {@code maxWait} and load themselves,
+ * so a slow load never blocks them longer than that; a waiter whose deadline comes first gives up at its deadline.
+ * The leader loads with its own deadline: a waiter with budget left when the leader's runs out loads by itself.
+ * After a write, loads already in flight for the written keys are detached, so later callers never join
+ * a load that may have read the prices before the write.
+ * Callers only join loads led by their own workload class, so an interactive lookup never waits
+ * behind a load queued in the connection partition of a bulk export.
+ */
+@Slf4j
+public class CoalescingPriceRepository extends DelegatingPriceRepository implements PriceIndex {
+
+    private static final String WAIT_STAGE = "coalesced load";
+
+    private final Duration maxWait;
+    private final Map<WorkloadClass, Map<PriceKey, CompletableFuture<List<Price>>>> keyLoads =
+            new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Map<PriceQuery, CompletableFuture<Optional<Price>>>> lookups =
+            new EnumMap<>(WorkloadClass.class);
+
+    private final Counter loads;
+    private final Counter collapsed;
+    private final Counter timeouts;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public CoalescingPriceRepository(PriceRepository delegate, Duration maxWait, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.maxWait = maxWait;
+        this.loads = callCounter(meterRegistry, "load");
+        this.collapsed = callCounter(meterRegistry, "collapsed");
+        this.timeouts = callCounter(meterRegistry, "timeout");
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            keyLoads.put(workloadClass, new ConcurrentHashMap<>());
+            lookups.put(workloadClass, new ConcurrentHashMap<>());
+        }
+        Gauge.builder("pricing.lookup.coalescing.in-flight", this, CoalescingPriceRepository::inFlight)
+                .description("Product/brand loads and lookups currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("pricing.lookup.coalescing.waiting", waiting, AtomicInteger::get)
+                .description("Callers currently waiting for a load led by another caller")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        WorkloadClass workloadClass = WorkloadClass.current();
+        Deadline deadline = query.deadline();
+        Optional<Price> price;
+        boolean shared;
+        CompletableFuture<List<Price>> keyLoad = keyLoads.get(workloadClass).get(query.key());
+        if (keyLoad != null) {
+            shared = true;
+            price = query.selectFrom(await(query.key(), deadline, keyLoad,
+                    () -> delegate.findPrices(query.key(), deadline)));
+        } else {
+            // Deadlines differ between callers: the lookup is shared on its product, brand and date alone
+            PriceQuery lookup = query.withDeadline(Deadline.NONE);
+            CompletableFuture<Optional<Price>> load = new CompletableFuture<>();
+            Map<PriceQuery, CompletableFuture<Optional<Price>>> classLookups = lookups.get(workloadClass);
+            CompletableFuture<Optional<Price>> existing = classLookups.putIfAbsent(lookup, load);
+            shared = existing != null;
+            price = shared
+                    ? await(query.key(), deadline, existing, () -> delegate.findApplicablePrice(query))
+                    : lead(lookup, load, classLookups, () -> delegate.findApplicablePrice(query));
+        }
+        event.complete("coalescing", "findApplicablePrice",
+                shared ? PriceRepositoryEvent.SHARED : PriceRepositoryEvent.LOAD, query.key(), 0, price.isPresent());
+        return price;
+    }
+
+    @Override
+    public List<Price> findPrices(PriceKey key, Deadline deadline) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        CompletableFuture<List<Price>> load = new CompletableFuture<>();
+        Map<PriceKey, CompletableFuture<List<Price>>> classLoads = keyLoads.get(WorkloadClass.current());
+        CompletableFuture<List<Price>> existing = classLoads.putIfAbsent(key, load);
+        List<Price> prices = existing == null
+                ? lead(key, load, classLoads, () -> delegate.findPrices(key, deadline))
+                : await(key, deadline, existing, () -> delegate.findPrices(key, deadline));
+        event.complete("coalescing", "findPrices",
+                existing == null ? PriceRepositoryEvent.LOAD : PriceRepositoryEvent.SHARED, key, 0, !prices.isEmpty());
+        return prices;
+    }
+
+    @Override
+    public String indexName() {
+        return "coalescing";
+    }
+
+    @Override
+    public void refresh(Set<PriceKey> keys) {
+        keyLoads.values().forEach(classLoads -> keys.forEach(classLoads::remove));
+        lookups.values().forEach(classLookups -> classLookups.keySet().removeIf(query -> keys.contains(query.key())));
+    }
+
+    private int inFlight() {
+        int count = 0;
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            count += keyLoads.get(workloadClass).size() + lookups.get(workloadClass).size();
+        }
+        return count;
+    }
+
+    private <K, V> V lead(K key, CompletableFuture<V> load, Map<K, CompletableFuture<V>> classLoads,
+                          Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            classLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * @param loader Runs the load directly, when waiting for the leader's is not worth it anymore
+     */
+    private <V> V await(PriceKey key, Deadline deadline, CompletableFuture<V> load, Supplier<V> loader) {
+        try {
+            V value = waitFor(load, deadline);
+            // Counted once shared: a waiter that gave up and loaded itself counts as a timeout only
+            collapsed.increment();
+            return value;
+        } catch (TimeoutException ex) {
+            deadline.check(WAIT_STAGE);
+            timeouts.increment();
+            log.warn("Waited more than {} ms for the in-flight load of {}, loading it directly",
+                    maxWait.toMillis(), key);
+            return loader.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof DeadlineExceededException && !deadline.isExpired()) {
+                // The leader's budget ran out, not this caller's
+                return loader.get();
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shared load of " + key + " failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load of " + key, ex);
+        }
+    }
+
+    private <V> V waitFor(CompletableFuture<V> load, Deadline deadline)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        waiting.incrementAndGet();
+        try {
+            return load.get(Math.min(maxWait.toNanos(), deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.lookup.coalescing.calls")
+                .description("Lookups and loads by outcome: load (ran the query), collapsed (shared an in-flight one), "
+                        + "timeout (gave up waiting and ran the query)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
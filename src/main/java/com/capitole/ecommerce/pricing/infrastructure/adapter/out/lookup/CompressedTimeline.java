@@ -0,0 +1,385 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolved timeline of one product and brand, encoded in a single byte array.
+ * A {@link PriceTimeline} retains a few hundred bytes per segment (records, LocalDateTime, BigDecimal, strings);
+ * this encoding takes a few bytes per segment and decodes only what a lookup needs.
+ * <p>
+ * Layout:
+ * <pre>
+ * int                        segment count
+ * blocks x (long, int)       skip table: epoch second of the first start of every block, offset of the block
+ * varint                     base epoch second (zigzag): the earliest price start
+ * varint, amounts            amount dictionary: distinct amounts of the product
+ * varint, prices             price dictionary: id, price list, priority, currency code, amount index,
+ *                            start (from the base) and end (from the start) of every distinct price
+ * blocks of 16 segments      start (from the previous boundary), end (from the start), price index
+ * </pre>
+ * Instants are UTC epoch seconds plus nanos. A boundary is one varint: the delta in seconds shifted left by two,
+ * with a tag for the nanos (0, 1, or a varint following). Exclusive segment ends are one nanosecond past the
+ * price end date, so the tag keeps them exact at no cost. A lookup binary-searches the fixed-width skip table,
+ * decodes at most 16 segments of one block (two when the date falls within the first second of a block before
+ * its first start), then the single price dictionary entry it answers with.
+ */
+final class CompressedTimeline {
+
+    static final int BLOCK_SIZE = 16;
+
+    private static final int SKIP_ENTRY = 12;
+    private static final int NOT_FOUND = -1;
+    private static final int BEFORE_BLOCK = -2;
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final byte[] data;
+
+    private CompressedTimeline(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @param timeline A resolved timeline
+     * @param currencies Codes of the currencies, shared by every timeline decoded with them
+     * @return The encoded timeline
+     */
+    static CompressedTimeline encode(PriceTimeline timeline, CurrencyCodes currencies) {
+        Map<Price, Integer> prices = new IdentityHashMap<>();
+        Map<BigDecimal, Integer> amounts = new LinkedHashMap<>();
+        long baseSecond = Long.MAX_VALUE;
+        for (PriceSegment segment : timeline.segments()) {
+            if (prices.putIfAbsent(segment.price(), prices.size()) == null) {
+                amounts.putIfAbsent(segment.price().price(), amounts.size());
+                baseSecond = Math.min(baseSecond, second(segment.price().startDate()));
+            }
+        }
+
+        Encoder body = new Encoder();
+        body.zigzag(prices.isEmpty() ? 0 : baseSecond);
+        body.varint(amounts.size());
+        for (BigDecimal amount : amounts.keySet()) {
+            body.amount(amount);
+        }
+        Price[] dictionary = new Price[prices.size()];
+        prices.forEach((price, index) -> dictionary[index] = price);
+        body.varint(dictionary.length);
+        for (Price price : dictionary) {
+            body.varint(price.id() == null ? 0 : price.id() + 1);
+            body.zigzag(price.priceList());
+            body.zigzag(price.priority());
+            body.varint(currencies.code(price.currency()));
+            body.varint(amounts.get(price.price()));
+            body.boundary(baseSecond, price.startDate());
+            body.boundary(second(price.startDate()), price.endDate());
+        }
+
+        int count = timeline.segments().size();
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] blockSeconds = new long[blocks];
+        int[] blockOffsets = new int[blocks];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            PriceSegment segment = timeline.segments().get(i);
+            if (i % BLOCK_SIZE == 0) {
+                previous = second(segment.start());
+                blockSeconds[i / BLOCK_SIZE] = previous;
+                blockOffsets[i / BLOCK_SIZE] = body.size();
+            }
+            body.boundary(previous, segment.start());
+            body.boundary(second(segment.start()), segment.end());
+            body.varint(prices.get(segment.price()));
+            previous = second(segment.end());
+        }
+
+        int bodyStart = Integer.BYTES + blocks * SKIP_ENTRY;
+        byte[] data = new byte[bodyStart + body.size()];
+        INT.set(data, 0, count);
+        for (int block = 0; block < blocks; block++) {
+            LONG.set(data, Integer.BYTES + block * SKIP_ENTRY, blockSeconds[block]);
+            INT.set(data, Integer.BYTES + block * SKIP_ENTRY + Long.BYTES, bodyStart + blockOffsets[block]);
+        }
+        System.arraycopy(body.bytes, 0, data, bodyStart, body.size());
+        return new CompressedTimeline(data);
+    }
+
+    /**
+     * @param key The product and brand the timeline was encoded for
+     * @param date The date to look up
+     * @param currencies Codes of the currencies the timeline was encoded with
+     * @return The applicable price at the date, or empty if none applies
+     */
+    Optional<Price> priceAt(PriceKey key, LocalDateTime date, CurrencyCodes currencies) {
+        long second = second(date);
+        int nano = date.getNano();
+        int block = lastBlockStartingAtOrBefore(second);
+        if (block < 0) {
+            return Optional.empty();
+        }
+        int index = scan(block, second, nano);
+        if (index == BEFORE_BLOCK && block > 0) {
+            index = scan(block - 1, second, nano);
+        }
+        return index < 0 ? Optional.empty() : Optional.of(price(key, index, currencies));
+    }
+
+    /**
+     * @return Resolved segments of the timeline
+     */
+    int segmentCount() {
+        return (int) INT.get(data, 0);
+    }
+
+    /**
+     * @return Distinct prices referenced by the segments
+     */
+    int priceCount() {
+        Decoder decoder = new Decoder(data, headerOffset());
+        decoder.zigzag();
+        skipAmounts(decoder);
+        return (int) decoder.varint();
+    }
+
+    /**
+     * @return Length of the encoded form
+     */
+    int encodedBytes() {
+        return data.length;
+    }
+
+    private int blockCount() {
+        return (segmentCount() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    private int headerOffset() {
+        return Integer.BYTES + blockCount() * SKIP_ENTRY;
+    }
+
+    private int lastBlockStartingAtOrBefore(long second) {
+        int low = 0;
+        int high = blockCount() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if ((long) LONG.get(data, Integer.BYTES + mid * SKIP_ENTRY) > second) {
+                high = mid - 1;
+            } else {
+                found = mid;
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Decodes the segments of one block up to the date.
+     *
+     * @return Index of the price applicable at the date, {@link #NOT_FOUND} if the date falls in a gap,
+     * {@link #BEFORE_BLOCK} if it comes before the first segment of the block
+     */
+    private int scan(int block, long second, int nano) {
+        int entry = Integer.BYTES + block * SKIP_ENTRY;
+        Decoder decoder = new Decoder(data, (int) INT.get(data, entry + Long.BYTES));
+        long previous = (long) LONG.get(data, entry);
+        int segments = Math.min(BLOCK_SIZE, segmentCount() - block * BLOCK_SIZE);
+        for (int i = 0; i < segments; i++) {
+            long startSecond = decoder.boundarySecond(previous);
+            int startNano = decoder.lastNano;
+            if (compare(second, nano, startSecond, startNano) < 0) {
+                return i == 0 ? BEFORE_BLOCK : NOT_FOUND;
+            }
+            long endSecond = decoder.boundarySecond(startSecond);
+            int endNano = decoder.lastNano;
+            int index = (int) decoder.varint();
+            if (compare(second, nano, endSecond, endNano) < 0) {
+                return index;
+            }
+            previous = endSecond;
+        }
+        return NOT_FOUND;
+    }
+
+    private Price price(PriceKey key, int index, CurrencyCodes currencies) {
+        Decoder decoder = new Decoder(data, headerOffset());
+        long baseSecond = decoder.zigzag();
+        int amountCount = (int) decoder.varint();
+        int amountsOffset = decoder.position;
+        for (int i = 0; i < amountCount; i++) {
+            decoder.amount();
+        }
+        decoder.varint();
+        for (int i = 0; i < index; i++) {
+            skipPrice(decoder);
+        }
+        long id = decoder.varint();
+        int priceList = (int) decoder.zigzag();
+        int priority = (int) decoder.zigzag();
+        String currency = currencies.currency((int) decoder.varint());
+        int amount = (int) decoder.varint();
+        long startSecond = decoder.boundarySecond(baseSecond);
+        LocalDateTime startDate = LocalDateTime.ofEpochSecond(startSecond, decoder.lastNano, ZoneOffset.UTC);
+        long endSecond = decoder.boundarySecond(startSecond);
+        LocalDateTime endDate = LocalDateTime.ofEpochSecond(endSecond, decoder.lastNano, ZoneOffset.UTC);
+
+        Decoder amounts = new Decoder(data, amountsOffset);
+        for (int i = 0; i < amount; i++) {
+            amounts.amount();
+        }
+        return new Price(key.productId(), key.brandId(), priceList, startDate, endDate, amounts.amount(), currency,
+                priority, id == 0 ? null : id - 1);
+    }
+
+    private static void skipAmounts(Decoder decoder) {
+        int amounts = (int) decoder.varint();
+        for (int i = 0; i < amounts; i++) {
+            decoder.amount();
+        }
+    }
+
+    private static void skipPrice(Decoder decoder) {
+        decoder.varint();
+        decoder.zigzag();
+        decoder.zigzag();
+        decoder.varint();
+        decoder.varint();
+        decoder.boundarySecond(0);
+        decoder.boundarySecond(0);
+    }
+
+    private static long second(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int compare(long second, int nano, long otherSecond, int otherNano) {
+        int bySecond = Long.compare(second, otherSecond);
+        return bySecond != 0 ? bySecond : Integer.compare(nano, otherNano);
+    }
+
+    private static final class Encoder {
+
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Writes a boundary as its distance in seconds from a previous, earlier one.
+         */
+        void boundary(long previousSecond, LocalDateTime date) {
+            long delta = second(date) - previousSecond;
+            int nano = date.getNano();
+            int tag = nano == 0 ? 0 : nano == 1 ? 1 : 2;
+            varint(delta << 2 | tag);
+            if (tag == 2) {
+                varint(nano);
+            }
+        }
+
+        /**
+         * Writes an amount as its scale and unscaled value; values beyond a long keep their two's-complement bytes.
+         */
+        void amount(BigDecimal amount) {
+            BigInteger unscaled = amount.unscaledValue();
+            boolean big = unscaled.bitLength() > 63;
+            zigzag((long) amount.scale() << 1 | (big ? 1 : 0));
+            if (big) {
+                byte[] value = unscaled.toByteArray();
+                varint(value.length);
+                ensure(value.length);
+                System.arraycopy(value, 0, bytes, size, value.length);
+                size += value.length;
+            } else {
+                zigzag(unscaled.longValue());
+            }
+        }
+
+        private void ensure(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] bytes;
+        private int position;
+        private int lastNano;
+
+        Decoder(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        /**
+         * Reads a boundary written by {@link Encoder#boundary}; its nanos are left in {@link #lastNano}.
+         */
+        long boundarySecond(long previousSecond) {
+            long value = varint();
+            int tag = (int) (value & 3);
+            lastNano = tag == 0 ? 0 : tag == 1 ? 1 : (int) varint();
+            return previousSecond + (value >>> 2);
+        }
+
+        BigDecimal amount() {
+            long header = zigzag();
+            int scale = (int) (header >> 1);
+            if ((header & 1) == 0) {
+                return BigDecimal.valueOf(zigzag(), scale);
+            }
+            int length = (int) varint();
+            BigInteger unscaled = new BigInteger(bytes, position, length);
+            position += length;
+            return new BigDecimal(unscaled, scale);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.RebuildablePriceIndex;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lookup engine answering from in-memory timelines held in their {@link CompressedTimeline} encoding,
+ * for datasets whose resolved timelines would not fit in memory as objects.
+ * Loads, refreshes, staleness and rebuilds behave as in {@link TimelinePriceRepository}; only the representation
+ * differs: a lookup decodes one block of segments and one price instead of reading the resolved objects.
+ */
+@Slf4j
+public class CompressedTimelinePriceRepository extends DelegatingPriceRepository
+        implements PriceIndex, RebuildablePriceIndex, MemoryAccountable {
+
+    private final long maxStalenessNanos;
+    private final Map<PriceKey, Entry> timelines = new ConcurrentHashMap<>();
+    private final CurrencyCodes currencies = new CurrencyCodes();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong encodedBytes = new AtomicLong();
+    private final MemoryBudget budget;
+
+    private final Counter missLoads;
+    private final Counter expiredLoads;
+    private final Counter refreshLoads;
+
+    public CompressedTimelinePriceRepository(PriceRepository delegate, Duration maxStaleness, MemoryBudget budget,
+                                             MeterRegistry meterRegistry) {
+        super(delegate);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.budget = budget;
+        this.missLoads = loadCounter(meterRegistry, "miss");
+        this.expiredLoads = loadCounter(meterRegistry, "expired");
+        this.refreshLoads = loadCounter(meterRegistry, "refresh");
+        Gauge.builder("pricing.lookup.compressed.keys", timelines, Map::size)
+                .description("Products and brands with a compressed timeline in memory")
+                .register(meterRegistry);
+        Gauge.builder("pricing.lookup.compressed.bytes", encodedBytes, AtomicLong::get)
+                .description("Length of the encoded timelines in memory, without the map and key overhead")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        Entry entry = timelines.get(query.key());
+        boolean fresh = isFresh(entry);
+        CompressedTimeline timeline = fresh ? entry.timeline() : loadAndPublish(query.key(), entry, query.deadline());
+        Optional<Price> price = timeline.priceAt(query.key(), query.applicationDate(), currencies);
+        event.complete("compressed", "findApplicablePrice",
+                fresh ? PriceRepositoryEvent.CACHE : PriceRepositoryEvent.LOAD, query.key(), 0, price.isPresent());
+        return price;
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry != null && System.nanoTime() - entry.loadedAt() < maxStalenessNanos;
+    }
+
+    private CompressedTimeline loadAndPublish(PriceKey key, Entry entry, Deadline deadline) {
+        (entry == null ? missLoads : expiredLoads).increment();
+
+        // A write committed while loading may not be part of the load: publish it only if none happened
+        long writesBeforeLoad = writes.get();
+        Entry loaded = entry(load(key, deadline));
+        if (writes.get() == writesBeforeLoad) {
+            publish(key, loaded, entry != null);
+        }
+        return loaded.timeline();
+    }
+
+    @Override
+    public String indexName() {
+        return "compressed";
+    }
+
+    @Override
+    public void refresh(Set<PriceKey> keys) {
+        writes.incrementAndGet();
+        for (PriceKey key : keys) {
+            Entry previous = timelines.get(key);
+            if (previous == null) {
+                continue;
+            }
+            try {
+                refreshLoads.increment();
+                Entry next = entry(load(key, Deadline.NONE));
+                timelines.computeIfPresent(key, (k, entry) -> {
+                    // Replaced while loading, maybe by a refresh that loaded before the last write: drop it
+                    Entry installed = entry == previous ? next : null;
+                    replaced(entry, installed);
+                    return installed;
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Could not re-resolve the timeline of {}, dropping it: {}", key, ex.getMessage());
+                remove(key);
+            }
+        }
+        evictIfOverBudget();
+    }
+
+    @Override
+    public PartitionSink startRebuild() {
+        long writesBeforeRebuild = writes.get();
+        return resolved -> {
+            if (writes.get() != writesBeforeRebuild) {
+                return;
+            }
+            for (PriceTimeline timeline : resolved) {
+                publish(timeline.key(), entry(timeline), false);
+            }
+        };
+    }
+
+    @Override
+    public String memoryName() {
+        return "compressed";
+    }
+
+    @Override
+    public MemoryBudget memoryBudget() {
+        return budget;
+    }
+
+    @Override
+    public MemoryUsage memoryUsage() {
+        long now = System.nanoTime();
+        long entries = 0;
+        long negative = 0;
+        long oldest = now;
+        for (Entry entry : timelines.values()) {
+            entries++;
+            negative += entry.timeline().segmentCount() == 0 ? 1 : 0;
+            oldest = Math.min(oldest, entry.loadedAt());
+        }
+        return new MemoryUsage(entries, negative, TimeUnit.NANOSECONDS.toMillis(now - oldest));
+    }
+
+    /**
+     * @return Products and brands with a compressed timeline in memory
+     */
+    public int size() {
+        return timelines.size();
+    }
+
+    private void publish(PriceKey key, Entry entry, boolean replacing) {
+        // Replacing a stale timeline frees about as much as it takes
+        if (!replacing && !budget.admit(entry.bytes())) {
+            return;
+        }
+        replaced(timelines.put(key, entry), entry);
+        evictIfOverBudget();
+    }
+
+    private void evictIfOverBudget() {
+        if (!budget.shouldEvict()) {
+            return;
+        }
+        Iterator<PriceKey> keys = timelines.keySet().iterator();
+        while (budget.aboveLowWatermark() && keys.hasNext()) {
+            if (remove(keys.next())) {
+                budget.recordEviction();
+            }
+        }
+    }
+
+    private boolean remove(PriceKey key) {
+        Entry removed = timelines.remove(key);
+        if (removed != null) {
+            replaced(removed, null);
+        }
+        return removed != null;
+    }
+
+    private void replaced(Entry previous, Entry next) {
+        budget.replaced(previous == null ? 0 : previous.bytes(), previous == null ? 0 : previous.priceRows(),
+                next == null ? 0 : next.bytes(), next == null ? 0 : next.priceRows());
+        encodedBytes.addAndGet((next == null ? 0 : next.timeline().encodedBytes())
+                - (previous == null ? 0 : previous.timeline().encodedBytes()));
+    }
+
+    private PriceTimeline load(PriceKey key, Deadline deadline) {
+        return PriceTimeline.resolve(key, delegate.findPrices(key, deadline));
+    }
+
+    private Entry entry(PriceTimeline timeline) {
+        CompressedTimeline compressed = CompressedTimeline.encode(timeline, currencies);
+        return new Entry(compressed, System.nanoTime(), MemoryFootprint.ofEncoded(compressed.encodedBytes()),
+                compressed.priceCount());
+    }
+
+    private static Counter loadCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("pricing.lookup.compressed.loads")
+                .description("Compressed timelines resolved from the stored prices, by reason: miss (first lookup), "
+                        + "expired (older than max-staleness), refresh (after a write)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Entry(CompressedTimeline timeline, long loadedAt, long bytes, int priceRows) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Small integer codes of the currencies seen by the compressed timelines, shared by all of them:
+ * a handful of currencies cover every price, so each encoded price carries a one-byte code instead of the string.
+ * Codes are assigned on first use and never change; reading a code takes no lock.
+ */
+final class CurrencyCodes {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] currencies = new String[0];
+
+    /**
+     * @param currency An ISO currency code
+     * @return Its code, assigned if the currency is new
+     */
+    synchronized int code(String currency) {
+        Integer code = codes.get(currency);
+        if (code == null) {
+            code = currencies.length;
+            codes.put(currency, code);
+            String[] next = Arrays.copyOf(currencies, code + 1);
+            next[code] = currency;
+            currencies = next;
+        }
+        return code;
+    }
+
+    /**
+     * @param code A code returned by {@link #code(String)}
+     * @return The currency it stands for
+     */
+    String currency(int code) {
+        return currencies[code];
+    }
+}
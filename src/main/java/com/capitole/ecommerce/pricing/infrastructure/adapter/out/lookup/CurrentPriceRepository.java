@@ -0,0 +1,326 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fast path for lookups at the current time, which are the vast majority.
+ * Keeps only the price in effect right now for every product and brand looked up recently,
+ * together with the period it holds for, and a task at the end of that period that advances the entry
+ * to the next effective price. Lookups within {@code skew} of now are answered from the entry;
+ * historical and future dates go to the next layer.
+ * Entries are re-resolved after every committed write and reloaded once older than {@code maxStaleness}.
+ * Over an engine holding resolved timelines ({@link TimelineSource}), entries are taken from its timelines;
+ * over any other, every miss and every advance loads all the prices of the product and brand.
+ * Besides {@code maxKeys}, their estimated size is accounted against a {@link MemoryBudget}:
+ * past it, new keys go to the next layer, or entries are evicted (in map order) to make room.
+ */
+@Slf4j
+public class CurrentPriceRepository extends DelegatingPriceRepository implements PriceIndex, MemoryAccountable {
+
+    private final BoundaryScheduler boundaryScheduler;
+    private final Clock clock;
+    private final Duration skew;
+    private final long maxStalenessNanos;
+    private final int maxKeys;
+    private final Map<PriceKey, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final MemoryBudget budget;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter advances;
+
+    public CurrentPriceRepository(
+            PriceRepository delegate,
+            BoundaryScheduler boundaryScheduler,
+            Clock clock,
+            Duration skew,
+            Duration maxStaleness,
+            int maxKeys,
+            MeterRegistry meterRegistry
+    ) {
+        this(delegate, boundaryScheduler, clock, skew, maxStaleness, maxKeys, MemoryBudget.unlimited(), meterRegistry);
+    }
+
+    public CurrentPriceRepository(
+            PriceRepository delegate,
+            BoundaryScheduler boundaryScheduler,
+            Clock clock,
+            Duration skew,
+            Duration maxStaleness,
+            int maxKeys,
+            MemoryBudget budget,
+            MeterRegistry meterRegistry
+    ) {
+        super(delegate);
+        this.budget = budget;
+        this.boundaryScheduler = boundaryScheduler;
+        this.clock = clock;
+        this.skew = skew;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxKeys = maxKeys;
+        this.hits = callCounter(meterRegistry, "hit");
+        this.misses = callCounter(meterRegistry, "miss");
+        this.bypasses = callCounter(meterRegistry, "bypass");
+        this.advances = Counter.builder("pricing.lookup.current.advances")
+                .description("Current prices advanced to the next effective price at a boundary")
+                .register(meterRegistry);
+        Gauge.builder("pricing.lookup.current.keys", current, Map::size)
+                .description("Products and brands with their current price in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        LocalDateTime date = query.applicationDate();
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (Duration.between(now, date).abs().compareTo(skew) > 0) {
+            bypasses.increment();
+            return recorded(event, PriceRepositoryEvent.BYPASS, query, delegate.findApplicablePrice(query));
+        }
+
+        Entry entry = current.get(query.key());
+        if (entry != null && System.nanoTime() - entry.loadedAt < maxStalenessNanos && entry.covers(now)) {
+            if (entry.covers(date)) {
+                hits.increment();
+                return recorded(event, PriceRepositoryEvent.CACHE, query, Optional.ofNullable(entry.change.price()));
+            }
+            // Within the skew but across a boundary from now: the entry does not know that side
+            bypasses.increment();
+            return recorded(event, PriceRepositoryEvent.BYPASS, query, delegate.findApplicablePrice(query));
+        }
+
+        if (entry == null && current.size() >= maxKeys) {
+            bypasses.increment();
+            return recorded(event, PriceRepositoryEvent.BYPASS, query, delegate.findApplicablePrice(query));
+        }
+
+        misses.increment();
+        // A write committed while loading may not be part of the load: keep it only if none happened
+        long writesBeforeLoad = writes.get();
+        PriceTimeline timeline = load(query.key(), query.deadline());
+        if (writes.get() == writesBeforeLoad
+                && (entry != null || budget.admit(MemoryFootprint.of(timeline.changeAt(now))))) {
+            current.compute(query.key(), (key, previous) -> replace(previous, timeline, now));
+            evictIfOverBudget();
+        }
+        return recorded(event, PriceRepositoryEvent.LOAD, query, timeline.priceAt(date));
+    }
+
+    @Override
+    public String indexName() {
+        return "current";
+    }
+
+    @Override
+    public void refresh(Set<PriceKey> keys) {
+        writes.incrementAndGet();
+        for (PriceKey key : keys) {
+            Entry previous = current.get(key);
+            if (previous == null) {
+                continue;
+            }
+            try {
+                PriceTimeline timeline = load(key, Deadline.NONE);
+                current.computeIfPresent(key, (k, entry) -> {
+                    if (entry != previous) {
+                        // Replaced while loading, maybe from an older load: drop it, the next lookup loads it again
+                        discard(entry);
+                        return null;
+                    }
+                    return replace(entry, timeline, LocalDateTime.now(clock));
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Could not re-resolve the current price of {}, dropping it: {}", key, ex.getMessage());
+                remove(key);
+            }
+        }
+        evictIfOverBudget();
+    }
+
+    @Override
+    public String memoryName() {
+        return "current";
+    }
+
+    @Override
+    public MemoryBudget memoryBudget() {
+        return budget;
+    }
+
+    @Override
+    public MemoryUsage memoryUsage() {
+        long now = System.nanoTime();
+        long entries = 0;
+        long negative = 0;
+        long oldest = now;
+        for (Entry entry : current.values()) {
+            entries++;
+            negative += entry.change.hasPrice() ? 0 : 1;
+            oldest = Math.min(oldest, entry.loadedAt);
+        }
+        return new MemoryUsage(entries, negative, TimeUnit.NANOSECONDS.toMillis(now - oldest));
+    }
+
+    /**
+     * @return Products and brands with their current price in memory
+     */
+    public int size() {
+        return current.size();
+    }
+
+    private void advance(PriceKey key, Entry expected) {
+        if (current.get(key) != expected) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (expected.covers(now)) {
+            // Fired early (the scheduler ticks on its own clock): wait for the actual boundary
+            current.computeIfPresent(key, (k, entry) -> {
+                if (entry == expected) {
+                    entry.scheduled = schedule(k, entry);
+                }
+                return entry;
+            });
+            return;
+        }
+        try {
+            PriceTimeline timeline = load(key, Deadline.NONE);
+            current.computeIfPresent(key, (k, entry) -> {
+                if (entry != expected) {
+                    // Replaced while loading by a refresh or a lookup, which loaded no earlier than this
+                    return entry;
+                }
+                advances.increment();
+                // The fired task needs no cancelling, but the entry it replaces is still accounted
+                budget.replaced(entry.bytes, entry.priceRows(), 0, 0);
+                return replace(null, timeline, now);
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Could not advance the current price of {}, dropping it: {}", key, ex.getMessage());
+            remove(key);
+        }
+    }
+
+    private Entry replace(Entry previous, PriceTimeline timeline, LocalDateTime now) {
+        if (previous != null && previous.scheduled != null) {
+            previous.scheduled.cancel();
+        }
+        Entry entry = new Entry(timeline.changeAt(now), System.nanoTime());
+        entry.scheduled = schedule(timeline.key(), entry);
+        budget.replaced(previous == null ? 0 : previous.bytes, previous == null ? 0 : previous.priceRows(),
+                entry.bytes, entry.priceRows());
+        return entry;
+    }
+
+    private BoundaryScheduler.Scheduled schedule(PriceKey key, Entry entry) {
+        LocalDateTime until = entry.change.effectiveUntil();
+        return until == null ? null : boundaryScheduler.schedule(
+                until.atZone(clock.getZone()).toInstant(), () -> advance(key, entry));
+    }
+
+    private boolean remove(PriceKey key) {
+        Entry removed = current.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        discard(removed);
+        return true;
+    }
+
+    private void discard(Entry removed) {
+        if (removed.scheduled != null) {
+            removed.scheduled.cancel();
+        }
+        budget.replaced(removed.bytes, removed.priceRows(), 0, 0);
+    }
+
+    private void evictIfOverBudget() {
+        if (!budget.shouldEvict()) {
+            return;
+        }
+        Iterator<PriceKey> keys = current.keySet().iterator();
+        while (budget.aboveLowWatermark() && keys.hasNext()) {
+            if (remove(keys.next())) {
+                budget.recordEviction();
+            }
+        }
+    }
+
+    private static Optional<Price> recorded(PriceRepositoryEvent event, String path, PriceQuery query,
+                                            Optional<Price> price) {
+        event.complete("current", "findApplicablePrice", path, query.key(), 0, price.isPresent());
+        return price;
+    }
+
+    private PriceTimeline load(PriceKey key, Deadline deadline) {
+        if (delegate instanceof TimelineSource timelines) {
+            return timelines.timeline(key, deadline);
+        }
+        return PriceTimeline.resolve(key, delegate.findPrices(key, deadline));
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.lookup.current.calls")
+                .description("Lookups by outcome: hit (current price in memory), miss (loaded), "
+                        + "bypass (date not near now or no room left, sent to the next layer)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Price in effect for a product and brand, with the task scheduled at the end of its period.
+     * Only replaced inside the map's compute functions, which serialize access per key.
+     */
+    private static final class Entry {
+
+        private final PriceChange change;
+        private final long loadedAt;
+        private final long bytes;
+        private BoundaryScheduler.Scheduled scheduled;
+
+        private Entry(PriceChange change, long loadedAt) {
+            this.change = change;
+            this.loadedAt = loadedAt;
+            this.bytes = MemoryFootprint.of(change);
+        }
+
+        private int priceRows() {
+            return change.hasPrice() ? 1 : 0;
+        }
+
+        private boolean covers(LocalDateTime date) {
+            return (change.effectiveFrom() == null || !date.isBefore(change.effectiveFrom()))
+                    && (change.effectiveUntil() == null || date.isBefore(change.effectiveUntil()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base of the layers wrapped around the persistence adapter: forwards every operation to the next layer,
+ * so that each layer only overrides the operations it changes.
+ */
+public abstract class DelegatingPriceRepository implements PriceRepository {
+
+    protected final PriceRepository delegate;
+
+    protected DelegatingPriceRepository(PriceRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        return delegate.findApplicablePrice(query);
+    }
+
+    @Override
+    public List<Price> findPrices(PriceKey key, Deadline deadline) {
+        return delegate.findPrices(key, deadline);
+    }
+
+    @Override
+    public Optional<Price> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Price save(Price price) {
+        return delegate.save(price);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+}
@@ -0,0 +1,29 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint exposing the most looked-up products and brands at {@code /actuator/hotkeys}.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotPriceRepository hotPriceRepository;
+    private final int limit;
+
+    /**
+     * @param hotPriceRepository The hot tier, null when disabled
+     * @param limit Largest number of keys reported
+     */
+    public HotKeysEndpoint(@Nullable HotPriceRepository hotPriceRepository, int limit) {
+        this.hotPriceRepository = hotPriceRepository;
+        this.limit = limit;
+    }
+
+    @ReadOperation
+    public HotKeysReport report() {
+        return hotPriceRepository == null ? HotKeysReport.disabled() : hotPriceRepository.report(limit);
+    }
+}
@@ -0,0 +1,39 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import java.util.List;
+
+/**
+ * Most looked-up products and brands, exposed through the {@code hotkeys} actuator endpoint.
+ *
+ * @param enabled Whether hot keys are tracked and pinned
+ * @param observed Lookups recorded by the tracker, halved at every recomputation of the pinned set
+ * @param pinned Products and brands currently pinned
+ * @param keys Tracked keys, most looked up first
+ */
+public record HotKeysReport(
+        boolean enabled,
+        long observed,
+        int pinned,
+        List<HotKey> keys
+) {
+
+    public static HotKeysReport disabled() {
+        return new HotKeysReport(false, 0, 0, List.of());
+    }
+
+    /**
+     * @param productId Product identifier
+     * @param brandId Brand identifier
+     * @param count Estimated lookups, never below the true count
+     * @param error Largest overestimation of the count
+     * @param pinned Whether the timeline of the key is pinned in memory
+     */
+    public record HotKey(
+            Integer productId,
+            Integer brandId,
+            long count,
+            long error,
+            boolean pinned
+    ) {
+    }
+}
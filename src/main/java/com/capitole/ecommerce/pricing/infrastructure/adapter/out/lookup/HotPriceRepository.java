@@ -0,0 +1,253 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost lookup layer: tracks the most looked-up products and brands with a {@link SpaceSaving} tracker
+ * and pins their whole resolved timelines in memory, so that campaign traffic is answered without reaching
+ * any layer that can evict, expire or refuse entries.
+ * The pinned set is recomputed every {@code pinInterval} from the keys seen at least {@code minCount} times
+ * (counts are halved after every recomputation, so they follow recent traffic), and pinned keys are
+ * re-resolved after every committed write and at every recomputation.
+ * The pinned map is immutable and replaced as a whole, so lookups read it without locking.
+ */
+@Slf4j
+public class HotPriceRepository extends DelegatingPriceRepository implements PriceIndex, MemoryAccountable, AutoCloseable {
+
+    private final SpaceSaving<PriceKey> tracker;
+    private final int pinCount;
+    private final long minCount;
+    private final MemoryBudget budget = MemoryBudget.unlimited();
+    private volatile Map<PriceKey, Pinned> pinned = Map.of();
+    private ScheduledExecutorService pinner;
+
+    private final Counter pinnedHits;
+    private final Counter unpinnedCalls;
+
+    public HotPriceRepository(
+            PriceRepository delegate,
+            int capacity,
+            int pinCount,
+            long minCount,
+            MeterRegistry meterRegistry
+    ) {
+        super(delegate);
+        this.tracker = new SpaceSaving<>(capacity);
+        this.pinCount = pinCount;
+        this.minCount = minCount;
+        this.pinnedHits = callCounter(meterRegistry, "pinned");
+        this.unpinnedCalls = callCounter(meterRegistry, "unpinned");
+        Gauge.builder("pricing.lookup.hot.pinned", this, repository -> repository.pinned.size())
+                .description("Hot products and brands with their timeline pinned in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        tracker.offer(query.key());
+        Pinned entry = pinned.get(query.key());
+        if (entry == null) {
+            unpinnedCalls.increment();
+            return delegate.findApplicablePrice(query);
+        }
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        pinnedHits.increment();
+        Optional<Price> price = entry.timeline.priceAt(query.applicationDate());
+        event.complete("hot", "findApplicablePrice", PriceRepositoryEvent.CACHE, query.key(), 0, price.isPresent());
+        return price;
+    }
+
+    /**
+     * Starts recomputing the pinned set periodically on a dedicated daemon thread.
+     *
+     * @param interval Delay between two consecutive recomputations
+     */
+    public synchronized void start(Duration interval) {
+        if (pinner != null) {
+            return;
+        }
+        pinner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-hot-keys");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        pinner.scheduleWithFixedDelay(this::repinQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pins the timelines of the current hot keys, reloaded from the next layer, and unpins the others.
+     * Then halves the tracked counts, so that keys which stop being looked up drop out.
+     */
+    public synchronized void repin() {
+        Map<PriceKey, Pinned> previous = pinned;
+        Map<PriceKey, Pinned> next = new HashMap<>();
+        for (SpaceSaving.HeavyHitter<PriceKey> hitter : tracker.top(pinCount)) {
+            // Ranked by raw count: a key with a large error may rank above keys that certainly qualify
+            if (hitter.guaranteedCount() < minCount) {
+                continue;
+            }
+            PriceKey key = hitter.key();
+            try {
+                next.put(key, load(key));
+            } catch (RuntimeException ex) {
+                log.warn("Could not pin the prices of {}: {}", key, ex.getMessage());
+                if (previous.containsKey(key)) {
+                    next.put(key, previous.get(key));
+                }
+            }
+        }
+        publish(previous, next);
+        tracker.decay();
+    }
+
+    @Override
+    public String indexName() {
+        return "hot";
+    }
+
+    @Override
+    public synchronized void refresh(Set<PriceKey> keys) {
+        Map<PriceKey, Pinned> previous = pinned;
+        Map<PriceKey, Pinned> next = null;
+        for (PriceKey key : keys) {
+            if (!previous.containsKey(key)) {
+                continue;
+            }
+            if (next == null) {
+                next = new HashMap<>(previous);
+            }
+            try {
+                next.put(key, load(key));
+            } catch (RuntimeException ex) {
+                // Better unpinned, and answered by the next layer, than answered from stale prices
+                log.warn("Could not re-resolve the pinned prices of {}, unpinning them: {}", key, ex.getMessage());
+                next.remove(key);
+            }
+        }
+        if (next != null) {
+            publish(previous, next);
+        }
+    }
+
+    /**
+     * @param limit Largest number of keys returned
+     * @return Most looked-up products and brands, most looked up first, and whether each is pinned
+     */
+    public HotKeysReport report(int limit) {
+        Map<PriceKey, Pinned> current = pinned;
+        List<HotKeysReport.HotKey> keys = tracker.top(limit).stream()
+                .map(hitter -> new HotKeysReport.HotKey(hitter.key().productId(), hitter.key().brandId(),
+                        hitter.count(), hitter.error(), current.containsKey(hitter.key())))
+                .toList();
+        return new HotKeysReport(true, tracker.observed(), current.size(), keys);
+    }
+
+    /**
+     * @return Products and brands with their timeline pinned
+     */
+    public Set<PriceKey> pinnedKeys() {
+        return pinned.keySet();
+    }
+
+    @Override
+    public String memoryName() {
+        return "hot";
+    }
+
+    @Override
+    public MemoryBudget memoryBudget() {
+        return budget;
+    }
+
+    @Override
+    public MemoryUsage memoryUsage() {
+        Map<PriceKey, Pinned> current = pinned;
+        long now = System.nanoTime();
+        long oldest = now;
+        long negative = 0;
+        for (Pinned entry : current.values()) {
+            negative += entry.timeline.segments().isEmpty() ? 1 : 0;
+            oldest = Math.min(oldest, entry.loadedAt);
+        }
+        return new MemoryUsage(current.size(), negative, TimeUnit.NANOSECONDS.toMillis(now - oldest));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (pinner != null) {
+            pinner.shutdownNow();
+            pinner = null;
+        }
+    }
+
+    private void repinQuietly() {
+        try {
+            repin();
+        } catch (RuntimeException ex) {
+            log.warn("Could not recompute the hot keys: {}", ex.getMessage());
+        }
+    }
+
+    private void publish(Map<PriceKey, Pinned> previous, Map<PriceKey, Pinned> next) {
+        for (Pinned entry : previous.values()) {
+            budget.replaced(entry.bytes, entry.priceRows, 0, 0);
+        }
+        for (Pinned entry : next.values()) {
+            budget.replaced(0, 0, entry.bytes, entry.priceRows);
+        }
+        pinned = Map.copyOf(next);
+    }
+
+    private Pinned load(PriceKey key) {
+        return new Pinned(PriceTimeline.resolve(key, delegate.findPrices(key)), System.nanoTime());
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.lookup.hot.calls")
+                .description("Lookups by outcome: pinned (answered from the hot tier), unpinned (sent to the next layer)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolved timeline of a hot product and brand.
+     */
+    private static final class Pinned {
+
+        private final PriceTimeline timeline;
+        private final long loadedAt;
+        private final long bytes;
+        private final int priceRows;
+
+        private Pinned(PriceTimeline timeline, long loadedAt) {
+            this.timeline = timeline;
+            this.loadedAt = loadedAt;
+            this.bytes = MemoryFootprint.of(timeline);
+            this.priceRows = MemoryFootprint.priceRows(timeline);
+        }
+    }
+}
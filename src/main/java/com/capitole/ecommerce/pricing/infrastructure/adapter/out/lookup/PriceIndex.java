@@ -0,0 +1,25 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+
+import java.util.Set;
+
+/**
+ * Lookup layer holding state derived from the stored prices, kept up to date incrementally:
+ * after every committed write it is told which products and brands changed, and only those are re-resolved.
+ */
+public interface PriceIndex {
+
+    /**
+     * @return Name of the index, as shown in logs and metrics
+     */
+    String indexName();
+
+    /**
+     * Brings the state of the given keys in line with the stored prices.
+     * Called after the write has committed, so reads made here see it.
+     *
+     * @param keys Products and brands whose prices changed
+     */
+    void refresh(Set<PriceKey> keys);
+}
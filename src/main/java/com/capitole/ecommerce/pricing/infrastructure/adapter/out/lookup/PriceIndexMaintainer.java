@@ -0,0 +1,42 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Re-resolves the written products and brands in every price index once the write has committed.
+ * Runs in the writing thread before the write request returns, so the writer reads its own writes,
+ * and before any other listener so that they see the refreshed indexes.
+ * Indexes are refreshed from the innermost layer outwards.
+ */
+@Slf4j
+public class PriceIndexMaintainer {
+
+    private final List<PriceIndex> indexes;
+    private final MeterRegistry meterRegistry;
+
+    public PriceIndexMaintainer(List<PriceIndex> indexes, MeterRegistry meterRegistry) {
+        this.indexes = indexes;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesChanged(PricesChangedEvent event) {
+        for (PriceIndex index : indexes) {
+            Timer.builder("pricing.lookup.index.refresh")
+                    .description("Time to re-resolve the written products and brands in an index")
+                    .tag("index", index.indexName())
+                    .register(meterRegistry)
+                    .record(() -> index.refresh(event.keys()));
+        }
+        log.debug("Refreshed {} in {} indexes", event.keys(), indexes.size());
+    }
+}
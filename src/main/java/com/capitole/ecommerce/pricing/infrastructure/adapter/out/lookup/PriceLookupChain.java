@@ -0,0 +1,30 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+
+import java.util.List;
+
+/**
+ * Outcome of assembling the lookup layers.
+ * Closing it stops the background work of the layers that run any, the outermost one included.
+ *
+ * @param repository Outermost layer, used by the application services
+ * @param indexes Layers holding derived state, innermost first
+ */
+public record PriceLookupChain(
+        PriceRepository repository,
+        List<PriceIndex> indexes
+) implements AutoCloseable {
+
+    @Override
+    public void close() throws Exception {
+        for (PriceIndex index : indexes) {
+            if (index instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (repository instanceof AutoCloseable closeable && !indexes.contains(repository)) {
+            closeable.close();
+        }
+    }
+}
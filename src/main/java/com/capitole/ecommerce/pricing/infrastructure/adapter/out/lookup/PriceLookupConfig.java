@@ -0,0 +1,140 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.PriceJpaAdapter;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment.PriceSegmentTable;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot.SnapshotPriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Assembles the PriceRepository used by the application services:
+ * the JPA adapter wrapped by the lookup layers enabled under {@code pricing.lookup}.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceLookupProperties.class)
+public class PriceLookupConfig {
+
+    @Bean
+    public PriceLookupChain priceLookupChain(
+            PriceJpaAdapter priceJpaAdapter,
+            PriceSegmentTable priceSegmentTable,
+            BoundaryScheduler boundaryScheduler,
+            Clock clock,
+            PriceLookupProperties properties,
+            MemoryProperties memoryProperties,
+            MeterRegistry meterRegistry
+    ) {
+        List<PriceIndex> indexes = new ArrayList<>();
+        PriceRepository repository = priceJpaAdapter;
+        if (properties.getCoalescing().isEnabled()) {
+            repository = register(indexes, new CoalescingPriceRepository(
+                    repository, properties.getCoalescing().getMaxWait(), meterRegistry));
+        }
+        repository = engine(properties.getEngine(), repository, indexes, priceSegmentTable, clock, properties,
+                memoryProperties, meterRegistry);
+        if (properties.getCurrent().isEnabled()) {
+            PriceLookupProperties.Current current = properties.getCurrent();
+            repository = register(indexes, new CurrentPriceRepository(repository, boundaryScheduler, clock,
+                    current.getSkew(), current.getMaxStaleness(), current.getMaxKeys(),
+                    memoryProperties.budget("current"), meterRegistry));
+        }
+        if (properties.getHot().isEnabled()) {
+            // Outermost answering layer: sees every lookup, and pinned keys never reach a layer that can drop them
+            PriceLookupProperties.Hot hot = properties.getHot();
+            HotPriceRepository hotRepository = new HotPriceRepository(repository, hot.getCapacity(),
+                    hot.getPinCount(), hot.getMinCount(), meterRegistry);
+            hotRepository.start(hot.getPinInterval());
+            repository = register(indexes, hotRepository);
+        }
+        if (properties.getShadow().isEnabled()) {
+            // Outermost: compares the answers of the whole chain, against an engine built on the database alone
+            PriceLookupProperties.Shadow shadow = properties.getShadow();
+            if (shadow.getEngine() == properties.getEngine()) {
+                throw new IllegalStateException("pricing.lookup.shadow.engine must differ from pricing.lookup.engine ("
+                        + engineName(properties.getEngine()) + ")");
+            }
+            PriceRepository shadowEngine = engine(shadow.getEngine(), priceJpaAdapter, indexes, priceSegmentTable,
+                    clock, properties, memoryProperties, meterRegistry);
+            repository = new ShadowPriceRepository(repository, shadowEngine, engineName(properties.getEngine()),
+                    engineName(shadow.getEngine()), shadow.getSampleRate(), shadow.getQueueCapacity(),
+                    shadow.getMismatchLimit(), clock, meterRegistry);
+        }
+        return new PriceLookupChain(repository, List.copyOf(indexes));
+    }
+
+    @Bean
+    @Primary
+    public PriceRepository priceRepository(PriceLookupChain priceLookupChain) {
+        return priceLookupChain.repository();
+    }
+
+    @Bean
+    public PriceIndexMaintainer priceIndexMaintainer(PriceLookupChain priceLookupChain, MeterRegistry meterRegistry) {
+        return new PriceIndexMaintainer(priceLookupChain.indexes(), meterRegistry);
+    }
+
+    @Bean
+    public HotKeysEndpoint hotKeysEndpoint(PriceLookupChain priceLookupChain, PriceLookupProperties properties) {
+        HotPriceRepository hotRepository = priceLookupChain.indexes().stream()
+                .filter(HotPriceRepository.class::isInstance)
+                .map(HotPriceRepository.class::cast)
+                .findFirst()
+                .orElse(null);
+        return new HotKeysEndpoint(hotRepository, properties.getHot().getReportLimit());
+    }
+
+    @Bean
+    public ShadowReadEndpoint shadowReadEndpoint(PriceLookupChain priceLookupChain) {
+        return new ShadowReadEndpoint(priceLookupChain.repository() instanceof ShadowPriceRepository shadow
+                ? shadow
+                : null);
+    }
+
+    /**
+     * Wraps the repository with the layer resolving applicable prices for the engine, if it has one.
+     * The layer is registered in the indexes when it holds derived state.
+     */
+    private static PriceRepository engine(
+            PriceLookupProperties.Engine engine,
+            PriceRepository repository,
+            List<PriceIndex> indexes,
+            PriceSegmentTable priceSegmentTable,
+            Clock clock,
+            PriceLookupProperties properties,
+            MemoryProperties memoryProperties,
+            MeterRegistry meterRegistry
+    ) {
+        return switch (engine) {
+            case QUERY -> repository;
+            case TIMELINE -> register(indexes, new TimelinePriceRepository(
+                    repository, properties.getTimeline().getMaxStaleness(), memoryProperties.budget("timeline"),
+                    meterRegistry));
+            case COMPRESSED -> register(indexes, new CompressedTimelinePriceRepository(
+                    repository, properties.getTimeline().getMaxStaleness(), memoryProperties.budget("compressed"),
+                    meterRegistry));
+            // Outermost: lookups never reach the whole-product loads that coalescing shares
+            case SEGMENTS -> new SegmentPriceRepository(repository, priceSegmentTable);
+            case SNAPSHOT -> register(indexes, new SnapshotPriceRepository(repository, clock, meterRegistry));
+        };
+    }
+
+    private static String engineName(PriceLookupProperties.Engine engine) {
+        return engine.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T extends PriceRepository & PriceIndex> PriceRepository register(List<PriceIndex> indexes, T layer) {
+        indexes.add(layer);
+        return layer;
+    }
+}
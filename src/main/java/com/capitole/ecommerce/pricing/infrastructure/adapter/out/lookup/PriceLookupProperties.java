@@ -0,0 +1,164 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the layers wrapped around the persistence adapter on the lookup path.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.lookup")
+public class PriceLookupProperties {
+
+    /**
+     * How applicable prices are resolved.
+     */
+    private Engine engine = Engine.QUERY;
+
+    private Timeline timeline = new Timeline();
+
+    private Coalescing coalescing = new Coalescing();
+
+    private Current current = new Current();
+
+    private Hot hot = new Hot();
+
+    private Shadow shadow = new Shadow();
+
+    public enum Engine {
+        /**
+         * One database query per lookup.
+         */
+        QUERY,
+        /**
+         * In-memory timelines per product and brand, resolved from the database.
+         */
+        TIMELINE,
+        /**
+         * One index seek per lookup on the pre-resolved segments table, maintained in the database.
+         */
+        SEGMENTS,
+        /**
+         * Whole snapshots of the resolved prices, published by one instance into a shared directory
+         * (see {@code pricing.snapshot}); the next layer answers until the first one is loaded.
+         */
+        SNAPSHOT,
+        /**
+         * In-memory timelines per product and brand like {@link #TIMELINE}, held in a compressed encoding
+         * of a few bytes per segment for datasets too large to keep as objects.
+         */
+        COMPRESSED
+    }
+
+    @Data
+    public static class Timeline {
+
+        /**
+         * Age after which a timeline (plain or compressed) is reloaded on access, bounding how long writes made elsewhere stay invisible.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Whether concurrent lookups of the same product and brand share one database load.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Longest time a lookup waits for an in-flight load before running its own.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Current {
+
+        /**
+         * Whether lookups near the current time are answered from the prices in effect now, kept in memory.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Largest distance between the lookup date and now for the lookup to take the fast path.
+         */
+        private Duration skew = Duration.ofSeconds(5);
+
+        /**
+         * Age after which a current price is reloaded on access, bounding how long writes made elsewhere stay invisible.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(60);
+
+        /**
+         * Upper bound of products and brands kept; lookups of further keys are answered without being kept.
+         */
+        private int maxKeys = 100_000;
+    }
+
+    @Data
+    public static class Hot {
+
+        /**
+         * Whether the most looked-up products and brands are tracked and their timelines pinned in memory.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Products and brands tracked at once; keys looked up more than 1/capacity of the time are always tracked.
+         */
+        private int capacity = 1024;
+
+        /**
+         * Largest number of products and brands pinned.
+         */
+        private int pinCount = 256;
+
+        /**
+         * Lookups a key certainly had since the counts were last halved for it to be pinned.
+         */
+        private long minCount = 50;
+
+        /**
+         * Delay between two recomputations of the pinned set, after which the counts are halved.
+         */
+        private Duration pinInterval = Duration.ofSeconds(10);
+
+        /**
+         * Largest number of keys reported by the hotkeys endpoint.
+         */
+        private int reportLimit = 50;
+    }
+
+    @Data
+    public static class Shadow {
+
+        /**
+         * Whether a sample of the lookups is also run against the shadow engine and the answers compared.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Engine verified against the configured one, built directly on the database; must differ from it.
+         */
+        private Engine engine = Engine.QUERY;
+
+        /**
+         * Fraction of the lookups compared, between 0 and 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Comparisons waiting for the shadow engine at most; sampled lookups beyond it are not compared.
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * Most recent mismatches kept for the shadowreads endpoint.
+         */
+        private int mismatchLimit = 100;
+    }
+}
@@ -0,0 +1,36 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment.PriceSegmentTable;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+
+import java.util.Optional;
+
+/**
+ * Answers lookups from the pre-resolved {@code price_segments} table: one index seek returning one row,
+ * instead of a range scan over the overlapping prices plus a sort on priority.
+ * The table is maintained in the writing transaction, so writes made by any instance are visible at once.
+ * Every other operation goes to the next layer.
+ */
+public class SegmentPriceRepository extends DelegatingPriceRepository {
+
+    private final PriceSegmentTable segmentTable;
+
+    public SegmentPriceRepository(PriceRepository delegate, PriceSegmentTable segmentTable) {
+        super(delegate);
+        this.segmentTable = segmentTable;
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        Optional<Price> price = segmentTable.findSegment(query).map(PriceSegment::price);
+        // The seek returns the one matching row, or none
+        event.complete("segments", "findApplicablePrice", PriceRepositoryEvent.INDEX, query.key(),
+                price.isPresent() ? 1 : 0, price.isPresent());
+        return price;
+    }
+}
@@ -0,0 +1,221 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost lookup layer verifying an alternative engine against live traffic before it is trusted.
+ * A sample of the lookups is also run against the shadow engine on a dedicated thread, fed through a bounded
+ * queue: the request thread only times its own lookup and enqueues the comparison, and sampled lookups arriving
+ * while the queue is full are dropped rather than delaying anyone. Answers differing in presence, price list,
+ * price or validity window are counted, logged and kept (the most recent ones) for the {@code shadowreads}
+ * endpoint; the latency of both engines is recorded for the same lookups.
+ * Shadow lookups are background work: they never take connections from the partition of the live lookups.
+ */
+@Slf4j
+public class ShadowPriceRepository extends DelegatingPriceRepository implements AutoCloseable {
+
+    private final PriceRepository shadow;
+    private final String primaryName;
+    private final String shadowName;
+    private final double sampleRate;
+    private final int mismatchLimit;
+    private final Clock clock;
+    private final ThreadPoolExecutor comparer;
+    private final Deque<ShadowReadReport.Mismatch> mismatches = new ArrayDeque<>();
+
+    private final Timer primaryLatency;
+    private final Timer shadowLatency;
+    private final Counter matched;
+    private final Counter mismatched;
+    private final Counter failed;
+    private final Counter dropped;
+
+    /**
+     * @param delegate Next layer, answering the lookups
+     * @param shadow Engine compared against the next layer
+     * @param primaryName Name of the engine answering, for metrics and reports
+     * @param shadowName Name of the shadow engine, for metrics and reports
+     * @param sampleRate Fraction of the lookups compared, between 0 and 1
+     * @param queueCapacity Comparisons waiting for the shadow engine at most
+     * @param mismatchLimit Most recent mismatches kept for the report
+     */
+    public ShadowPriceRepository(
+            PriceRepository delegate,
+            PriceRepository shadow,
+            String primaryName,
+            String shadowName,
+            double sampleRate,
+            int queueCapacity,
+            int mismatchLimit,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        super(delegate);
+        this.shadow = shadow;
+        this.primaryName = primaryName;
+        this.shadowName = shadowName;
+        this.sampleRate = sampleRate;
+        this.mismatchLimit = mismatchLimit;
+        this.clock = clock;
+        this.comparer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(() -> {
+                        try (WorkloadClass.Scope scope = WorkloadClass.BACKGROUND.bind()) {
+                            runnable.run();
+                        }
+                    }, "price-shadow-reads");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.primaryLatency = latencyTimer(meterRegistry, "primary", primaryName);
+        this.shadowLatency = latencyTimer(meterRegistry, "shadow", shadowName);
+        this.matched = comparisonCounter(meterRegistry, "match");
+        this.mismatched = comparisonCounter(meterRegistry, "mismatch");
+        this.failed = comparisonCounter(meterRegistry, "error");
+        this.dropped = Counter.builder("pricing.lookup.shadow.dropped")
+                .description("Sampled lookups not compared because the shadow queue was full")
+                .register(meterRegistry);
+        Gauge.builder("pricing.lookup.shadow.mismatch.rate", this, ShadowPriceRepository::mismatchRate)
+                .description("Fraction of the compared lookups where the shadow engine disagreed with the primary one")
+                .register(meterRegistry);
+        Gauge.builder("pricing.lookup.shadow.queue", comparer, executor -> executor.getQueue().size())
+                .description("Comparisons waiting for the shadow engine")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return delegate.findApplicablePrice(query);
+        }
+        long start = System.nanoTime();
+        Optional<Price> primary = delegate.findApplicablePrice(query);
+        primaryLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // The caller's deadline is not the shadow engine's: it answers after the caller got its price
+        PriceQuery shadowQuery = query.withDeadline(Deadline.NONE);
+        try {
+            comparer.execute(() -> compare(shadowQuery, primary));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+        return primary;
+    }
+
+    /**
+     * @return The comparisons so far and the most recent mismatches
+     */
+    public ShadowReadReport report() {
+        List<ShadowReadReport.Mismatch> recent;
+        synchronized (mismatches) {
+            recent = List.copyOf(mismatches);
+        }
+        return new ShadowReadReport(true, primaryName, shadowName,
+                (long) (matched.count() + mismatched.count()), (long) mismatched.count(), (long) failed.count(),
+                (long) dropped.count(), recent);
+    }
+
+    /**
+     * Stops taking comparisons and waits briefly for the queued ones to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        comparer.shutdown();
+        if (!comparer.awaitTermination(5, TimeUnit.SECONDS)) {
+            comparer.shutdownNow();
+        }
+    }
+
+    private void compare(PriceQuery query, Optional<Price> primary) {
+        Optional<Price> secondary;
+        long start = System.nanoTime();
+        try {
+            secondary = shadow.findApplicablePrice(query);
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.debug("Shadow lookup on {} failed for {}: {}", shadowName, query, ex.getMessage());
+            return;
+        }
+        shadowLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        List<String> fields = differences(primary.orElse(null), secondary.orElse(null));
+        if (fields.isEmpty()) {
+            matched.increment();
+            return;
+        }
+        mismatched.increment();
+        ShadowReadReport.Mismatch mismatch = new ShadowReadReport.Mismatch(clock.instant(),
+                query.applicationDate(), query.productId(), query.brandId(), fields,
+                primary.orElse(null), secondary.orElse(null));
+        synchronized (mismatches) {
+            mismatches.addFirst(mismatch);
+            if (mismatches.size() > mismatchLimit) {
+                mismatches.removeLast();
+            }
+        }
+        log.warn("Shadow engine {} disagrees with {} on {} at {} ({}): {} vs {}", shadowName, primaryName,
+                query.key(), query.applicationDate(), fields, mismatch.primary(), mismatch.shadow());
+    }
+
+    /**
+     * Amounts are compared by value, so that {@code 35.50} and {@code 35.5} stored by different engines match.
+     */
+    static List<String> differences(Price primary, Price shadow) {
+        if (primary == null || shadow == null) {
+            return primary == shadow ? List.of() : List.of("presence");
+        }
+        List<String> fields = new ArrayList<>(3);
+        if (!primary.priceList().equals(shadow.priceList())) {
+            fields.add("priceList");
+        }
+        if (primary.price().compareTo(shadow.price()) != 0 || !Objects.equals(primary.currency(), shadow.currency())) {
+            fields.add("price");
+        }
+        if (!primary.startDate().equals(shadow.startDate()) || !primary.endDate().equals(shadow.endDate())) {
+            fields.add("validity");
+        }
+        return fields;
+    }
+
+    private double mismatchRate() {
+        double compared = matched.count() + mismatched.count();
+        return compared == 0 ? 0 : mismatched.count() / compared;
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String role, String engine) {
+        return Timer.builder("pricing.lookup.shadow.latency")
+                .description("Latency of the sampled lookups on the primary engine and of the same lookups on the shadow engine")
+                .tag("role", role)
+                .tag("engine", engine)
+                .register(meterRegistry);
+    }
+
+    private static Counter comparisonCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.lookup.shadow.comparisons")
+                .description("Sampled lookups by outcome: match, mismatch, error (the shadow lookup threw)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
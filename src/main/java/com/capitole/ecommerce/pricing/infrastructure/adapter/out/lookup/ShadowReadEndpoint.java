@@ -0,0 +1,26 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint exposing the outcome of the shadow reads at {@code /actuator/shadowreads}.
+ */
+@Endpoint(id = "shadowreads")
+public class ShadowReadEndpoint {
+
+    private final ShadowPriceRepository shadowPriceRepository;
+
+    /**
+     * @param shadowPriceRepository The shadow layer, null when disabled
+     */
+    public ShadowReadEndpoint(@Nullable ShadowPriceRepository shadowPriceRepository) {
+        this.shadowPriceRepository = shadowPriceRepository;
+    }
+
+    @ReadOperation
+    public ShadowReadReport report() {
+        return shadowPriceRepository == null ? ShadowReadReport.disabled() : shadowPriceRepository.report();
+    }
+}
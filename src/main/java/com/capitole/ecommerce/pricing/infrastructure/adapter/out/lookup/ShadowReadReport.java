@@ -0,0 +1,56 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of the shadow reads, exposed through the {@code shadowreads} actuator endpoint.
+ *
+ * @param enabled Whether sampled lookups are also run against the shadow engine
+ * @param primary Engine answering the lookups
+ * @param shadow Engine the answers are compared against
+ * @param compared Lookups run against both engines and compared
+ * @param mismatched Compared lookups where the engines disagreed
+ * @param failed Shadow lookups that threw, not compared
+ * @param dropped Sampled lookups not compared because the queue was full
+ * @param mismatches Most recent mismatches, most recent first
+ */
+public record ShadowReadReport(
+        boolean enabled,
+        String primary,
+        String shadow,
+        long compared,
+        long mismatched,
+        long failed,
+        long dropped,
+        List<Mismatch> mismatches
+) {
+
+    public static ShadowReadReport disabled() {
+        return new ShadowReadReport(false, null, null, 0, 0, 0, 0, List.of());
+    }
+
+    /**
+     * @param detectedAt When the answers were compared
+     * @param applicationDate Queried date
+     * @param productId Queried product
+     * @param brandId Queried brand
+     * @param fields What differs: {@code presence}, {@code priceList}, {@code price} (amount or currency)
+     *               and/or {@code validity} (start or end date)
+     * @param primary Answer of the primary engine, null if it found none
+     * @param shadow Answer of the shadow engine, null if it found none
+     */
+    public record Mismatch(
+            Instant detectedAt,
+            LocalDateTime applicationDate,
+            Integer productId,
+            Integer brandId,
+            List<String> fields,
+            Price primary,
+            Price shadow
+    ) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming top-K tracker with the Space-Saving algorithm: a fixed number of counters, each key's counter
+ * overestimating its true count by at most the recorded error. A key that is not tracked takes over the
+ * counter with the lowest count, inheriting that count as its error, so every key seen more than
+ * {@code observed / capacity} times is guaranteed to be tracked.
+ * Counters live in an indexed min-heap, so an update costs O(log capacity).
+ * Updates never wait: when another thread holds the tracker the occurrence is dropped, which samples the
+ * stream under contention without changing which keys are heavy.
+ *
+ * @param <K> Type of the tracked keys
+ */
+public final class SpaceSaving<K> {
+
+    private final int capacity;
+    private final Object[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<K, Integer> positions;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+    private long observed;
+
+    /**
+     * @param capacity Number of counters, which bounds the memory used whatever the number of distinct keys
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.keys = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Records an occurrence of a key, unless another thread is updating the tracker.
+     *
+     * @param key The key seen
+     * @return true if the occurrence was recorded
+     */
+    public boolean offer(K key) {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            observed++;
+            Integer position = positions.get(key);
+            if (position != null) {
+                counts[position]++;
+                siftDown(position);
+            } else if (size < capacity) {
+                place(size, key, 1, 0);
+                siftUp(size++);
+            } else {
+                // Take over the smallest counter: the new key may have been seen that many times unnoticed
+                positions.remove(keyAt(0));
+                place(0, key, counts[0] + 1, counts[0]);
+                siftDown(0);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param limit Largest number of keys returned
+     * @return Tracked keys with the highest counts, highest first
+     */
+    public List<HeavyHitter<K>> top(int limit) {
+        List<HeavyHitter<K>> all = new ArrayList<>(size);
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                all.add(new HeavyHitter<>(keyAt(i), counts[i], errors[i]));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return all.stream()
+                .sorted(Comparator.comparingLong(HeavyHitter<K>::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Halves every count and error, so that the ranking follows recent traffic.
+     * Halving keeps the counters in order, so the heap stays valid.
+     */
+    public void decay() {
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                counts[i] >>= 1;
+                errors[i] >>= 1;
+            }
+            observed >>= 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Occurrences recorded since the last decays, halved at every decay
+     */
+    public long observed() {
+        lock.lock();
+        try {
+            return observed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(int position, K key, long count, long error) {
+        keys[position] = key;
+        counts[position] = count;
+        errors[position] = error;
+        positions.put(key, position);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        K keyA = keyAt(a);
+        K keyB = keyAt(b);
+        long count = counts[a];
+        long error = errors[a];
+        place(a, keyB, counts[b], errors[b]);
+        place(b, keyA, count, error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int position) {
+        return (K) keys[position];
+    }
+
+    /**
+     * A tracked key.
+     *
+     * @param key The key
+     * @param count Estimated occurrences, never below the true count
+     * @param error Largest overestimation of the count
+     * @param <K> Type of the key
+     */
+    public record HeavyHitter<K>(K key, long count, long error) {
+
+        /**
+         * @return Occurrences the key certainly had
+         */
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+}
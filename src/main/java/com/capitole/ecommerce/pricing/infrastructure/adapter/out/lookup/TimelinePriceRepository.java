@@ -0,0 +1,234 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.RebuildablePriceIndex;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lookup engine answering from in-memory price timelines, resolved once per product and brand.
+ * Timelines are immutable and published through a concurrent map, so lookups never take a lock:
+ * a hit is one map read and a binary search over the segments.
+ * A product and brand is loaded on its first lookup and re-resolved on its own after every committed write,
+ * leaving all other timelines untouched. Timelines older than {@code maxStaleness} are reloaded on access,
+ * which bounds how long a write made elsewhere (another instance, a migration) stays invisible.
+ * A rebuild preloads every timeline at once; it stops publishing as soon as a write commits meanwhile,
+ * leaving the remaining keys to load on access.
+ * The estimated size of the timelines is accounted against a {@link MemoryBudget}; past it, loads are either
+ * answered without being kept, or timelines are evicted (in map order, not by recency) to make room.
+ * Layers above it, such as the current price tier, read the timelines from here ({@link TimelineSource}).
+ */
+@Slf4j
+public class TimelinePriceRepository extends DelegatingPriceRepository
+        implements PriceIndex, RebuildablePriceIndex, MemoryAccountable, TimelineSource {
+
+    private final long maxStalenessNanos;
+    private final Map<PriceKey, Entry> timelines = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final MemoryBudget budget;
+
+    private final Counter missLoads;
+    private final Counter expiredLoads;
+    private final Counter refreshLoads;
+
+    public TimelinePriceRepository(PriceRepository delegate, Duration maxStaleness, MeterRegistry meterRegistry) {
+        this(delegate, maxStaleness, MemoryBudget.unlimited(), meterRegistry);
+    }
+
+    public TimelinePriceRepository(PriceRepository delegate, Duration maxStaleness, MemoryBudget budget,
+                                   MeterRegistry meterRegistry) {
+        super(delegate);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.budget = budget;
+        this.missLoads = loadCounter(meterRegistry, "miss");
+        this.expiredLoads = loadCounter(meterRegistry, "expired");
+        this.refreshLoads = loadCounter(meterRegistry, "refresh");
+        Gauge.builder("pricing.lookup.timeline.keys", timelines, Map::size)
+                .description("Products and brands with a resolved timeline in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        Entry entry = timelines.get(query.key());
+        boolean fresh = isFresh(entry);
+        Optional<Price> price = (fresh ? entry.timeline() : loadAndPublish(query.key(), entry, query.deadline())).priceAt(query.applicationDate());
+        event.complete("timeline", "findApplicablePrice",
+                fresh ? PriceRepositoryEvent.CACHE : PriceRepositoryEvent.LOAD, query.key(), 0, price.isPresent());
+        return price;
+    }
+
+    @Override
+    public PriceTimeline timeline(PriceKey key, Deadline deadline) {
+        Entry entry = timelines.get(key);
+        return isFresh(entry) ? entry.timeline() : loadAndPublish(key, entry, deadline);
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry != null && System.nanoTime() - entry.loadedAt() < maxStalenessNanos;
+    }
+
+    private PriceTimeline loadAndPublish(PriceKey key, Entry entry, Deadline deadline) {
+        (entry == null ? missLoads : expiredLoads).increment();
+
+        // A write committed while loading may not be part of the load: publish it only if none happened
+        long writesBeforeLoad = writes.get();
+        PriceTimeline timeline = load(key, deadline);
+        if (writes.get() == writesBeforeLoad) {
+            publish(Entry.of(timeline), entry != null);
+        }
+        return timeline;
+    }
+
+    @Override
+    public String indexName() {
+        return "timeline";
+    }
+
+    @Override
+    public void refresh(Set<PriceKey> keys) {
+        writes.incrementAndGet();
+        for (PriceKey key : keys) {
+            Entry previous = timelines.get(key);
+            if (previous == null) {
+                continue;
+            }
+            try {
+                refreshLoads.increment();
+                Entry next = Entry.of(load(key, Deadline.NONE));
+                timelines.computeIfPresent(key, (k, entry) -> {
+                    if (entry != previous) {
+                        // Replaced while loading, maybe by a refresh that loaded before the last write:
+                        // drop it, the next lookup loads the key again
+                        budget.replaced(entry.bytes(), entry.priceRows(), 0, 0);
+                        return null;
+                    }
+                    budget.replaced(entry.bytes(), entry.priceRows(), next.bytes(), next.priceRows());
+                    return next;
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Could not re-resolve the timeline of {}, dropping it: {}", key, ex.getMessage());
+                remove(key);
+            }
+        }
+        evictIfOverBudget();
+    }
+
+    @Override
+    public PartitionSink startRebuild() {
+        long writesBeforeRebuild = writes.get();
+        return resolved -> {
+            if (writes.get() != writesBeforeRebuild) {
+                return;
+            }
+            for (PriceTimeline timeline : resolved) {
+                publish(Entry.of(timeline), false);
+            }
+        };
+    }
+
+    @Override
+    public String memoryName() {
+        return "timeline";
+    }
+
+    @Override
+    public MemoryBudget memoryBudget() {
+        return budget;
+    }
+
+    @Override
+    public MemoryUsage memoryUsage() {
+        long now = System.nanoTime();
+        long entries = 0;
+        long negative = 0;
+        long oldest = now;
+        for (Entry entry : timelines.values()) {
+            entries++;
+            negative += entry.timeline().segments().isEmpty() ? 1 : 0;
+            oldest = Math.min(oldest, entry.loadedAt());
+        }
+        return new MemoryUsage(entries, negative, TimeUnit.NANOSECONDS.toMillis(now - oldest));
+    }
+
+    /**
+     * @return Products and brands with a resolved timeline in memory
+     */
+    public int size() {
+        return timelines.size();
+    }
+
+    private void publish(Entry entry, boolean replacing) {
+        // Replacing a stale timeline frees about as much as it takes
+        if (!replacing && !budget.admit(entry.bytes())) {
+            return;
+        }
+        Entry previous = timelines.put(entry.timeline().key(), entry);
+        budget.replaced(previous == null ? 0 : previous.bytes(), previous == null ? 0 : previous.priceRows(),
+                entry.bytes(), entry.priceRows());
+        evictIfOverBudget();
+    }
+
+    private void evictIfOverBudget() {
+        if (!budget.shouldEvict()) {
+            return;
+        }
+        Iterator<PriceKey> keys = timelines.keySet().iterator();
+        while (budget.aboveLowWatermark() && keys.hasNext()) {
+            if (remove(keys.next())) {
+                budget.recordEviction();
+            }
+        }
+    }
+
+    private boolean remove(PriceKey key) {
+        Entry removed = timelines.remove(key);
+        if (removed != null) {
+            budget.replaced(removed.bytes(), removed.priceRows(), 0, 0);
+        }
+        return removed != null;
+    }
+
+    private PriceTimeline load(PriceKey key, Deadline deadline) {
+        return PriceTimeline.resolve(key, delegate.findPrices(key, deadline));
+    }
+
+    private static Counter loadCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("pricing.lookup.timeline.loads")
+                .description("Timelines resolved from the stored prices, by reason: miss (first lookup), "
+                        + "expired (older than max-staleness), refresh (after a write)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Entry(PriceTimeline timeline, long loadedAt, long bytes, int priceRows) {
+
+        private static Entry of(PriceTimeline timeline) {
+            return new Entry(timeline, System.nanoTime(), MemoryFootprint.of(timeline),
+                    MemoryFootprint.priceRows(timeline));
+        }
+    }
+}
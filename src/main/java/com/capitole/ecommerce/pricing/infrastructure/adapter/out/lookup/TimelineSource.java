@@ -0,0 +1,21 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+/**
+ * Lookup layer holding resolved timelines, which the layers above it read instead of loading
+ * and resolving every price of the product and brand again.
+ */
+public interface TimelineSource {
+
+    /**
+     * @param key The product and brand
+     * @param deadline When the caller stops waiting for a load, {@link Deadline#NONE} if it waits for it
+     * @return The resolved timeline of the key, loaded if missing or stale
+     * @throws DeadlineExceededException if the deadline passes before the timeline is loaded
+     */
+    PriceTimeline timeline(PriceKey key, Deadline deadline);
+}
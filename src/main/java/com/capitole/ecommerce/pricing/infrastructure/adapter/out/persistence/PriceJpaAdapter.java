@@ -1,13 +1,21 @@
 package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence;
 
 import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
 import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.entity.PriceEntity;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.mapper.PricePersistenceMapper;
 import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.repository.PriceJpaRepository;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -23,25 +31,30 @@ import java.util.Optional;
 @Slf4j
 public class PriceJpaAdapter implements PriceRepository {
 
+    private static final String LAYER = "query";
+    private static final String QUERY_STAGE = "database query";
+
     private final PriceJpaRepository jpaRepository;
     private final PricePersistenceMapper mapper;
+    private final EntityManager entityManager;
 
     @Override
     public Optional<Price> findApplicablePrice(PriceQuery query) {
         log.debug("Finding applicable price for query: {}", query);
 
-        List<PriceEntity> entities = jpaRepository.findApplicablePrices(
-                query.productId(),
-                query.brandId(),
-                query.applicationDate()
-        );
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        List<PriceEntity> entities = query.deadline().isSet()
+                ? findApplicablePricesWithin(query)
+                : jpaRepository.findApplicablePrices(query.productId(), query.brandId(), query.applicationDate());
+        event.complete(LAYER, "findApplicablePrice", PriceRepositoryEvent.DB, query.key(), entities.size(),
+                !entities.isEmpty());
 
         if (entities.isEmpty()) {
             log.debug("No prices found for query: {}", query);
             return Optional.empty();
         }
 
-        // The query already orders by priority DESC, so we take the first one
+        // The query already orders by priority DESC, priceList DESC, so we take the first one
         PriceEntity selectedEntity = entities.get(0);
         Price price = mapper.toDomain(selectedEntity);
 
@@ -50,4 +63,70 @@ public class PriceJpaAdapter implements PriceRepository {
 
         return Optional.of(price);
     }
+
+    /**
+     * Runs the lookup query with the remaining budget of the deadline as its timeout.
+     */
+    private List<PriceEntity> findApplicablePricesWithin(PriceQuery query) {
+        return within(query.deadline(), entityManager
+                .createQuery(PriceJpaRepository.FIND_APPLICABLE_PRICES, PriceEntity.class)
+                .setParameter("productId", query.productId())
+                .setParameter("brandId", query.brandId())
+                .setParameter("applicationDate", query.applicationDate()));
+    }
+
+    @Override
+    public List<Price> findPrices(PriceKey key, Deadline deadline) {
+        log.debug("Finding all prices for {}", key);
+
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        List<PriceEntity> entities = deadline.isSet()
+                ? within(deadline, entityManager.createQuery(PriceJpaRepository.FIND_PRICES, PriceEntity.class)
+                        .setParameter("productId", key.productId())
+                        .setParameter("brandId", key.brandId()))
+                : jpaRepository.findPrices(key.productId(), key.brandId());
+        List<Price> prices = entities.stream()
+                .map(mapper::toDomain)
+                .toList();
+        event.complete(LAYER, "findPrices", PriceRepositoryEvent.DB, key, prices.size(), !prices.isEmpty());
+        return prices;
+    }
+
+    /**
+     * Runs a query with the remaining budget of the deadline as its timeout.
+     * JDBC timeouts have a granularity of one second, so the budget is rounded up: the statement is cancelled
+     * at most a second late, and the deadline is checked again once it returns.
+     */
+    private List<PriceEntity> within(Deadline deadline, TypedQuery<PriceEntity> query) {
+        deadline.check(QUERY_STAGE);
+        long timeoutSeconds = Math.max(1, (deadline.remainingNanos() + 999_999_999L) / 1_000_000_000L);
+        try {
+            List<PriceEntity> entities = query
+                    .setHint(HibernateHints.HINT_TIMEOUT, (int) Math.min(timeoutSeconds, Integer.MAX_VALUE))
+                    .getResultList();
+            deadline.check(QUERY_STAGE + " result");
+            return entities;
+        } catch (QueryTimeoutException ex) {
+            throw new DeadlineExceededException(QUERY_STAGE, ex);
+        }
+    }
+
+    @Override
+    public Optional<Price> findById(Long id) {
+        return jpaRepository.findById(id).map(mapper::toDomain);
+    }
+
+    @Override
+    public Price save(Price price) {
+        PriceEntity saved = jpaRepository.save(mapper.toEntity(price));
+        log.debug("Saved price: id={}, productId={}, brandId={}, priceList={}",
+                saved.getId(), saved.getProductId(), saved.getBrandId(), saved.getPriceList());
+        return mapper.toDomain(saved);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        jpaRepository.deleteById(id);
+        log.debug("Deleted price: id={}", id);
+    }
 }
@@ -30,13 +30,14 @@ public class PricePersistenceMapper {
                 entity.getEndDate(),
                 entity.getPrice(),
                 entity.getCurrency(),
-                entity.getPriority()
+                entity.getPriority(),
+                entity.getId()
         );
     }
 
     /**
      * Converts a Price domain object to a PriceEntity.
-     * Note: This is typically not needed for read-only operations.
+     * Used by the write path; the identifier is kept so that stored prices are updated in place.
      *
      * @param price The domain model
      * @return The JPA entity
@@ -47,6 +48,7 @@ public class PricePersistenceMapper {
         }
 
         return PriceEntity.builder()
+                .id(price.id())
                 .productId(price.productId())
                 .brandId(price.brandId())
                 .priceList(price.priceList())
@@ -0,0 +1,81 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Resolves the whole prices table in parallel.
+ * The product ids are cut into ranges of about the same number of prices, a few per thread so that
+ * work stealing evens out skewed ranges; a fork/join task splits the list of ranges in halves down to
+ * single ranges, each of which streams and resolves its own rows on its own connection.
+ * Partitions share nothing: their counts are summed as the tasks are joined, and their timelines go
+ * straight to the sink, so there is no global lock on the way.
+ * Resolving is background work: its connections come from the background partition, whoever asks for it.
+ */
+@Slf4j
+public class ParallelPriceResolver {
+
+    private final PricePartitionReader reader;
+    private final int parallelism;
+    private final int partitionsPerThread;
+    private final int batchSize;
+
+    public ParallelPriceResolver(PricePartitionReader reader, int parallelism, int partitionsPerThread, int batchSize) {
+        if (parallelism < 1 || partitionsPerThread < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Parallelism, partitions per thread and batch size must be positive");
+        }
+        this.reader = reader;
+        this.parallelism = parallelism;
+        this.partitionsPerThread = partitionsPerThread;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param sink Receives the resolved timelines, concurrently
+     * @return Counts of the rebuild
+     */
+    public ResolveStats resolve(PartitionSink sink) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (WorkloadClass.Scope scope = WorkloadClass.BACKGROUND.bind()) {
+            List<ProductRange> ranges = reader.partition(parallelism * partitionsPerThread);
+            log.debug("Resolving {} partitions with parallelism {}", ranges.size(), parallelism);
+            return pool.invoke(new ResolveTask(ranges, sink));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private final class ResolveTask extends RecursiveTask<ResolveStats> {
+
+        private final List<ProductRange> ranges;
+        private final PartitionSink sink;
+
+        private ResolveTask(List<ProductRange> ranges, PartitionSink sink) {
+            this.ranges = ranges;
+            this.sink = sink;
+        }
+
+        @Override
+        protected ResolveStats compute() {
+            if (ranges.size() == 1) {
+                try (WorkloadClass.Scope scope = WorkloadClass.BACKGROUND.bind()) {
+                    ProductRange range = ranges.get(0);
+                    return sink.runPartition(range, partitionSink -> reader.read(range, batchSize, partitionSink));
+                }
+            }
+            int middle = ranges.size() / 2;
+            ResolveTask left = new ResolveTask(ranges.subList(0, middle), sink);
+            left.fork();
+            ResolveStats right = new ResolveTask(ranges.subList(middle, ranges.size()), sink).compute();
+            return left.join().plus(right);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Receives the timelines resolved by a rebuild, in batches.
+ * Called concurrently from several threads, one per partition, with disjoint products and brands;
+ * implementations write to structures that are safe for concurrent, per-key updates.
+ */
+public interface PartitionSink {
+
+    /**
+     * Runs the resolution of one partition, which hands every batch of the partition to the sink it is given.
+     * Sinks writing to the database override it to run the partition in one transaction, so that its reads
+     * and writes share one connection and its writes commit together.
+     *
+     * @param range The products of the partition, including those without prices
+     * @param partition Resolves the partition into the given sink
+     * @return Counts of the partition
+     */
+    default ResolveStats runPartition(ProductRange range, Function<PartitionSink, ResolveStats> partition) {
+        return partition.apply(this);
+    }
+
+    /**
+     * @param timelines Resolved timelines of a batch of products and brands
+     */
+    void accept(List<PriceTimeline> timelines);
+}
@@ -0,0 +1,43 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the rebuildable price indexes at {@code /actuator/priceindexes}
+ * and rebuilding one with {@code POST /actuator/priceindexes/{index}}.
+ */
+@Endpoint(id = "priceindexes")
+public class PriceIndexEndpoint {
+
+    private final PriceIndexRebuilder rebuilder;
+
+    public PriceIndexEndpoint(PriceIndexRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    /**
+     * @return Every rebuildable index with the report of its last rebuild, null if never rebuilt
+     */
+    @ReadOperation
+    public Map<String, RebuildReport> indexes() {
+        Map<String, RebuildReport> indexes = new LinkedHashMap<>();
+        rebuilder.indexNames().forEach(name -> indexes.put(name, rebuilder.lastReport(name).orElse(null)));
+        return indexes;
+    }
+
+    @WriteOperation
+    public RebuildReport rebuild(@Selector String index) {
+        if (!rebuilder.indexNames().contains(index)) {
+            throw new InvalidEndpointRequestException("Unknown price index '" + index + "'",
+                    "Unknown price index, expected one of " + rebuilder.indexNames());
+        }
+        return rebuilder.rebuild(index);
+    }
+}
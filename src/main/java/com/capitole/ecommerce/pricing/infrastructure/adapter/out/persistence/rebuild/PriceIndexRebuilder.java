@@ -0,0 +1,101 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import com.capitole.ecommerce.pricing.infrastructure.warmup.WarmupParticipant;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the resolved price structures as a whole, one at a time, with the parallel resolver.
+ * Keeps the report of the last rebuild of every index, and rebuilds the configured ones during warm-up.
+ */
+@Slf4j
+public class PriceIndexRebuilder implements WarmupParticipant {
+
+    private final Map<String, RebuildablePriceIndex> indexes = new LinkedHashMap<>();
+    private final Map<String, RebuildReport> lastReports = new ConcurrentHashMap<>();
+    private final ParallelPriceResolver resolver;
+    private final List<String> preload;
+    private final MeterRegistry meterRegistry;
+
+    public PriceIndexRebuilder(List<RebuildablePriceIndex> indexes, ParallelPriceResolver resolver,
+                               List<String> preload, MeterRegistry meterRegistry) {
+        indexes.forEach(index -> this.indexes.put(index.indexName(), index));
+        this.resolver = resolver;
+        this.preload = preload;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String warmupName() {
+        return "priceindexes";
+    }
+
+    /**
+     * Rebuilds the preloaded indexes present in this configuration; the others are skipped,
+     * so that the same list works whichever lookup engine is enabled.
+     */
+    @Override
+    public void preload() {
+        preload.stream()
+                .filter(indexes::containsKey)
+                .forEach(this::rebuild);
+    }
+
+    /**
+     * @return Names of the indexes that can be rebuilt
+     */
+    public Set<String> indexNames() {
+        return indexes.keySet();
+    }
+
+    /**
+     * @param name Name of the index
+     * @return Report of its last rebuild, empty if it was never rebuilt
+     */
+    public Optional<RebuildReport> lastReport(String name) {
+        return Optional.ofNullable(lastReports.get(name));
+    }
+
+    /**
+     * Rebuilds an index from every stored price. Rebuilds are serialized.
+     *
+     * @param name Name of the index
+     * @return Report of the rebuild
+     * @throws IllegalArgumentException if there is no such index
+     */
+    public synchronized RebuildReport rebuild(String name) {
+        RebuildablePriceIndex index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown price index '" + name + "', expected one of " + indexes.keySet());
+        }
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        ResolveStats stats = resolver.resolve(index.startRebuild());
+        long elapsed = System.nanoTime() - start;
+
+        Timer.builder("pricing.rebuild.duration")
+                .description("Time to rebuild a resolved price structure from every stored price")
+                .tag("index", name)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        RebuildReport report = new RebuildReport(name, startedAt, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                resolver.getParallelism(), stats.partitions(), stats.keys(), stats.prices(), stats.segments());
+        lastReports.put(name, report);
+        log.info("Rebuilt price index '{}' in {} ms: {} partitions on {} threads, {} keys, {} prices, {} segments",
+                name, report.durationMillis(), report.partitions(), report.parallelism(),
+                report.keys(), report.prices(), report.segments());
+        return report;
+    }
+}
@@ -0,0 +1,121 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the prices table in product ranges, as a stream ordered by product and brand
+ * (the leading columns of {@code idx_prices_lookup}), and resolves it one product and brand at a time,
+ * so that memory is bounded by one batch of timelines whatever the size of the range.
+ */
+public class PricePartitionReader {
+
+    static final String COUNT_BY_PRODUCT = """
+            SELECT product_id, COUNT(*) AS prices
+            FROM prices
+            GROUP BY product_id
+            ORDER BY product_id
+            """;
+
+    static final String SELECT_RANGE = """
+            SELECT id, product_id, brand_id, price_list, start_date, end_date, price, curr, priority
+            FROM prices
+            WHERE product_id BETWEEN ? AND ?
+            ORDER BY product_id, brand_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param jdbcTemplate Template used for the reads; its fetch size bounds the rows buffered per partition
+     */
+    public PricePartitionReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Cuts the product ids into contiguous ranges holding about the same number of prices.
+     * The ranges cover every possible product id, so that products without prices are part of a range too.
+     *
+     * @param count Wanted number of ranges
+     * @return At most {@code count} ranges, ordered by product id
+     */
+    public List<ProductRange> partition(int count) {
+        List<long[]> products = jdbcTemplate.query(COUNT_BY_PRODUCT,
+                (rs, rowNum) -> new long[]{rs.getInt("product_id"), rs.getLong("prices")});
+        long total = products.stream().mapToLong(product -> product[1]).sum();
+        long target = Math.max(1, (total + count - 1) / Math.max(1, count));
+
+        List<ProductRange> ranges = new ArrayList<>(count);
+        int from = Integer.MIN_VALUE;
+        long prices = 0;
+        for (int i = 0; i < products.size(); i++) {
+            prices += products.get(i)[1];
+            boolean last = i == products.size() - 1;
+            if (last || (prices >= target && ranges.size() < count - 1)) {
+                int to = last ? Integer.MAX_VALUE : (int) products.get(i)[0];
+                ranges.add(new ProductRange(from, to, prices));
+                from = to + 1;
+                prices = 0;
+            }
+        }
+        return ranges.isEmpty() ? List.of(ProductRange.ALL) : ranges;
+    }
+
+    /**
+     * Resolves every product and brand of a range.
+     *
+     * @param range The products to resolve
+     * @param batchSize Timelines handed to the sink at once
+     * @param sink Receives the resolved timelines
+     * @return Counts of the range
+     */
+    public ResolveStats read(ProductRange range, int batchSize, PartitionSink sink) {
+        List<Price> prices = new ArrayList<>();
+        List<PriceTimeline> batch = new ArrayList<>(batchSize);
+        long[] counts = new long[3];
+        jdbcTemplate.query(SELECT_RANGE, rs -> {
+            Price price = new Price(
+                    rs.getInt("product_id"),
+                    rs.getInt("brand_id"),
+                    rs.getInt("price_list"),
+                    rs.getObject("start_date", LocalDateTime.class),
+                    rs.getObject("end_date", LocalDateTime.class),
+                    rs.getBigDecimal("price"),
+                    rs.getString("curr"),
+                    rs.getInt("priority"),
+                    rs.getLong("id"));
+            if (!prices.isEmpty() && !PriceKey.of(prices.get(0)).equals(PriceKey.of(price))) {
+                resolve(prices, batch, batchSize, sink, counts);
+            }
+            prices.add(price);
+        }, range.fromProductId(), range.toProductId());
+        if (!prices.isEmpty()) {
+            resolve(prices, batch, batchSize, sink, counts);
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(List.copyOf(batch));
+        }
+        return new ResolveStats(1, counts[0], counts[1], counts[2]);
+    }
+
+    private static void resolve(List<Price> prices, List<PriceTimeline> batch, int batchSize,
+                                PartitionSink sink, long[] counts) {
+        PriceTimeline timeline = PriceTimeline.resolve(PriceKey.of(prices.get(0)), prices);
+        counts[0]++;
+        counts[1] += prices.size();
+        counts[2] += timeline.segments().size();
+        prices.clear();
+        batch.add(timeline);
+        if (batch.size() >= batchSize) {
+            sink.accept(List.copyOf(batch));
+            batch.clear();
+        }
+    }
+}
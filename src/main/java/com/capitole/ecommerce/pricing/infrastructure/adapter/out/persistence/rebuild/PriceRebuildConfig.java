@@ -0,0 +1,50 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.PriceLookupChain;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wiring of the parallel rebuild: the rebuildable beans plus the rebuildable layers of the lookup chain.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceRebuildProperties.class)
+public class PriceRebuildConfig {
+
+    @Bean
+    public ParallelPriceResolver parallelPriceResolver(DataSource dataSource, PriceRebuildProperties properties) {
+        // A template of its own: the fetch size applies to the streamed partitions only
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        return new ParallelPriceResolver(new PricePartitionReader(jdbcTemplate), properties.effectiveParallelism(),
+                properties.getPartitionsPerThread(), properties.getBatchSize());
+    }
+
+    @Bean
+    public PriceIndexRebuilder priceIndexRebuilder(
+            List<RebuildablePriceIndex> rebuildableBeans,
+            PriceLookupChain priceLookupChain,
+            ParallelPriceResolver parallelPriceResolver,
+            PriceRebuildProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        List<RebuildablePriceIndex> indexes = new ArrayList<>(rebuildableBeans);
+        priceLookupChain.indexes().stream()
+                .filter(RebuildablePriceIndex.class::isInstance)
+                .map(RebuildablePriceIndex.class::cast)
+                .forEach(indexes::add);
+        return new PriceIndexRebuilder(indexes, parallelPriceResolver, properties.getPreload(), meterRegistry);
+    }
+
+    @Bean
+    public PriceIndexEndpoint priceIndexEndpoint(PriceIndexRebuilder priceIndexRebuilder) {
+        return new PriceIndexEndpoint(priceIndexRebuilder);
+    }
+}
@@ -0,0 +1,48 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the parallel rebuild of the resolved price structures.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.rebuild")
+public class PriceRebuildProperties {
+
+    /**
+     * Threads resolving partitions at once, each holding one database connection; 0 uses every available processor.
+     * Should stay below the connection pool size, which lookups keep using meanwhile.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Product ranges cut per thread, so that threads finishing early steal the ranges of slower ones.
+     */
+    private int partitionsPerThread = 4;
+
+    /**
+     * Rows fetched per round trip while streaming a partition.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Resolved timelines handed to the index at once.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Indexes rebuilt during the warm-up phase, before the instance takes traffic.
+     */
+    private List<String> preload = new ArrayList<>();
+
+    /**
+     * @return The configured parallelism, or the number of available processors if unset
+     */
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,17 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+/**
+ * Contiguous range of product ids, the unit of work of a parallel rebuild.
+ * All brands of a product fall in the same range, so ranges never share a product and brand.
+ *
+ * @param fromProductId First product id, inclusive
+ * @param toProductId Last product id, inclusive
+ * @param prices Stored prices in the range when it was cut
+ */
+public record ProductRange(int fromProductId, int toProductId, long prices) {
+
+    /**
+     * Every possible product id, for rebuilds that do not partition.
+     */
+    public static final ProductRange ALL = new ProductRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 0);
+}
@@ -0,0 +1,27 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a rebuild, exposed through the {@code priceindexes} actuator endpoint.
+ *
+ * @param index Name of the rebuilt index
+ * @param startedAt When the rebuild started
+ * @param durationMillis How long the rebuild took
+ * @param parallelism Threads resolving partitions
+ * @param partitions Product ranges resolved
+ * @param keys Products and brands resolved
+ * @param prices Prices read
+ * @param segments Segments produced
+ */
+public record RebuildReport(
+        String index,
+        Instant startedAt,
+        long durationMillis,
+        int parallelism,
+        int partitions,
+        long keys,
+        long prices,
+        long segments
+) {
+}
@@ -0,0 +1,22 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+/**
+ * Structure derived from the stored prices that can be rebuilt as a whole,
+ * from every product and brand resolved in parallel.
+ * Used to bootstrap an index or bring it back in line after writes that bypassed the write API,
+ * such as a bulk import straight into the database.
+ */
+public interface RebuildablePriceIndex {
+
+    /**
+     * @return Name of the index, as shown in the endpoint and metrics
+     */
+    String indexName();
+
+    /**
+     * Called once per rebuild, before any partition is resolved.
+     *
+     * @return Sink storing the resolved timelines, called concurrently by the partitions
+     */
+    PartitionSink startRebuild();
+}
@@ -0,0 +1,19 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+/**
+ * Counts of a rebuild, summed over the partitions as they are joined.
+ *
+ * @param partitions Partitions resolved
+ * @param keys Products and brands resolved
+ * @param prices Prices read
+ * @param segments Segments produced
+ */
+public record ResolveStats(int partitions, long keys, long prices, long segments) {
+
+    public static final ResolveStats EMPTY = new ResolveStats(0, 0, 0, 0);
+
+    public ResolveStats plus(ResolveStats other) {
+        return new ResolveStats(partitions + other.partitions, keys + other.keys,
+                prices + other.prices, segments + other.segments);
+    }
+}
@@ -16,25 +16,54 @@ import java.util.List;
 @Repository
 public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
 
+    /**
+     * Query of {@link #findApplicablePrices}, also run directly when the lookup carries a query timeout.
+     */
+    String FIND_APPLICABLE_PRICES = """
+        SELECT p FROM PriceEntity p
+        WHERE p.productId = :productId
+          AND p.brandId = :brandId
+          AND :applicationDate BETWEEN p.startDate AND p.endDate
+        ORDER BY p.priority DESC, p.priceList DESC
+        """;
+
+    /**
+     * Query of {@link #findPrices}, also run directly when the load carries a query timeout.
+     */
+    String FIND_PRICES = """
+        SELECT p FROM PriceEntity p
+        WHERE p.productId = :productId
+          AND p.brandId = :brandId
+        ORDER BY p.startDate, p.priority DESC
+        """;
+
     /**
      * Finds all prices that match the given criteria and are applicable at the specified date.
-     * Results are ordered by priority in descending order (highest priority first).
+     * Results are ordered by priority in descending order (highest priority first),
+     * ties broken by the higher price list.
      *
      * @param productId The product identifier
      * @param brandId The brand identifier
      * @param applicationDate The date to check for price applicability
      * @return List of matching prices ordered by priority DESC
      */
-    @Query("""
-        SELECT p FROM PriceEntity p
-        WHERE p.productId = :productId
-          AND p.brandId = :brandId
-          AND :applicationDate BETWEEN p.startDate AND p.endDate
-        ORDER BY p.priority DESC
-        """)
+    @Query(FIND_APPLICABLE_PRICES)
     List<PriceEntity> findApplicablePrices(
             @Param("productId") Integer productId,
             @Param("brandId") Integer brandId,
             @Param("applicationDate") LocalDateTime applicationDate
     );
+
+    /**
+     * Finds all prices of a product and brand, whatever their validity period.
+     *
+     * @param productId The product identifier
+     * @param brandId The brand identifier
+     * @return List of prices ordered by start date
+     */
+    @Query(FIND_PRICES)
+    List<PriceEntity> findPrices(
+            @Param("productId") Integer productId,
+            @Param("brandId") Integer brandId
+    );
 }
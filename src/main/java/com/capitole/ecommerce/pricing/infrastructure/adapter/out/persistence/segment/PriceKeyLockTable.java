@@ -0,0 +1,150 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code price_key_locks} table, which serializes the transactions re-resolving
+ * the segments of the same product and brand. Locks are row locks held until the transaction ends,
+ * so every method must run in the caller's transaction.
+ * Keys are always locked in {@link #LOCK_ORDER}, the order of the table's primary key.
+ * The SQL is standard (MERGE, EXCEPT, FOR UPDATE), so the table works the same on H2 and on the production database.
+ */
+@Component
+public class PriceKeyLockTable {
+
+    /**
+     * Order in which keys are locked, by writers and rebuilds alike.
+     */
+    public static final Comparator<PriceKey> LOCK_ORDER =
+            Comparator.comparing(PriceKey::productId).thenComparing(PriceKey::brandId);
+
+    // Updating the row of a known key locks it; a key seen for the first time gets its row, locked by the insert
+    static final String LOCK_KEY = """
+            MERGE INTO price_key_locks l
+            USING (VALUES (CAST(? AS INTEGER), CAST(? AS INTEGER))) k (product_id, brand_id)
+            ON l.product_id = k.product_id AND l.brand_id = k.brand_id
+            WHEN MATCHED THEN UPDATE SET product_id = k.product_id
+            WHEN NOT MATCHED THEN INSERT (product_id, brand_id) VALUES (k.product_id, k.brand_id)
+            """;
+
+    static final String REGISTER_PRODUCTS = """
+            INSERT INTO price_key_locks (product_id, brand_id)
+            SELECT product_id, brand_id FROM prices WHERE product_id BETWEEN ? AND ?
+            UNION
+            SELECT product_id, brand_id FROM price_segments WHERE product_id BETWEEN ? AND ?
+            EXCEPT
+            SELECT product_id, brand_id FROM price_key_locks WHERE product_id BETWEEN ? AND ?
+            """;
+
+    static final String LOCK_PRODUCTS = """
+            SELECT product_id, brand_id
+            FROM price_key_locks
+            WHERE product_id BETWEEN ? AND ?
+            ORDER BY product_id, brand_id
+            FOR UPDATE
+            """;
+
+    private static final int REGISTER_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceKeyLockTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the given keys, creating the rows of keys seen for the first time.
+     * Waits for the transactions holding any of them to end. When another transaction creates the row of the same
+     * new key at the same time, the loser fails on the primary key once the winner commits; the failed statement
+     * is rolled back to a savepoint, so the caller's transaction goes on, and the key is locked again, now as a
+     * known key.
+     *
+     * @param keys The products and brands about to be re-resolved
+     * @return The keys, in the order they were locked
+     */
+    public List<PriceKey> lock(Collection<PriceKey> keys) {
+        List<PriceKey> ordered = keys.stream().sorted(LOCK_ORDER).toList();
+        for (PriceKey key : ordered) {
+            lock(key);
+        }
+        return ordered;
+    }
+
+    private void lock(PriceKey key) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> lock(connection, key));
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another transaction created the row of this new key in the meantime
+                if (attempt == REGISTER_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Void lock(Connection connection, PriceKey key) throws SQLException {
+        // Some databases abort the whole transaction on a failed statement unless it is rolled back to a savepoint
+        Savepoint savepoint = connection.setSavepoint();
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_KEY)) {
+            statement.setInt(1, key.productId());
+            statement.setInt(2, key.brandId());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            connection.rollback(savepoint);
+            throw e;
+        }
+        connection.releaseSavepoint(savepoint);
+        return null;
+    }
+
+    /**
+     * Creates the rows of the keys of a product range that have prices or segments but no row,
+     * such as keys imported straight into the database. Must run outside the transaction that then locks
+     * the range, so that the rows it creates are committed and visible to the writers at once.
+     *
+     * @param fromProductId First product id, inclusive
+     * @param toProductId Last product id, inclusive
+     */
+    public void register(int fromProductId, int toProductId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(REGISTER_PRODUCTS,
+                        fromProductId, toProductId, fromProductId, toProductId, fromProductId, toProductId);
+                return;
+            } catch (DuplicateKeyException e) {
+                // A writer created the row of a new key in the meantime
+                if (attempt == REGISTER_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Locks every key of a product range that has a row, in {@link #LOCK_ORDER}.
+     * Waits for the writers holding any of them to end; keys created afterwards are not locked.
+     *
+     * @param fromProductId First product id, inclusive
+     * @param toProductId Last product id, inclusive
+     * @return The locked keys, in the order they were locked
+     */
+    public List<PriceKey> lockProducts(int fromProductId, int toProductId) {
+        return jdbcTemplate.query(LOCK_PRODUCTS,
+                (rs, rowNum) -> new PriceKey(rs.getInt("product_id"), rs.getInt("brand_id")),
+                fromProductId, toProductId);
+    }
+}
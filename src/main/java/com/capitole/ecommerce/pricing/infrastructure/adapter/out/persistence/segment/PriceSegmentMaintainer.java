@@ -0,0 +1,109 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment;
+
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.PriceJpaAdapter;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ProductRange;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.RebuildablePriceIndex;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ResolveStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps the {@code price_segments} table in sync with the {@code prices} table.
+ * Re-resolves the written products and brands before the write commits, in the same transaction,
+ * so that every committed state of the prices has its matching segments, whichever instance reads them.
+ * The written keys are locked first, so that concurrent writers of the same product and brand re-resolve
+ * one after the other, each from the prices committed by the previous one.
+ * A full rebuild replaces the table one product range at a time, each range in one transaction
+ * that locks the keys of the range the same way.
+ */
+@Component
+@Slf4j
+public class PriceSegmentMaintainer implements RebuildablePriceIndex {
+
+    private final PriceJpaAdapter priceJpaAdapter;
+    private final PriceSegmentTable priceSegmentTable;
+    private final PriceKeyLockTable priceKeyLockTable;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+
+    public PriceSegmentMaintainer(
+            PriceJpaAdapter priceJpaAdapter,
+            PriceSegmentTable priceSegmentTable,
+            PriceKeyLockTable priceKeyLockTable,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.priceJpaAdapter = priceJpaAdapter;
+        this.priceSegmentTable = priceSegmentTable;
+        this.priceKeyLockTable = priceKeyLockTable;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = Timer.builder("pricing.lookup.segments.rebuild")
+                .description("Time to re-resolve the segments of the written products and brands")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPricesChanged(PricesChangedEvent event) {
+        rebuildTimer.record(() -> {
+            for (PriceKey key : priceKeyLockTable.lock(event.keys())) {
+                // Reading through JPA flushes the pending writes of the transaction first
+                int segments = priceSegmentTable.replace(PriceTimeline.resolve(key, priceJpaAdapter.findPrices(key)));
+                log.debug("Rebuilt {} segments for {}", segments, key);
+            }
+        });
+    }
+
+    @Override
+    public String indexName() {
+        return "segments";
+    }
+
+    /**
+     * {@inheritDoc}
+     * Each partition runs in one transaction, on one connection: it locks the keys of its products as writers do,
+     * replaces the segments of the locked keys and deletes those of locked keys left without prices, then commits,
+     * so lookups never see the range half rebuilt. Keys created after the lock are maintained by their writers.
+     */
+    @Override
+    public PartitionSink startRebuild() {
+        return new PartitionSink() {
+            @Override
+            public ResolveStats runPartition(ProductRange range, Function<PartitionSink, ResolveStats> partition) {
+                return rebuild(range, partition);
+            }
+
+            @Override
+            public void accept(List<PriceTimeline> timelines) {
+                priceSegmentTable.replace(timelines);
+            }
+        };
+    }
+
+    private ResolveStats rebuild(ProductRange range, Function<PartitionSink, ResolveStats> partition) {
+        priceKeyLockTable.register(range.fromProductId(), range.toProductId());
+        return transactionTemplate.execute(status -> {
+            Set<PriceKey> unresolved = new HashSet<>(
+                    priceKeyLockTable.lockProducts(range.fromProductId(), range.toProductId()));
+            ResolveStats stats = partition.apply(timelines -> priceSegmentTable.replace(timelines.stream()
+                    .filter(timeline -> unresolved.remove(timeline.key()))
+                    .toList()));
+            priceSegmentTable.delete(unresolved);
+            return stats;
+        });
+    }
+}
@@ -0,0 +1,204 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceListIndex;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access to the {@code price_segments} table, the resolved form of the {@code prices} table.
+ * Segments of a product and brand never overlap, so the one starting last at or before a date
+ * is the only candidate: a lookup is a single seek on {@code idx_price_segments_lookup} returning at most one row.
+ * The lookup orders by every index column so that the database reads the index in order and stops at the first entry.
+ * <p>
+ * The table is also the reverse index of the resolved prices: {@code idx_price_segments_price_list} lists the
+ * segments won by each price list, and is kept up to date by the same writes as the lookup index.
+ */
+@Component
+public class PriceSegmentTable implements PriceListIndex {
+
+    static final String FIND_SEGMENT = """
+            SELECT seg_start, seg_end, price_id, product_id, brand_id, price_list, priority,
+                   start_date, end_date, price, curr
+            FROM price_segments
+            WHERE product_id = ? AND brand_id = ? AND seg_start <= ?
+            ORDER BY product_id, brand_id, seg_start DESC
+            FETCH FIRST 1 ROW ONLY
+            """;
+
+    static final String FIND_SEGMENTS = """
+            SELECT seg_start, seg_end, price_id, product_id, brand_id, price_list, priority,
+                   start_date, end_date, price, curr
+            FROM price_segments
+            WHERE product_id = ? AND brand_id = ?
+            ORDER BY seg_start
+            """;
+
+    static final String FIND_PRICE_LIST_SEGMENTS = """
+            SELECT seg_start, seg_end, price_id, product_id, brand_id, price_list, priority,
+                   start_date, end_date, price, curr
+            FROM price_segments
+            WHERE price_list = ? AND seg_end > ?
+            ORDER BY price_list, product_id, brand_id, seg_start
+            """;
+
+    static final String DELETE_SEGMENTS = "DELETE FROM price_segments WHERE product_id = ? AND brand_id = ?";
+
+    static final String INSERT_SEGMENT = """
+            INSERT INTO price_segments (product_id, brand_id, seg_start, seg_end, price_id, price_list, priority,
+                                        start_date, end_date, price, curr)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Rows fetched per round trip while streaming the segments of a price list.
+     */
+    static final int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Lower bound of every stored segment end, so that a single statement serves streams with and without a date.
+     */
+    private static final LocalDateTime EVER = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    private static final RowMapper<PriceSegment> SEGMENT_MAPPER = (rs, rowNum) -> new PriceSegment(
+            rs.getObject("seg_start", LocalDateTime.class),
+            rs.getObject("seg_end", LocalDateTime.class),
+            new Price(
+                    rs.getInt("product_id"),
+                    rs.getInt("brand_id"),
+                    rs.getInt("price_list"),
+                    rs.getObject("start_date", LocalDateTime.class),
+                    rs.getObject("end_date", LocalDateTime.class),
+                    rs.getBigDecimal("price"),
+                    rs.getString("curr"),
+                    rs.getInt("priority"),
+                    rs.getLong("price_id")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceSegmentTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param query The lookup
+     * @return The segment containing the query date, or empty if no price applies
+     */
+    public Optional<PriceSegment> findSegment(PriceQuery query) {
+        List<PriceSegment> candidates = jdbcTemplate.query(FIND_SEGMENT, SEGMENT_MAPPER,
+                query.productId(), query.brandId(), query.applicationDate());
+        // The candidate may end before the date when it falls in a gap between prices
+        return candidates.stream()
+                .findFirst()
+                .filter(segment -> segment.contains(query.applicationDate()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The rows are fetched in rounds of {@value #STREAM_FETCH_SIZE} and handed over one at a time.
+     * Within a transaction, the stream is consistent with the prices as of its start.
+     */
+    @Override
+    public long forEachSegment(int priceList, LocalDateTime endingAfter, Consumer<PriceSegment> action) {
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_PRICE_LIST_SEGMENTS);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setInt(1, priceList);
+            ps.setObject(2, endingAfter != null ? endingAfter : EVER);
+            return ps;
+        };
+        long[] count = {0};
+        jdbcTemplate.query(statement, rs -> {
+            action.accept(SEGMENT_MAPPER.mapRow(rs, (int) count[0]));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * @param key The product and brand
+     * @return Its stored segments, ordered by start date
+     */
+    public PriceTimeline findTimeline(PriceKey key) {
+        return new PriceTimeline(key, jdbcTemplate.query(FIND_SEGMENTS, SEGMENT_MAPPER, key.productId(), key.brandId()));
+    }
+
+    /**
+     * Replaces the stored segments of the timeline's product and brand.
+     * Runs in the caller's transaction, if any.
+     *
+     * @param timeline The freshly resolved timeline
+     * @return Number of segments written
+     */
+    public int replace(PriceTimeline timeline) {
+        PriceKey key = timeline.key();
+        jdbcTemplate.update(DELETE_SEGMENTS, key.productId(), key.brandId());
+        return insert(List.of(timeline));
+    }
+
+    /**
+     * Replaces the stored segments of the timelines' products and brands, in one batch of deletes
+     * and one of inserts. Runs in the caller's transaction, if any.
+     *
+     * @param timelines Freshly resolved timelines
+     * @return Number of segments written
+     */
+    public int replace(Collection<PriceTimeline> timelines) {
+        delete(timelines.stream().map(PriceTimeline::key).toList());
+        return insert(timelines);
+    }
+
+    /**
+     * Deletes the stored segments of products and brands, in a single batch.
+     * Runs in the caller's transaction, if any.
+     *
+     * @param keys The products and brands
+     */
+    public void delete(Collection<PriceKey> keys) {
+        jdbcTemplate.batchUpdate(DELETE_SEGMENTS, keys, keys.size(), (ps, key) -> {
+            ps.setInt(1, key.productId());
+            ps.setInt(2, key.brandId());
+        });
+    }
+
+    /**
+     * Inserts the segments of timelines whose products and brands have no stored segments yet,
+     * in a single batch. Runs in the caller's transaction, if any.
+     *
+     * @param timelines Freshly resolved timelines
+     * @return Number of segments written
+     */
+    public int insert(Collection<PriceTimeline> timelines) {
+        List<PriceSegment> segments = timelines.stream()
+                .flatMap(timeline -> timeline.segments().stream())
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SEGMENT, segments, segments.size(), (ps, segment) -> {
+            Price price = segment.price();
+            ps.setInt(1, price.productId());
+            ps.setInt(2, price.brandId());
+            ps.setObject(3, segment.start());
+            ps.setObject(4, segment.end());
+            ps.setLong(5, price.id());
+            ps.setInt(6, price.priceList());
+            ps.setInt(7, price.priority());
+            ps.setObject(8, price.startDate());
+            ps.setObject(9, price.endDate());
+            ps.setBigDecimal(10, price.price());
+            ps.setString(11, price.currency());
+        });
+        return segments.size();
+    }
+}
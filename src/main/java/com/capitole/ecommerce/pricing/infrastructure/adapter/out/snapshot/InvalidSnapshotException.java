@@ -0,0 +1,13 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a snapshot file is truncated, corrupted or written in an unknown format.
+ */
+public class InvalidSnapshotException extends IOException {
+
+    public InvalidSnapshotException(String message) {
+        super(message);
+    }
+}
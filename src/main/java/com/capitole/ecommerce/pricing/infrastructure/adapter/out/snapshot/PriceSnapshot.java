@@ -0,0 +1,21 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resolved timelines of every product and brand, as published at one point in time.
+ *
+ * @param version Version of the snapshot, increasing with every publication
+ * @param createdAt When the publisher started reading the prices
+ * @param timelines Timeline of every product and brand with prices
+ */
+public record PriceSnapshot(
+        long version,
+        Instant createdAt,
+        Map<PriceKey, PriceTimeline> timelines
+) {
+}
@@ -0,0 +1,72 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.PriceLookupChain;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ParallelPriceResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/**
+ * Wiring of the snapshot distribution, enabled with {@code pricing.snapshot.enabled}:
+ * the publisher on the publishing instance, and the watcher when lookups use the snapshot engine.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PriceSnapshotProperties.class)
+public class PriceSnapshotConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "pricing.snapshot", name = "publisher", havingValue = "true")
+    public PriceSnapshotPublisher priceSnapshotPublisher(
+            ParallelPriceResolver parallelPriceResolver,
+            PriceSnapshotProperties properties,
+            Clock clock
+    ) {
+        PriceSnapshotPublisher publisher = new PriceSnapshotPublisher(parallelPriceResolver,
+                properties.getDirectory(), properties.getRetain(), clock);
+        if (properties.getPublishInterval() != null) {
+            publisher.start(properties.getPublishInterval());
+        }
+        return publisher;
+    }
+
+    @Bean(destroyMethod = "close")
+    public PriceSnapshotWatcher priceSnapshotWatcher(
+            PriceLookupChain priceLookupChain,
+            PriceSnapshotProperties properties,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        SnapshotPriceRepository repository = snapshotLayer(priceLookupChain);
+        if (repository == null) {
+            return null;
+        }
+        PriceSnapshotWatcher watcher = new PriceSnapshotWatcher(properties.getDirectory(), repository, meterRegistry);
+        watcher.start();
+        return watcher;
+    }
+
+    @Bean
+    public PriceSnapshotEndpoint priceSnapshotEndpoint(
+            PriceLookupChain priceLookupChain,
+            PriceSnapshotProperties properties,
+            ObjectProvider<PriceSnapshotPublisher> publisher,
+            ObjectProvider<PriceSnapshotWatcher> watcher
+    ) {
+        return new PriceSnapshotEndpoint(properties.getDirectory(), publisher.getIfAvailable(),
+                snapshotLayer(priceLookupChain), watcher.getIfAvailable());
+    }
+
+    private static SnapshotPriceRepository snapshotLayer(PriceLookupChain priceLookupChain) {
+        return priceLookupChain.indexes().stream()
+                .filter(SnapshotPriceRepository.class::isInstance)
+                .map(SnapshotPriceRepository.class::cast)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint exposing the snapshot distribution at {@code /actuator/snapshot}
+ * and publishing a new snapshot with {@code POST /actuator/snapshot} on the publishing instance.
+ */
+@Endpoint(id = "snapshot")
+public class PriceSnapshotEndpoint {
+
+    private final Path directory;
+    private final PriceSnapshotPublisher publisher;
+    private final SnapshotPriceRepository repository;
+    private final PriceSnapshotWatcher watcher;
+
+    /**
+     * @param directory The shared directory
+     * @param publisher The publisher, null if this instance does not publish
+     * @param repository The snapshot layer, null if lookups do not use snapshots
+     * @param watcher The watcher, null if lookups do not use snapshots
+     */
+    public PriceSnapshotEndpoint(Path directory, @Nullable PriceSnapshotPublisher publisher,
+                                 @Nullable SnapshotPriceRepository repository, @Nullable PriceSnapshotWatcher watcher) {
+        this.directory = directory;
+        this.publisher = publisher;
+        this.repository = repository;
+        this.watcher = watcher;
+    }
+
+    @ReadOperation
+    public SnapshotStatus status() throws IOException {
+        PriceSnapshot snapshot = repository == null ? null : repository.snapshot();
+        return new SnapshotStatus(
+                directory.toAbsolutePath().toString(),
+                publisher != null,
+                snapshot == null ? 0 : snapshot.version(),
+                repository == null ? null : repository.loadedAt(),
+                snapshot == null ? 0 : snapshot.timelines().size(),
+                PriceSnapshotFormat.list(directory).stream().map(file -> file.getFileName().toString()).toList(),
+                watcher == null ? null : watcher.lastRejection(),
+                publisher == null ? null : publisher.lastReport());
+    }
+
+    @WriteOperation
+    public PublishReport publish() {
+        if (publisher == null) {
+            throw new InvalidEndpointRequestException("This instance does not publish snapshots",
+                    "This instance does not publish snapshots, see pricing.snapshot.publisher");
+        }
+        try {
+            return publisher.publish();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
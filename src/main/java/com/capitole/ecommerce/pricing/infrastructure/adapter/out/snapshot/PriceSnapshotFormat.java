@@ -0,0 +1,270 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary format of the snapshot files, named {@code prices-<version>.snapshot}.
+ * <pre>
+ * header:  magic "PRSN" | format (short) | version (long) | createdAt epoch millis (long)
+ * entries: 1 (byte) | productId | brandId | prices (count, then each) | segments (count, then start, end, price index)
+ * trailer: 0 (byte) | entry count (long) | CRC32 of every preceding byte (long)
+ * </pre>
+ * Segments refer to the prices of their entry by index, so a price split around another one is stored once.
+ * Entries are written as partitions are resolved, so the file is produced without holding the whole table.
+ */
+public final class PriceSnapshotFormat {
+
+    static final int MAGIC = 0x5052534E;
+    static final short FORMAT = 1;
+
+    private static final Pattern FILE_NAME = Pattern.compile("prices-(\\d{20})\\.snapshot");
+
+    private PriceSnapshotFormat() {
+    }
+
+    /**
+     * @param version Version of a snapshot
+     * @return Name of its file; zero-padded so that names sort by version
+     */
+    public static String fileName(long version) {
+        return String.format("prices-%020d.snapshot", version);
+    }
+
+    /**
+     * @param file Any file
+     * @return Version of the snapshot, empty if the file is not a snapshot file
+     */
+    public static OptionalLong version(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+
+    /**
+     * @param directory The shared directory
+     * @return Snapshot files in the directory, oldest version first
+     */
+    public static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> version(file).isPresent()).sorted().toList();
+        }
+    }
+
+    /**
+     * Starts writing a snapshot; the caller closes the returned writer once every timeline was accepted.
+     *
+     * @param out Destination, closed with the writer
+     * @param version Version of the snapshot
+     * @param createdAt When the prices started being read
+     * @return Sink writing the accepted timelines
+     */
+    public static Writer writer(OutputStream out, long version, Instant createdAt) throws IOException {
+        return new Writer(out, version, createdAt);
+    }
+
+    /**
+     * Reads a whole snapshot file, verifying its format and checksum.
+     *
+     * @param file The snapshot file
+     * @return The snapshot
+     * @throws InvalidSnapshotException If the file is truncated, corrupted or of another format
+     */
+    public static PriceSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    static PriceSnapshot read(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(new BufferedInputStream(in, 1 << 16), crc));
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new InvalidSnapshotException("Not a price snapshot");
+            }
+            short format = data.readShort();
+            if (format != FORMAT) {
+                throw new InvalidSnapshotException("Unsupported snapshot format " + format);
+            }
+            long version = data.readLong();
+            Instant createdAt = Instant.ofEpochMilli(data.readLong());
+            Map<PriceKey, PriceTimeline> timelines = new HashMap<>();
+            while (data.readByte() == 1) {
+                PriceTimeline timeline = readEntry(data);
+                timelines.put(timeline.key(), timeline);
+            }
+            long entries = data.readLong();
+            long expected = crc.getValue();
+            if (data.readLong() != expected || entries != timelines.size()) {
+                throw new InvalidSnapshotException("Checksum mismatch in snapshot " + version);
+            }
+            return new PriceSnapshot(version, createdAt, Map.copyOf(timelines));
+        } catch (EOFException ex) {
+            throw new InvalidSnapshotException("Truncated snapshot");
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidSnapshotException("Malformed snapshot entry: " + ex.getMessage());
+        }
+    }
+
+    private static PriceTimeline readEntry(DataInputStream data) throws IOException {
+        PriceKey key = new PriceKey(data.readInt(), data.readInt());
+        Price[] prices = new Price[data.readInt()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = readPrice(data, key);
+        }
+        int count = data.readInt();
+        List<PriceSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(new PriceSegment(readDate(data), readDate(data), prices[data.readInt()]));
+        }
+        return new PriceTimeline(key, segments);
+    }
+
+    private static Price readPrice(DataInputStream data, PriceKey key) throws IOException {
+        int priceList = data.readInt();
+        LocalDateTime startDate = readDate(data);
+        LocalDateTime endDate = readDate(data);
+        int scale = data.readInt();
+        byte[] unscaled = new byte[data.readUnsignedShort()];
+        data.readFully(unscaled);
+        String currency = data.readUTF();
+        int priority = data.readInt();
+        Long id = data.readBoolean() ? data.readLong() : null;
+        return new Price(key.productId(), key.brandId(), priceList, startDate, endDate,
+                new BigDecimal(new BigInteger(unscaled), scale), currency, priority, id);
+    }
+
+    private static LocalDateTime readDate(DataInputStream data) throws IOException {
+        return LocalDateTime.ofEpochSecond(data.readLong(), data.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes accepted timelines as snapshot entries. Safe to feed from several resolving threads.
+     */
+    public static final class Writer implements PartitionSink, AutoCloseable {
+
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream data;
+        private long entries;
+
+        private Writer(OutputStream out, long version, Instant createdAt) throws IOException {
+            this.data = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(out, 1 << 16), crc));
+            data.writeInt(MAGIC);
+            data.writeShort(FORMAT);
+            data.writeLong(version);
+            data.writeLong(createdAt.toEpochMilli());
+        }
+
+        @Override
+        public synchronized void accept(List<PriceTimeline> timelines) {
+            try {
+                for (PriceTimeline timeline : timelines) {
+                    writeEntry(timeline);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * @return Entries written so far
+         */
+        public synchronized long entries() {
+            return entries;
+        }
+
+        /**
+         * Writes the trailer and closes the destination.
+         */
+        @Override
+        public synchronized void close() throws IOException {
+            data.writeByte(0);
+            data.writeLong(entries);
+            data.writeLong(crc.getValue());
+            data.close();
+        }
+
+        private void writeEntry(PriceTimeline timeline) throws IOException {
+            if (timeline.segments().isEmpty()) {
+                return;
+            }
+            Map<Price, Integer> indexes = new IdentityHashMap<>();
+            List<Price> prices = new ArrayList<>();
+            for (PriceSegment segment : timeline.segments()) {
+                if (indexes.putIfAbsent(segment.price(), prices.size()) == null) {
+                    prices.add(segment.price());
+                }
+            }
+            data.writeByte(1);
+            data.writeInt(timeline.key().productId());
+            data.writeInt(timeline.key().brandId());
+            data.writeInt(prices.size());
+            for (Price price : prices) {
+                writePrice(price);
+            }
+            data.writeInt(timeline.segments().size());
+            for (PriceSegment segment : timeline.segments()) {
+                writeDate(segment.start());
+                writeDate(segment.end());
+                data.writeInt(indexes.get(segment.price()));
+            }
+            entries++;
+        }
+
+        private void writePrice(Price price) throws IOException {
+            data.writeInt(price.priceList());
+            writeDate(price.startDate());
+            writeDate(price.endDate());
+            byte[] unscaled = price.price().unscaledValue().toByteArray();
+            data.writeInt(price.price().scale());
+            data.writeShort(unscaled.length);
+            data.write(unscaled);
+            data.writeUTF(price.currency());
+            data.writeInt(price.priority());
+            data.writeBoolean(price.id() != null);
+            if (price.id() != null) {
+                data.writeLong(price.id());
+            }
+        }
+
+        private void writeDate(LocalDateTime date) throws IOException {
+            data.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+            data.writeInt(date.getNano());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the price snapshots distributed through a shared directory.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.snapshot")
+public class PriceSnapshotProperties {
+
+    /**
+     * Whether snapshots are published and loaded through the shared directory.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory shared by every instance, where snapshot files are published.
+     */
+    private Path directory = Path.of("snapshots");
+
+    /**
+     * Whether this instance publishes snapshots; exactly one instance or job should.
+     */
+    private boolean publisher = false;
+
+    /**
+     * Delay between two publications of the publisher; when unset it only publishes on demand.
+     */
+    private Duration publishInterval;
+
+    /**
+     * Snapshot files kept in the directory, newest first; older ones are deleted after every publication.
+     */
+    private int retain = 3;
+}
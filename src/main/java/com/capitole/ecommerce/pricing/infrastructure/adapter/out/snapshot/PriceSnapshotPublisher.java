@@ -0,0 +1,147 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ParallelPriceResolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the resolved prices as a snapshot file into the shared directory.
+ * The file is written under a temporary name, forced to disk, then atomically renamed, so that watching
+ * instances only ever see complete files. Versions follow the latest file in the directory, so a single
+ * node or job is expected to publish; older files beyond {@code retain} are deleted.
+ */
+@Slf4j
+public class PriceSnapshotPublisher implements AutoCloseable {
+
+    private final ParallelPriceResolver resolver;
+    private final Path directory;
+    private final int retain;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+    private volatile PublishReport lastReport;
+
+    public PriceSnapshotPublisher(ParallelPriceResolver resolver, Path directory, int retain, Clock clock) {
+        this.resolver = resolver;
+        this.directory = directory;
+        this.retain = retain;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads and resolves every price, and publishes them as the next snapshot version.
+     *
+     * @return Report of the publication
+     */
+    public synchronized PublishReport publish() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        List<Path> existing = PriceSnapshotFormat.list(directory);
+        long version = existing.isEmpty() ? 1
+                : PriceSnapshotFormat.version(existing.get(existing.size() - 1)).getAsLong() + 1;
+        Instant createdAt = clock.instant();
+
+        Path target = directory.resolve(PriceSnapshotFormat.fileName(version));
+        Path temporary = directory.resolve("." + target.getFileName() + ".tmp");
+        long keys;
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            PriceSnapshotFormat.Writer writer = PriceSnapshotFormat.writer(nonClosing(out), version, createdAt);
+            try (writer) {
+                resolver.resolve(writer);
+            }
+            keys = writer.entries();
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        deleteOlderThan(retain);
+
+        PublishReport report = new PublishReport(version, target.getFileName().toString(), createdAt, keys,
+                Files.size(target), (System.nanoTime() - start) / 1_000_000);
+        log.info("Published price snapshot {}: {} products and brands, {} bytes in {} ms",
+                version, keys, report.bytes(), report.durationMillis());
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * @return Report of the last publication, null if it never published
+     */
+    public PublishReport lastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Starts publishing periodically on a dedicated daemon thread, the first time right away.
+     *
+     * @param interval Delay between two consecutive publications
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-snapshot-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::publishQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not publish a price snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private void deleteOlderThan(int kept) throws IOException {
+        List<Path> files = PriceSnapshotFormat.list(directory);
+        for (Path file : files.subList(0, Math.max(0, files.size() - kept))) {
+            // Instances still reading it keep their open handle
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
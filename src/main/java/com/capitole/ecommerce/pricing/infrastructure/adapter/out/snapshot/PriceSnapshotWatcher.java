@@ -0,0 +1,139 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+/**
+ * Watches the shared directory and swaps the newest valid snapshot file into the {@link SnapshotPriceRepository}.
+ * Publishers only ever rename complete files into the directory, so a creation event means a whole file;
+ * it is still verified (format and checksum) before being swapped in, and rejected files are skipped in favour
+ * of the newest older one that is valid. Overflowed events trigger a rescan of the directory.
+ */
+@Slf4j
+public class PriceSnapshotWatcher implements AutoCloseable {
+
+    private final Path directory;
+    private final SnapshotPriceRepository repository;
+    private final Counter loaded;
+    private final Counter rejected;
+    private WatchService watchService;
+    private Thread thread;
+    private volatile String lastRejection;
+
+    public PriceSnapshotWatcher(Path directory, SnapshotPriceRepository repository, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.repository = repository;
+        this.loaded = loadCounter(meterRegistry, "loaded");
+        this.rejected = loadCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Loads the newest snapshot already in the directory, then watches it on a dedicated daemon thread.
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        loadLatest();
+        thread = new Thread(this::watch, "price-snapshot-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Swaps in the newest valid snapshot of the directory, if newer than the current one.
+     *
+     * @return true if a snapshot was swapped in
+     */
+    public synchronized boolean loadLatest() {
+        List<Path> files;
+        try {
+            files = PriceSnapshotFormat.list(directory);
+        } catch (IOException ex) {
+            log.warn("Could not list the snapshots in {}: {}", directory, ex.getMessage());
+            return false;
+        }
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Path file = files.get(i);
+            if (PriceSnapshotFormat.version(file).getAsLong() <= repository.version()) {
+                return false;
+            }
+            try {
+                PriceSnapshot snapshot = PriceSnapshotFormat.read(file);
+                if (repository.swap(snapshot)) {
+                    loaded.increment();
+                    log.info("Loaded price snapshot {}: {} products and brands",
+                            snapshot.version(), snapshot.timelines().size());
+                    return true;
+                }
+            } catch (NoSuchFileException ex) {
+                // Deleted by the publisher's retention since it was listed: an even newer one exists
+            } catch (IOException ex) {
+                rejected.increment();
+                lastRejection = file.getFileName() + ": " + ex.getMessage();
+                log.warn("Rejected price snapshot {}: {}", file.getFileName(), ex.getMessage());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Name of the last rejected file and why, null if none was rejected
+     */
+    public String lastRejection() {
+        return lastRejection;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watch() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || PriceSnapshotFormat.version((Path) event.context()).isPresent();
+                }
+                key.reset();
+                if (changed) {
+                    loadLatest();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ex) {
+            log.debug("Stopped watching {}", directory);
+        }
+    }
+
+    private static Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.snapshot.loads")
+                .description("Snapshot files by outcome: loaded (verified and swapped in), rejected (invalid)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import java.time.Instant;
+
+/**
+ * Outcome of publishing a snapshot.
+ *
+ * @param version Version of the published snapshot
+ * @param file Name of the published file
+ * @param createdAt When the prices started being read
+ * @param keys Products and brands written
+ * @param bytes Size of the file
+ * @param durationMillis How long reading the prices and writing the file took
+ */
+public record PublishReport(
+        long version,
+        String file,
+        Instant createdAt,
+        long keys,
+        long bytes,
+        long durationMillis
+) {
+}
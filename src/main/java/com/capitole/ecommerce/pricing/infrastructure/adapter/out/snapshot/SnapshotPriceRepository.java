@@ -0,0 +1,158 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.DelegatingPriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.PriceIndex;
+import com.capitole.ecommerce.pricing.infrastructure.jfr.PriceRepositoryEvent;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryUsage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup layer answering every lookup from the latest loaded {@link PriceSnapshot}, without reaching the database.
+ * Until a first snapshot is loaded, lookups go to the next layer.
+ * A snapshot is swapped in as a whole through a volatile reference, so in-flight lookups finish on the one they
+ * started with. Writes committed on this instance are re-resolved from the next layer and kept on top of the
+ * snapshot until one created after them is loaded.
+ */
+@Slf4j
+public class SnapshotPriceRepository extends DelegatingPriceRepository implements PriceIndex, MemoryAccountable {
+
+    private final Clock clock;
+    private final MemoryBudget budget = MemoryBudget.unlimited();
+    private final Map<PriceKey, Written> written = new ConcurrentHashMap<>();
+    private volatile PriceSnapshot snapshot;
+    private volatile Instant loadedAt;
+
+    public SnapshotPriceRepository(PriceRepository delegate, Clock clock, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.clock = clock;
+        Gauge.builder("pricing.snapshot.version", this, SnapshotPriceRepository::version)
+                .description("Version of the price snapshot answering lookups, 0 before the first one is loaded")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(PriceQuery query) {
+        PriceRepositoryEvent event = PriceRepositoryEvent.start();
+        PriceSnapshot current = snapshot;
+        if (current == null) {
+            Optional<Price> price = delegate.findApplicablePrice(query);
+            event.complete("snapshot", "findApplicablePrice", PriceRepositoryEvent.BYPASS, query.key(), 0,
+                    price.isPresent());
+            return price;
+        }
+        Written write = written.isEmpty() ? null : written.get(query.key());
+        PriceTimeline timeline = write != null ? write.timeline : current.timelines().get(query.key());
+        Optional<Price> price = timeline == null ? Optional.empty() : timeline.priceAt(query.applicationDate());
+        event.complete("snapshot", "findApplicablePrice", PriceRepositoryEvent.CACHE, query.key(), 0,
+                price.isPresent());
+        return price;
+    }
+
+    /**
+     * Answers lookups from the given snapshot from now on, unless it is not newer than the current one.
+     *
+     * @param next The verified snapshot
+     * @return true if it was swapped in
+     */
+    public synchronized boolean swap(PriceSnapshot next) {
+        PriceSnapshot previous = snapshot;
+        if (previous != null && next.version() <= previous.version()) {
+            return false;
+        }
+        long bytes = 0;
+        long rows = 0;
+        for (PriceTimeline timeline : next.timelines().values()) {
+            bytes += MemoryFootprint.of(timeline);
+            rows += MemoryFootprint.priceRows(timeline);
+        }
+        budget.replaced(budget.getBytes(), budget.getPriceRows(), bytes, rows);
+        snapshot = next;
+        loadedAt = clock.instant();
+        // The snapshot was read after these writes committed, so it already holds them
+        written.values().removeIf(write -> write.writtenAt.isBefore(next.createdAt()));
+        return true;
+    }
+
+    /**
+     * @return Snapshot answering lookups, null before the first one is loaded
+     */
+    public PriceSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return When the current snapshot was swapped in, null before the first one is loaded
+     */
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return Version of the current snapshot, 0 before the first one is loaded
+     */
+    public long version() {
+        PriceSnapshot current = snapshot;
+        return current == null ? 0 : current.version();
+    }
+
+    @Override
+    public String indexName() {
+        return "snapshot";
+    }
+
+    @Override
+    public void refresh(Set<PriceKey> keys) {
+        if (snapshot == null) {
+            return;
+        }
+        Instant now = clock.instant();
+        for (PriceKey key : keys) {
+            try {
+                written.put(key, new Written(PriceTimeline.resolve(key, delegate.findPrices(key)), now));
+            } catch (RuntimeException ex) {
+                log.warn("Could not re-resolve the prices of {} on top of the snapshot: {}", key, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String memoryName() {
+        return "snapshot";
+    }
+
+    @Override
+    public MemoryBudget memoryBudget() {
+        return budget;
+    }
+
+    @Override
+    public MemoryUsage memoryUsage() {
+        PriceSnapshot current = snapshot;
+        Instant loaded = loadedAt;
+        return new MemoryUsage(current == null ? 0 : current.timelines().size(), 0,
+                loaded == null ? 0 : clock.millis() - loaded.toEpochMilli());
+    }
+
+    /**
+     * Timeline of a product and brand written on this instance after the current snapshot was created.
+     */
+    private record Written(PriceTimeline timeline, Instant writtenAt) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * State of the snapshot distribution of this instance, exposed through the {@code snapshot} actuator endpoint.
+ *
+ * @param directory The shared directory
+ * @param publisher Whether this instance publishes snapshots
+ * @param loadedVersion Version answering lookups, 0 if none is loaded or lookups do not use snapshots
+ * @param loadedAt When that version was swapped in
+ * @param keys Products and brands in that version
+ * @param files Snapshot files in the directory, oldest first
+ * @param lastRejection Last rejected file and why, null if none was rejected
+ * @param lastPublish Report of the last publication of this instance, null if it never published
+ */
+public record SnapshotStatus(
+        String directory,
+        boolean publisher,
+        long loadedVersion,
+        Instant loadedAt,
+        int keys,
+        List<String> files,
+        String lastRejection,
+        PublishReport lastPublish
+) {
+}
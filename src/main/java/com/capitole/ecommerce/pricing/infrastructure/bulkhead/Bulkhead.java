@@ -0,0 +1,178 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit, bounded queue and dedicated executor of one workload class.
+ * <p>
+ * Requests take a slot before reaching the use case and keep it until they complete, whatever thread
+ * finishes them. When every slot is taken, at most {@code maxQueue} requests wait for one, each for at most
+ * {@code maxWait}; the others are rejected at once, so a saturated class sheds its own load instead of
+ * holding the server threads the other classes need.
+ * <p>
+ * Work a request hands off (such as a streamed response body) runs on the executor of its class,
+ * sized like the slots, so that it does not compete with the other classes for threads either.
+ */
+public class Bulkhead implements AutoCloseable {
+
+    private final WorkloadClass workloadClass;
+    private final BulkheadProperties.Limits limits;
+    private final Duration retryAfter;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Timer waits;
+
+    public Bulkhead(WorkloadClass workloadClass, BulkheadProperties.Limits limits, Duration retryAfter,
+                    MeterRegistry meterRegistry) {
+        if (limits.getMaxConcurrent() < 1 || limits.getMaxQueue() < 0) {
+            throw new IllegalArgumentException("The " + workloadClass.tag()
+                    + " bulkhead needs at least one slot and a non-negative queue");
+        }
+        this.workloadClass = workloadClass;
+        this.limits = limits;
+        this.retryAfter = retryAfter;
+        this.slots = new Semaphore(limits.getMaxConcurrent(), true);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(limits.getMaxConcurrent(), limits.getMaxConcurrent(),
+                1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(Math.max(1, limits.getMaxQueue())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + workloadClass.tag() + "-"
+                            + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    throw new BulkheadFullException(workloadClass, "executor queue full", retryAfter);
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        String tag = workloadClass.tag();
+        this.accepted = callCounter(meterRegistry, tag, "accepted");
+        this.rejected = callCounter(meterRegistry, tag, "rejected");
+        this.timedOut = callCounter(meterRegistry, tag, "timeout");
+        this.waits = Timer.builder("pricing.bulkhead.wait")
+                .description("Time requests waited for a slot of their workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("pricing.bulkhead.active", this, Bulkhead::active)
+                .description("Requests of a workload class holding a slot")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("pricing.bulkhead.queued", queued, AtomicInteger::get)
+                .description("Requests of a workload class waiting for a slot")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("pricing.bulkhead.limit", limits, BulkheadProperties.Limits::getMaxConcurrent)
+                .description("Slots of a workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("pricing.bulkhead.executor.queue", executor, pool -> pool.getQueue().size())
+                .description("Tasks waiting for a thread of the executor of a workload class")
+                .tag("class", tag)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting for one if the queue has room.
+     *
+     * @throws BulkheadFullException if the queue is full or no slot frees up in time
+     */
+    public void acquire() {
+        if (slots.tryAcquire()) {
+            accepted.increment();
+            waits.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (queued.incrementAndGet() > limits.getMaxQueue()) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new BulkheadFullException(workloadClass, "queue full", retryAfter);
+        }
+        long start = System.nanoTime();
+        try {
+            if (!slots.tryAcquire(limits.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new BulkheadFullException(workloadClass, "no slot within " + limits.getMaxWait().toMillis()
+                        + " ms", retryAfter);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            timedOut.increment();
+            throw new BulkheadFullException(workloadClass, "interrupted", retryAfter);
+        } finally {
+            queued.decrementAndGet();
+        }
+        accepted.increment();
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gives back a slot taken by {@link #acquire()}.
+     */
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * @return Executor of the class, running every task with the class bound to its thread
+     */
+    public Executor executor() {
+        return task -> executor.execute(() -> {
+            try (WorkloadClass.Scope scope = workloadClass.bind()) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * @return Requests currently holding a slot
+     */
+    public int active() {
+        return limits.getMaxConcurrent() - slots.availablePermits();
+    }
+
+    /**
+     * @return Requests currently waiting for a slot
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    public WorkloadClass workloadClass() {
+        return workloadClass;
+    }
+
+    /**
+     * Stops the executor, letting the tasks already submitted finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String tag, String result) {
+        return Counter.builder("pricing.bulkhead.calls")
+                .description("Requests by outcome: accepted (got a slot), rejected (queue full), "
+                        + "timeout (no slot within the longest wait)")
+                .tag("class", tag)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+/**
+ * Wiring of the bulkheads, enabled with {@code pricing.bulkhead.enabled}:
+ * admission of the REST requests, executors of the asynchronous request processing
+ * and partitioning of the application DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.bulkhead", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(BulkheadProperties.class)
+@Slf4j
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadConfig(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.bulkheads = new Bulkheads(properties, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public Bulkheads bulkheads() {
+        return bulkheads;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(bulkheads)).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(bulkheads.asyncTaskExecutor());
+    }
+
+    /**
+     * Wraps the application DataSource, whichever configuration defines it, so that the JPA adapter,
+     * the JDBC tables and the rebuild all take their connections from the partition of their class.
+     */
+    @Bean
+    public static BeanPostProcessor partitionedDataSourcePostProcessor(
+            ObjectProvider<BulkheadProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                BulkheadProperties limits = properties.getObject();
+                log.info("Partitioning the connections of {} between workload classes: {}", beanName,
+                        Arrays.stream(WorkloadClass.values())
+                                .map(workloadClass -> workloadClass.tag() + "="
+                                        + limits.limits(workloadClass).getConnections())
+                                .toList());
+                return new PartitionedDataSource(dataSource, limits, meterRegistry.getObject());
+            }
+        };
+    }
+}
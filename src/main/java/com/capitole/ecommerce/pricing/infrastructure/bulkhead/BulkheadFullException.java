@@ -0,0 +1,24 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when a request or task is refused by the bulkhead of its workload class,
+ * because the class is at its concurrency limit and its queue is full or the wait timed out.
+ * GlobalExceptionHandler turns it into 503 with Retry-After.
+ */
+@Getter
+public class BulkheadFullException extends RejectedExecutionException {
+
+    private final WorkloadClass workloadClass;
+    private final Duration retryAfter;
+
+    public BulkheadFullException(WorkloadClass workloadClass, String reason, Duration retryAfter) {
+        super("The " + workloadClass.tag() + " workload is saturated (" + reason + "), retry later");
+        this.workloadClass = workloadClass;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,86 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Assigns every REST request to the workload class of its handler ({@link Workload}, interactive by default)
+ * and admits it through the bulkhead of that class before it reaches the use case.
+ * The class is bound to the thread handling the request, so that it reaches the connection partitions
+ * through the PriceRepository port without being passed along.
+ * <p>
+ * Asynchronous requests keep their slot from the first dispatch until the last one completes:
+ * the slot covers the work done on the executor of the class in between. Event streams
+ * ({@link ResponseBodyEmitter} handlers, such as the price change stream) are the exception: they only hold
+ * their slot while the handler sets them up, since they then stay open for minutes with nothing running
+ * and would otherwise starve the lookups of their class.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = BulkheadInterceptor.class.getName() + ".admitted";
+    private static final String SCOPE = BulkheadInterceptor.class.getName() + ".scope";
+    private static final String DETACHED = BulkheadInterceptor.class.getName() + ".detached";
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadInterceptor(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMITTED) instanceof Bulkhead admitted) {
+            // Dispatch of the result of an asynchronous request, already admitted
+            request.setAttribute(SCOPE, admitted.workloadClass().bind());
+            return true;
+        }
+        if (request.getAttribute(DETACHED) instanceof WorkloadClass detached) {
+            // Dispatch completing an event stream, whose slot was released once it was set up
+            request.setAttribute(SCOPE, detached.bind());
+            return true;
+        }
+        Workload workload = handler instanceof HandlerMethod method ? method.getMethodAnnotation(Workload.class) : null;
+        Bulkhead bulkhead = bulkheads.get(workload != null ? workload.value() : WorkloadClass.INTERACTIVE);
+        bulkhead.acquire();
+        request.setAttribute(ADMITTED, bulkhead);
+        request.setAttribute(SCOPE, bulkhead.workloadClass().bind());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The server thread goes back to its pool; the slot stays taken until the request completes
+        unbind(request);
+        if (isEventStream(handler) && request.getAttribute(ADMITTED) instanceof Bulkhead admitted) {
+            request.removeAttribute(ADMITTED);
+            request.setAttribute(DETACHED, admitted.workloadClass());
+            admitted.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        unbind(request);
+        if (request.getAttribute(ADMITTED) instanceof Bulkhead admitted) {
+            request.removeAttribute(ADMITTED);
+            admitted.release();
+        }
+    }
+
+    private static boolean isEventStream(Object handler) {
+        return handler instanceof HandlerMethod method
+                && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType());
+    }
+
+    private static void unbind(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE) instanceof WorkloadClass.Scope scope) {
+            request.removeAttribute(SCOPE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the bulkheads isolating the workload classes from each other.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether every workload class gets its own concurrency limit, executor and connection partition.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Value of the Retry-After header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Limits interactive = new Limits(150, 50, Duration.ofMillis(100), 6, Duration.ofSeconds(2));
+
+    private Limits bulk = new Limits(4, 8, Duration.ofSeconds(5), 2, Duration.ofSeconds(30));
+
+    private Limits background = new Limits(2, 16, Duration.ofSeconds(30), 2, Duration.ofMinutes(10));
+
+    /**
+     * @param workloadClass A workload class
+     * @return Its limits
+     */
+    public Limits limits(WorkloadClass workloadClass) {
+        return switch (workloadClass) {
+            case INTERACTIVE -> interactive;
+            case BULK -> bulk;
+            case BACKGROUND -> background;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+
+        /**
+         * Requests of the class handled at once; also the threads of its executor.
+         */
+        private int maxConcurrent;
+
+        /**
+         * Requests of the class waiting for a slot, beyond which they are rejected at once.
+         */
+        private int maxQueue;
+
+        /**
+         * Longest wait for a slot before the request is rejected.
+         */
+        private Duration maxWait;
+
+        /**
+         * Threads of the class holding database connections at once. The partitions of all classes
+         * should add up to at most the size of the connection pool, so that each always finds its share.
+         */
+        private int connections;
+
+        /**
+         * Longest wait for a connection of the partition before the statement fails.
+         */
+        private Duration connectionTimeout;
+    }
+}
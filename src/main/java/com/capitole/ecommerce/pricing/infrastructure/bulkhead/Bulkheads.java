@@ -0,0 +1,47 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The bulkheads of every workload class.
+ */
+public class Bulkheads implements AutoCloseable {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            bulkheads.put(workloadClass, new Bulkhead(workloadClass, properties.limits(workloadClass),
+                    properties.getRetryAfter(), meterRegistry));
+        }
+    }
+
+    /**
+     * @param workloadClass A workload class
+     * @return Its bulkhead
+     */
+    public Bulkhead get(WorkloadClass workloadClass) {
+        return bulkheads.get(workloadClass);
+    }
+
+    /**
+     * @return Executor handing every task to the executor of the class bound to the submitting thread
+     */
+    public AsyncTaskExecutor asyncTaskExecutor() {
+        return new AsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                get(WorkloadClass.current()).executor().execute(task);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        bulkheads.values().forEach(Bulkhead::close);
+    }
+}
@@ -0,0 +1,176 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource splitting the connections of the pool it wraps between the workload classes.
+ * Every connection is taken from the partition of the class bound to the calling thread, so a bulk export
+ * holding all of its connections leaves the interactive partition untouched.
+ * <p>
+ * A partition counts connections, not threads, so the shares add up to the connections actually taken
+ * from the pool. Work that reads and writes at once does both on one connection (the segment rebuild runs
+ * each range in one transaction), so no thread waits on its own partition for a second connection.
+ */
+public class PartitionedDataSource extends DelegatingDataSource {
+
+    private final Map<WorkloadClass, Partition> partitions = new EnumMap<>(WorkloadClass.class);
+
+    public PartitionedDataSource(DataSource target, BulkheadProperties properties, MeterRegistry meterRegistry) {
+        super(target);
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            partitions.put(workloadClass, new Partition(workloadClass, properties.limits(workloadClass),
+                    meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Partition partition = partitions.get(WorkloadClass.current());
+        partition.enter();
+        try {
+            return partition.wrap(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            partition.exit();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Partition partition = partitions.get(WorkloadClass.current());
+        partition.enter();
+        try {
+            return partition.wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            partition.exit();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param workloadClass A workload class
+     * @return Connections of the class currently open
+     */
+    public int activeConnections(WorkloadClass workloadClass) {
+        Partition partition = partitions.get(workloadClass);
+        return partition.size - partition.permits.availablePermits();
+    }
+
+    /**
+     * The share of one workload class.
+     */
+    private static final class Partition {
+
+        private final WorkloadClass workloadClass;
+        private final int size;
+        private final long timeoutNanos;
+        private final Semaphore permits;
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Counter timeouts;
+        private final Timer waits;
+
+        private Partition(WorkloadClass workloadClass, BulkheadProperties.Limits limits, MeterRegistry meterRegistry) {
+            if (limits.getConnections() < 1) {
+                throw new IllegalArgumentException("The " + workloadClass.tag()
+                        + " connection partition needs at least one connection");
+            }
+            this.workloadClass = workloadClass;
+            this.size = limits.getConnections();
+            this.timeoutNanos = limits.getConnectionTimeout().toNanos();
+            this.permits = new Semaphore(size, true);
+
+            String tag = workloadClass.tag();
+            this.timeouts = Counter.builder("pricing.bulkhead.connections.timeouts")
+                    .description("Connection requests of a workload class that found its partition exhausted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            this.waits = Timer.builder("pricing.bulkhead.connections.wait")
+                    .description("Time threads of a workload class waited for a connection of its partition")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("pricing.bulkhead.connections.active", open, AtomicInteger::get)
+                    .description("Open connections taken by a workload class")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("pricing.bulkhead.connections.pending", pending, AtomicInteger::get)
+                    .description("Threads of a workload class waiting for a connection of its partition")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("pricing.bulkhead.connections.max", this, partition -> partition.size)
+                    .description("Connections a workload class may hold at once")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+
+        private void enter() throws SQLException {
+            long start = System.nanoTime();
+            pending.incrementAndGet();
+            try {
+                if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    timeouts.increment();
+                    throw new SQLTransientConnectionException("Connection partition of the " + workloadClass.tag()
+                            + " workload exhausted: " + size + " connections in use for "
+                            + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection", ex);
+            } finally {
+                pending.decrementAndGet();
+            }
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private void exit() {
+            permits.release();
+        }
+
+        private Connection wrap(Connection target) {
+            open.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "close":
+                                if (closed.compareAndSet(false, true)) {
+                                    open.decrementAndGet();
+                                    try {
+                                        target.close();
+                                    } finally {
+                                        exit();
+                                    }
+                                }
+                                return null;
+                            default:
+                                try {
+                                    return method.invoke(target, args);
+                                } catch (InvocationTargetException ex) {
+                                    throw ex.getCause();
+                                }
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a REST handler method to a workload class; handlers without it are {@link WorkloadClass#INTERACTIVE}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    /**
+     * @return Class of the requests of the handler
+     */
+    WorkloadClass value();
+}
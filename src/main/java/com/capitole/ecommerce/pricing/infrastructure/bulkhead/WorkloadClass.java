@@ -0,0 +1,73 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import java.util.Locale;
+
+/**
+ * Class of the work a thread is doing, which decides the bulkhead it runs in: its concurrency and queue limits,
+ * its executor and its partition of the connection pool.
+ * <p>
+ * The class is bound to the current thread: by {@link BulkheadInterceptor} for REST requests, from the
+ * {@link Workload} of their handler, and by the background jobs themselves. Unbound threads are interactive,
+ * so that a lookup is never held back by a thread nobody classified.
+ */
+public enum WorkloadClass {
+
+    /**
+     * Latency-sensitive lookups and writes made for a waiting user.
+     */
+    INTERACTIVE,
+
+    /**
+     * Requests touching many products at once: exports, imports, multi-item lookups.
+     */
+    BULK,
+
+    /**
+     * Work nobody waits for: warm-up, rebuilds, snapshot publication, shadow reads.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return Class bound to the current thread, {@link #INTERACTIVE} if none is
+     */
+    public static WorkloadClass current() {
+        WorkloadClass current = CURRENT.get();
+        return current != null ? current : INTERACTIVE;
+    }
+
+    /**
+     * Binds this class to the current thread until the returned scope is closed.
+     *
+     * @return Scope restoring the class bound before
+     */
+    public Scope bind() {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * @return Name of the class in metrics and configuration
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Binding of a class to a thread, closed on the thread that opened it.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
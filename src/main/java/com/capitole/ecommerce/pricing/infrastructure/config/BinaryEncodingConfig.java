@@ -0,0 +1,63 @@
+package com.capitole.ecommerce.pricing.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Compact binary encodings of the REST responses, negotiated through the Accept header.
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) share the JSON DTOs
+ * and are built from Boot's Jackson2ObjectMapperBuilder, so every spring.jackson setting applies to them too.
+ * JSON stays the default when the client does not ask for a binary type.
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compactMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(compactMapper(builder, new SmileFactory()));
+    }
+
+    /**
+     * Builds the mapper of a binary encoding.
+     * Dates are written as numeric arrays instead of the patterns the DTOs declare for JSON,
+     * and BigDecimal uses the format's native decimal encoding instead of its text rendering.
+     *
+     * @param builder Builder carrying the application's Jackson configuration
+     * @param factory Binary format factory
+     * @return Mapper for the given format
+     */
+    public static ObjectMapper compactMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .annotationIntrospector(new CompactDateIntrospector())
+                .build();
+    }
+
+    /**
+     * Drops the textual patterns of {@code @JsonFormat} so dates fall back to their numeric form.
+     */
+    static class CompactDateIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public JsonFormat.Value findFormat(Annotated annotated) {
+            JsonFormat.Value format = super.findFormat(annotated);
+            return format != null && format.hasPattern() ? format.withPattern("").withShape(JsonFormat.Shape.ARRAY) : format;
+        }
+    }
+}
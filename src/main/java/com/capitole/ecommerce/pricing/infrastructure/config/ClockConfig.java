@@ -0,0 +1,22 @@
+package com.capitole.ecommerce.pricing.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Clock used wherever the service needs the current time or converts price dates to instants.
+ * Price dates are stored as local date-times, interpreted in {@code pricing.time-zone}
+ * (the JVM default zone when not set).
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock(@Value("${pricing.time-zone:}") String timeZone) {
+        return timeZone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(timeZone));
+    }
+}
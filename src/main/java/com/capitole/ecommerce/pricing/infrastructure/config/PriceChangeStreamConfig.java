@@ -0,0 +1,36 @@
+package com.capitole.ecommerce.pricing.infrastructure.config;
+
+import com.capitole.ecommerce.pricing.application.service.PriceChangeService;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceChangeSender;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceChangeStreamProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring of the effective price change stream: its properties, the threads writing its events and its gauges.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceChangeStreamProperties.class)
+public class PriceChangeStreamConfig {
+
+    @Bean(destroyMethod = "close")
+    public PriceChangeSender priceChangeSender(PriceChangeStreamProperties properties) {
+        return new PriceChangeSender(properties.getSendThreads(), properties.getMaxPendingEvents());
+    }
+
+    @Bean
+    public InitializingBean priceChangeMetrics(PriceChangeService priceChangeService, MeterRegistry meterRegistry) {
+        return () -> {
+            Gauge.builder("pricing.changes.watched-keys", priceChangeService, PriceChangeService::watchedKeys)
+                    .description("Products and brands followed by at least one stream")
+                    .register(meterRegistry);
+            Gauge.builder("pricing.changes.subscriptions", priceChangeService, PriceChangeService::subscriptions)
+                    .description("Followed products and brands, summed over all streams")
+                    .register(meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.capitole.ecommerce.pricing.infrastructure.config;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.ErrorResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceChangeResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceDetailResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceListSegmentResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceWriteRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.entity.PriceEntity;
+import com.capitole.ecommerce.pricing.infrastructure.config.datasource.QueryTimeoutExceptionOverride;
+import db.migration.V4__Resolve_price_segments;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.Connection;
+
+/**
+ * Runtime hints for AOT processing and GraalVM native images.
+ * Registers the reflection needed by Jackson for the REST DTOs, by Hibernate for the JPA entity,
+ * by Flyway for the Java migrations, by Hikari for the exception override and by the domain records, which are reachable only through reflective access,
+ * plus the JDK proxy the connection partitions of the bulkheads wrap connections in.
+ */
+public class PricingRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                PriceResponse.class,
+                PriceRequest.class,
+                PriceChangeResponse.class,
+                PriceWriteRequest.class,
+                PriceDetailResponse.class,
+                PriceListSegmentResponse.class,
+                ErrorResponse.class);
+
+        hints.reflection().registerType(PriceEntity.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+
+        hints.reflection().registerType(V4__Resolve_price_segments.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.reflection().registerType(QueryTimeoutExceptionOverride.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        for (Class<?> record : new Class<?>[]{Price.class, PriceQuery.class}) {
+            hints.reflection().registerType(record,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read/write DataSource split.
+ * Read-only transactions (such as the price lookup) are served by a pool of replicas,
+ * while writes, imports and Flyway migrations keep using the primary DataSource.
+ * Enabled with {@code pricing.datasource.routing.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSourcePool replicaDataSourcePool(
+            DataSourceRoutingProperties properties,
+            @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setExceptionOverrideClassName(QueryTimeoutExceptionOverride.class.getName());
+
+            if (properties.isMigrateReplicas()) {
+                log.info("Migrating replica '{}' at {}", name, replica.getUrl());
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations(migrationLocations)
+                        .load()
+                        .migrate();
+            }
+            replicas.put(name, dataSource);
+        }
+
+        log.info("Routing read-only transactions to {} replica(s): {}", replicas.size(), replicas.keySet());
+
+        ReplicaDataSourcePool pool = new ReplicaDataSourcePool(
+                replicas, properties.getFailureThreshold(), properties.getValidationTimeout());
+        pool.startHealthChecks(properties.getHealthCheckInterval());
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSourcePool replicaDataSourcePool) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSourcePool));
+    }
+}
@@ -0,0 +1,65 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the read/write DataSource split.
+ * The primary DataSource is still configured through {@code spring.datasource};
+ * these properties only describe the replicas serving read-only transactions.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Whether read-only transactions should be routed to the replica pool.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replica DataSources used for read-only transactions, balanced round-robin.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Consecutive connection failures after which a replica is ejected from the pool.
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * Interval between replica health checks. Ejected replicas are re-admitted once they validate again.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Timeout used when validating a replica connection during health checks.
+     */
+    private Duration validationTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Runs the Flyway migrations against every replica on startup.
+     * Only meant for local setups where in-memory H2 instances stand in for real replicas.
+     */
+    private boolean migrateReplicas = false;
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
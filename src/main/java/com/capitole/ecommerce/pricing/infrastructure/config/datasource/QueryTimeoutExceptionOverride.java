@@ -0,0 +1,21 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * Keeps connections in the pool when a statement is cancelled by its own query timeout.
+ * Hikari evicts the connection of any {@link SQLTimeoutException}, which would close it under the transaction
+ * of a lookup abandoned at its deadline: the rollback then fails and hides the timeout, and every abandoned
+ * lookup costs a new connection. Timeouts of the connection itself ({@code 08} states) are still evicted.
+ */
+public class QueryTimeoutExceptionOverride implements SQLExceptionOverride {
+
+    // Not annotated: Override names the verdict type of SQLExceptionOverride in this class
+    public Override adjudicate(SQLException ex) {
+        boolean connectionFailure = ex.getSQLState() != null && ex.getSQLState().startsWith("08");
+        return ex instanceof SQLTimeoutException && !connectionFailure ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,47 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * DataSource routing read-only transactions to the replica pool and everything else to the primary.
+ * Reads fall back to the primary when no healthy replica is available.
+ *
+ * The read-only flag is only known once the transaction has been set up, so this DataSource must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} to defer
+ * the routing decision until the first statement is executed.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaDataSourcePool replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSourcePool replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Optional<Connection> replicaConnection = replicas.getConnection();
+            if (replicaConnection.isPresent()) {
+                return replicaConnection.get();
+            }
+            log.debug("No healthy replica available, routing read-only transaction to the primary");
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
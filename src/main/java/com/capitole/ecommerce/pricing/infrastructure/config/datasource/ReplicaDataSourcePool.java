@@ -0,0 +1,169 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of replica DataSources serving read-only transactions.
+ * Connections are balanced round-robin across healthy replicas. A replica that fails
+ * {@code failureThreshold} consecutive times is ejected until a health check validates it again.
+ */
+@Slf4j
+public class ReplicaDataSourcePool implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final int failureThreshold;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * @param replicas Replica DataSources keyed by name, in balancing order
+     * @param failureThreshold Consecutive failures after which a replica is ejected
+     * @param validationTimeout Timeout for connection validation during health checks
+     */
+    public ReplicaDataSourcePool(Map<String, DataSource> replicas, int failureThreshold, Duration validationTimeout) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.replicas = new ArrayList<>();
+        new LinkedHashMap<>(replicas).forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.failureThreshold = failureThreshold;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    /**
+     * Obtains a connection from the next healthy replica.
+     * Replicas failing to hand out a connection are skipped, so a single broken replica
+     * never fails a read on its own.
+     *
+     * @return A replica connection, or empty if no healthy replica could provide one
+     */
+    public Optional<Connection> getConnection() {
+        int size = replicas.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.recordSuccess();
+                return Optional.of(connection);
+            } catch (SQLException ex) {
+                recordFailure(replica, ex);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Validates every replica once. Healthy replicas failing validation count towards ejection,
+     * ejected replicas that validate successfully are re-admitted.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    log.info("Replica '{}' passed health check, re-admitting it to the pool", replica.name);
+                }
+                replica.recordSuccess();
+            } catch (SQLException ex) {
+                recordFailure(replica, ex);
+            }
+        }
+    }
+
+    /**
+     * Starts periodic health checks on a dedicated daemon thread.
+     *
+     * @param interval Delay between two consecutive checks
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Name and health of every replica, in balancing order
+     */
+    public Map<String, Boolean> status() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.name, replica.healthy));
+        return status;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close replica '{}': {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void recordFailure(Replica replica, SQLException ex) {
+        int failures = replica.consecutiveFailures.incrementAndGet();
+        if (replica.healthy && failures >= failureThreshold) {
+            replica.healthy = false;
+            log.warn("Ejecting replica '{}' after {} consecutive failures: {}", replica.name, failures, ex.getMessage());
+        } else {
+            log.debug("Replica '{}' failed ({} consecutive): {}", replica.name, failures, ex.getMessage());
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void recordSuccess() {
+            consecutiveFailures.set(0);
+            healthy = true;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.capitole.ecommerce.pricing.infrastructure.jfr;
+
+import com.capitole.ecommerce.pricing.application.service.PriceServiceEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the pricing events of a Flight Recorder file into a latency breakdown per stage:
+ * the request, the service and every repository layer by the path it took.
+ * Events of the same thread nest (a request contains its service call, which contains the repository layers),
+ * so besides the total time of a stage the analyzer reports its self time, the part not spent in a nested event.
+ * Time of nested calls below the recording threshold stays in the self time of the stage that made them.
+ * <p>
+ * Usage: {@code java -cp target/classes com.capitole.ecommerce.pricing.infrastructure.jfr.PriceJfrAnalyzer recording.jfr}
+ */
+public final class PriceJfrAnalyzer {
+
+    private static final Set<String> EVENTS =
+            Set.of(PriceRequestEvent.NAME, PriceServiceEvent.NAME, PriceRepositoryEvent.NAME);
+
+    private PriceJfrAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PriceJfrAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        print(analyze(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * @param recording A Flight Recorder file
+     * @return Statistics of every stage found in the file, ordered by stage name
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, StageStats> analyze(Path recording) throws IOException {
+        Map<Long, List<Timed>> byThread = new LinkedHashMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (EVENTS.contains(event.getEventType().getName()) && event.getThread() != null) {
+                    byThread.computeIfAbsent(event.getThread().getJavaThreadId(), id -> new ArrayList<>())
+                            .add(new Timed(event));
+                }
+            }
+        }
+
+        Map<String, Accumulator> stages = new TreeMap<>();
+        for (List<Timed> events : byThread.values()) {
+            nest(events);
+            for (Timed timed : events) {
+                stages.computeIfAbsent(stage(timed.event), name -> new Accumulator()).add(timed);
+            }
+        }
+        Map<String, StageStats> stats = new LinkedHashMap<>();
+        stages.forEach((name, accumulator) -> stats.put(name, accumulator.toStats(name)));
+        return stats;
+    }
+
+    /**
+     * @param stats Statistics of every stage
+     * @param out Where to print the table
+     */
+    public static void print(Map<String, StageStats> stats, PrintStream out) {
+        out.printf("%-48s %8s %10s %10s %10s %10s %10s %8s%n",
+                "stage", "count", "mean(us)", "p50(us)", "p99(us)", "max(us)", "self(us)", "rows");
+        for (StageStats stage : stats.values()) {
+            out.printf("%-48s %8d %10.1f %10.1f %10.1f %10.1f %10.1f %8.2f%n",
+                    stage.stage(), stage.count(), micros(stage.meanNanos()), micros(stage.p50Nanos()),
+                    micros(stage.p99Nanos()), micros(stage.maxNanos()), micros(stage.meanSelfNanos()),
+                    stage.meanRowsExamined());
+        }
+    }
+
+    static String stage(RecordedEvent event) {
+        return switch (event.getEventType().getName()) {
+            case PriceRequestEvent.NAME -> "request";
+            case PriceServiceEvent.NAME -> "service";
+            default -> "repository " + event.getString("layer") + "." + event.getString("operation")
+                    + " " + event.getString("path");
+        };
+    }
+
+    /**
+     * Subtracts from every event the duration of the events directly nested in it.
+     */
+    private static void nest(List<Timed> events) {
+        // Parents first: earliest start, then longest
+        events.sort(Comparator.comparingLong((Timed timed) -> timed.start).thenComparingLong(timed -> -timed.end));
+        Deque<Timed> open = new ArrayDeque<>();
+        for (Timed timed : events) {
+            while (!open.isEmpty() && open.peek().end < timed.end) {
+                open.pop();
+            }
+            if (!open.isEmpty()) {
+                open.peek().self -= timed.duration;
+            }
+            open.push(timed);
+        }
+    }
+
+    private static double micros(double nanos) {
+        return nanos / 1_000.0;
+    }
+
+    /**
+     * Latency breakdown of one stage.
+     *
+     * @param stage Name of the stage: request, service, or repository layer, operation and path
+     * @param count Recorded events
+     * @param meanNanos Mean duration, nested stages included
+     * @param p50Nanos Median duration
+     * @param p99Nanos 99th percentile duration
+     * @param maxNanos Maximum duration
+     * @param meanSelfNanos Mean duration not spent in recorded nested stages
+     * @param meanRowsExamined Mean stored rows read by the stage itself
+     */
+    public record StageStats(
+            String stage,
+            long count,
+            double meanNanos,
+            long p50Nanos,
+            long p99Nanos,
+            long maxNanos,
+            double meanSelfNanos,
+            double meanRowsExamined
+    ) {
+    }
+
+    private static final class Timed {
+
+        private final RecordedEvent event;
+        private final long start;
+        private final long end;
+        private final long duration;
+        private long self;
+
+        private Timed(RecordedEvent event) {
+            this.event = event;
+            this.start = toNanos(event.getStartTime().getEpochSecond(), event.getStartTime().getNano());
+            this.end = toNanos(event.getEndTime().getEpochSecond(), event.getEndTime().getNano());
+            this.duration = event.getDuration().toNanos();
+            this.self = duration;
+        }
+
+        private static long toNanos(long seconds, int nanos) {
+            return seconds * 1_000_000_000L + nanos;
+        }
+    }
+
+    private static final class Accumulator {
+
+        private final List<Long> durations = new ArrayList<>();
+        private long self;
+        private long rows;
+
+        private void add(Timed timed) {
+            durations.add(timed.duration);
+            self += Math.max(0, timed.self);
+            if (timed.event.hasField("rowsExamined")) {
+                rows += timed.event.getInt("rowsExamined");
+            }
+        }
+
+        private StageStats toStats(String stage) {
+            List<Long> sorted = durations.stream().sorted().toList();
+            int count = sorted.size();
+            double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+            return new StageStats(stage, count, mean, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.get(count - 1), (double) self / count, (double) rows / count);
+        }
+
+        private static long percentile(List<Long> sorted, double quantile) {
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.capitole.ecommerce.pricing.infrastructure.jfr;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.infrastructure.timing.ServerTiming;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering one layer of the lookup chain, the layers below included.
+ * Every layer records the path it took, so that nested events show where a lookup was answered.
+ * The same calls feed the repository part of the {@link ServerTiming} breakdown, when one is collected.
+ */
+@Name(PriceRepositoryEvent.NAME)
+@Label("Price Repository Call")
+@Category({"Pricing", "Lookup"})
+@Description("Call to one layer of the price repository chain, the layers below included")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PriceRepositoryEvent extends Event {
+
+    public static final String NAME = "com.capitole.pricing.Repository";
+
+    /**
+     * Answered from memory.
+     */
+    public static final String CACHE = "cache";
+
+    /**
+     * Loaded from the next layer, then answered and kept.
+     */
+    public static final String LOAD = "load";
+
+    /**
+     * Waited for a load of the same key already in flight.
+     */
+    public static final String SHARED = "shared";
+
+    /**
+     * Sent to the next layer as is.
+     */
+    public static final String BYPASS = "bypass";
+
+    /**
+     * Answered by a seek on the resolved segments table.
+     */
+    public static final String INDEX = "index";
+
+    /**
+     * Answered by a query on the prices table.
+     */
+    public static final String DB = "db";
+
+    @Label("Layer")
+    String layer;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    @Description("cache, load, shared, bypass, index or db")
+    String path;
+
+    @Label("Product Id")
+    int productId;
+
+    @Label("Brand Id")
+    int brandId;
+
+    @Label("Rows Examined")
+    @Description("Stored rows read by this layer itself; rows read by the layers below are in their own events")
+    int rowsExamined;
+
+    @Label("Found")
+    boolean found;
+
+    public static PriceRepositoryEvent start() {
+        ServerTiming.layerStarted();
+        PriceRepositoryEvent event = new PriceRepositoryEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(String layer, String operation, String path, PriceKey key, int rowsExamined, boolean found) {
+        end();
+        ServerTiming.layerCompleted(layer, path, rowsExamined);
+        if (shouldCommit()) {
+            this.layer = layer;
+            this.operation = operation;
+            this.path = path;
+            this.productId = key.productId();
+            this.brandId = key.brandId();
+            this.rowsExamined = rowsExamined;
+            this.found = found;
+            commit();
+        }
+    }
+}
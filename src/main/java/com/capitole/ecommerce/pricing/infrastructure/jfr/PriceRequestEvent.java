@@ -0,0 +1,49 @@
+package com.capitole.ecommerce.pricing.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering a price lookup in the REST controller, from the parsed parameters
+ * to the response DTO; serialization happens after it ends.
+ */
+@Name(PriceRequestEvent.NAME)
+@Label("Price Request")
+@Category({"Pricing", "Lookup"})
+@Description("Price lookup handled by the REST controller")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PriceRequestEvent extends Event {
+
+    public static final String NAME = "com.capitole.pricing.Request";
+
+    @Label("Product Id")
+    int productId;
+
+    @Label("Brand Id")
+    int brandId;
+
+    @Label("Found")
+    boolean found;
+
+    public static PriceRequestEvent start() {
+        PriceRequestEvent event = new PriceRequestEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(int productId, int brandId, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.productId = productId;
+            this.brandId = brandId;
+            this.found = found;
+            commit();
+        }
+    }
+}
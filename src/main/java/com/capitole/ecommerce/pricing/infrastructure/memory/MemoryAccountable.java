@@ -0,0 +1,24 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+/**
+ * In-memory component holding price data, reported by the {@code memory} actuator endpoint.
+ */
+public interface MemoryAccountable {
+
+    /**
+     * @return Name of the component, as shown in the endpoint and metrics
+     */
+    String memoryName();
+
+    /**
+     * @return Accounting of the component's entries, kept up to date as entries are published and dropped
+     */
+    MemoryBudget memoryBudget();
+
+    /**
+     * Takes a snapshot of the component; may walk every entry, so it is meant for the endpoint, not the lookup path.
+     *
+     * @return Current usage of the component
+     */
+    MemoryUsage memoryUsage();
+}
@@ -0,0 +1,118 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory accounting of one in-memory component, with an optional limit on its estimated size.
+ * The component reports every entry it publishes or drops, and asks before publishing a new one:
+ * past the limit a {@link Action#REFUSE REFUSE} budget turns the load away (the lookup is answered but not kept),
+ * while an {@link Action#EVICT EVICT} budget admits it and the component drops entries
+ * until the size is back under {@link #LOW_WATERMARK} of the limit.
+ */
+public class MemoryBudget {
+
+    /**
+     * Fraction of the limit eviction brings the size back to, so that it does not run on every load.
+     */
+    public static final double LOW_WATERMARK = 0.9;
+
+    public enum Action {
+        EVICT,
+        REFUSE
+    }
+
+    private final long maxBytes;
+    private final Action action;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong priceRows = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refusals = new LongAdder();
+
+    /**
+     * @param maxBytes Limit on the estimated size, {@link Long#MAX_VALUE} for none
+     * @param action What happens past the limit
+     */
+    public MemoryBudget(long maxBytes, Action action) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.action = action;
+    }
+
+    /**
+     * @return A budget that only accounts, without limit
+     */
+    public static MemoryBudget unlimited() {
+        return new MemoryBudget(Long.MAX_VALUE, Action.EVICT);
+    }
+
+    /**
+     * Asks whether a new entry may be published.
+     *
+     * @param entryBytes Estimated size of the entry
+     * @return false if the budget refuses loads and the entry would take it past the limit
+     */
+    public boolean admit(long entryBytes) {
+        if (action == Action.REFUSE && bytes.get() + entryBytes > maxBytes) {
+            refusals.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records an entry replaced by another, either of them possibly absent.
+     */
+    public void replaced(long previousBytes, long previousRows, long nextBytes, long nextRows) {
+        bytes.addAndGet(nextBytes - previousBytes);
+        priceRows.addAndGet(nextRows - previousRows);
+    }
+
+    /**
+     * @return true if the component should drop entries now
+     */
+    public boolean shouldEvict() {
+        return action == Action.EVICT && bytes.get() > maxBytes;
+    }
+
+    /**
+     * @return true while an eviction run should keep dropping entries
+     */
+    public boolean aboveLowWatermark() {
+        return bytes.get() > (long) (maxBytes * LOW_WATERMARK);
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getPriceRows() {
+        return priceRows.get();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getRefusals() {
+        return refusals.sum();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public boolean isLimited() {
+        return maxBytes != Long.MAX_VALUE;
+    }
+}
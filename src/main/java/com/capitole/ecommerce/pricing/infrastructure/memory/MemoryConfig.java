@@ -0,0 +1,54 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.PriceLookupChain;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Wiring of the memory accounting: the accountable layers of the lookup chain, their endpoint and their metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(MemoryProperties.class)
+public class MemoryConfig {
+
+    @Bean
+    public MemoryEndpoint memoryEndpoint(PriceLookupChain priceLookupChain) {
+        return new MemoryEndpoint(accountable(priceLookupChain));
+    }
+
+    @Bean
+    public InitializingBean memoryMetrics(PriceLookupChain priceLookupChain, MeterRegistry meterRegistry) {
+        return () -> {
+            for (MemoryAccountable component : accountable(priceLookupChain)) {
+                MemoryBudget budget = component.memoryBudget();
+                Gauge.builder("pricing.memory.bytes", budget, MemoryBudget::getBytes)
+                        .description("Estimated bytes retained by an in-memory price component")
+                        .tag("component", component.memoryName())
+                        .baseUnit("bytes")
+                        .register(meterRegistry);
+                FunctionCounter.builder("pricing.memory.budget.evictions", budget, MemoryBudget::getEvictions)
+                        .description("Entries dropped to keep a component within its memory budget")
+                        .tag("component", component.memoryName())
+                        .register(meterRegistry);
+                FunctionCounter.builder("pricing.memory.budget.refusals", budget, MemoryBudget::getRefusals)
+                        .description("Loads not kept in memory because of a component's memory budget")
+                        .tag("component", component.memoryName())
+                        .register(meterRegistry);
+            }
+        };
+    }
+
+    private static List<MemoryAccountable> accountable(PriceLookupChain priceLookupChain) {
+        return priceLookupChain.indexes().stream()
+                .filter(MemoryAccountable.class::isInstance)
+                .map(MemoryAccountable.class::cast)
+                .toList();
+    }
+}
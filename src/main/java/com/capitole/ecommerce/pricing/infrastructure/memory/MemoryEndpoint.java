@@ -0,0 +1,36 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the memory accounting of the in-memory price components at {@code /actuator/memory}.
+ */
+@Endpoint(id = "memory")
+public class MemoryEndpoint {
+
+    private final List<MemoryAccountable> components;
+
+    public MemoryEndpoint(List<MemoryAccountable> components) {
+        this.components = components;
+    }
+
+    @ReadOperation
+    public MemoryReport report() {
+        Map<String, MemoryReport.Component> report = new LinkedHashMap<>();
+        long estimatedBytes = 0;
+        for (MemoryAccountable component : components) {
+            MemoryBudget budget = component.memoryBudget();
+            report.put(component.memoryName(), MemoryReport.Component.of(component.memoryUsage(), budget));
+            estimatedBytes += budget.getBytes();
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return new MemoryReport(heap.getUsed(), heap.getMax(), estimatedBytes, report);
+    }
+}
@@ -0,0 +1,88 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimated retained sizes of the in-memory price structures, in bytes.
+ * Computed from the object layout of a 64-bit JVM with compressed references (12-byte headers,
+ * 4-byte references, 8-byte alignment) rather than measured, so that accounting costs a few additions per load.
+ */
+public final class MemoryFootprint {
+
+    /**
+     * Price record (48) with two LocalDateTime (72 each: date and time included), a compact BigDecimal (40),
+     * the currency String with its byte array (48) and the boxed id (16).
+     */
+    static final long PRICE = 296;
+
+    /**
+     * PriceSegment record (24) with its own start and end LocalDateTime.
+     */
+    static final long SEGMENT = 168;
+
+    /**
+     * PriceTimeline record (16), its PriceKey (24) and the immutable list holding the segments (16).
+     */
+    static final long TIMELINE = 56;
+
+    /**
+     * PriceChange record (24), its PriceKey (24) and its two LocalDateTime.
+     */
+    static final long CHANGE = 192;
+
+    /**
+     * Concurrent map node (32), the table slot it takes at the default load factor (8) and the cache entry (24).
+     */
+    static final long MAP_ENTRY = 64;
+
+    private MemoryFootprint() {
+    }
+
+    /**
+     * @param timeline A resolved timeline
+     * @return Estimated bytes retained by the timeline held as a map entry
+     */
+    public static long of(PriceTimeline timeline) {
+        int segments = timeline.segments().size();
+        return MAP_ENTRY + TIMELINE + align(16 + 4L * segments) + SEGMENT * segments + PRICE * priceRows(timeline);
+    }
+
+    /**
+     * @param encodedBytes Length of a timeline encoded in a byte array
+     * @return Estimated bytes retained by the encoded timeline held as a map entry: its PriceKey (24),
+     * the holder object (16) and the byte array
+     */
+    public static long ofEncoded(int encodedBytes) {
+        return MAP_ENTRY + 24 + 16 + align(16 + (long) encodedBytes);
+    }
+
+    /**
+     * @param change A current price change
+     * @return Estimated bytes retained by the change held as a map entry
+     */
+    public static long of(PriceChange change) {
+        return MAP_ENTRY + CHANGE + (change.hasPrice() ? PRICE : 0);
+    }
+
+    /**
+     * @param timeline A resolved timeline
+     * @return Distinct prices referenced by its segments; a price split by another one appears in several
+     */
+    public static int priceRows(PriceTimeline timeline) {
+        Set<Object> prices = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PriceSegment segment : timeline.segments()) {
+            prices.add(segment.price());
+        }
+        return prices.size();
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,46 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the memory budgets of the in-memory price components.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.memory")
+public class MemoryProperties {
+
+    /**
+     * Budgets by component name (timeline, current); components without one are only accounted.
+     */
+    private Map<String, Budget> budgets = new LinkedHashMap<>();
+
+    /**
+     * @param component Name of the component
+     * @return A fresh budget for the component, unlimited if none is configured
+     */
+    public MemoryBudget budget(String component) {
+        Budget budget = budgets.get(component);
+        return budget == null || budget.getMaxSize() == null
+                ? MemoryBudget.unlimited()
+                : new MemoryBudget(budget.getMaxSize().toBytes(), budget.getAction());
+    }
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Limit on the estimated size of the component.
+         */
+        private DataSize maxSize;
+
+        /**
+         * evict: drop entries back under 90% of the limit; refuse: answer lookups without keeping new entries.
+         */
+        private MemoryBudget.Action action = MemoryBudget.Action.EVICT;
+    }
+}
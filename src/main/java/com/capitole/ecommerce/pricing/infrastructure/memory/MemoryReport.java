@@ -0,0 +1,54 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+import java.util.Map;
+
+/**
+ * Memory held by the in-memory price components, exposed through the {@code memory} actuator endpoint.
+ *
+ * @param heapUsedBytes Heap in use, whatever holds it
+ * @param heapMaxBytes Maximum heap, -1 if undefined
+ * @param estimatedBytes Estimated bytes retained by all components
+ * @param components Accounting of every component
+ */
+public record MemoryReport(
+        long heapUsedBytes,
+        long heapMaxBytes,
+        long estimatedBytes,
+        Map<String, Component> components
+) {
+
+    /**
+     * @param entries Entries held
+     * @param negativeEntries Entries recording that no price applies
+     * @param priceRows Prices referenced by the entries
+     * @param estimatedBytes Estimated bytes retained by the entries
+     * @param bytesPerPriceRow Estimated bytes per referenced price, 0 if none
+     * @param oldestEntryAgeMillis Time since the oldest entry was loaded
+     * @param maxBytes Budget of the component, null if unlimited
+     * @param action What happens past the budget, null if unlimited
+     * @param evictions Entries dropped to stay within the budget
+     * @param refusals Loads not kept because of the budget
+     */
+    public record Component(
+            long entries,
+            long negativeEntries,
+            long priceRows,
+            long estimatedBytes,
+            long bytesPerPriceRow,
+            long oldestEntryAgeMillis,
+            Long maxBytes,
+            MemoryBudget.Action action,
+            long evictions,
+            long refusals
+    ) {
+
+        static Component of(MemoryUsage usage, MemoryBudget budget) {
+            long rows = budget.getPriceRows();
+            return new Component(usage.entries(), usage.negativeEntries(), rows, budget.getBytes(),
+                    rows == 0 ? 0 : budget.getBytes() / rows, usage.oldestEntryAgeMillis(),
+                    budget.isLimited() ? budget.getMaxBytes() : null,
+                    budget.isLimited() ? budget.getAction() : null,
+                    budget.getEvictions(), budget.getRefusals());
+        }
+    }
+}
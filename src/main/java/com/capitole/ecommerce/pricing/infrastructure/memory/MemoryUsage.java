@@ -0,0 +1,11 @@
+package com.capitole.ecommerce.pricing.infrastructure.memory;
+
+/**
+ * Snapshot of the entries held by an in-memory component.
+ *
+ * @param entries Entries held
+ * @param negativeEntries Entries recording that no price applies
+ * @param oldestEntryAgeMillis Time since the oldest entry was loaded, 0 if empty
+ */
+public record MemoryUsage(long entries, long negativeEntries, long oldestEntryAgeMillis) {
+}
@@ -0,0 +1,204 @@
+package com.capitole.ecommerce.pricing.infrastructure.scheduling;
+
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel: a ring of buckets advanced by a single thread once per tick.
+ * Scheduling and cancelling are O(1) and need no lock, and the cost of a tick depends on the tasks
+ * in one bucket only, so millions of pending tasks cost one small object each instead of a timer each.
+ * Tasks further away than one rotation stay in their bucket and count down the remaining rotations.
+ * Due tasks are handed to an executor so that slow tasks never delay the ticks.
+ */
+@Slf4j
+public class TimingWheel implements BoundaryScheduler, AutoCloseable {
+
+    private final Clock clock;
+    private final long tickNanos;
+    private final List<Timeout>[] buckets;
+    private final int mask;
+    private final Executor executor;
+
+    private final Queue<Timeout> pendingAdditions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong expired = new AtomicLong();
+    private volatile boolean closed;
+    private volatile long startNanos;
+    private Thread worker;
+    private long tick;
+
+    /**
+     * @param clock Clock the task instants are expressed in
+     * @param tickDuration Duration of one tick, the precision of the wheel
+     * @param wheelSize Buckets in the wheel, rounded up to a power of two
+     * @param executor Executor running the due tasks
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Clock clock, Duration tickDuration, int wheelSize, Executor executor) {
+        if (tickDuration.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick duration must be at least 1 ms");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.clock = clock;
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+    }
+
+    @Override
+    public Scheduled schedule(Instant at, Runnable task) {
+        if (closed) {
+            throw new IllegalStateException("Timing wheel is closed");
+        }
+        start();
+        long delayNanos = Math.max(0, Duration.between(clock.instant(), at).toNanos());
+        Timeout timeout = new Timeout(System.nanoTime() - startNanos + delayNanos, task);
+        pending.incrementAndGet();
+        pendingAdditions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return Tasks scheduled and neither run nor cancelled yet
+     */
+    public int pendingTasks() {
+        return pending.get();
+    }
+
+    /**
+     * @return Tasks handed to the executor since the wheel started
+     */
+    public long expiredTasks() {
+        return expired.get();
+    }
+
+    /**
+     * @return Number of buckets in the wheel
+     */
+    public int wheelSize() {
+        return buckets.length;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            startNanos = System.nanoTime();
+            worker = Thread.ofPlatform().daemon().name("timing-wheel").start(this::run);
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException ex) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferPendingAdditions();
+            expireBucket(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPendingAdditions() {
+        Timeout timeout;
+        while ((timeout = pendingAdditions.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long dueTick = Math.max(timeout.deadlineNanos / tickNanos, tick);
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(List<Timeout> bucket) {
+        int retained = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.set(retained++, timeout);
+                continue;
+            }
+            if (timeout.expire()) {
+                pending.decrementAndGet();
+                expired.incrementAndGet();
+                try {
+                    executor.execute(timeout.task);
+                } catch (RuntimeException ex) {
+                    log.error("Could not run a timing wheel task", ex);
+                }
+            }
+        }
+        bucket.subList(retained, bucket.size()).clear();
+    }
+
+    /**
+     * Task waiting in the wheel, with its deadline in nanoseconds since the wheel started.
+     */
+    private final class Timeout implements Scheduled {
+
+        private final long deadlineNanos;
+        private final Runnable task;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(long deadlineNanos, Runnable task) {
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+
+        private boolean expire() {
+            return done.compareAndSet(false, true);
+        }
+
+        @Override
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                cancelled = true;
+                pending.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.capitole.ecommerce.pricing.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wiring of the timing wheel implementing the BoundaryScheduler port.
+ */
+@Configuration
+@EnableConfigurationProperties(TimingWheelProperties.class)
+public class TimingWheelConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService boundaryDispatchExecutor(TimingWheelProperties properties) {
+        return Executors.newFixedThreadPool(properties.getDispatchThreads(),
+                Thread.ofPlatform().daemon().name("boundary-dispatch-", 0).factory());
+    }
+
+    @Bean
+    public TimingWheel timingWheel(
+            Clock clock,
+            TimingWheelProperties properties,
+            ExecutorService boundaryDispatchExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        TimingWheel timingWheel = new TimingWheel(clock, properties.getTickDuration(), properties.getWheelSize(),
+                boundaryDispatchExecutor);
+        Gauge.builder("pricing.scheduler.pending", timingWheel, TimingWheel::pendingTasks)
+                .description("Tasks waiting for their boundary in the timing wheel")
+                .register(meterRegistry);
+        FunctionCounter.builder("pricing.scheduler.expired", timingWheel, TimingWheel::expiredTasks)
+                .description("Tasks run by the timing wheel")
+                .register(meterRegistry);
+        return timingWheel;
+    }
+}
@@ -0,0 +1,29 @@
+package com.capitole.ecommerce.pricing.infrastructure.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the timing wheel running tasks at price boundaries.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.scheduler")
+public class TimingWheelProperties {
+
+    /**
+     * Duration of one tick: tasks run at most this late after their boundary.
+     */
+    private Duration tickDuration = Duration.ofMillis(100);
+
+    /**
+     * Buckets in the wheel (rounded up to a power of two). One rotation covers tick-duration x wheel-size.
+     */
+    private int wheelSize = 512;
+
+    /**
+     * Threads running the due tasks, so that slow tasks never delay the ticks.
+     */
+    private int dispatchThreads = 2;
+}
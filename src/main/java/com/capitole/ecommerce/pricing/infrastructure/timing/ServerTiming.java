@@ -0,0 +1,153 @@
+package com.capitole.ecommerce.pricing.infrastructure.timing;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latency breakdown of one price request, sent back in the {@code Server-Timing} response header.
+ * <p>
+ * The context is bound to the request thread by {@link ServerTimingFilter} only when the feature is enabled.
+ * Otherwise {@link #current()} returns null and every instrumentation point is a thread-local read and a null
+ * check: nothing is allocated per request.
+ * <p>
+ * Stages are consecutive: each {@link #mark(Stage)} closes the stage that ran since the previous mark.
+ * The repository time is nested in the use case and measured by the lookup layers themselves,
+ * through {@link #layerStarted()} and {@link #layerCompleted(String, String, int)}.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Stage {
+        VALIDATION("validation", "Parameter binding and validation"),
+        USE_CASE("usecase", "Use case"),
+        MAPPING("mapping", "Response mapping"),
+        SERIALIZATION("serialization", "JSON serialization");
+
+        private final String metric;
+        private final String description;
+
+        Stage(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private final long startNanos;
+    private long markNanos;
+    private final long[] stageNanos = new long[Stage.values().length];
+
+    private int layerDepth;
+    private long layerStartNanos;
+    private long repositoryNanos;
+    private String source;
+    private int rowsRead;
+
+    ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+        this.markNanos = startNanos;
+        Arrays.fill(stageNanos, -1);
+    }
+
+    /**
+     * Starts collecting the breakdown of the request handled by the current thread.
+     */
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Stops collecting on the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The breakdown collected for the request of the current thread, null if none is collected
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Closes the given stage, which ran since the previous mark.
+     */
+    public void mark(Stage stage) {
+        long now = System.nanoTime();
+        stageNanos[stage.ordinal()] = now - markNanos;
+        markNanos = now;
+    }
+
+    /**
+     * @return true once the given stage has been closed
+     */
+    boolean reached(Stage stage) {
+        return stageNanos[stage.ordinal()] >= 0;
+    }
+
+    /**
+     * Records that a layer of the lookup chain starts working for the request of the current thread.
+     * The repository time runs from the outermost layer start to its completion.
+     */
+    public static void layerStarted() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.layerDepth++ == 0) {
+            timing.layerStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Records that a layer of the lookup chain completed. The first layer to complete is the innermost one,
+     * the one that answered: it is reported as the source of the price.
+     *
+     * @param layer Name of the layer
+     * @param path How the layer answered: cache, load, db...
+     * @param rows Stored rows the layer read itself
+     */
+    public static void layerCompleted(String layer, String path, int rows) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        if (timing.source == null) {
+            timing.source = layer + " " + path;
+        }
+        timing.rowsRead += rows;
+        if (timing.layerDepth > 0 && --timing.layerDepth == 0) {
+            timing.repositoryNanos += System.nanoTime() - timing.layerStartNanos;
+        }
+    }
+
+    /**
+     * @return Value of the Server-Timing header: the stages reached, the repository and the total, in milliseconds
+     */
+    String header() {
+        StringBuilder header = new StringBuilder(256);
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos >= 0) {
+                append(header, stage.metric, nanos, stage.description);
+            }
+            if (stage == Stage.USE_CASE && source != null) {
+                append(header, "repo", repositoryNanos, source + ", " + rowsRead + (rowsRead == 1 ? " row" : " rows"));
+            }
+        }
+        append(header, "total", System.nanoTime() - startNanos, null);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String metric, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
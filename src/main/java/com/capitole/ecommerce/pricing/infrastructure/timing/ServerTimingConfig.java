@@ -0,0 +1,22 @@
+package com.capitole.ecommerce.pricing.infrastructure.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring of the Server-Timing header on the price lookups, enabled with {@code pricing.server-timing.enabled}.
+ * When disabled the filter is not registered and no timing context is ever created.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/v1/prices");
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.capitole.ecommerce.pricing.infrastructure.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Collects the {@link ServerTiming} breakdown of the price requests and sends it in the Server-Timing header.
+ * The body is buffered until the header is set, so that serialization can be reported as well:
+ * headers can no longer change once the body starts streaming to the client.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+            if (timing.reached(ServerTiming.Stage.MAPPING)) {
+                timing.mark(ServerTiming.Stage.SERIALIZATION);
+            }
+            response.setHeader(ServerTiming.HEADER, timing.header());
+        } finally {
+            ServerTiming.end();
+            buffered.copyBodyToResponse();
+        }
+    }
+}
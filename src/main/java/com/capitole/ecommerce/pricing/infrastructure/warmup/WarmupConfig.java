@@ -0,0 +1,37 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Wiring of the warm-up phase gating readiness.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupRunner warmupRunner(
+            WarmupProperties properties,
+            PriceController priceController,
+            ObjectMapper objectMapper,
+            List<WarmupParticipant> participants
+    ) {
+        return new WarmupRunner(properties, priceController, objectMapper, participants);
+    }
+
+    @Bean
+    public WarmupHealthIndicator warmupHealthIndicator(WarmupRunner warmupRunner) {
+        return new WarmupHealthIndicator(warmupRunner);
+    }
+
+    @Bean
+    public WarmupEndpoint warmupEndpoint(WarmupRunner warmupRunner) {
+        return new WarmupEndpoint(warmupRunner);
+    }
+}
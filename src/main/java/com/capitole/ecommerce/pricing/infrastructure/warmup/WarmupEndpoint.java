@@ -0,0 +1,22 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the warm-up report at {@code /actuator/warmup}.
+ */
+@Endpoint(id = "warmup")
+public class WarmupEndpoint {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupEndpoint(WarmupRunner warmupRunner) {
+        this.warmupRunner = warmupRunner;
+    }
+
+    @ReadOperation
+    public WarmupReport report() {
+        return warmupRunner.getReport();
+    }
+}
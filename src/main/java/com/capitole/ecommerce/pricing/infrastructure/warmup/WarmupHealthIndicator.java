@@ -0,0 +1,28 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Health indicator reporting OUT_OF_SERVICE until the warm-up has finished.
+ * Included in the readiness group, so the readiness probe only flips to UP once the lookup path is warm.
+ * A failed warm-up does not keep the instance out of rotation.
+ */
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupHealthIndicator(WarmupRunner warmupRunner) {
+        this.warmupRunner = warmupRunner;
+    }
+
+    @Override
+    public Health health() {
+        WarmupReport report = warmupRunner.getReport();
+        Health.Builder builder = report.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("status", report.status())
+                .withDetail("durationMillis", report.durationMillis())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+/**
+ * Component holding caches or lazily built structures that should be loaded
+ * during the warm-up phase, before the instance takes traffic.
+ */
+public interface WarmupParticipant {
+
+    /**
+     * @return Name of the component, as shown in the warm-up report
+     */
+    String warmupName();
+
+    /**
+     * Loads the component's caches. Called once, before the queries are replayed.
+     */
+    void preload();
+}
@@ -0,0 +1,78 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the warm-up phase run before the instance reports ready.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether representative queries are replayed before readiness reports UP.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Representative price queries replayed through the lookup path.
+     */
+    private List<Query> queries = new ArrayList<>();
+
+    /**
+     * Times every query is replayed within one round.
+     */
+    private int iterationsPerRound = 10;
+
+    /**
+     * Rounds always run, even if latency looks stable earlier.
+     */
+    private int minRounds = 3;
+
+    /**
+     * Upper bound of rounds if latency never stabilizes.
+     */
+    private int maxRounds = 20;
+
+    /**
+     * Maximum relative change of the median round latency for a round to count as stable.
+     */
+    private double stabilityTolerance = 0.10;
+
+    /**
+     * Consecutive stable rounds needed to consider latency stabilized.
+     */
+    private int stableRounds = 2;
+
+    /**
+     * Hard limit on the warm-up duration, after which the instance reports ready regardless.
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Query {
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime applicationDate;
+
+        private Integer productId;
+
+        private Integer brandId;
+
+        @Override
+        public String toString() {
+            return "productId=" + productId + ", brandId=" + brandId + ", date=" + applicationDate;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the warm-up phase, exposed through the {@code warmup} actuator endpoint.
+ *
+ * @param status Current state of the warm-up
+ * @param startedAt When the warm-up started, null if it never ran
+ * @param durationMillis How long the warm-up took
+ * @param rounds Replay rounds executed
+ * @param invocations Total lookups replayed
+ * @param stabilized Whether latency stabilized before hitting a limit
+ * @param roundMedianMicros Median lookup latency of every round, in microseconds
+ * @param queries Outcome counts (found, notFound, failed) of every replayed query
+ * @param preloaded Components whose caches were preloaded
+ */
+public record WarmupReport(
+        Status status,
+        Instant startedAt,
+        long durationMillis,
+        int rounds,
+        long invocations,
+        boolean stabilized,
+        List<Long> roundMedianMicros,
+        Map<String, Map<String, Long>> queries,
+        List<String> preloaded
+) {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        DISABLED
+    }
+
+    public static WarmupReport of(Status status, Instant startedAt) {
+        return new WarmupReport(status, startedAt, 0, 0, 0, false, List.of(), Map.of(), List.of());
+    }
+
+    /**
+     * @return true once the instance can take traffic, whatever the warm-up outcome
+     */
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.DISABLED;
+    }
+}
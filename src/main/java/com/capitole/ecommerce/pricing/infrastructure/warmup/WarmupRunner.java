@@ -0,0 +1,158 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceController;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the lookup path before the instance takes traffic.
+ * Application runners complete before Spring Boot publishes the ACCEPTING_TRAFFIC readiness state,
+ * so the readiness probe stays down while representative queries are replayed through
+ * PriceController → PriceService → PriceRepository (JSON serialization included)
+ * until the median round latency stabilizes. The replays are background work, as are their connections.
+ */
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String FOUND = "found";
+    static final String NOT_FOUND = "notFound";
+    static final String FAILED = "failed";
+
+    private final WarmupProperties properties;
+    private final PriceController priceController;
+    private final ObjectMapper objectMapper;
+    private final List<WarmupParticipant> participants;
+
+    private volatile WarmupReport report = WarmupReport.of(WarmupReport.Status.PENDING, null);
+
+    public WarmupRunner(
+            WarmupProperties properties,
+            PriceController priceController,
+            ObjectMapper objectMapper,
+            List<WarmupParticipant> participants
+    ) {
+        this.properties = properties;
+        this.priceController = priceController;
+        this.objectMapper = objectMapper;
+        this.participants = participants;
+    }
+
+    /**
+     * @return Report of the last warm-up, or its current state while it runs
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            report = WarmupReport.of(WarmupReport.Status.DISABLED, null);
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        report = WarmupReport.of(WarmupReport.Status.RUNNING, startedAt);
+        log.info("Warming up with {} queries before accepting traffic", properties.getQueries().size());
+
+        try (WorkloadClass.Scope scope = WorkloadClass.BACKGROUND.bind()) {
+            report = warmUp(startedAt);
+            log.info("Warm-up completed in {} ms: {} rounds, {} lookups, stabilized={}, round medians (micros)={}",
+                    report.durationMillis(), report.rounds(), report.invocations(),
+                    report.stabilized(), report.roundMedianMicros());
+        } catch (RuntimeException ex) {
+            log.error("Warm-up failed, accepting traffic without it", ex);
+            report = new WarmupReport(WarmupReport.Status.FAILED, startedAt,
+                    millisSince(startedAt), 0, 0, false, List.of(), Map.of(), List.of());
+        }
+    }
+
+    private WarmupReport warmUp(Instant startedAt) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+
+        List<String> preloaded = new ArrayList<>();
+        for (WarmupParticipant participant : participants) {
+            participant.preload();
+            preloaded.add(participant.warmupName());
+        }
+
+        List<WarmupProperties.Query> queries = properties.getQueries();
+        Map<String, Map<String, Long>> outcomes = new LinkedHashMap<>();
+        List<Long> roundMedians = new ArrayList<>();
+        long invocations = 0;
+        int rounds = 0;
+        int stableStreak = 0;
+        boolean stabilized = false;
+
+        while (!queries.isEmpty() && rounds < properties.getMaxRounds() && System.nanoTime() < deadline) {
+            long[] samples = new long[queries.size() * properties.getIterationsPerRound()];
+            int sample = 0;
+            for (int i = 0; i < properties.getIterationsPerRound(); i++) {
+                for (WarmupProperties.Query query : queries) {
+                    long callStart = System.nanoTime();
+                    String outcome = replay(query);
+                    samples[sample++] = System.nanoTime() - callStart;
+                    outcomes.computeIfAbsent(query.toString(), key -> new LinkedHashMap<>())
+                            .merge(outcome, 1L, Long::sum);
+                }
+            }
+            invocations += samples.length;
+            rounds++;
+
+            long median = median(samples);
+            if (!roundMedians.isEmpty()) {
+                long previous = TimeUnit.MICROSECONDS.toNanos(roundMedians.get(roundMedians.size() - 1));
+                double change = Math.abs(median - previous) / (double) Math.max(previous, 1);
+                stableStreak = change <= properties.getStabilityTolerance() ? stableStreak + 1 : 0;
+            }
+            roundMedians.add(TimeUnit.NANOSECONDS.toMicros(median));
+
+            if (rounds >= properties.getMinRounds() && stableStreak >= properties.getStableRounds()) {
+                stabilized = true;
+                break;
+            }
+        }
+
+        return new WarmupReport(WarmupReport.Status.COMPLETED, startedAt, millisSince(startedAt),
+                rounds, invocations, stabilized, roundMedians, outcomes, preloaded);
+    }
+
+    private String replay(WarmupProperties.Query query) {
+        try {
+            ResponseEntity<PriceResponse> response = priceController.getPrice(
+                    query.getApplicationDate(), query.getProductId(), query.getBrandId());
+            objectMapper.writeValueAsBytes(response.getBody());
+            return FOUND;
+        } catch (PriceNotFoundException ex) {
+            return NOT_FOUND;
+        } catch (Exception ex) {
+            log.debug("Warm-up query {} failed: {}", query, ex.getMessage());
+            return FAILED;
+        }
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long millisSince(Instant startedAt) {
+        return Instant.now().toEpochMilli() - startedAt.toEpochMilli();
+    }
+}
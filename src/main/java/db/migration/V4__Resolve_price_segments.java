@@ -0,0 +1,158 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Migration V4: Resolve the existing prices into the price_segments table.
+ * Written in Java because the precedence rule is a sweep over the boundaries of each product and brand.
+ * Self-contained on purpose: it carries its own SQL and its own copy of the resolution as of V3, so that
+ * later changes to the application never change what this migration does. Later backfills go in new migrations.
+ * Prices are streamed ordered by product and brand, one product and brand in memory at a time.
+ */
+public class V4__Resolve_price_segments extends BaseJavaMigration {
+
+    private static final String SELECT_PRICES = """
+            SELECT id, product_id, brand_id, price_list, start_date, end_date, price, curr, priority
+            FROM prices
+            ORDER BY product_id, brand_id
+            """;
+
+    private static final String INSERT_SEGMENT = """
+            INSERT INTO price_segments (product_id, brand_id, seg_start, seg_end, price_id, price_list, priority,
+                                        start_date, end_date, price, curr)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final int BATCH_SIZE = 500;
+
+    // Highest priority wins, then the highest price list
+    private static final Comparator<Row> PRECEDENCE =
+            Comparator.comparingInt(Row::priority).thenComparingInt(Row::priceList).reversed();
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(SELECT_PRICES);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SEGMENT)) {
+            select.setFetchSize(BATCH_SIZE);
+            List<Row> prices = new ArrayList<>();
+            int[] pending = {0};
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    Row row = new Row(
+                            rs.getLong("id"),
+                            rs.getInt("product_id"),
+                            rs.getInt("brand_id"),
+                            rs.getInt("price_list"),
+                            rs.getInt("priority"),
+                            rs.getObject("start_date", LocalDateTime.class),
+                            rs.getObject("end_date", LocalDateTime.class),
+                            rs.getBigDecimal("price"),
+                            rs.getString("curr"));
+                    if (!prices.isEmpty() && !prices.get(0).sameKey(row)) {
+                        resolve(prices, insert, pending);
+                    }
+                    prices.add(row);
+                }
+            }
+            if (!prices.isEmpty()) {
+                resolve(prices, insert, pending);
+            }
+            if (pending[0] > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Sweeps the start and end boundaries of one product and brand in order, keeping the prices active at each
+     * boundary in a queue ordered by precedence, and writes one segment per run of boundaries won by the same price.
+     */
+    private static void resolve(List<Row> prices, PreparedStatement insert, int[] pending) throws SQLException {
+        prices.sort(Comparator.comparing(Row::startDate));
+        TreeSet<LocalDateTime> boundaries = new TreeSet<>();
+        for (Row price : prices) {
+            boundaries.add(price.startDate());
+            boundaries.add(price.exclusiveEnd());
+        }
+
+        PriorityQueue<Row> active = new PriorityQueue<>(PRECEDENCE);
+        Row winner = null;
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        int next = 0;
+        for (LocalDateTime boundary : boundaries) {
+            while (next < prices.size() && !prices.get(next).startDate().isAfter(boundary)) {
+                active.add(prices.get(next++));
+            }
+            while (!active.isEmpty() && !active.peek().exclusiveEnd().isAfter(boundary)) {
+                active.poll();
+            }
+            if (active.isEmpty()) {
+                continue;
+            }
+
+            Row current = active.peek();
+            if (winner != null && end.equals(boundary) && winner.equals(current)) {
+                end = boundaries.higher(boundary);
+                continue;
+            }
+            if (winner != null) {
+                add(insert, winner, start, end, pending);
+            }
+            winner = current;
+            start = boundary;
+            end = boundaries.higher(boundary);
+        }
+        if (winner != null) {
+            add(insert, winner, start, end, pending);
+        }
+        prices.clear();
+    }
+
+    private static void add(PreparedStatement insert, Row price, LocalDateTime start, LocalDateTime end,
+                            int[] pending) throws SQLException {
+        insert.setInt(1, price.productId());
+        insert.setInt(2, price.brandId());
+        insert.setObject(3, start);
+        insert.setObject(4, end);
+        insert.setLong(5, price.id());
+        insert.setInt(6, price.priceList());
+        insert.setInt(7, price.priority());
+        insert.setObject(8, price.startDate());
+        insert.setObject(9, price.endDate());
+        insert.setBigDecimal(10, price.price());
+        insert.setString(11, price.currency());
+        insert.addBatch();
+        if (++pending[0] == BATCH_SIZE) {
+            insert.executeBatch();
+            pending[0] = 0;
+        }
+    }
+
+    private record Row(long id, int productId, int brandId, int priceList, int priority,
+                       LocalDateTime startDate, LocalDateTime endDate, BigDecimal price, String currency) {
+
+        boolean sameKey(Row other) {
+            return productId == other.productId && brandId == other.brandId;
+        }
+
+        // Prices are valid up to and including their end date
+        LocalDateTime exclusiveEnd() {
+            return endDate.plusNanos(1);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Migration V3: Create price_segments table
+-- Pre-resolved applicable prices: for every product and brand, ordered non-overlapping segments
+-- [seg_start, seg_end) with the fields of the price that wins there.
+-- Populated by V4 and rebuilt per product and brand in the same transaction as every price write.
+
+CREATE TABLE price_segments (
+    product_id INTEGER NOT NULL,
+    brand_id INTEGER NOT NULL,
+    seg_start TIMESTAMP(9) NOT NULL,
+    seg_end TIMESTAMP(9) NOT NULL,
+    price_id BIGINT NOT NULL,
+    price_list INTEGER NOT NULL,
+    priority INTEGER NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price DECIMAL(19,2) NOT NULL,
+    curr VARCHAR(3) NOT NULL,
+
+    CONSTRAINT chk_segment_dates CHECK (seg_start < seg_end)
+);
+
+-- Lookup index: the segment applicable at a date is the first entry at or before it in descending order,
+-- so a lookup reads exactly one index entry
+CREATE UNIQUE INDEX idx_price_segments_lookup
+ON price_segments(product_id, brand_id, seg_start DESC);
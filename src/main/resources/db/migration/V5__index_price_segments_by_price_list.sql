@@ -0,0 +1,8 @@
+-- Migration V5: Reverse index of the resolved segments by price list
+-- Answers "where does price list N actually win?" with a range scan instead of resolving every product:
+-- price_segments only holds the segments a price wins, and it is rebuilt per product and brand
+-- in the transaction of every price write, so this index is maintained along with the lookup index.
+-- Entries are ordered by product, brand and start, the order in which the segments are streamed.
+
+CREATE INDEX idx_price_segments_price_list
+ON price_segments(price_list, product_id, brand_id, seg_start);
@@ -0,0 +1,16 @@
+-- Migration V6: Create price_key_locks table
+-- One row per product and brand, locked by every transaction that re-resolves its segments:
+-- price writers lock the keys they wrote before reading their prices back, and the parallel rebuild
+-- locks every key of a product range before replacing its segments, so that the last to commit always
+-- resolves from the prices committed by the others. Writers create the row of a new key as they lock it.
+-- Keys are locked in (product_id, brand_id) order, the order of the primary key, so lockers cannot deadlock.
+
+CREATE TABLE price_key_locks (
+    product_id INTEGER NOT NULL,
+    brand_id INTEGER NOT NULL,
+
+    PRIMARY KEY (product_id, brand_id)
+);
+
+INSERT INTO price_key_locks (product_id, brand_id)
+SELECT DISTINCT product_id, brand_id FROM prices;
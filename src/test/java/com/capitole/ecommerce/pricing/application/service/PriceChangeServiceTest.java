@@ -0,0 +1,263 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import com.capitole.ecommerce.pricing.application.port.in.WatchPriceChangesUseCase;
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceChange;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PriceChangeService.
+ * The scheduler only records the tasks so that the test fires the boundaries itself,
+ * with the clock moved to the boundary first.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceChangeService Unit Tests")
+class PriceChangeServiceTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    private static final Price BASE = new Price(35455, 1, 1,
+            LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            new BigDecimal("35.50"), "EUR", 0);
+    private static final Price PROMOTION = new Price(35455, 1, 2,
+            LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+            new BigDecimal("25.45"), "EUR", 1);
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    private final RecordingScheduler scheduler = new RecordingScheduler();
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2020, 6, 14, 10, 0));
+    private PriceChangeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PriceChangeService(priceRepository, scheduler, clock);
+    }
+
+    @Test
+    @DisplayName("Should send the current price and then every change at its boundary")
+    void shouldNotifyCurrentPriceAndChanges() {
+        // Given
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        List<PriceChange> changes = new ArrayList<>();
+
+        // When
+        service.watch(Set.of(KEY), changes::add);
+        fireNext();
+        fireNext();
+
+        // Then
+        assertThat(changes).extracting(change -> change.price().priceList()).containsExactly(1, 2, 1);
+        assertThat(changes.get(1).effectiveFrom()).isEqualTo(LocalDateTime.of(2020, 6, 14, 15, 0));
+        assertThat(scheduler.tasks).hasSize(1);
+        assertThat(scheduler.tasks.get(0).at)
+                .isEqualTo(LocalDateTime.of(2020, 12, 31, 23, 59, 59).plusNanos(1).atZone(ZONE).toInstant());
+    }
+
+    @Test
+    @DisplayName("Should share one timeline and one scheduled task among all subscribers of a key")
+    void shouldShareOneTimerPerKey() {
+        // Given
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        List<PriceChange> first = new ArrayList<>();
+        List<PriceChange> second = new ArrayList<>();
+
+        // When
+        service.watch(Set.of(KEY), first::add);
+        service.watch(Set.of(KEY), second::add);
+        fireNext();
+
+        // Then
+        verify(priceRepository, times(1)).findPrices(KEY);
+        assertThat(scheduler.scheduledCount).isEqualTo(2);
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        assertThat(service.watchedKeys()).isEqualTo(1);
+        assertThat(service.subscriptions()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stop notifying and drop the timer once the last subscriber cancels")
+    void shouldReleaseKeyOnCancel() {
+        // Given
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        List<PriceChange> changes = new ArrayList<>();
+        WatchPriceChangesUseCase.Subscription subscription = service.watch(Set.of(KEY), changes::add);
+
+        // When
+        subscription.cancel();
+        subscription.cancel();
+
+        // Then
+        assertThat(scheduler.tasks).singleElement().satisfies(task -> assertThat(task.cancelled).isTrue());
+        assertThat(service.watchedKeys()).isZero();
+        assertThat(changes).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the actual boundary when the scheduler fires early")
+    void shouldRescheduleWhenFiredEarly() {
+        // Given
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        List<PriceChange> changes = new ArrayList<>();
+        service.watch(Set.of(KEY), changes::add);
+
+        // When
+        ScheduledTask early = scheduler.tasks.remove(0);
+        early.task.run();
+
+        // Then
+        assertThat(changes).hasSize(1);
+        assertThat(scheduler.tasks).singleElement().satisfies(task -> assertThat(task.at).isEqualTo(early.at));
+    }
+
+    @Test
+    @DisplayName("Should re-resolve a written key and notify its subscribers when the current price changed")
+    void shouldNotifyWhenWriteChangesCurrentPrice() {
+        // Given
+        Price override = new Price(35455, 1, 9,
+                LocalDateTime.of(2020, 6, 14, 9, 0), LocalDateTime.of(2020, 6, 14, 11, 0),
+                new BigDecimal("9.99"), "EUR", 5);
+        when(priceRepository.findPrices(KEY))
+                .thenReturn(List.of(BASE, PROMOTION))
+                .thenReturn(List.of(BASE, PROMOTION, override));
+        List<PriceChange> changes = new ArrayList<>();
+        service.watch(Set.of(KEY), changes::add);
+
+        // When
+        service.onPricesChanged(new PricesChangedEvent(Set.of(KEY)));
+
+        // Then
+        assertThat(changes).extracting(change -> change.price().priceList()).containsExactly(1, 9);
+        assertThat(scheduler.tasks.get(0).cancelled).isTrue();
+        assertThat(scheduler.tasks.get(1).at).isEqualTo(LocalDateTime.of(2020, 6, 14, 11, 0).plusNanos(1)
+                .atZone(ZONE).toInstant());
+    }
+
+    @Test
+    @DisplayName("Should not notify when a write leaves the current price unchanged")
+    void shouldNotNotifyWhenCurrentPriceUnchanged() {
+        // Given
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        List<PriceChange> changes = new ArrayList<>();
+        service.watch(Set.of(KEY), changes::add);
+
+        // When
+        service.onPricesChanged(new PricesChangedEvent(Set.of(KEY, new PriceKey(1, 1))));
+
+        // Then
+        assertThat(changes).hasSize(1);
+        verify(priceRepository, never()).findPrices(new PriceKey(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a subscription without keys")
+    void shouldRejectEmptyKeys() {
+        assertThatThrownBy(() -> service.watch(Set.of(), change -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave no listener behind when a later key fails to load")
+    void shouldUnwatchJoinedKeysOnFailure() {
+        // Given
+        PriceKey failing = new PriceKey(35456, 1);
+        when(priceRepository.findPrices(KEY)).thenReturn(List.of(BASE, PROMOTION));
+        when(priceRepository.findPrices(failing)).thenThrow(new IllegalStateException("database unavailable"));
+        Set<PriceKey> keys = new LinkedHashSet<>(List.of(KEY, failing));
+
+        // When / Then
+        assertThatThrownBy(() -> service.watch(keys, change -> {
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+        assertThat(service.watchedKeys()).isZero();
+        assertThat(service.subscriptions()).isZero();
+        assertThat(scheduler.tasks).singleElement().satisfies(task -> assertThat(task.cancelled).isTrue());
+    }
+
+    private void fireNext() {
+        ScheduledTask next = scheduler.tasks.remove(0);
+        clock.now = next.at;
+        next.task.run();
+    }
+
+    private static final class ScheduledTask implements BoundaryScheduler.Scheduled {
+
+        private final Instant at;
+        private final Runnable task;
+        private boolean cancelled;
+
+        private ScheduledTask(Instant at, Runnable task) {
+            this.at = at;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class RecordingScheduler implements BoundaryScheduler {
+
+        private final List<ScheduledTask> tasks = new ArrayList<>();
+        private int scheduledCount;
+
+        @Override
+        public Scheduled schedule(Instant at, Runnable task) {
+            ScheduledTask scheduled = new ScheduledTask(at, task);
+            tasks.add(scheduled);
+            scheduledCount++;
+            return scheduled;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(LocalDateTime now) {
+            this.now = now.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
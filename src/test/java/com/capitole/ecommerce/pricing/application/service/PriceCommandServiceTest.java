@@ -0,0 +1,119 @@
+package com.capitole.ecommerce.pricing.application.service;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.event.PricesChangedEvent;
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PriceCommandService.
+ * Checks that every write reports the products and brands it touched.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceCommandService Unit Tests")
+class PriceCommandServiceTest {
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PriceCommandService priceCommandService;
+
+    @Test
+    @DisplayName("Should store a new price and report its product and brand as changed")
+    void shouldCreatePrice() {
+        // Given
+        Price price = price(35455, 1, null);
+        when(priceRepository.save(price)).thenReturn(price.withId(5L));
+
+        // When
+        Price created = priceCommandService.createPrice(price);
+
+        // Then
+        assertThat(created.id()).isEqualTo(5L);
+        verify(eventPublisher).publishEvent(new PricesChangedEvent(Set.of(new PriceKey(35455, 1))));
+    }
+
+    @Test
+    @DisplayName("Should reject a new price that already has an id")
+    void shouldRejectCreateWithId() {
+        assertThatThrownBy(() -> priceCommandService.createPrice(price(35455, 1, 5L)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(priceRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should report both the old and the new product when an update moves a price")
+    void shouldReportBothKeysOnMove() {
+        // Given
+        when(priceRepository.findById(5L)).thenReturn(Optional.of(price(35455, 1, 5L)));
+        when(priceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Price updated = priceCommandService.updatePrice(5L, price(35456, 1, null));
+
+        // Then
+        assertThat(updated.id()).isEqualTo(5L);
+        assertThat(updated.productId()).isEqualTo(35456);
+        verify(eventPublisher).publishEvent(new PricesChangedEvent(
+                Set.of(new PriceKey(35455, 1), new PriceKey(35456, 1))));
+    }
+
+    @Test
+    @DisplayName("Should delete a stored price and report its product and brand as changed")
+    void shouldDeletePrice() {
+        // Given
+        when(priceRepository.findById(5L)).thenReturn(Optional.of(price(35455, 1, 5L)));
+
+        // When
+        priceCommandService.deletePrice(5L);
+
+        // Then
+        verify(priceRepository).deleteById(5L);
+        verify(eventPublisher).publishEvent(new PricesChangedEvent(Set.of(new PriceKey(35455, 1))));
+    }
+
+    @Test
+    @DisplayName("Should throw PriceNotFoundException when updating or deleting an unknown price")
+    void shouldThrowWhenPriceUnknown() {
+        when(priceRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> priceCommandService.updatePrice(99L, price(35455, 1, null)))
+                .isInstanceOf(PriceNotFoundException.class)
+                .hasMessage("No price found with id 99");
+        assertThatThrownBy(() -> priceCommandService.deletePrice(99L))
+                .isInstanceOf(PriceNotFoundException.class);
+
+        verify(priceRepository, never()).save(any());
+        verify(priceRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static Price price(int productId, int brandId, Long id) {
+        return new Price(productId, brandId, 5,
+                LocalDateTime.of(2020, 6, 16, 10, 0), LocalDateTime.of(2020, 6, 16, 20, 0),
+                new BigDecimal("19.99"), "EUR", 2, id);
+    }
+}
@@ -1,7 +1,9 @@
 package com.capitole.ecommerce.pricing.application.service;
 
 import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
 import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
 import com.capitole.ecommerce.pricing.domain.model.Price;
 import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -133,4 +136,20 @@ class PriceServiceTest {
                         q.brandId().equals(testBrandId)
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should fail fast without querying the repository when the deadline has expired")
+    void shouldFailFastWhenDeadlineExpired() {
+        // Given
+        PriceQuery query = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1)
+                .withDeadline(Deadline.after(Duration.ZERO));
+
+        // When & Then
+        assertThatThrownBy(() -> priceService.getPrice(query))
+                .isInstanceOf(DeadlineExceededException.class)
+                .extracting(ex -> ((DeadlineExceededException) ex).getStage())
+                .isEqualTo("price lookup");
+
+        verify(priceRepository, never()).findApplicablePrice(any());
+    }
+}
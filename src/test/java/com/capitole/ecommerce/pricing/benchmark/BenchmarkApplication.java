@@ -0,0 +1,56 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.PricingServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the full application for benchmarks, on a random port and with per-request logging turned off
+ * so that logging does not dominate the measurements.
+ */
+final class BenchmarkApplication {
+
+    private static final List<String> DEFAULT_ARGS = List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:pricingdb;DB_CLOSE_ON_EXIT=FALSE",
+            "--pricing.warmup.enabled=false",
+            "--spring.jpa.show-sql=false",
+            "--spring.h2.console.enabled=false",
+            "--spring.devtools.livereload.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.capitole.ecommerce.pricing=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    );
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param args Additional command line arguments, overriding the defaults
+     * @return The running application context
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        // Devtools is on the test classpath: its restart and file watching must not run during measurements
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Repeated options would be joined with a comma, so overridden defaults are left out
+        List<String> allArgs = new ArrayList<>();
+        for (String defaultArg : DEFAULT_ARGS) {
+            String option = defaultArg.substring(0, defaultArg.indexOf('=') + 1);
+            if (Arrays.stream(args).noneMatch(arg -> arg.startsWith(option))) {
+                allArgs.add(defaultArg);
+            }
+        }
+        allArgs.addAll(Arrays.asList(args));
+        return SpringApplication.run(PricingServiceApplication.class, allArgs.toArray(String[]::new));
+    }
+
+    static int httpPort(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,66 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.BoundarySearch;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.ScalarBoundarySearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-lookup cost of the boundary search kernels: a batch of random keys resolved against sorted boundaries,
+ * from the few segments of a typical product to the thousands of a long-lived one.
+ * The fork runs with the Vector API module; {@code vector} is whatever {@link BoundarySearch#best()} picks
+ * there (printed at setup), so its width follows the machine: 256 bits with AVX2, 512 with AVX-512.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BoundarySearchBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"16", "256", "4096"})
+    private int boundaries;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    private BoundarySearch search;
+    private long[] sorted;
+    private long[] keys;
+    private int[] indexes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        search = kernel.equals("vector") ? BoundarySearch.best() : new ScalarBoundarySearch();
+        SplittableRandom random = new SplittableRandom(42);
+        long range = boundaries * 1_000_000L;
+        sorted = random.longs(boundaries, 0, range).sorted().toArray();
+        keys = random.longs(BATCH, -1_000_000L, range + 1_000_000L).toArray();
+        indexes = new int[BATCH];
+        System.out.printf("%n%s kernel%n", search.name());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] lookup() {
+        search.lastAtOrBefore(sorted, keys, indexes);
+        return indexes;
+    }
+}
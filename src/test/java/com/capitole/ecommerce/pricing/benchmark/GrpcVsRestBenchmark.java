@@ -0,0 +1,127 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.GrpcServer;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupResult;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceReply;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PricingServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lookup throughput of the REST endpoint against the gRPC unary call and the gRPC bidirectional stream,
+ * all served by the same running application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class GrpcVsRestBenchmark {
+
+    private static final int STREAM_BATCH = 100;
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest restRequest;
+    private ManagedChannel channel;
+    private PricingServiceGrpc.PricingServiceBlockingStub blockingStub;
+    private PricingServiceGrpc.PricingServiceStub asyncStub;
+    private PriceLookupRequest lookup;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("--pricing.grpc.enabled=true", "--pricing.grpc.port=0");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        restRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkApplication.httpPort(context)
+                + "/api/v1/prices?applicationDate=" + APPLICATION_DATE + "&productId=35455&brandId=1")).build();
+
+        channel = ManagedChannelBuilder.forAddress("localhost", context.getBean(GrpcServer.class).getPort())
+                .usePlaintext()
+                .build();
+        blockingStub = PricingServiceGrpc.newBlockingStub(channel);
+        asyncStub = PricingServiceGrpc.newStub(channel);
+        lookup = PriceLookupRequest.newBuilder()
+                .setProductId(35455)
+                .setBrandId(1)
+                .setApplicationEpochMillis(APPLICATION_DATE.atZone(context.getBean(Clock.class).getZone())
+                        .toInstant().toEpochMilli())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        channel.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public String rest() throws Exception {
+        return httpClient.send(restRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public PriceReply grpcUnary() {
+        return blockingStub.getPrice(lookup);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_BATCH)
+    public int grpcStream() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<PriceLookupRequest> requests = asyncStub.streamPrices(new StreamObserver<>() {
+            @Override
+            public void onNext(PriceLookupResult result) {
+                received.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        });
+
+        for (int i = 0; i < STREAM_BATCH; i++) {
+            requests.onNext(lookup.toBuilder().setRequestId(i).build());
+        }
+        requests.onCompleted();
+        completed.await();
+        return received.get();
+    }
+}
@@ -0,0 +1,234 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment.PriceSegmentTable;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Generates synthetic price datasets of any size, deterministically from a seed.
+ * Every product gets a base price over the whole period plus promotions stacked in {@code overlapDepth}
+ * priority layers: promotions of one layer never overlap each other, so at most {@code overlapDepth} + 1 prices
+ * apply at any date. Promotion lengths follow a log-normal distribution (many short promotions, a few long ones).
+ * <p>
+ * Also runnable on its own to fill a database kept on disk, e.g. for datasets too large to regenerate per run:
+ * {@code java -cp ... PriceDatasetGenerator --url=jdbc:h2:file:./target/dataset/prices --rows=10000000}
+ */
+final class PriceDatasetGenerator {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final long MIN_PROMOTION_SECONDS = Duration.ofHours(1).toSeconds();
+
+    private static final String INSERT_PRICE = """
+            INSERT INTO prices (id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Shape of a generated dataset.
+     *
+     * @param brands Number of brands
+     * @param productsPerBrand Products of every brand
+     * @param pricesPerProduct Prices of every product, the base price included
+     * @param overlapDepth Priority layers of promotions, i.e. most promotions applying at once
+     * @param medianPromotion Median promotion length
+     * @param promotionSpread Standard deviation of the logarithm of promotion lengths
+     * @param from Start of the period covered by the base prices
+     * @param period Length of that period
+     * @param firstProductId Product id of the first generated product
+     * @param seed Random seed
+     */
+    record Spec(
+            int brands,
+            int productsPerBrand,
+            int pricesPerProduct,
+            int overlapDepth,
+            Duration medianPromotion,
+            double promotionSpread,
+            LocalDateTime from,
+            Duration period,
+            int firstProductId,
+            long seed
+    ) {
+        Spec {
+            if (brands < 1 || productsPerBrand < 1 || pricesPerProduct < 1 || overlapDepth < 1) {
+                throw new IllegalArgumentException("Brands, products, prices and overlap depth must be positive");
+            }
+        }
+
+        /**
+         * Dataset of about the given number of rows: 4 brands, 20 prices per product in 3 layers,
+         * promotions of 3 days median over one year.
+         */
+        static Spec ofRows(long rows) {
+            int pricesPerProduct = (int) Math.min(20, rows);
+            int brands = (int) Math.min(4, Math.max(1, rows / pricesPerProduct));
+            int productsPerBrand = (int) Math.max(1, rows / ((long) brands * pricesPerProduct));
+            return new Spec(brands, productsPerBrand, pricesPerProduct, 3, Duration.ofDays(3), 1.2,
+                    LocalDateTime.of(2021, 1, 1, 0, 0), Duration.ofDays(365), 100_000, 42);
+        }
+
+        long rows() {
+            return (long) brands * productsPerBrand * pricesPerProduct;
+        }
+
+        LocalDateTime until() {
+            return from.plus(period);
+        }
+    }
+
+    private PriceDatasetGenerator() {
+    }
+
+    /**
+     * Generates the prices of every product in turn, with ids from {@code firstId}.
+     *
+     * @param spec Shape of the dataset
+     * @param firstId Id of the first price
+     * @param consumer Receives the prices of one product at a time
+     */
+    static void generate(Spec spec, long firstId, Consumer<List<Price>> consumer) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        long id = firstId;
+        for (int brand = 1; brand <= spec.brands(); brand++) {
+            for (int product = 0; product < spec.productsPerBrand(); product++) {
+                List<Price> prices = product(spec, spec.firstProductId() + product, brand, id, random);
+                id += prices.size();
+                consumer.accept(prices);
+            }
+        }
+    }
+
+    /**
+     * Migrates the database if needed and inserts the dataset into the prices table,
+     * with the matching resolved segments.
+     *
+     * @param dataSource Target database (H2)
+     * @param spec Shape of the dataset
+     * @return Number of prices inserted
+     */
+    static long fill(DataSource dataSource, Spec spec) {
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        PriceSegmentTable segmentTable = new PriceSegmentTable(jdbcTemplate);
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM prices", Long.class);
+
+        List<Price> prices = new ArrayList<>(BATCH_SIZE + spec.pricesPerProduct());
+        List<PriceTimeline> timelines = new ArrayList<>();
+        long[] inserted = {0};
+        generate(spec, firstId, product -> {
+            prices.addAll(product);
+            timelines.add(PriceTimeline.resolve(PriceKey.of(product.get(0)), product));
+            if (prices.size() >= BATCH_SIZE) {
+                inserted[0] += flush(jdbcTemplate, segmentTable, prices, timelines);
+            }
+        });
+        inserted[0] += flush(jdbcTemplate, segmentTable, prices, timelines);
+
+        jdbcTemplate.execute("ALTER TABLE prices ALTER COLUMN id RESTART WITH " + (firstId + inserted[0]));
+        jdbcTemplate.execute("ANALYZE");
+        return inserted[0];
+    }
+
+    /**
+     * Fills the database at {@code --url} with a generated dataset.
+     * Options: {@code --rows}, {@code --brands}, {@code --products-per-brand}, {@code --prices-per-product},
+     * {@code --overlap-depth}, {@code --median-promotion} (ISO-8601 duration), {@code --seed}.
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        Spec defaults = Spec.ofRows(Long.parseLong(options.getOrDefault("rows", "1000000")));
+        Spec spec = new Spec(
+                intOption(options, "brands", defaults.brands()),
+                intOption(options, "products-per-brand", defaults.productsPerBrand()),
+                intOption(options, "prices-per-product", defaults.pricesPerProduct()),
+                intOption(options, "overlap-depth", defaults.overlapDepth()),
+                options.containsKey("median-promotion")
+                        ? Duration.parse(options.get("median-promotion")) : defaults.medianPromotion(),
+                defaults.promotionSpread(),
+                defaults.from(),
+                defaults.period(),
+                defaults.firstProductId(),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))));
+        String url = options.getOrDefault("url", "jdbc:h2:file:./target/dataset/prices");
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        try {
+            long start = System.nanoTime();
+            long rows = fill(dataSource, spec);
+            System.out.printf("Inserted %d prices into %s in %d s%n",
+                    rows, url, Duration.ofNanos(System.nanoTime() - start).toSeconds());
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static List<Price> product(Spec spec, int productId, int brandId, long firstId, SplittableRandom random) {
+        List<Price> prices = new ArrayList<>(spec.pricesPerProduct());
+        long periodSeconds = spec.period().toSeconds();
+        BigDecimal base = BigDecimal.valueOf(1000 + random.nextInt(9000), 2);
+        prices.add(new Price(productId, brandId, 1, spec.from(), spec.until().minusSeconds(1),
+                base, "EUR", 0, firstId));
+
+        int promotions = spec.pricesPerProduct() - 1;
+        double logMedian = Math.log(spec.medianPromotion().toSeconds());
+        for (int i = 0; i < promotions; i++) {
+            int layer = i % spec.overlapDepth();
+            int slot = i / spec.overlapDepth();
+            // Every layer splits the period into one slot per promotion, so that a layer never overlaps itself
+            int slots = (promotions - layer + spec.overlapDepth() - 1) / spec.overlapDepth();
+            long slotSeconds = periodSeconds / slots;
+            long length = Math.round(Math.exp(logMedian + spec.promotionSpread() * random.nextGaussian()));
+            length = Math.max(Math.min(MIN_PROMOTION_SECONDS, slotSeconds), Math.min(length, slotSeconds));
+            LocalDateTime start = spec.from().plusSeconds(slot * slotSeconds + random.nextLong(slotSeconds - length + 1));
+            BigDecimal discounted = base.multiply(BigDecimal.valueOf(50 + random.nextInt(46), 2))
+                    .setScale(2, RoundingMode.HALF_UP);
+            prices.add(new Price(productId, brandId, i + 2, start, start.plusSeconds(length - 1),
+                    discounted, "EUR", layer + 1, firstId + i + 1));
+        }
+        return prices;
+    }
+
+    private static long flush(JdbcTemplate jdbcTemplate, PriceSegmentTable segmentTable,
+                              List<Price> prices, List<PriceTimeline> timelines) {
+        jdbcTemplate.batchUpdate(INSERT_PRICE, prices, prices.size(), (ps, price) -> {
+            ps.setLong(1, price.id());
+            ps.setInt(2, price.brandId());
+            ps.setObject(3, price.startDate());
+            ps.setObject(4, price.endDate());
+            ps.setInt(5, price.priceList());
+            ps.setInt(6, price.productId());
+            ps.setInt(7, price.priority());
+            ps.setBigDecimal(8, price.price());
+            ps.setString(9, price.currency());
+        });
+        segmentTable.insert(timelines);
+        long inserted = prices.size();
+        prices.clear();
+        timelines.clear();
+        return inserted;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,85 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ParallelPriceResolver;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PricePartitionReader;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ResolveStats;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment.PriceSegmentTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Whole-table rebuild time as the parallelism grows, on a dataset from {@link PriceDatasetGenerator}.
+ * {@code resolve} only counts the resolved timelines, measuring the partitioned read and resolution;
+ * {@code segments} also replaces the resolved segments in the price_segments table, batch by batch.
+ * With partitions sharing nothing, the time should drop about linearly with the parallelism
+ * up to the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RebuildBenchmark {
+
+    @Param({"100000", "1000000"})
+    private long rows;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private String url;
+    private ParallelPriceResolver resolver;
+    private PriceSegmentTable segmentTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        url = "jdbc:h2:mem:rebuild-" + rows + "-" + parallelism + ";DB_CLOSE_DELAY=-1";
+        SingleConnectionDataSource fillDataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        long prices = PriceDatasetGenerator.fill(fillDataSource, PriceDatasetGenerator.Spec.ofRows(rows));
+        fillDataSource.destroy();
+
+        // One connection per partition, as with the application's pool
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.setFetchSize(1000);
+        resolver = new ParallelPriceResolver(new PricePartitionReader(jdbcTemplate), parallelism, 4, 500);
+        segmentTable = new PriceSegmentTable(jdbcTemplate);
+        System.out.printf("%n%d prices, parallelism %d, %d processors%n",
+                prices, parallelism, Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")).execute("SHUTDOWN");
+    }
+
+    @Benchmark
+    public long resolve() {
+        LongAdder segments = new LongAdder();
+        ResolveStats stats = resolver.resolve(timelines -> timelines.forEach(
+                timeline -> segments.add(timeline.segments().size())));
+        return stats.keys() + segments.sum();
+    }
+
+    @Benchmark
+    public ResolveStats segments() {
+        return resolver.resolve(segmentTable::replace);
+    }
+}
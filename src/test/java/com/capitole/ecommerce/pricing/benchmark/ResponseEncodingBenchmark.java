@@ -0,0 +1,80 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.capitole.ecommerce.pricing.infrastructure.config.BinaryEncodingConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost and payload size of a single PriceResponse and of a bulk list of them,
+ * in JSON and in the binary encodings negotiated by the REST adapter.
+ * Payload sizes are printed when every trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "1000"})
+    private int responses;
+
+    private ObjectMapper mapper;
+    private Object payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        mapper = switch (format) {
+            case "cbor" -> BinaryEncodingConfig.compactMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory());
+            case "smile" -> BinaryEncodingConfig.compactMapper(new Jackson2ObjectMapperBuilder(), new SmileFactory());
+            default -> new Jackson2ObjectMapperBuilder().build();
+        };
+
+        List<PriceResponse> bulk = new ArrayList<>(responses);
+        for (int i = 0; i < responses; i++) {
+            LocalDateTime start = LocalDateTime.of(2020, 6, 14, 0, 0).plusHours(i);
+            bulk.add(PriceResponse.builder()
+                    .productId(35455 + i)
+                    .brandId(1)
+                    .priceList(1 + i % 4)
+                    .startDate(start)
+                    .endDate(start.plusDays(30).minusSeconds(1))
+                    .price(BigDecimal.valueOf(1000 + i * 7L, 2))
+                    .currency("EUR")
+                    .build());
+        }
+        payload = responses == 1 ? bulk.get(0) : bulk;
+        System.out.printf("%n%s, %d response(s): %d bytes%n", format, responses, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(payload);
+    }
+}
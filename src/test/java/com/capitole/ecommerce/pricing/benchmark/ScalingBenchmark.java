@@ -0,0 +1,131 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency, memory and startup time of the full application as the prices table grows.
+ * Every trial fills a database with a generated dataset ({@link PriceDatasetGenerator.Spec#ofRows}),
+ * starts the application on it with the given lookup engine, and prints the startup time and the heap used
+ * by the database and by the application; the measured operation is a lookup of a random product at a random date.
+ * <p>
+ * With {@code storage=file} the database is kept under {@code target/scaling} and only filled when missing,
+ * which is the practical way to reach 10^7 to 10^8 rows (given enough heap for the lookup engine).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ScalingBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"1000", "100000", "1000000"})
+    private long rows;
+
+    @Param({"query", "segments", "timeline"})
+    private String engine;
+
+    @Param({"mem"})
+    private String storage;
+
+    private ConfigurableApplicationContext context;
+    private PriceRepository priceRepository;
+    private PriceQuery[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PriceDatasetGenerator.Spec spec = PriceDatasetGenerator.Spec.ofRows(rows);
+        String url = "file".equals(storage)
+                ? "jdbc:h2:file:./target/scaling/prices-" + spec.rows()
+                : "jdbc:h2:mem:scaling;DB_CLOSE_DELAY=-1";
+
+        long heapBefore = usedHeap();
+        long fillStart = System.nanoTime();
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        boolean filled = "file".equals(storage) && hasTable(jdbcTemplate)
+                && jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class) >= spec.rows();
+        if (!filled) {
+            PriceDatasetGenerator.fill(dataSource, spec);
+        }
+        long fillMillis = Duration.ofNanos(System.nanoTime() - fillStart).toMillis();
+        long databaseHeap = usedHeap() - heapBefore;
+
+        long startupStart = System.nanoTime();
+        context = BenchmarkApplication.start(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.password=",
+                "--pricing.lookup.engine=" + engine,
+                "--pricing.lookup.current.enabled=false",
+                "--pricing.grpc.enabled=false");
+        long startupMillis = Duration.ofNanos(System.nanoTime() - startupStart).toMillis();
+        long applicationHeap = usedHeap() - heapBefore - databaseHeap;
+        dataSource.destroy();
+        priceRepository = context.getBean(PriceRepository.class);
+
+        SplittableRandom random = new SplittableRandom(7);
+        long periodMinutes = spec.period().toMinutes();
+        queries = new PriceQuery[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new PriceQuery(spec.from().plusMinutes(random.nextLong(periodMinutes)),
+                    spec.firstProductId() + random.nextInt(spec.productsPerBrand()), 1 + random.nextInt(spec.brands()));
+        }
+
+        System.out.printf("%n%d rows (%s, %s): %s in %d ms, database heap %d MB, startup %d ms, application heap %d MB%n",
+                spec.rows(), engine, storage, filled ? "reused" : "generated", fillMillis,
+                databaseHeap >> 20, startupMillis, applicationHeap >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long heap = usedHeap();
+        context.close();
+        System.out.printf("%nHeap after the lookups: %d MB%n", heap >> 20);
+    }
+
+    @Benchmark
+    public Optional<Price> lookup() {
+        return priceRepository.findApplicablePrice(queries[next++ & (QUERIES - 1)]);
+    }
+
+    private static boolean hasTable(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'PRICES'", Integer.class) > 0;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
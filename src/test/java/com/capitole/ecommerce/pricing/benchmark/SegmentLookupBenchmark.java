@@ -0,0 +1,109 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment.PriceSegmentTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of the current query (range scan over the overlapping prices plus a sort on priority)
+ * against a seek on the pre-resolved price_segments table, as the number of prices per product grows.
+ * Runs against an in-memory H2 database migrated with the application's migrations and filled by
+ * {@link PriceDatasetGenerator}: a yearly base price plus promotions overlapping in three priority layers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SegmentLookupBenchmark {
+
+    private static final String FIND_APPLICABLE_PRICES = """
+            SELECT id, product_id, brand_id, price_list, start_date, end_date, price, curr, priority
+            FROM prices
+            WHERE product_id = ? AND brand_id = ? AND ? BETWEEN start_date AND end_date
+            ORDER BY priority DESC, price_list DESC
+            """;
+
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int PRODUCTS = 50;
+    private static final int FIRST_PRODUCT_ID = 100_001;
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "10000"})
+    private int pricesPerProduct;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PriceSegmentTable segmentTable;
+    private PriceQuery[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:segments-" + pricesPerProduct + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        segmentTable = new PriceSegmentTable(jdbcTemplate);
+
+        PriceDatasetGenerator.Spec spec = new PriceDatasetGenerator.Spec(1, PRODUCTS, pricesPerProduct, 3,
+                Duration.ofDays(3), 1.2, YEAR_START, Duration.ofDays(365), FIRST_PRODUCT_ID, 42);
+        long prices = PriceDatasetGenerator.fill(dataSource, spec);
+        long segments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM price_segments", Long.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        queries = new PriceQuery[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new PriceQuery(YEAR_START.plusMinutes(random.nextInt(365 * 24 * 60)),
+                    FIRST_PRODUCT_ID + random.nextInt(PRODUCTS), 1);
+        }
+        System.out.printf("%n%d prices per product: %d prices, %d segments%n", pricesPerProduct, prices, segments);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Optional<Integer> query() {
+        PriceQuery query = nextQuery();
+        List<Integer> priceLists = jdbcTemplate.query(FIND_APPLICABLE_PRICES,
+                (rs, rowNum) -> rs.getInt("price_list"),
+                query.productId(), query.brandId(), query.applicationDate());
+        return priceLists.stream().findFirst();
+    }
+
+    @Benchmark
+    public Optional<Integer> segments() {
+        return segmentTable.findSegment(nextQuery()).map(PriceSegment::price).map(Price::priceList);
+    }
+
+    private PriceQuery nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+}
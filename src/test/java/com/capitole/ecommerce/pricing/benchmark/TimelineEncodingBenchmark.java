@@ -0,0 +1,117 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.CompressedTimelinePriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.DelegatingPriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.TimelinePriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.RebuildablePriceIndex;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryAccountable;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes per price row against lookup latency of the in-memory timelines, held as resolved objects
+ * ({@link TimelinePriceRepository}) or in their compressed encoding ({@link CompressedTimelinePriceRepository}).
+ * Both are preloaded through a rebuild with a dataset from {@link PriceDatasetGenerator} (20 prices per product
+ * in 3 priority layers over one year); the heap they retain is measured after a full GC and printed with the
+ * size they account for, and lookups at random dates over random products are the JMH score.
+ * Large row counts need the heap of the objects layout:
+ * {@code -p rows=10000000 -jvmArgsAppend -Xmx24g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimelineEncodingBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"100000", "1000000"})
+    private long rows;
+
+    @Param({"objects", "compressed"})
+    private String layout;
+
+    private PriceRepository repository;
+    private PriceQuery[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PriceDatasetGenerator.Spec spec = PriceDatasetGenerator.Spec.ofRows(rows);
+        // Never reached: every product and brand is preloaded, and nothing goes stale during the run
+        PriceRepository unused = new DelegatingPriceRepository(null) {
+        };
+        Duration neverStale = Duration.ofDays(365);
+
+        long heapBefore = usedHeap();
+        repository = layout.equals("compressed")
+                ? new CompressedTimelinePriceRepository(unused, neverStale, MemoryBudget.unlimited(),
+                        new SimpleMeterRegistry())
+                : new TimelinePriceRepository(unused, neverStale, new SimpleMeterRegistry());
+        PartitionSink sink = ((RebuildablePriceIndex) repository).startRebuild();
+        List<PriceKey> keys = new ArrayList<>();
+        long[] generated = {0, 0};
+        PriceDatasetGenerator.generate(spec, 1, product -> {
+            PriceKey key = new PriceKey(product.get(0).productId(), product.get(0).brandId());
+            PriceTimeline timeline = PriceTimeline.resolve(key, product);
+            keys.add(key);
+            generated[0] += product.size();
+            generated[1] += timeline.segments().size();
+            sink.accept(List.of(timeline));
+        });
+        long retained = usedHeap() - heapBefore;
+
+        SplittableRandom random = new SplittableRandom(42);
+        long periodMinutes = spec.period().toMinutes();
+        queries = new PriceQuery[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            PriceKey key = keys.get(random.nextInt(keys.size()));
+            queries[i] = new PriceQuery(spec.from().plusMinutes(random.nextLong(periodMinutes)),
+                    key.productId(), key.brandId());
+        }
+        MemoryBudget accounted = ((MemoryAccountable) repository).memoryBudget();
+        System.out.printf("%n%s, %d rows, %d segments: %d MB retained (%.1f bytes/row), %.1f bytes/row accounted%n",
+                layout, generated[0], generated[1], retained >> 20, retained / (double) generated[0],
+                accounted.getBytes() / (double) generated[0]);
+    }
+
+    @Benchmark
+    public Optional<Price> lookup() {
+        return repository.findApplicablePrice(queries[next++ & (QUERIES - 1)]);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
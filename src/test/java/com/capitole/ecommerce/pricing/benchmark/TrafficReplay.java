@@ -0,0 +1,263 @@
+package com.capitole.ecommerce.pricing.benchmark;
+
+import com.capitole.ecommerce.pricing.application.port.in.GetPriceUseCase;
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture.TrafficLog;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceController;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a capture of production lookups ({@link TrafficLog}, written with {@code pricing.capture.enabled})
+ * against a running service over HTTP, or against the {@link GetPriceUseCase} of an application started in-process,
+ * and reports latency percentiles and throughput.
+ * <ul>
+ *     <li>{@code --speed=1x} (default) or {@code Nx}: open loop, every lookup is sent at its captured arrival time
+ *     (divided by N) whatever the previous ones are doing, and its latency counts from that time, queueing included</li>
+ *     <li>{@code --speed=max}: as fast as {@code --threads} concurrent callers go, latency counted from the send</li>
+ *     <li>{@code --target=http://host:port} (default {@code http://localhost:8080}) or {@code in-process}; any other
+ *     {@code --name=value} argument configures the in-process application, e.g. {@code --pricing.lookup.engine=compressed}</li>
+ * </ul>
+ * Usage: {@code mvn -Pbenchmark,replay -DskipTests verify -Dbenchmark.args="captures/prices-20260101-120000.pqtl --speed=2x"}
+ */
+public final class TrafficReplay {
+
+    private static final String DEFAULT_TARGET = "http://localhost:8080";
+
+    private TrafficReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("Usage: TrafficReplay <capture.pqtl> [--speed=1x|<N>x|max] "
+                    + "[--target=http://host:port|in-process] [--threads=N] [--<application property>=value...]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        String speed = "1x";
+        String targetName = DEFAULT_TARGET;
+        int threads = 64;
+        List<String> applicationArgs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--speed=")) {
+                speed = arg.substring("--speed=".length());
+            } else if (arg.startsWith("--target=")) {
+                targetName = arg.substring("--target=".length());
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        double factor = speed.equals("max") ? 0 : Double.parseDouble(speed.replace("x", ""));
+        try (Target target = targetName.equals("in-process")
+                ? InProcessTarget.start(applicationArgs)
+                : new HttpTarget(targetName)) {
+            Report report = replay(file, target, factor, threads);
+            System.out.printf("%nReplayed %s at %s against %s %s%n", file.getFileName(), speed, targetName,
+                    applicationArgs.isEmpty() ? "" : applicationArgs);
+            report.print(System.out);
+        }
+    }
+
+    /**
+     * @param file The capture
+     * @param target Where the lookups are sent
+     * @param speed Factor applied to the captured pace, 0 for the highest rate the callers reach
+     * @param threads Concurrent callers
+     * @return Latency and throughput of the replay
+     * @throws IOException if the capture cannot be read
+     */
+    static Report replay(Path file, Target target, double speed, int threads)
+            throws IOException, InterruptedException {
+        Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads);
+        long maxLagNanos = 0;
+        long count = 0;
+        long capturedMicros = 0;
+
+        long start = System.nanoTime();
+        try (TrafficLog.Reader reader = TrafficLog.open(file)) {
+            TrafficLog.Entry entry;
+            long firstMicros = -1;
+            while ((entry = reader.next()) != null) {
+                if (firstMicros < 0) {
+                    firstMicros = entry.arrivalMicros();
+                }
+                capturedMicros = entry.arrivalMicros() - firstMicros;
+                long due;
+                if (speed > 0) {
+                    due = start + (long) (capturedMicros * 1000 / speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+                } else {
+                    inFlight.acquire();
+                    due = -1;
+                }
+                TrafficLog.Entry lookup = entry;
+                callers.execute(() -> {
+                    long from = due < 0 ? System.nanoTime() : due;
+                    String outcome;
+                    try {
+                        outcome = target.lookup(lookup);
+                    } catch (Exception ex) {
+                        outcome = ex.getClass().getSimpleName();
+                    }
+                    latency.recordValue(Math.min(System.nanoTime() - from, latency.getHighestTrackableValue()));
+                    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+                    if (due < 0) {
+                        inFlight.release();
+                    }
+                });
+                count++;
+            }
+        }
+        callers.shutdown();
+        callers.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Long> totals = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> totals.put(outcome, adder.sum()));
+        return new Report(count, Duration.ofNanos(capturedMicros * 1000), Duration.ofNanos(elapsed),
+                Duration.ofNanos(maxLagNanos), totals, latency);
+    }
+
+    /**
+     * Where the replayed lookups go.
+     */
+    interface Target extends AutoCloseable {
+
+        /**
+         * @return Outcome of the lookup, counted in the report
+         */
+        String lookup(TrafficLog.Entry entry) throws Exception;
+    }
+
+    /**
+     * A running service, called over its REST API with the captured time budget.
+     */
+    static final class HttpTarget implements Target {
+
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final String baseUrl;
+
+        HttpTarget(String baseUrl) {
+            this.baseUrl = baseUrl + "/api/v1/prices?applicationDate=";
+        }
+
+        @Override
+        public String lookup(TrafficLog.Entry entry) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + entry.applicationDate()
+                    + "&productId=" + entry.productId() + "&brandId=" + entry.brandId()));
+            if (entry.timeoutMillis() != null) {
+                request.header(PriceController.TIMEOUT_HEADER, entry.timeoutMillis().toString());
+            }
+            return "HTTP " + client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        @Override
+        public void close() {
+            client.close();
+        }
+    }
+
+    /**
+     * The use case of an application started in this JVM, configured with the remaining arguments.
+     */
+    static final class InProcessTarget implements Target {
+
+        private final ConfigurableApplicationContext context;
+        private final GetPriceUseCase getPriceUseCase;
+
+        private InProcessTarget(ConfigurableApplicationContext context) {
+            this.context = context;
+            this.getPriceUseCase = context.getBean(GetPriceUseCase.class);
+        }
+
+        static InProcessTarget start(List<String> args) {
+            return new InProcessTarget(BenchmarkApplication.start(args.toArray(String[]::new)));
+        }
+
+        @Override
+        public String lookup(TrafficLog.Entry entry) {
+            Deadline deadline = entry.timeoutMillis() == null
+                    ? Deadline.NONE
+                    : Deadline.after(Duration.ofMillis(entry.timeoutMillis()));
+            try {
+                getPriceUseCase.getPrice(new PriceQuery(entry.applicationDate(), entry.productId(),
+                        entry.brandId(), deadline));
+                return "found";
+            } catch (PriceNotFoundException ex) {
+                return "not found";
+            }
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+
+    /**
+     * @param lookups Lookups replayed
+     * @param captured Time the lookups spanned when captured
+     * @param elapsed Time the replay took
+     * @param maxLag Longest delay of a send past its scheduled time, zero at the highest rate; when it is large,
+     *               the replay could not keep the captured pace and latencies are understated
+     * @param outcomes Lookups by outcome
+     * @param latency Latency of the lookups, in nanoseconds
+     */
+    record Report(
+            long lookups,
+            Duration captured,
+            Duration elapsed,
+            Duration maxLag,
+            Map<String, Long> outcomes,
+            Histogram latency
+    ) {
+
+        void print(PrintStream out) {
+            double seconds = elapsed.toNanos() / 1e9;
+            out.printf("%d lookups captured over %.1f s, replayed in %.1f s: %.0f lookups/s (max send lag %.1f ms)%n",
+                    lookups, captured.toNanos() / 1e9, seconds, lookups / seconds, maxLag.toNanos() / 1e6);
+            out.printf("outcomes: %s%n", outcomes);
+            out.printf("latency (us): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                    percentile(50), percentile(90), percentile(99), percentile(99.9),
+                    latency.getMaxValue() / 1e3);
+        }
+
+        double percentile(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1e3;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.capitole.ecommerce.pricing.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PriceTimeline.
+ * Resolves the four prices of the specification and checks every boundary between them.
+ */
+@DisplayName("PriceTimeline Unit Tests")
+class PriceTimelineTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+
+    private static final Price PRICE_LIST_1 = price(1, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50");
+    private static final Price PRICE_LIST_2 = price(2, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45");
+    private static final Price PRICE_LIST_3 = price(3, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50");
+    private static final Price PRICE_LIST_4 = price(4, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95");
+
+    private final PriceTimeline timeline = PriceTimeline.resolve(KEY,
+            List.of(PRICE_LIST_4, PRICE_LIST_2, PRICE_LIST_1, PRICE_LIST_3));
+
+    @Test
+    @DisplayName("Should resolve overlapping prices into ordered, non-overlapping segments")
+    void shouldResolveSegments() {
+        assertThat(timeline.segments())
+                .extracting(segment -> segment.price().priceList())
+                .containsExactly(1, 2, 1, 3, 1, 4);
+        assertThat(timeline.segments().get(1).start()).isEqualTo(date("2020-06-14T15:00:00"));
+        assertThat(timeline.segments().get(1).end()).isEqualTo(date("2020-06-14T18:30:00").plusNanos(1));
+        assertThat(timeline.segments().get(5).end()).isEqualTo(date("2020-12-31T23:59:59").plusNanos(1));
+    }
+
+    @Test
+    @DisplayName("Should return the same prices as the specification scenarios")
+    void shouldMatchSpecificationScenarios() {
+        assertThat(timeline.priceAt(date("2020-06-14T10:00:00"))).contains(PRICE_LIST_1);
+        assertThat(timeline.priceAt(date("2020-06-14T16:00:00"))).contains(PRICE_LIST_2);
+        assertThat(timeline.priceAt(date("2020-06-14T21:00:00"))).contains(PRICE_LIST_1);
+        assertThat(timeline.priceAt(date("2020-06-15T10:00:00"))).contains(PRICE_LIST_3);
+        assertThat(timeline.priceAt(date("2020-06-15T21:00:00"))).contains(PRICE_LIST_4);
+    }
+
+    @Test
+    @DisplayName("Should treat start dates and end dates as inclusive")
+    void shouldIncludeBothEnds() {
+        assertThat(timeline.priceAt(date("2020-06-14T15:00:00"))).contains(PRICE_LIST_2);
+        assertThat(timeline.priceAt(date("2020-06-14T18:30:00"))).contains(PRICE_LIST_2);
+        assertThat(timeline.priceAt(date("2020-06-14T18:30:01"))).contains(PRICE_LIST_1);
+        assertThat(timeline.priceAt(date("2020-12-31T23:59:59"))).contains(PRICE_LIST_4);
+        assertThat(timeline.priceAt(date("2021-01-01T00:00:00"))).isEmpty();
+        assertThat(timeline.priceAt(date("2020-06-13T23:59:59"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report the next change after a date")
+    void shouldFindNextChange() {
+        assertThat(timeline.nextChangeAfter(date("2020-06-14T10:00:00"))).contains(date("2020-06-14T15:00:00"));
+        assertThat(timeline.nextChangeAfter(date("2020-06-14T15:00:00")))
+                .contains(date("2020-06-14T18:30:00").plusNanos(1));
+        assertThat(timeline.nextChangeAfter(date("2020-06-01T00:00:00"))).contains(date("2020-06-14T00:00:00"));
+        assertThat(timeline.nextChangeAfter(date("2021-01-01T00:00:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should describe the period around a date without applicable price")
+    void shouldDescribeGaps() {
+        PriceChange before = timeline.changeAt(date("2020-06-01T00:00:00"));
+        assertThat(before.hasPrice()).isFalse();
+        assertThat(before.effectiveFrom()).isNull();
+        assertThat(before.effectiveUntil()).isEqualTo(date("2020-06-14T00:00:00"));
+
+        PriceChange after = timeline.changeAt(date("2021-06-01T00:00:00"));
+        assertThat(after.hasPrice()).isFalse();
+        assertThat(after.effectiveFrom()).isEqualTo(date("2020-12-31T23:59:59").plusNanos(1));
+        assertThat(after.effectiveUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should merge adjacent segments won by the same price")
+    void shouldMergeSegmentsOfTheSamePrice() {
+        Price lowPriority = price(5, -1, "2020-06-14T10:00:00", "2020-06-14T12:00:00", "10.00");
+
+        PriceTimeline merged = PriceTimeline.resolve(KEY, List.of(PRICE_LIST_1, lowPriority));
+
+        assertThat(merged.segments()).hasSize(1);
+        assertThat(merged.segments().get(0).price()).isEqualTo(PRICE_LIST_1);
+    }
+
+    @Test
+    @DisplayName("Should break priority ties with the higher price list")
+    void shouldBreakTiesByPriceList() {
+        Price tied = price(7, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "1.00");
+
+        PriceTimeline tiedTimeline = PriceTimeline.resolve(KEY, List.of(PRICE_LIST_1, tied));
+
+        assertThat(tiedTimeline.priceAt(date("2020-06-14T10:00:00"))).contains(tied);
+    }
+
+    private static Price price(int priceList, int priority, String start, String end, String amount) {
+        return new Price(35455, 1, priceList, date(start), date(end), new BigDecimal(amount), "EUR", priority);
+    }
+
+    private static LocalDateTime date(String date) {
+        return LocalDateTime.parse(date);
+    }
+}
@@ -0,0 +1,121 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.capture;
+
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TrafficCapture and the TrafficLog format.
+ * Buffers are small, so that records are handed to the writer thread several times, yet large enough for
+ * the few pending buffers to absorb a tight loop of lookups without dropping any.
+ */
+@DisplayName("TrafficCapture Unit Tests")
+class TrafficCaptureTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T10:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should read back every captured lookup, in arrival order, with dates and time budgets")
+    void shouldReadBackCapturedLookups() throws Exception {
+        // Given - dates around now, in the past and far ahead, with and without time budgets
+        SplittableRandom random = new SplittableRandom(42);
+        List<PriceQuery> queries = new ArrayList<>();
+        List<Long> timeouts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime date = LocalDateTime.ofInstant(START, ZoneOffset.UTC)
+                    .plusSeconds(random.nextLong(-400L * 24 * 3600, 4000L * 24 * 3600))
+                    .withNano(i % 3 == 0 ? 500_000_000 : 0);
+            queries.add(new PriceQuery(date, 1 + random.nextInt(1_000_000), 1 + random.nextInt(4)));
+            timeouts.add(i % 4 == 0 ? null : (long) random.nextInt(2000));
+        }
+        Path file = directory.resolve("capture.pqtl");
+        TrafficCapture capture = capture(file, 16 * 1024, 1 << 20);
+
+        // When
+        for (int i = 0; i < queries.size(); i++) {
+            capture.record(queries.get(i), timeouts.get(i));
+        }
+        capture.close();
+
+        // Then
+        try (TrafficLog.Reader reader = TrafficLog.open(file)) {
+            assertThat(reader.startedAt()).isEqualTo(START);
+            long previousArrival = 0;
+            for (int i = 0; i < queries.size(); i++) {
+                TrafficLog.Entry entry = reader.next();
+                assertThat(entry).as("record %d", i).isNotNull();
+                assertThat(entry.applicationDate()).isEqualTo(queries.get(i).applicationDate());
+                assertThat(entry.productId()).isEqualTo(queries.get(i).productId());
+                assertThat(entry.brandId()).isEqualTo(queries.get(i).brandId());
+                assertThat(entry.timeoutMillis()).isEqualTo(timeouts.get(i));
+                assertThat(entry.arrivalMicros()).isGreaterThanOrEqualTo(previousArrival);
+                previousArrival = entry.arrivalMicros();
+            }
+            assertThat(reader.next()).isNull();
+        }
+        assertThat(meterRegistry.get("pricing.capture.records").counter().count()).isEqualTo(5000);
+        assertThat(meterRegistry.get("pricing.capture.dropped").tag("reason", "behind").counter().count()).isZero();
+        assertThat(Files.size(file) / 5000.0).isLessThan(16);
+        assertThatThrownBy(() -> capture(file, 1024, 1 << 20)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Should stop capturing at the size limit and reject files that are not captures")
+    void shouldStopAtSizeLimit() throws Exception {
+        // Given
+        Path file = directory.resolve("limited.pqtl");
+        TrafficCapture capture = capture(file, 256, 1000);
+        PriceQuery query = new PriceQuery(LocalDateTime.of(2026, 3, 1, 10, 0), 35455, 1);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            capture.record(query, null);
+        }
+        capture.close();
+
+        // Then
+        assertThat(Files.size(file)).isLessThanOrEqualTo(1000);
+        double captured = meterRegistry.get("pricing.capture.records").counter().count();
+        assertThat(captured).isBetween(50.0, 999.0);
+        assertThat(meterRegistry.get("pricing.capture.dropped").tag("reason", "limit").counter().count()
+                + meterRegistry.get("pricing.capture.dropped").tag("reason", "behind").counter().count())
+                .isEqualTo(1000 - captured);
+        int read = 0;
+        try (TrafficLog.Reader reader = TrafficLog.open(file)) {
+            while (reader.next() != null) {
+                read++;
+            }
+        }
+        assertThat(read).isEqualTo((int) captured);
+
+        Path other = Files.writeString(directory.resolve("other.pqtl"), "not a capture");
+        assertThatThrownBy(() -> TrafficLog.open(other)).isInstanceOf(IOException.class);
+    }
+
+    private TrafficCapture capture(Path file, int bufferSize, long maxBytes) throws IOException {
+        return new TrafficCapture(file, bufferSize, maxBytes, Duration.ofMillis(10),
+                Clock.fixed(START, ZoneOffset.UTC), meterRegistry);
+    }
+}
@@ -0,0 +1,170 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc;
+
+import com.capitole.ecommerce.pricing.application.port.in.GetPriceUseCase;
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.LookupError;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupRequest;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceLookupResult;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PriceReply;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.grpc.proto.PricingServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the gRPC inbound adapter.
+ * Runs the service on an in-process server with a mocked use case.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceGrpcService Unit Tests")
+class PriceGrpcServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+    private static final long DATE_MILLIS = DATE.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    @Mock
+    private GetPriceUseCase getPriceUseCase;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        PriceGrpcMapper mapper = new PriceGrpcMapper(Clock.system(ZoneOffset.UTC));
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new PriceGrpcService(getPriceUseCase, mapper))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the price with epoch timestamps and minor-unit amount")
+    void shouldReturnPrice() {
+        when(getPriceUseCase.getPrice(new PriceQuery(DATE, 35455, 1))).thenReturn(price());
+
+        PriceReply reply = PricingServiceGrpc.newBlockingStub(channel).getPrice(request(1, 35455));
+
+        assertThat(reply.getProductId()).isEqualTo(35455);
+        assertThat(reply.getPriceList()).isEqualTo(1);
+        assertThat(reply.getAmountMinor()).isEqualTo(3550);
+        assertThat(reply.getCurrencyExponent()).isEqualTo(2);
+        assertThat(reply.getCurrency()).isEqualTo("EUR");
+        assertThat(reply.getStartEpochMillis())
+                .isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Should fail with NOT_FOUND when no price applies")
+    void shouldFailWithNotFound() {
+        when(getPriceUseCase.getPrice(new PriceQuery(DATE, 99999, 1))).thenThrow(new PriceNotFoundException());
+
+        assertThatThrownBy(() -> PricingServiceGrpc.newBlockingStub(channel).getPrice(request(1, 99999)))
+                .isInstanceOf(StatusRuntimeException.class)
+                .satisfies(ex -> assertThat(((StatusRuntimeException) ex).getStatus().getCode())
+                        .isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT when the product ID is not positive")
+    void shouldFailWithInvalidArgument() {
+        assertThatThrownBy(() -> PricingServiceGrpc.newBlockingStub(channel).getPrice(request(1, 0)))
+                .isInstanceOf(StatusRuntimeException.class)
+                .satisfies(ex -> assertThat(((StatusRuntimeException) ex).getStatus().getCode())
+                        .isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("Should answer every streamed request, reporting failures without ending the stream")
+    void shouldStreamResults() throws InterruptedException {
+        when(getPriceUseCase.getPrice(new PriceQuery(DATE, 35455, 1))).thenReturn(price());
+        when(getPriceUseCase.getPrice(new PriceQuery(DATE, 99999, 1))).thenThrow(new PriceNotFoundException());
+
+        List<PriceLookupResult> results = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<PriceLookupRequest> requests = PricingServiceGrpc.newStub(channel)
+                .streamPrices(new StreamObserver<>() {
+                    @Override
+                    public void onNext(PriceLookupResult result) {
+                        results.add(result);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        requests.onNext(request(1, 35455));
+        requests.onNext(request(2, 99999));
+        requests.onNext(request(3, 35455));
+        requests.onCompleted();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).extracting(PriceLookupResult::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(results.get(0).getPrice().getAmountMinor()).isEqualTo(3550);
+        assertThat(results.get(1).getError().getCode()).isEqualTo(LookupError.Code.NOT_FOUND);
+        assertThat(results.get(2).hasPrice()).isTrue();
+    }
+
+    private static PriceLookupRequest request(long requestId, int productId) {
+        return PriceLookupRequest.newBuilder()
+                .setRequestId(requestId)
+                .setProductId(productId)
+                .setBrandId(1)
+                .setApplicationEpochMillis(DATE_MILLIS)
+                .build();
+    }
+
+    private static Price price() {
+        return new Price(
+                35455,
+                1,
+                1,
+                LocalDateTime.of(2020, 6, 14, 0, 0),
+                LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal("35.50"),
+                "EUR",
+                0
+        );
+    }
+}
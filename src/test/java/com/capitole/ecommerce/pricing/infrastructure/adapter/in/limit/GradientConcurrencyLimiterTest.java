@@ -0,0 +1,126 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for GradientConcurrencyLimiter and the interceptor applying it.
+ * Latencies are fed directly, in bursts that use every slot of the limit.
+ */
+@DisplayName("GradientConcurrencyLimiter Unit Tests")
+class GradientConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    @DisplayName("Should reject requests beyond the limit without waiting and accept them once slots are released")
+    void shouldRejectBeyondLimit() {
+        // Given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 1.5, 0.2, 10, 600);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        limiter.cancel();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInflight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency stays at its baseline and cut it when latency climbs")
+    void shouldFollowLatency() {
+        // Given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 1.5, 0.2, 10, 600);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            saturatedBurst(limiter, FAST);
+        }
+        int grown = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            saturatedBurst(limiter, FAST * 4);
+        }
+
+        // Then
+        assertThat(grown).isGreaterThan(10);
+        assertThat(limiter.getLimit()).isLessThan(grown / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit while most of it is unused")
+    void shouldNotGrowWhenUnderused() {
+        // Given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 1.5, 0.2, 10, 600);
+
+        // When: one request at a time
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.complete(FAST);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should shed requests of an endpoint at its limit with the configured Retry-After")
+    void shouldShedAtTheEndpointLimit() throws Exception {
+        // Given
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.getDefaults().setInitialLimit(1);
+        properties.getDefaults().setMinLimit(1);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties, meterRegistry);
+        HandlerMethod handler = new HandlerMethod(new Handler(), Handler.class.getMethod("limited"));
+        MockHttpServletRequest holding = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(holding, response, handler);
+
+        // When / Then
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOfSatisfying(ConcurrencyLimitExceededException.class, ex -> {
+                    assertThat(ex.getEndpoint()).isEqualTo("test");
+                    assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+                });
+        interceptor.afterCompletion(holding, response, handler, null);
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, handler)).isTrue();
+        assertThat(meterRegistry.get("pricing.limiter.calls").tag("result", "rejected").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("pricing.limiter.calls").tag("result", "accepted").counter().count())
+                .isEqualTo(2);
+    }
+
+    private static void saturatedBurst(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.complete(rttNanos);
+        }
+    }
+
+    static class Handler {
+
+        @ConcurrencyLimited("test")
+        public void limited() {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * System tests for the price change stream within the interactive bulkhead.
+ * The interactive class gets two slots and no queue, so a single request holding a slot too long shows up
+ * as a 503 of the next ones. The context has a database of its own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changestreamdb",
+        "pricing.bulkhead.interactive.max-concurrent=2",
+        "pricing.bulkhead.interactive.max-queue=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Price Change Controller System Tests")
+class PriceChangeControllerSystemTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should release the interactive slot of open streams, so that lookups still get through")
+    void shouldKeepLookupsAdmittedWhileStreamsAreOpen() throws Exception {
+        // Given - more open streams than interactive slots
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/prices/changes").param("keys", "35455:1"))
+                    .andExpect(request().asyncStarted());
+        }
+
+        // When / Then
+        assertThat(meterRegistry.get("pricing.bulkhead.active").tag("class", "interactive").gauge().value())
+                .isZero();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/prices")
+                            .param("applicationDate", "2020-06-14T10:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priceList").value(1));
+        }
+    }
+}
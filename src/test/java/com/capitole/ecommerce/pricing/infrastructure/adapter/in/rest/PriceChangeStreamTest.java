@@ -0,0 +1,140 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceChangeResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Unit tests for PriceChangeStream.
+ * The emitter stands for a client that stops reading: every write blocks until the test lets it through.
+ */
+@DisplayName("PriceChangeStream Unit Tests")
+class PriceChangeStreamTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final StalledEmitter emitter = new StalledEmitter();
+
+    @AfterEach
+    void tearDown() {
+        emitter.resume.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should queue events without waiting for a stalled client, and write them in order once it reads")
+    void shouldNotWaitForStalledClient() throws Exception {
+        // Given
+        PriceChangeStream stream = new PriceChangeStream(emitter, executor, 10);
+
+        // When - the first write blocks on the sender thread, the notifier keeps going
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int productId = 1; productId <= 3; productId++) {
+                stream.send(event(productId));
+            }
+        });
+        assertThat(emitter.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        emitter.resume.countDown();
+
+        // Then
+        awaitWritten(3);
+        assertThat(emitter.written).containsExactly(1, 2, 3);
+        assertThat(stream.isClosed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should close a stream whose client lets too many events pile up, and cancel its subscription")
+    void shouldCloseStreamFallingBehind() throws Exception {
+        // Given - one event being written, the queue of two full
+        PriceChangeStream stream = new PriceChangeStream(emitter, executor, 2);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        stream.attach(() -> cancelled.set(true));
+        stream.send(event(1));
+        assertThat(emitter.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        stream.send(event(2));
+        stream.send(event(3));
+
+        // When
+        stream.send(event(4));
+
+        // Then
+        assertThat(stream.isClosed()).isTrue();
+        assertThat(cancelled).isTrue();
+        assertThat(emitter.completed).isTrue();
+        emitter.resume.countDown();
+        awaitWritten(1);
+        stream.send(event(5));
+        Thread.sleep(100);
+        assertThat(emitter.written).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should cancel a subscription attached after the stream closed")
+    void shouldCancelLateSubscription() {
+        // Given
+        PriceChangeStream stream = new PriceChangeStream(emitter, executor, 2);
+        stream.close();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        // When
+        stream.attach(() -> cancelled.set(true));
+
+        // Then
+        assertThat(cancelled).isTrue();
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.written.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PriceChangeResponse event(int productId) {
+        return PriceChangeResponse.builder().productId(productId).brandId(1).build();
+    }
+
+    /**
+     * Emitter recording the product of every event written, each write waiting for the test to resume it.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+        private final List<Integer> written = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing.countDown();
+            try {
+                resume.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(PriceChangeResponse.class::isInstance)
+                    .forEach(data -> written.add(((PriceChangeResponse) data).getProductId()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * System tests for the price write endpoints.
+ * Writes go to a product of their own so that the specification scenarios are not affected,
+ * and every write is checked through the lookup endpoint right after it returns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Price Command Controller System Tests")
+class PriceCommandControllerSystemTest {
+
+    private static final String BASE_URL = "/api/v1/prices";
+    private static final String PRODUCT_ID = "40001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should make created, updated and deleted prices visible to the next lookup")
+    void shouldExposeWritesToLookups() throws Exception {
+        // Lookup before any price exists, so that an empty timeline is cached
+        lookup("2020-06-16T12:00:00").andExpect(status().isNotFound());
+
+        // Create
+        String location = mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(PRODUCT_ID, "19.99", 2)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.priority").value(2))
+                .andReturn().getResponse().getHeader("Location");
+        lookup("2020-06-16T12:00:00")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(5))
+                .andExpect(jsonPath("$.price").value(19.99));
+
+        // Update
+        mockMvc.perform(put(location)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(PRODUCT_ID, "14.99", 2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(14.99));
+        lookup("2020-06-16T12:00:00").andExpect(jsonPath("$.price").value(14.99));
+        mockMvc.perform(get(location)).andExpect(status().isOk()).andExpect(jsonPath("$.price").value(14.99));
+
+        // Delete
+        mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        lookup("2020-06-16T12:00:00").andExpect(status().isNotFound());
+        mockMvc.perform(get(location)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the price to create is invalid")
+    void shouldReturn400WhenPriceInvalid() throws Exception {
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(PRODUCT_ID, "-1.00", 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Price must be non-negative"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the start date is after the end date")
+    void shouldReturn400WhenDatesReversed() throws Exception {
+        JsonNode request = objectMapper.readTree(body(PRODUCT_ID, "19.99", 2));
+        ((ObjectNode) request).put("startDate", "2020-06-17T00:00:00");
+
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date must be before end date"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the body is malformed or a date has the wrong format")
+    void shouldReturn400WhenBodyUnreadable() throws Exception {
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\": 40001,"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Request body is missing or malformed"))
+                .andExpect(jsonPath("$.path").value(BASE_URL));
+
+        JsonNode request = objectMapper.readTree(body(PRODUCT_ID, "19.99", 2));
+        ((ObjectNode) request).put("startDate", "16/06/2020 10:00");
+        mockMvc.perform(put(BASE_URL + "/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Request body is missing or malformed"));
+    }
+
+    @Test
+    @DisplayName("Should return 415 when the body is not JSON")
+    void shouldReturn415WhenContentTypeUnsupported() throws Exception {
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(body(PRODUCT_ID, "19.99", 2)))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.status").value(415))
+                .andExpect(jsonPath("$.error").value("Unsupported Media Type"))
+                .andExpect(jsonPath("$.message").value(startsWith("Content type 'text/plain")))
+                .andExpect(jsonPath("$.path").value(BASE_URL));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when updating or deleting an unknown price")
+    void shouldReturn404WhenPriceUnknown() throws Exception {
+        mockMvc.perform(put(BASE_URL + "/999999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(PRODUCT_ID, "19.99", 2)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No price found with id 999999"));
+        mockMvc.perform(delete(BASE_URL + "/999999")).andExpect(status().isNotFound());
+    }
+
+    private ResultActions lookup(String date) throws Exception {
+        return mockMvc.perform(get(BASE_URL)
+                .param("applicationDate", date)
+                .param("productId", PRODUCT_ID)
+                .param("brandId", "1"));
+    }
+
+    private static String body(String productId, String price, int priority) {
+        return """
+                {
+                  "productId": %s,
+                  "brandId": 1,
+                  "priceList": 5,
+                  "startDate": "2020-06-16T10:00:00",
+                  "endDate": "2020-06-16T20:00:00",
+                  "price": %s,
+                  "currency": "EUR",
+                  "priority": %d
+                }
+                """.formatted(productId, price, priority);
+    }
+}
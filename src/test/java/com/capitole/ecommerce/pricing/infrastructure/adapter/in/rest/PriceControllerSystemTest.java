@@ -1,15 +1,25 @@
 package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -147,4 +157,134 @@ class PriceControllerSystemTest {
                         .param("brandId", BRAND_ID.toString()))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should return CBOR when the client accepts application/cbor")
+    void shouldReturnCborWhenAccepted() throws Exception {
+        byte[] body = mockMvc.perform(get(BASE_URL)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .param("applicationDate", "2020-06-14T16:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode price = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(price.get("priceList").asInt()).isEqualTo(2);
+        assertThat(price.get("price").decimalValue()).isEqualByComparingTo(new BigDecimal("25.45"));
+        assertThat(price.get("startDate").isArray()).isTrue();
+        assertThat(price.get("currency").asText()).isEqualTo("EUR");
+    }
+
+    @Test
+    @DisplayName("Should return Smile when the client accepts application/x-jackson-smile")
+    void shouldReturnSmileWhenAccepted() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = mockMvc.perform(get(BASE_URL)
+                        .accept(smile)
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode price = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(price.get("priceList").asInt()).isEqualTo(1);
+        assertThat(price.get("price").decimalValue()).isEqualByComparingTo(new BigDecimal("35.50"));
+    }
+
+    @Test
+    @DisplayName("Should return CBOR error body when no price is found")
+    void shouldReturnCborErrorWhenNoPriceFound() throws Exception {
+        byte[] body = mockMvc.perform(get(BASE_URL)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", "99999")
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(body).get("status").asInt()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should keep JSON as the default encoding")
+    void shouldDefaultToJson() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.startDate").value("2020-06-14T00:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should stream the current effective price of every followed key")
+    void shouldStreamCurrentPriceOfFollowedKeys() throws Exception {
+        String body = mockMvc.perform(get(BASE_URL + "/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .param("keys", PRODUCT_ID + ":" + BRAND_ID, "99999:1"))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The sample prices all ended in 2020: product 35455 reports when its last price ended
+        assertThat(body).contains("event:price-change");
+        assertThat(body).contains("{\"productId\":35455,\"brandId\":1,\"effectiveFrom\":\"2020-12-31T23:59:59\"");
+        assertThat(body).contains("{\"productId\":99999,\"brandId\":1,\"effectiveFrom\":null");
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a followed key is malformed")
+    void shouldReturn400WhenKeyMalformed() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/changes")
+                        .param("keys", "35455-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid key '35455-1', expected productId:brandId"));
+    }
+
+    @Test
+    @DisplayName("Should return 504 when the caller's deadline has already passed")
+    void shouldReturn504WhenDeadlineExceeded() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                        .header("X-Request-Timeout", "0")
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value(504));
+    }
+
+    @Test
+    @DisplayName("Should answer normally within a generous deadline")
+    void shouldAnswerWithinDeadline() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                        .header("X-Request-Timeout", "5000")
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1));
+    }
+
+    @Test
+    @DisplayName("Should break the response latency down in the Server-Timing header")
+    void shouldSendServerTimingBreakdown() throws Exception {
+        String serverTiming = mockMvc.perform(get(BASE_URL)
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", PRODUCT_ID.toString())
+                        .param("brandId", BRAND_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1))
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertThat(serverTiming)
+                .startsWith("validation;dur=")
+                .containsSubsequence("usecase;dur=", "repo;dur=", "mapping;dur=", "serialization;dur=", "total;dur=")
+                .containsPattern("repo;dur=[0-9.]+;desc=\"[a-z]+ [a-z]+, [0-9]+ rows?\"");
+    }
 }
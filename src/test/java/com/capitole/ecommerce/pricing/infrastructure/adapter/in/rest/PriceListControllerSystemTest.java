@@ -0,0 +1,137 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest;
+
+import com.capitole.ecommerce.pricing.application.port.in.ManagePricesUseCase;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * System tests for the price list segment stream.
+ * Product 35455 of brand 1 is the only sample product: price list 1 applies all year
+ * but only wins where the promotions of price lists 2, 3 and 4 do not.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Price List Controller System Tests")
+class PriceListControllerSystemTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ManagePricesUseCase managePricesUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should stream only the periods where the price list wins, as newline-delimited JSON")
+    void shouldStreamWinningPeriods() throws Exception {
+        // When
+        List<JsonNode> all = segments(1, null);
+        List<JsonNode> running = segments(1, "2020-06-15T00:00:00");
+
+        // Then
+        assertThat(all).extracting(segment -> segment.get("activeFrom").asText())
+                .containsExactly("2020-06-14T00:00:00", "2020-06-14T18:30:00", "2020-06-15T11:00:00");
+        assertThat(all).extracting(segment -> segment.get("activeUntil").asText())
+                .containsExactly("2020-06-14T15:00:00", "2020-06-15T00:00:00", "2020-06-15T16:00:00");
+        assertThat(all).allSatisfy(segment -> {
+            assertThat(segment.get("productId").asInt()).isEqualTo(35455);
+            assertThat(segment.get("price").get("priceList").asInt()).isEqualTo(1);
+            assertThat(segment.get("price").get("price").decimalValue()).isEqualByComparingTo("35.50");
+        });
+        assertThat(running).containsExactly(all.get(2));
+        assertThat(segments(9, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should run as bulk work, holding its slot until the stream completes")
+    void shouldRunInBulkBulkhead() throws Exception {
+        // Given
+        double accepted = meterRegistry.get("pricing.bulkhead.calls").tags("class", "bulk", "result", "accepted")
+                .counter().count();
+
+        // When
+        segments(1, null);
+
+        // Then
+        assertThat(meterRegistry.get("pricing.bulkhead.calls").tags("class", "bulk", "result", "accepted")
+                .counter().count()).isEqualTo(accepted + 1);
+        assertThat(meterRegistry.get("pricing.bulkhead.active").tag("class", "bulk").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow price writes in the transaction that makes them")
+    void shouldFollowPriceWrites() throws Exception {
+        // Given - a new price of price list 2 that wins a whole day on another product
+        Price created = managePricesUseCase.createPrice(new Price(40004, 1, 2,
+                LocalDateTime.of(2020, 6, 16, 0, 0), LocalDateTime.of(2020, 6, 16, 23, 59, 59),
+                new BigDecimal("12.00"), "EUR", 0));
+        try {
+            // When
+            List<JsonNode> segments = segments(2, null);
+
+            // Then
+            assertThat(segments).extracting(segment -> segment.get("productId").asInt())
+                    .containsExactly(35455, 40004);
+            assertThat(segments.get(1).get("price").get("id").asLong()).isEqualTo(created.id());
+        } finally {
+            managePricesUseCase.deletePrice(created.id());
+        }
+
+        assertThat(segments(2, null)).extracting(segment -> segment.get("productId").asInt())
+                .containsExactly(35455);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the price list is not positive")
+    void shouldReturn400WhenPriceListInvalid() throws Exception {
+        mockMvc.perform(get("/api/v1/price-lists/0/segments"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<JsonNode> segments(int priceList, String activeAfter) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/price-lists/{priceList}/segments", priceList)
+                        .param("activeAfter", activeAfter))
+                .andExpect(status().isOk())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PriceListController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).satisfiesAnyOf(
+                text -> assertThat(text).isEmpty(),
+                text -> assertThat(text).endsWith("\n"));
+        List<JsonNode> segments = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            segments.add(objectMapper.readTree(line));
+        }
+        return segments;
+    }
+}
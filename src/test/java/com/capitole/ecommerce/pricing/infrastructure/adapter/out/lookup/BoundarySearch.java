@@ -0,0 +1,63 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Kernel resolving many keys against one sorted array of boundaries, for batch and time-series lookups.
+ * {@link #best()} picks the vectorized kernel when the JDK incubator Vector API is available
+ * ({@code --add-modules jdk.incubator.vector}), the scalar one otherwise; both return the same indexes.
+ * <p>
+ * Kept with the benchmarks until a lookup path uses it: the vectorized kernel lives in {@code src/vector/java} and
+ * is only compiled by the benchmark profile, so the default build needs no incubator module.
+ */
+public interface BoundarySearch {
+
+    /**
+     * Finds, for every key, the index of the last boundary at or before it.
+     *
+     * @param boundaries Boundaries, sorted ascending
+     * @param keys Keys to look up, in any order
+     * @param indexes Receives one index per key, -1 when every boundary comes after the key
+     */
+    void lastAtOrBefore(long[] boundaries, long[] keys, int[] indexes);
+
+    /**
+     * @return Name of the kernel, as logged and benchmarked
+     */
+    String name();
+
+    /**
+     * @return The vectorized kernel if the Vector API module is present, the scalar one otherwise
+     */
+    static BoundarySearch best() {
+        return Kernels.BEST;
+    }
+
+    @Slf4j
+    final class Kernels {
+
+        private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+        static final BoundarySearch BEST = select();
+
+        private Kernels() {
+        }
+
+        private static BoundarySearch select() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+                try {
+                    // Loaded by name: the class cannot even be linked without the module
+                    BoundarySearch vector = (BoundarySearch) Class.forName(
+                                    "com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.VectorBoundarySearch")
+                            .getDeclaredConstructor()
+                            .newInstance();
+                    log.info("Boundary search uses the {} kernel", vector.name());
+                    return vector;
+                } catch (ReflectiveOperationException | LinkageError ex) {
+                    log.warn("Vector API present but unusable, boundary search stays scalar: {}", ex.toString());
+                }
+            }
+            return new ScalarBoundarySearch();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the BoundarySearch kernels and TimelineSeries.
+ * {@link BoundarySearch#best()} is the vectorized kernel when the tests run in the benchmark profile, which adds it
+ * together with the Vector API module, and the scalar kernel otherwise.
+ */
+@DisplayName("BoundarySearch Unit Tests")
+class BoundarySearchTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should find the last boundary at or before every key, with scalar and vector kernels alike")
+    void shouldMatchReferenceSearch() {
+        // Given - sizes around the vector width and window, duplicates, and keys on and beside every boundary
+        SplittableRandom random = new SplittableRandom(42);
+        BoundarySearch vector = BoundarySearch.best();
+        BoundarySearch scalar = new ScalarBoundarySearch();
+
+        for (int size : new int[]{0, 1, 3, 7, 8, 9, 31, 32, 33, 100, 1000, 4097}) {
+            long[] boundaries = random.longs(size, -1000, 1000L * size + 1000).sorted().toArray();
+            long[] keys = new long[3 * size + 2];
+            for (int i = 0; i < size; i++) {
+                keys[3 * i] = boundaries[i] - 1;
+                keys[3 * i + 1] = boundaries[i];
+                keys[3 * i + 2] = boundaries[i] + 1;
+            }
+            keys[keys.length - 2] = Long.MIN_VALUE;
+            keys[keys.length - 1] = Long.MAX_VALUE;
+            int[] scalarIndexes = new int[keys.length];
+            int[] vectorIndexes = new int[keys.length];
+
+            // When
+            scalar.lastAtOrBefore(boundaries, keys, scalarIndexes);
+            vector.lastAtOrBefore(boundaries, keys, vectorIndexes);
+
+            // Then
+            for (int i = 0; i < keys.length; i++) {
+                assertThat(scalarIndexes[i]).as("scalar, size %d, key %d", size, keys[i])
+                        .isEqualTo(reference(boundaries, keys[i]));
+            }
+            assertThat(vectorIndexes).as("%s, size %d", vector.name(), size).isEqualTo(scalarIndexes);
+        }
+        assertThat(vector.name()).startsWith(
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() ? "vector-" : "scalar");
+    }
+
+    @Test
+    @DisplayName("Should answer a time series like the timeline, dates in and beyond the nanosecond range included")
+    void shouldAnswerTimeSeriesLikeTimeline() {
+        // Given - stacked promotions, a gap, an open-ended price and dates with sub-second precision
+        SplittableRandom random = new SplittableRandom(7);
+        List<Price> prices = new ArrayList<>();
+        prices.add(price(1, 0, START, START.plusDays(200).minusSeconds(1), "49.99", 1L));
+        prices.add(price(1, 0, START.plusDays(220), LocalDateTime.of(9999, 12, 31, 23, 59, 59), "52.00", 2L));
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime start = START.plusMinutes(random.nextInt(365 * 24 * 60)).plusNanos(250_000_000L);
+            prices.add(price(2 + i, 1 + random.nextInt(3), start, start.plusHours(1 + random.nextInt(96)),
+                    random.nextInt(1000) + ".99", 100L + i));
+        }
+        PriceTimeline timeline = PriceTimeline.resolve(KEY, prices);
+        List<LocalDateTime> dates = new ArrayList<>();
+        timeline.segments().forEach(segment -> {
+            dates.add(segment.start().minusNanos(1));
+            dates.add(segment.start());
+            dates.add(segment.end().minusNanos(1));
+            dates.add(segment.end());
+        });
+        dates.addAll(List.of(START.minusYears(1), START.plusYears(300), LocalDateTime.of(1500, 1, 1, 0, 0)));
+
+        // When
+        List<Optional<Price>> scalar = new TimelineSeries(timeline, new ScalarBoundarySearch()).pricesAt(dates);
+        List<Optional<Price>> vector = TimelineSeries.of(timeline).pricesAt(dates);
+
+        // Then
+        assertThat(scalar).isEqualTo(dates.stream().map(timeline::priceAt).toList());
+        assertThat(vector).isEqualTo(scalar);
+        assertThat(vector.get(dates.size() - 2)).contains(prices.get(1));
+    }
+
+    /**
+     * Linear scan: the boundaries are sorted, so the last one at or before the key ends the run.
+     */
+    private static int reference(long[] boundaries, long key) {
+        int index = -1;
+        for (int i = 0; i < boundaries.length && boundaries[i] <= key; i++) {
+            index = i;
+        }
+        return index;
+    }
+
+    private static Price price(int priceList, int priority, LocalDateTime start, LocalDateTime end, String amount,
+                               Long id) {
+        return new Price(KEY.productId(), KEY.brandId(), priceList, start, end, new BigDecimal(amount), "EUR",
+                priority, id);
+    }
+}
@@ -0,0 +1,265 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.exception.DeadlineExceededException;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.bulkhead.WorkloadClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoalescingPriceRepository.
+ * The delegate blocks until released, so that concurrent lookups pile up on the same in-flight load or query.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingPriceRepository Unit Tests")
+class CoalescingPriceRepositoryTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final int CALLERS = 8;
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one indexed query among concurrent lookups of the same product, brand and date")
+    void shouldShareOneLookup() throws Exception {
+        // Given - callers with different deadlines
+        when(delegate.findApplicablePrice(any())).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(price(2, 1, 15, 18));
+        });
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        List<Future<Optional<Price>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            Deadline deadline = i % 2 == 0 ? Deadline.NONE : Deadline.after(Duration.ofSeconds(30));
+            results.add(executor.submit(() -> repository.findApplicablePrice(
+                    new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1, deadline))));
+        }
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        // Then - no caller loaded the whole history of the product
+        for (Future<Optional<Price>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).map(Price::priceList).contains(2);
+        }
+        verify(delegate, times(1)).findApplicablePrice(any());
+        verify(delegate, never()).findPrices(any(), any());
+        assertThat(count("load")).isEqualTo(1);
+        assertThat(count("collapsed")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("Should resolve lookups of any date from a load of the whole product and brand already in flight")
+    void shouldResolveLookupsFromInFlightLoad() throws Exception {
+        // Given - an engine above is loading every price of the key
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return List.of(price(1, 0, 0, 23), price(2, 1, 15, 18));
+        });
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+        executor.submit(() -> repository.findPrices(KEY));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Future<Optional<Price>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS - 1; i++) {
+            int hour = 10 + i;
+            results.add(executor.submit(() -> repository.findApplicablePrice(
+                    new PriceQuery(LocalDateTime.of(2020, 6, 14, hour, 0), 35455, 1))));
+        }
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (int i = 0; i < CALLERS - 1; i++) {
+            int hour = 10 + i;
+            int expectedPriceList = hour >= 15 && hour <= 18 ? 2 : 1;
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).map(Price::priceList).contains(expectedPriceList);
+        }
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+        verify(delegate, never()).findApplicablePrice(any());
+        assertThat(count("load")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's failure to every waiter")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenAnswer(invocation -> {
+            release.await();
+            throw new IllegalStateException("database down");
+        });
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        List<Future<List<Price>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> repository.findPrices(KEY)));
+        }
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<List<Price>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("database down");
+        }
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+    }
+
+    @Test
+    @DisplayName("Should load directly when the in-flight load takes longer than the maximum wait")
+    void shouldLoadDirectlyAfterMaxWait() throws Exception {
+        // Given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenAnswer(invocation -> {
+                    leaderStarted.countDown();
+                    release.await();
+                    return List.of();
+                })
+                .thenReturn(List.of(price(1, 0, 0, 23)));
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofMillis(50), meterRegistry);
+        executor.submit(() -> repository.findPrices(KEY));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Price> prices = repository.findPrices(KEY);
+
+        // Then
+        assertThat(prices).hasSize(1);
+        assertThat(count("timeout")).isEqualTo(1);
+        assertThat(count("collapsed")).isZero();
+        verify(delegate, times(2)).findPrices(KEY, Deadline.NONE);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the in-flight load at the caller's deadline, before the maximum wait")
+    void shouldStopWaitingAtDeadline() throws Exception {
+        // Given - a load without deadline that does not complete
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return List.of();
+        });
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+        executor.submit(() -> repository.findPrices(KEY));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        PriceQuery query = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1,
+                Deadline.after(Duration.ofMillis(100)));
+        long start = System.nanoTime();
+
+        // When / Then
+        assertThatThrownBy(() -> repository.findApplicablePrice(query))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(count("timeout")).isZero();
+        verify(delegate, times(1)).findPrices(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not join a load led by another workload class")
+    void shouldNotJoinLoadsOfAnotherClass() throws Exception {
+        // Given - a bulk lookup leads a load that does not complete
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenAnswer(invocation -> {
+                    leaderStarted.countDown();
+                    release.await();
+                    return List.of();
+                })
+                .thenReturn(List.of(price(1, 0, 0, 23)));
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+        executor.submit(() -> {
+            try (WorkloadClass.Scope scope = WorkloadClass.BULK.bind()) {
+                return repository.findPrices(KEY);
+            }
+        });
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - an interactive lookup of the same key
+        List<Price> prices = repository.findPrices(KEY);
+
+        // Then - it led a load of its own instead of waiting
+        assertThat(prices).hasSize(1);
+        assertThat(count("load")).isEqualTo(2);
+        assertThat(count("collapsed")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous load has completed")
+    void shouldNotCacheCompletedLoads() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price(1, 0, 0, 23)));
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        repository.findPrices(KEY);
+        repository.findPrices(KEY);
+
+        // Then
+        verify(delegate, times(2)).findPrices(KEY, Deadline.NONE);
+        assertThat(count("load")).isEqualTo(2);
+        assertThat(meterRegistry.get("pricing.lookup.coalescing.in-flight").gauge().value()).isZero();
+    }
+
+    private void awaitWaiters(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("pricing.lookup.coalescing.waiting").gauge().value() < waiters
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("pricing.lookup.coalescing.calls").tag("result", result).counter().count();
+    }
+
+    private static Price price(int priceList, int priority, int fromHour, int toHour) {
+        return new Price(35455, 1, priceList,
+                LocalDateTime.of(2020, 6, 14, fromHour, 0),
+                LocalDateTime.of(2020, 6, 14, toHour, 59, 59),
+                new BigDecimal("35.50"), "EUR", priority);
+    }
+}
@@ -0,0 +1,93 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CompressedTimeline.
+ * Every lookup must answer exactly what the resolved timeline answers, boundaries and gaps included.
+ */
+@DisplayName("CompressedTimeline Unit Tests")
+class CompressedTimelineTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private final CurrencyCodes currencies = new CurrencyCodes();
+
+    @Test
+    @DisplayName("Should answer like the resolved timeline around every boundary, across many blocks")
+    void shouldMatchResolvedTimeline() {
+        // Given - a yearly base price with stacked promotions, a gap, and dates with sub-second precision
+        SplittableRandom random = new SplittableRandom(42);
+        List<Price> prices = new ArrayList<>();
+        prices.add(price(1, 0, START, START.plusDays(200).minusSeconds(1), "49.99", "EUR", 1L));
+        prices.add(price(1, 0, START.plusDays(220), START.plusDays(365).minusSeconds(1), "52.00", "EUR", 2L));
+        for (int i = 0; i < 120; i++) {
+            LocalDateTime start = START.plusMinutes(random.nextInt(365 * 24 * 60))
+                    .plusNanos(random.nextInt(3) * 250_000_000L);
+            prices.add(price(2 + random.nextInt(5), 1 + random.nextInt(3), start,
+                    start.plusHours(1 + random.nextInt(96)), random.nextInt(1000) + ".9" + random.nextInt(10),
+                    i % 7 == 0 ? "USD" : "EUR", i % 5 == 0 ? null : 100L + i));
+        }
+        PriceTimeline timeline = PriceTimeline.resolve(KEY, prices);
+
+        // When
+        CompressedTimeline compressed = CompressedTimeline.encode(timeline, currencies);
+
+        // Then
+        assertThat(compressed.segmentCount()).isEqualTo(timeline.segments().size())
+                .isGreaterThan(10 * CompressedTimeline.BLOCK_SIZE);
+        assertThat(compressed.priceCount())
+                .isEqualTo(timeline.segments().stream().map(PriceSegment::price).distinct().count());
+        for (PriceSegment segment : timeline.segments()) {
+            for (LocalDateTime date : List.of(segment.start().minusNanos(1), segment.start(),
+                    segment.start().plusNanos(1), segment.end().minusNanos(1), segment.end(),
+                    segment.end().plusSeconds(1))) {
+                assertThat(compressed.priceAt(KEY, date, currencies)).as("price at %s", date)
+                        .isEqualTo(timeline.priceAt(date));
+            }
+        }
+        assertThat(compressed.priceAt(KEY, START.minusYears(1), currencies)).isEmpty();
+        assertThat(compressed.priceAt(KEY, START.plusYears(2), currencies)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep amounts exactly, beyond the range of a long included, and encode empty timelines")
+    void shouldKeepAmountsExactly() {
+        // Given
+        Price huge = price(1, 0, START, START.plusDays(1), "12345678901234567890.12", "EUR", 7L);
+        Price scaled = price(2, 1, START.plusHours(1), START.plusHours(2), "10.500", "GBP", 8L);
+        PriceTimeline timeline = PriceTimeline.resolve(KEY, List.of(huge, scaled));
+
+        // When
+        CompressedTimeline compressed = CompressedTimeline.encode(timeline, currencies);
+        CompressedTimeline empty = CompressedTimeline.encode(PriceTimeline.resolve(KEY, List.of()), currencies);
+
+        // Then
+        assertThat(compressed.priceAt(KEY, START, currencies)).contains(huge);
+        assertThat(compressed.priceAt(KEY, START.plusMinutes(90), currencies)).contains(scaled);
+        assertThat(compressed.priceAt(KEY, START.plusMinutes(90), currencies).orElseThrow().price().scale())
+                .isEqualTo(3);
+        assertThat(empty.segmentCount()).isZero();
+        assertThat(empty.priceAt(KEY, START, currencies)).isEmpty();
+    }
+
+    private static Price price(int priceList, int priority, LocalDateTime start, LocalDateTime end, String amount,
+                               String currency, Long id) {
+        return new Price(KEY.productId(), KEY.brandId(), priceList, start, end, new BigDecimal(amount), currency,
+                priority, id);
+    }
+}
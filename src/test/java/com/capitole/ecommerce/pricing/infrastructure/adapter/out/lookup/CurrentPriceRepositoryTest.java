@@ -0,0 +1,282 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CurrentPriceRepository.
+ * The scheduler only records the tasks so that the test fires the boundaries itself,
+ * with the clock moved to the boundary first.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentPriceRepository Unit Tests")
+class CurrentPriceRepositoryTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    private static final Price BASE = new Price(35455, 1, 1,
+            LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            new BigDecimal("35.50"), "EUR", 0);
+    private static final Price PROMOTION = new Price(35455, 1, 2,
+            LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+            new BigDecimal("25.45"), "EUR", 1);
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final RecordingScheduler scheduler = new RecordingScheduler();
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2020, 6, 14, 10, 0));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CurrentPriceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CurrentPriceRepository(delegate, scheduler, clock,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should answer lookups near now from memory after the first one")
+    void shouldAnswerNearNowFromMemory() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(BASE, PROMOTION));
+
+        // When
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+        Optional<Price> price = repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0, 3)));
+
+        // Then
+        assertThat(price).map(Price::priceList).contains(1);
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+        verify(delegate, never()).findApplicablePrice(any());
+        assertThat(calls("miss")).isEqualTo(1);
+        assertThat(calls("hit")).isEqualTo(1);
+        assertThat(scheduler.tasks).singleElement()
+                .satisfies(task -> assertThat(task.at).isEqualTo(instant(LocalDateTime.of(2020, 6, 14, 15, 0))));
+    }
+
+    @Test
+    @DisplayName("Should take entries from the timeline engine below instead of loading the prices again")
+    void shouldReadTimelinesOfTimelineEngine() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(BASE, PROMOTION));
+        TimelinePriceRepository timelines = new TimelinePriceRepository(delegate, Duration.ofMinutes(1), meterRegistry);
+        repository = new CurrentPriceRepository(timelines, scheduler, clock,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), 100, meterRegistry);
+
+        // When - a miss, a historical lookup answered by the engine and an advance at the next boundary
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+        Optional<Price> historical = repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 16, 0)));
+        fireNext();
+
+        // Then - the prices were loaded once, by the engine
+        assertThat(historical).map(Price::priceList).contains(2);
+        assertThat(repository.findApplicablePrice(query(LocalDateTime.now(clock))))
+                .map(Price::priceList).contains(2);
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+        assertThat(timelines.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send lookups of historical or future dates to the next layer")
+    void shouldBypassDatesFarFromNow() {
+        // Given
+        LocalDateTime yesterday = LocalDateTime.of(2020, 6, 13, 10, 0);
+        when(delegate.findApplicablePrice(query(yesterday))).thenReturn(Optional.empty());
+
+        // When
+        Optional<Price> price = repository.findApplicablePrice(query(yesterday));
+
+        // Then
+        assertThat(price).isEmpty();
+        verify(delegate, never()).findPrices(any(), any());
+        assertThat(repository.size()).isZero();
+        assertThat(calls("bypass")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should advance the current price at every boundary")
+    void shouldAdvanceAtBoundaries() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(BASE, PROMOTION));
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+
+        // When
+        fireNext();
+
+        // Then
+        assertThat(repository.findApplicablePrice(query(LocalDateTime.now(clock))))
+                .map(Price::priceList).contains(2);
+        assertThat(scheduler.tasks).singleElement()
+                .satisfies(task -> assertThat(task.at)
+                        .isEqualTo(instant(LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1))));
+        assertThat(meterRegistry.get("pricing.lookup.current.advances").counter().count()).isEqualTo(1);
+        assertThat(calls("hit")).isEqualTo(1);
+        assertThat(repository.memoryBudget().getBytes()).isEqualTo(MemoryFootprint.of(
+                PriceTimeline.resolve(KEY, List.of(BASE, PROMOTION)).changeAt(LocalDateTime.now(clock))));
+        assertThat(repository.memoryBudget().getPriceRows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the boundary without reloading when the task fires early")
+    void shouldRescheduleWhenFiredEarly() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(BASE, PROMOTION));
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+        ScheduledTask task = scheduler.tasks.remove(0);
+        clock.now = task.at.minusMillis(50);
+
+        // When
+        task.task.run();
+
+        // Then
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+        assertThat(scheduler.tasks).singleElement().satisfies(next -> assertThat(next.at).isEqualTo(task.at));
+    }
+
+    @Test
+    @DisplayName("Should re-resolve a written key and cancel its previous boundary task")
+    void shouldRefreshWrittenKeys() {
+        // Given
+        Price override = new Price(35455, 1, 9,
+                LocalDateTime.of(2020, 6, 14, 9, 0), LocalDateTime.of(2020, 6, 14, 11, 0),
+                new BigDecimal("9.99"), "EUR", 5);
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenReturn(List.of(BASE, PROMOTION))
+                .thenReturn(List.of(BASE, PROMOTION, override));
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+
+        // When
+        repository.refresh(Set.of(KEY, new PriceKey(1, 1)));
+
+        // Then
+        assertThat(repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0))))
+                .map(Price::priceList).contains(9);
+        assertThat(scheduler.tasks.get(0).cancelled).isTrue();
+        assertThat(scheduler.tasks.get(1).at).isEqualTo(instant(LocalDateTime.of(2020, 6, 14, 11, 0).plusNanos(1)));
+        verify(delegate, never()).findPrices(new PriceKey(1, 1), Deadline.NONE);
+    }
+
+    @Test
+    @DisplayName("Should load a refresh outside the map and drop the entry if it was replaced meanwhile")
+    void shouldDropEntryReplacedWhileRefreshing() {
+        // Given - a second refresh of the key completes while the first one is loading
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenReturn(List.of(BASE, PROMOTION))
+                .thenAnswer(invocation -> {
+                    repository.refresh(Set.of(KEY));
+                    return List.of(BASE);
+                })
+                .thenReturn(List.of(BASE, PROMOTION));
+        repository.findApplicablePrice(query(LocalDateTime.of(2020, 6, 14, 10, 0)));
+
+        // When
+        repository.refresh(Set.of(KEY));
+
+        // Then
+        assertThat(repository.size()).isZero();
+        assertThat(scheduler.tasks).allMatch(task -> task.cancelled);
+        assertThat(repository.memoryBudget().getBytes()).isZero();
+        verify(delegate, times(3)).findPrices(KEY, Deadline.NONE);
+    }
+
+    private static PriceQuery query(LocalDateTime date) {
+        return new PriceQuery(date, 35455, 1);
+    }
+
+    private static Instant instant(LocalDateTime date) {
+        return date.atZone(ZONE).toInstant();
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("pricing.lookup.current.calls").tag("result", result).counter().count();
+    }
+
+    private void fireNext() {
+        ScheduledTask next = scheduler.tasks.remove(0);
+        clock.now = next.at;
+        next.task.run();
+    }
+
+    private static final class ScheduledTask implements BoundaryScheduler.Scheduled {
+
+        private final Instant at;
+        private final Runnable task;
+        private boolean cancelled;
+
+        private ScheduledTask(Instant at, Runnable task) {
+            this.at = at;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class RecordingScheduler implements BoundaryScheduler {
+
+        private final List<ScheduledTask> tasks = new ArrayList<>();
+
+        @Override
+        public Scheduled schedule(Instant at, Runnable task) {
+            ScheduledTask scheduled = new ScheduledTask(at, task);
+            tasks.add(scheduled);
+            return scheduled;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(LocalDateTime now) {
+            this.now = now.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
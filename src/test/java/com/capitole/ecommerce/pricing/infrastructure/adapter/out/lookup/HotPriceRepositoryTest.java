@@ -0,0 +1,140 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HotPriceRepository and its Space-Saving tracker.
+ * The pinned set is recomputed explicitly instead of on the background thread.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HotPriceRepository Unit Tests")
+class HotPriceRepositoryTest {
+
+    private static final PriceKey HOT_KEY = new PriceKey(35455, 1);
+    private static final PriceKey COLD_KEY = new PriceKey(35456, 1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should pin the keys looked up often enough and answer them without the next layer")
+    void shouldPinHotKeys() {
+        // Given
+        HotPriceRepository repository = new HotPriceRepository(delegate, 16, 4, 10, meterRegistry);
+        when(delegate.findPrices(HOT_KEY)).thenReturn(List.of(price("35.50")));
+        lookUp(repository, HOT_KEY, 20);
+        lookUp(repository, COLD_KEY, 3);
+
+        // When
+        repository.repin();
+        Optional<Price> price = repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // Then
+        assertThat(price).map(Price::price).contains(new BigDecimal("35.50"));
+        assertThat(repository.pinnedKeys()).containsExactly(HOT_KEY);
+        verify(delegate, times(20)).findApplicablePrice(argThat(query -> query.key().equals(HOT_KEY)));
+        verify(delegate, never()).findPrices(COLD_KEY);
+        assertThat(meterRegistry.get("pricing.lookup.hot.calls").tag("result", "pinned").counter().count())
+                .isEqualTo(1);
+        assertThat(repository.memoryBudget().getBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should re-resolve pinned keys on refresh and unpin keys that stop being looked up")
+    void shouldRefreshAndUnpin() {
+        // Given
+        HotPriceRepository repository = new HotPriceRepository(delegate, 16, 4, 10, meterRegistry);
+        when(delegate.findPrices(HOT_KEY))
+                .thenReturn(List.of(price("35.50")))
+                .thenReturn(List.of(price("20.00")));
+        lookUp(repository, HOT_KEY, 15);
+        repository.repin();
+
+        // When
+        repository.refresh(Set.of(HOT_KEY, COLD_KEY));
+
+        // Then
+        assertThat(repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("20.00"));
+        verify(delegate, never()).findPrices(COLD_KEY);
+
+        // When: counts are halved at every recomputation, so an idle key drops below the threshold
+        repository.repin();
+
+        // Then
+        assertThat(repository.pinnedKeys()).isEmpty();
+        assertThat(repository.memoryBudget().getBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pin a key that qualifies even when a key ranked above it does not")
+    void shouldSkipUncertainKeysRankedFirst() {
+        // Given: with two counters, every new key takes over the smaller one and inherits its count as error,
+        // so a key arriving after eleven distinct ones ranks first with a count of 15 but a guaranteed count of 4
+        HotPriceRepository repository = new HotPriceRepository(delegate, 2, 2, 10, meterRegistry);
+        when(delegate.findPrices(HOT_KEY)).thenReturn(List.of(price("35.50")));
+        lookUp(repository, HOT_KEY, 12);
+        for (int i = 0; i < 11; i++) {
+            lookUp(repository, new PriceKey(50000 + i, 1), 1);
+        }
+        lookUp(repository, COLD_KEY, 4);
+
+        // When
+        repository.repin();
+
+        // Then
+        assertThat(repository.pinnedKeys()).containsExactly(HOT_KEY);
+    }
+
+    @Test
+    @DisplayName("Should keep the heavy hitters with bounded counters whatever the number of distinct keys")
+    void shouldTrackHeavyHittersWithBoundedCounters() {
+        // Given
+        SpaceSaving<Integer> tracker = new SpaceSaving<>(8);
+
+        // When: one key in four is the hot one, the rest never repeat
+        for (int i = 0; i < 4000; i++) {
+            tracker.offer(i % 4 == 0 ? -1 : i);
+        }
+
+        // Then
+        List<SpaceSaving.HeavyHitter<Integer>> top = tracker.top(3);
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).key()).isEqualTo(-1);
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(1000);
+        assertThat(top.get(0).guaranteedCount()).isLessThanOrEqualTo(1000).isPositive();
+        assertThat(tracker.observed()).isEqualTo(4000);
+    }
+
+    private static void lookUp(HotPriceRepository repository, PriceKey key, int times) {
+        for (int i = 0; i < times; i++) {
+            repository.findApplicablePrice(new PriceQuery(DATE, key.productId(), key.brandId()));
+        }
+    }
+
+    private static Price price(String amount) {
+        return new Price(35455, 1, 1, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal(amount), "EUR", 0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+/**
+ * Branchless binary search: every step halves the window with a conditional move instead of a branch,
+ * so the loop runs the same log2(n) steps for every key and never mispredicts.
+ */
+public final class ScalarBoundarySearch implements BoundarySearch {
+
+    @Override
+    public void lastAtOrBefore(long[] boundaries, long[] keys, int[] indexes) {
+        int length = boundaries.length;
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = length == 0 ? -1 : lastAtOrBefore(boundaries, 0, length, keys[i]);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Halves the window until one boundary is left. Boundaries before the window always are at or before the key,
+     * boundaries after it past the key.
+     */
+    private static int lastAtOrBefore(long[] boundaries, int from, int length, long key) {
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = boundaries[base + half] <= key ? base + half : base;
+            length -= half;
+        }
+        return boundaries[base] <= key ? base : base - 1;
+    }
+}
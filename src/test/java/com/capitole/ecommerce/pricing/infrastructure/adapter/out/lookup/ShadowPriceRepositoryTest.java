@@ -0,0 +1,121 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShadowPriceRepository.
+ * Every lookup is sampled; closing the repository waits for the queued comparisons, so the outcome is final.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShadowPriceRepository Unit Tests")
+class ShadowPriceRepositoryTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    private PriceRepository primary;
+
+    @Mock
+    private PriceRepository shadow;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should answer from the primary engine and record where the shadow engine disagrees")
+    void shouldRecordMismatches() throws Exception {
+        // Given - same winner with an equal amount at another scale, then another price list and window
+        PriceQuery matching = new PriceQuery(DATE, 35455, 1, Deadline.after(Duration.ofSeconds(1)));
+        PriceQuery differing = new PriceQuery(DATE, 35455, 2);
+        PriceQuery missing = new PriceQuery(DATE, 35455, 3);
+        when(primary.findApplicablePrice(matching)).thenReturn(Optional.of(price(1, 2, "35.50")));
+        when(shadow.findApplicablePrice(matching.withDeadline(Deadline.NONE)))
+                .thenReturn(Optional.of(price(1, 2, "35.5")));
+        when(primary.findApplicablePrice(differing)).thenReturn(Optional.of(price(2, 2, "25.45")));
+        when(shadow.findApplicablePrice(differing)).thenReturn(Optional.of(price(1, 3, "25.45")));
+        when(primary.findApplicablePrice(missing)).thenReturn(Optional.empty());
+        when(shadow.findApplicablePrice(missing)).thenReturn(Optional.of(price(1, 2, "35.50")));
+        ShadowPriceRepository repository = repository(1.0, 10);
+
+        // When
+        Optional<Price> answer = repository.findApplicablePrice(differing);
+        repository.findApplicablePrice(matching);
+        repository.findApplicablePrice(missing);
+        repository.close();
+
+        // Then
+        assertThat(answer).map(Price::priceList).contains(2);
+        ShadowReadReport report = repository.report();
+        assertThat(report.compared()).isEqualTo(3);
+        assertThat(report.mismatched()).isEqualTo(2);
+        assertThat(report.mismatches()).extracting(ShadowReadReport.Mismatch::fields)
+                .containsExactly(List.of("presence"), List.of("priceList", "validity"));
+        assertThat(report.mismatches().get(1).brandId()).isEqualTo(2);
+        assertThat(meterRegistry.get("pricing.lookup.shadow.mismatch.rate").gauge().value())
+                .isEqualTo(2 / 3.0);
+        assertThat(meterRegistry.get("pricing.lookup.shadow.latency").tag("role", "shadow").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop comparisons beyond the queue instead of delaying lookups, and skip unsampled ones")
+    void shouldDropWhenQueueIsFull() throws Exception {
+        // Given - the shadow engine blocks the comparing thread until released
+        CountDownLatch release = new CountDownLatch(1);
+        when(primary.findApplicablePrice(any())).thenReturn(Optional.empty());
+        when(shadow.findApplicablePrice(any())).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+        ShadowPriceRepository repository = repository(1.0, 2);
+        ShadowPriceRepository unsampled = new ShadowPriceRepository(primary, shadow, "timeline", "query", 0.0, 2, 10,
+                Clock.systemUTC(), new SimpleMeterRegistry());
+
+        // When - one comparison runs, two wait in the queue, the rest are dropped
+        for (int i = 0; i < 10; i++) {
+            repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        }
+        unsampled.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        release.countDown();
+        repository.close();
+        unsampled.close();
+
+        // Then
+        ShadowReadReport report = repository.report();
+        assertThat(report.compared() + report.dropped()).isEqualTo(10);
+        assertThat(report.dropped()).isGreaterThanOrEqualTo(7);
+        assertThat(report.mismatched()).isZero();
+        verify(primary, times(11)).findApplicablePrice(any());
+        verify(shadow, times((int) report.compared())).findApplicablePrice(any());
+    }
+
+    private ShadowPriceRepository repository(double sampleRate, int queueCapacity) {
+        return new ShadowPriceRepository(primary, shadow, "timeline", "query", sampleRate, queueCapacity, 10,
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    private static Price price(int priceList, int endDay, String amount) {
+        return new Price(35455, 1, priceList, LocalDateTime.of(2020, 6, 14, 0, 0),
+                LocalDateTime.of(2020, 6, endDay + 12, 23, 59, 59), new BigDecimal(amount), "EUR", 0, null);
+    }
+}
@@ -0,0 +1,240 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryBudget;
+import com.capitole.ecommerce.pricing.infrastructure.memory.MemoryFootprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TimelinePriceRepository.
+ * The delegate stands for the database: changing what it returns simulates a committed write.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelinePriceRepository Unit Tests")
+class TimelinePriceRepositoryTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final PriceKey OTHER_KEY = new PriceKey(35456, 1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should load a timeline once and answer later lookups from memory")
+    void shouldAnswerFromMemory() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price(35455, 1, "35.50", 0)));
+        TimelinePriceRepository repository = repository(Duration.ofMinutes(1));
+
+        // When
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        repository.findApplicablePrice(new PriceQuery(DATE.plusHours(1), 35455, 1));
+
+        // Then
+        assertThat(repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("35.50"));
+        verify(delegate, times(1)).findPrices(KEY, Deadline.NONE);
+        verify(delegate, never()).findApplicablePrice(any());
+    }
+
+    @Test
+    @DisplayName("Should re-resolve only the written keys on refresh")
+    void shouldRefreshOnlyWrittenKeys() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenReturn(List.of(price(35455, 1, "35.50", 0)))
+                .thenReturn(List.of(price(35455, 1, "35.50", 0), price(35455, 1, "20.00", 1)));
+        when(delegate.findPrices(OTHER_KEY, Deadline.NONE)).thenReturn(List.of(price(35456, 1, "10.00", 0)));
+        TimelinePriceRepository repository = repository(Duration.ofMinutes(1));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35456, 1));
+
+        // When
+        repository.refresh(Set.of(KEY));
+
+        // Then
+        assertThat(repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("20.00"));
+        verify(delegate, times(2)).findPrices(KEY, Deadline.NONE);
+        verify(delegate, times(1)).findPrices(OTHER_KEY, Deadline.NONE);
+        assertThat(loads("refresh")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not load keys that are not in memory on refresh")
+    void shouldIgnoreUnknownKeysOnRefresh() {
+        TimelinePriceRepository repository = repository(Duration.ofMinutes(1));
+
+        repository.refresh(Set.of(KEY));
+
+        verifyNoInteractions(delegate);
+        assertThat(repository.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep a timeline loaded while a write was committed")
+    void shouldDiscardLoadRacingWithWrite() {
+        // Given
+        TimelinePriceRepository repository = repository(Duration.ofMinutes(1));
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenAnswer(invocation -> {
+            // The write commits and is refreshed while this load is still running
+            repository.refresh(Set.of(KEY));
+            return List.of(price(35455, 1, "35.50", 0));
+        });
+
+        // When
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // Then
+        assertThat(repository.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load a refresh outside the map and drop the timeline if it was replaced meanwhile")
+    void shouldDropTimelineReplacedWhileRefreshing() {
+        // Given - a second refresh of the key completes while the first one is loading
+        TimelinePriceRepository repository = repository(Duration.ofMinutes(1));
+        when(delegate.findPrices(KEY, Deadline.NONE))
+                .thenReturn(List.of(price(35455, 1, "35.50", 0)))
+                .thenAnswer(invocation -> {
+                    repository.refresh(Set.of(KEY));
+                    return List.of(price(35455, 1, "35.50", 0));
+                })
+                .thenReturn(List.of(price(35455, 1, "35.50", 0), price(35455, 1, "20.00", 1)));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // When
+        repository.refresh(Set.of(KEY));
+
+        // Then
+        assertThat(repository.size()).isZero();
+        assertThat(repository.memoryBudget().getBytes()).isZero();
+        assertThat(loads("refresh")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload timelines older than the maximum staleness")
+    void shouldReloadStaleTimelines() {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price(35455, 1, "35.50", 0)));
+        TimelinePriceRepository repository = repository(Duration.ZERO);
+
+        // When
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // Then
+        verify(delegate, times(2)).findPrices(KEY, Deadline.NONE);
+        assertThat(loads("miss")).isEqualTo(1);
+        assertThat(loads("expired")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should account the estimated size of the timelines it keeps")
+    void shouldAccountTimelines() {
+        // Given
+        Price price = price(35455, 1, "35.50", 0);
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price));
+        TimelinePriceRepository repository = repository(MemoryBudget.unlimited());
+
+        // When
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // Then
+        assertThat(repository.memoryBudget().getBytes())
+                .isEqualTo(MemoryFootprint.of(PriceTimeline.resolve(KEY, List.of(price))));
+        assertThat(repository.memoryBudget().getPriceRows()).isEqualTo(1);
+        assertThat(repository.memoryUsage().entries()).isEqualTo(1);
+        assertThat(repository.memoryUsage().negativeEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer but not keep new timelines past a refusing budget")
+    void shouldRefusePastBudget() {
+        // Given: room for exactly one timeline
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price(35455, 1, "35.50", 0)));
+        when(delegate.findPrices(OTHER_KEY, Deadline.NONE)).thenReturn(List.of(price(35456, 1, "10.00", 0)));
+        long oneTimeline = MemoryFootprint.of(PriceTimeline.resolve(KEY, List.of(price(35455, 1, "35.50", 0))));
+        TimelinePriceRepository repository = repository(new MemoryBudget(oneTimeline, MemoryBudget.Action.REFUSE));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+
+        // When
+        Optional<Price> refused = repository.findApplicablePrice(new PriceQuery(DATE, 35456, 1));
+
+        // Then
+        assertThat(refused).map(Price::price).contains(new BigDecimal("10.00"));
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.memoryBudget().getRefusals()).isEqualTo(1);
+        assertThat(repository.memoryBudget().getBytes()).isEqualTo(oneTimeline);
+    }
+
+    @Test
+    @DisplayName("Should evict timelines back under the budget")
+    void shouldEvictPastBudget() {
+        // Given: room for one and a half timelines
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(price(35455, 1, "35.50", 0)));
+        when(delegate.findPrices(OTHER_KEY, Deadline.NONE)).thenReturn(List.of(price(35456, 1, "10.00", 0)));
+        long oneTimeline = MemoryFootprint.of(PriceTimeline.resolve(KEY, List.of(price(35455, 1, "35.50", 0))));
+        TimelinePriceRepository repository = repository(
+                new MemoryBudget(oneTimeline * 3 / 2, MemoryBudget.Action.EVICT));
+
+        // When
+        repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1));
+        repository.findApplicablePrice(new PriceQuery(DATE, 35456, 1));
+
+        // Then
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.memoryBudget().getEvictions()).isEqualTo(1);
+        assertThat(repository.memoryBudget().getBytes()).isEqualTo(oneTimeline);
+    }
+
+    @Test
+    @DisplayName("Should forward writes to the next layer")
+    void shouldForwardWrites() {
+        Price price = price(35455, 1, "35.50", 0);
+        when(delegate.save(price)).thenReturn(price.withId(1L));
+
+        assertThat(repository(Duration.ofMinutes(1)).save(price).id()).isEqualTo(1L);
+    }
+
+    private TimelinePriceRepository repository(Duration maxStaleness) {
+        return new TimelinePriceRepository(delegate, maxStaleness, meterRegistry);
+    }
+
+    private TimelinePriceRepository repository(MemoryBudget budget) {
+        return new TimelinePriceRepository(delegate, Duration.ofMinutes(1), budget, meterRegistry);
+    }
+
+    private double loads(String reason) {
+        return meterRegistry.get("pricing.lookup.timeline.loads").tag("reason", reason).counter().count();
+    }
+
+    private static Price price(int productId, int brandId, String amount, int priority) {
+        return new Price(productId, brandId, 1 + priority,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal(amount), "EUR", priority);
+    }
+}
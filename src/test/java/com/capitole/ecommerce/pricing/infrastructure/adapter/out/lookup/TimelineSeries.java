@@ -0,0 +1,87 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Timeline laid out for time-series lookups: the applicable price of one product and brand at many dates at once.
+ * Segment boundaries are kept as primitive epoch nanoseconds so that a {@link BoundarySearch} kernel can resolve
+ * the whole batch of dates against them; answers are the same as {@link PriceTimeline#priceAt} date by date.
+ * <p>
+ * Epoch nanoseconds cover the years 1677 to 2262. Boundaries beyond that range saturate (an open-ended
+ * 9999-12-31 end date still sorts after every date in range), and dates beyond it are answered by the timeline.
+ */
+public final class TimelineSeries {
+
+    private final PriceTimeline timeline;
+    private final BoundarySearch search;
+    private final long[] starts;
+    private final long[] ends;
+
+    public TimelineSeries(PriceTimeline timeline, BoundarySearch search) {
+        this.timeline = timeline;
+        this.search = search;
+        List<PriceSegment> segments = timeline.segments();
+        this.starts = new long[segments.size()];
+        this.ends = new long[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            starts[i] = saturatedNanos(segments.get(i).start());
+            ends[i] = saturatedNanos(segments.get(i).end());
+        }
+    }
+
+    /**
+     * @param timeline The resolved timeline
+     * @return The series, searched with the best kernel available
+     */
+    public static TimelineSeries of(PriceTimeline timeline) {
+        return new TimelineSeries(timeline, BoundarySearch.best());
+    }
+
+    /**
+     * @param dates The dates to look up, in any order
+     * @return The applicable price at each date, in the order of the dates
+     */
+    public List<Optional<Price>> pricesAt(List<LocalDateTime> dates) {
+        long[] keys = new long[dates.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = saturatedNanos(dates.get(i));
+        }
+        int[] indexes = new int[keys.length];
+        search.lastAtOrBefore(starts, keys, indexes);
+
+        List<PriceSegment> segments = timeline.segments();
+        List<Optional<Price>> prices = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            int index = indexes[i];
+            if (key == Long.MIN_VALUE || key == Long.MAX_VALUE) {
+                prices.add(timeline.priceAt(dates.get(i)));
+            } else {
+                prices.add(index >= 0 && key < ends[index]
+                        ? Optional.of(segments.get(index).price())
+                        : Optional.empty());
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Dates mapped to either extreme are answered by the timeline, so an exact extreme is harmless.
+     */
+    private static long saturatedNanos(LocalDateTime date) {
+        long seconds = date.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, 1_000_000_000L), date.getNano());
+        } catch (ArithmeticException ex) {
+            return seconds < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
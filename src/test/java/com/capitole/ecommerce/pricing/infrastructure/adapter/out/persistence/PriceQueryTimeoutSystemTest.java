@@ -0,0 +1,99 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * System tests for the query timeout derived from the caller's deadline, through the timeline engine over
+ * coalescing, whose whole-product loads carry the deadline too. A trigger makes every read of the prices table run a query that takes minutes
+ * unless cancelled, so only the JDBC timeout can end the lookup in time. The context has a database of its own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querytimeoutdb",
+        "pricing.lookup.engine=timeline"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Price Query Timeout System Tests")
+class PriceQueryTimeoutSystemTest {
+
+    private static volatile boolean slow;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TRIGGER slow_price_reads BEFORE SELECT ON prices CALL \""
+                + SlowSelectTrigger.class.getName() + "\"");
+        slow = true;
+    }
+
+    @AfterEach
+    void tearDown() {
+        slow = false;
+        jdbcTemplate.execute("DROP TRIGGER slow_price_reads");
+    }
+
+    @Test
+    @DisplayName("Should cancel a slow load of a product at the caller's deadline and return 504")
+    void shouldCancelSlowQueryAtDeadline() throws Exception {
+        // Given - a product the timeline engine has not loaded yet
+        long start = System.nanoTime();
+
+        // When / Then - the budget rounds up to a one-second statement timeout
+        mockMvc.perform(get("/api/v1/prices")
+                        .header("X-Request-Timeout", "300")
+                        .param("applicationDate", "2020-06-14T10:00:00")
+                        .param("productId", "35456")
+                        .param("brandId", "1"))
+                .andExpect(status().isGatewayTimeout());
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+        assertThat(meterRegistry.get("pricing.deadline.exceeded").tag("stage", "database query").counter().count())
+                .isEqualTo(1);
+    }
+
+    /**
+     * Runs a query over ten billion generated rows before every read of the prices table while the test runs.
+     * H2 checks the statement timeout of the session while iterating the rows.
+     */
+    public static class SlowSelectTrigger implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            if (!slow) {
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)")) {
+                rows.next();
+            }
+        }
+    }
+}
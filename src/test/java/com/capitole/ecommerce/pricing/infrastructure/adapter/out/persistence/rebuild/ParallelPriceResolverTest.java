@@ -0,0 +1,79 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParallelPriceResolver.
+ * The reader is mocked, so that the split and merge of the partitions are exercised without a database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParallelPriceResolver Unit Tests")
+class ParallelPriceResolverTest {
+
+    @Mock
+    private PricePartitionReader reader;
+
+    private final PartitionSink sink = timelines -> {
+    };
+
+    @Test
+    @DisplayName("Should resolve every partition once, on the pool threads, and sum their counts")
+    void shouldResolveEveryPartitionAndSumCounts() {
+        // Given
+        List<ProductRange> ranges = List.of(
+                new ProductRange(Integer.MIN_VALUE, 10, 40),
+                new ProductRange(11, 20, 40),
+                new ProductRange(21, 35, 40),
+                new ProductRange(36, 50, 40),
+                new ProductRange(51, Integer.MAX_VALUE, 40));
+        when(reader.partition(12)).thenReturn(ranges);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(reader.read(any(), eq(100), eq(sink))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            ProductRange range = invocation.getArgument(0);
+            return new ResolveStats(1, 2, range.prices(), 3);
+        });
+
+        // When
+        ResolveStats stats = new ParallelPriceResolver(reader, 3, 4, 100).resolve(sink);
+
+        // Then
+        assertThat(stats).isEqualTo(new ResolveStats(5, 10, 200, 15));
+        ranges.forEach(range -> verify(reader).read(range, 100, sink));
+        assertThat(threads).allMatch(name -> name.startsWith("ForkJoinPool-"));
+    }
+
+    @Test
+    @DisplayName("Should read a single partition when the table cannot be split")
+    void shouldReadSinglePartition() {
+        when(reader.partition(anyInt())).thenReturn(List.of(ProductRange.ALL));
+        when(reader.read(ProductRange.ALL, 10, sink)).thenReturn(ResolveStats.EMPTY);
+
+        ResolveStats stats = new ParallelPriceResolver(reader, 2, 1, 10).resolve(sink);
+
+        assertThat(stats).isEqualTo(ResolveStats.EMPTY);
+        verify(reader).partition(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive parallelism")
+    void shouldRejectInvalidParallelism() {
+        assertThatThrownBy(() -> new ParallelPriceResolver(reader, 0, 4, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
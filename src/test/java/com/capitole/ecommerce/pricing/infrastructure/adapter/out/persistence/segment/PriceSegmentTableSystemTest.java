@@ -0,0 +1,231 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.segment;
+
+import com.capitole.ecommerce.pricing.application.port.in.ManagePricesUseCase;
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceSegment;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.SegmentPriceRepository;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PriceIndexRebuilder;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.RebuildReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * System tests for the price_segments table: backfilled by the V4 migration
+ * and rebuilt in the transaction of every price write, or as a whole by the parallel rebuild.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Price Segment Table System Tests")
+class PriceSegmentTableSystemTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+
+    @Autowired
+    private PriceSegmentTable priceSegmentTable;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private ManagePricesUseCase managePricesUseCase;
+
+    @Autowired
+    private PriceIndexRebuilder priceIndexRebuilder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should store the same segments as resolving the sample prices")
+    void shouldBackfillSampleData() {
+        PriceTimeline stored = priceSegmentTable.findTimeline(KEY);
+
+        assertThat(stored).isEqualTo(PriceTimeline.resolve(KEY, priceRepository.findPrices(KEY)));
+        assertThat(stored.segments()).extracting(segment -> segment.price().priceList())
+                .containsExactly(1, 2, 1, 3, 1, 4);
+    }
+
+    @Test
+    @DisplayName("Should answer the specification scenarios with a single segment")
+    void shouldAnswerSpecificationScenarios() {
+        SegmentPriceRepository repository = new SegmentPriceRepository(priceRepository, priceSegmentTable);
+
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 14, 10, 0))).contains(1);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 14, 16, 0))).contains(2);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 14, 21, 0))).contains(1);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 15, 10, 0))).contains(3);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 16, 21, 0))).contains(4);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 14, 18, 30))).contains(2);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1))).contains(1);
+        assertThat(priceList(repository, LocalDateTime.of(2020, 6, 13, 23, 59))).isEmpty();
+        assertThat(priceList(repository, LocalDateTime.of(2021, 1, 1, 0, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the segments of a product in the transaction that writes its prices")
+    void shouldRebuildSegmentsOnWrite() {
+        PriceKey key = new PriceKey(40002, 1);
+        Price created = managePricesUseCase.createPrice(new Price(40002, 1, 7,
+                LocalDateTime.of(2020, 6, 16, 10, 0), LocalDateTime.of(2020, 6, 16, 20, 0),
+                new BigDecimal("19.99"), "EUR", 0));
+        try {
+            assertThat(priceSegmentTable.findTimeline(key).segments())
+                    .singleElement()
+                    .satisfies(segment -> {
+                        assertThat(segment.start()).isEqualTo(LocalDateTime.of(2020, 6, 16, 10, 0));
+                        assertThat(segment.end()).isEqualTo(LocalDateTime.of(2020, 6, 16, 20, 0, 0, 1));
+                        assertThat(segment.price().id()).isEqualTo(created.id());
+                    });
+        } finally {
+            managePricesUseCase.deletePrice(created.id());
+        }
+
+        assertThat(priceSegmentTable.findTimeline(key).segments()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM price_segments WHERE product_id = 40002", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serialize concurrent writers of the same product and brand")
+    void shouldSerializeConcurrentWriters() throws Exception {
+        // Given: a first writer that has re-resolved the key but not committed yet,
+        // and a second writer of an overlapping price starting meanwhile
+        PriceKey key = new PriceKey(40004, 1);
+        CountDownLatch firstResolved = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Price> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Price price = managePricesUseCase.createPrice(new Price(40004, 1, 1,
+                    LocalDateTime.of(2020, 6, 16, 10, 0), LocalDateTime.of(2020, 6, 16, 20, 0),
+                    new BigDecimal("19.99"), "EUR", 0));
+            // Runs after the segment maintainer, which was registered by the write above
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    firstResolved.countDown();
+                    try {
+                        secondCommitted.await(500, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            return price;
+        }));
+        assertThat(firstResolved.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Price second = managePricesUseCase.createPrice(new Price(40004, 1, 2,
+                LocalDateTime.of(2020, 6, 16, 12, 0), LocalDateTime.of(2020, 6, 16, 14, 0),
+                new BigDecimal("9.99"), "EUR", 1));
+        secondCommitted.countDown();
+        Price created = first.get(5, TimeUnit.SECONDS);
+
+        // Then: the second writer waited for the first one and resolved both prices
+        try {
+            assertThat(priceSegmentTable.findTimeline(key))
+                    .isEqualTo(PriceTimeline.resolve(key, List.of(created, second)));
+            assertThat(priceSegmentTable.findTimeline(key).segments())
+                    .extracting(segment -> segment.price().priceList())
+                    .containsExactly(1, 2, 1);
+        } finally {
+            managePricesUseCase.deletePrice(second.id());
+            managePricesUseCase.deletePrice(created.id());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild the whole table in parallel, dropping segments of products without prices")
+    void shouldRebuildWholeTable() {
+        // Given: segments that drifted from the prices, as after an import straight into the database
+        PriceTimeline expected = PriceTimeline.resolve(KEY, priceRepository.findPrices(KEY));
+        Price orphan = new Price(40003, 1, 1, LocalDateTime.of(2020, 6, 16, 10, 0),
+                LocalDateTime.of(2020, 6, 16, 20, 0), new BigDecimal("9.99"), "EUR", 0, 1L);
+        jdbcTemplate.update("DELETE FROM price_segments WHERE product_id = 35455");
+        priceSegmentTable.insert(List.of(PriceTimeline.resolve(PriceKey.of(orphan), List.of(orphan))));
+
+        // When
+        RebuildReport report = priceIndexRebuilder.rebuild("segments");
+
+        // Then
+        assertThat(priceSegmentTable.findTimeline(KEY)).isEqualTo(expected);
+        assertThat(priceSegmentTable.findTimeline(PriceKey.of(orphan)).segments()).isEmpty();
+        assertThat(report.prices()).isEqualTo(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class));
+        assertThat(report.segments()).isEqualTo(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM price_segments", Long.class));
+        assertThat(priceIndexRebuilder.lastReport("segments")).contains(report);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a range only once the writers of its keys have committed")
+    void shouldRebuildAfterConcurrentWriter() throws Exception {
+        // Given: a writer of the key that has re-resolved it but not committed yet
+        CountDownLatch writerResolved = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Price> writer = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Price price = managePricesUseCase.createPrice(new Price(35455, 1, 5,
+                    LocalDateTime.of(2020, 6, 14, 10, 0), LocalDateTime.of(2020, 6, 14, 11, 0),
+                    new BigDecimal("5.00"), "EUR", 5));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writerResolved.countDown();
+                    try {
+                        rebuilt.await(500, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            return price;
+        }));
+        assertThat(writerResolved.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        priceIndexRebuilder.rebuild("segments");
+        rebuilt.countDown();
+        Price created = writer.get(5, TimeUnit.SECONDS);
+
+        // Then: the rebuild waited for the writer and resolved its price too
+        try {
+            assertThat(priceSegmentTable.findTimeline(KEY))
+                    .isEqualTo(PriceTimeline.resolve(KEY, priceRepository.findPrices(KEY)));
+            assertThat(priceSegmentTable.findTimeline(KEY).segments())
+                    .extracting(segment -> segment.price().id())
+                    .contains(created.id());
+        } finally {
+            managePricesUseCase.deletePrice(created.id());
+        }
+    }
+
+    private static Optional<Integer> priceList(SegmentPriceRepository repository, LocalDateTime date) {
+        return repository.findApplicablePrice(new PriceQuery(date, 35455, 1)).map(Price::priceList);
+    }
+}
@@ -0,0 +1,168 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.snapshot;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.domain.model.PriceTimeline;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ParallelPriceResolver;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.PartitionSink;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.rebuild.ResolveStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests of the snapshot distribution with several instances sharing a temporary directory:
+ * one publisher, whose resolver is stubbed instead of reading the database, and two watching instances.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceSnapshotWatcher Tests")
+class PriceSnapshotWatcherTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @TempDir
+    private Path directory;
+
+    @TempDir
+    private Path staging;
+
+    @Mock
+    private ParallelPriceResolver resolver;
+
+    @Mock
+    private PriceRepository delegate;
+
+    private final AtomicReference<List<Price>> prices = new AtomicReference<>();
+    private final List<PriceSnapshotWatcher> watchers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (PriceSnapshotWatcher watcher : watchers) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should swap every watching instance to each newly published snapshot")
+    void shouldReloadPublishedSnapshotsOnEveryInstance() throws Exception {
+        // Given
+        stubResolver();
+        PriceSnapshotPublisher publisher = new PriceSnapshotPublisher(resolver, directory, 2, Clock.systemUTC());
+        SnapshotPriceRepository first = instance();
+        SnapshotPriceRepository second = instance();
+        prices.set(List.of(price("35.50", 0), price("25.45", 1)));
+
+        // When
+        PublishReport report = publisher.publish();
+
+        // Then
+        assertThat(report.version()).isEqualTo(1);
+        assertThat(report.keys()).isEqualTo(1);
+        awaitVersion(1, first, second);
+        assertThat(first.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("25.45"));
+        assertThat(second.findApplicablePrice(new PriceQuery(DATE, 99999, 1))).isEmpty();
+        verify(delegate, never()).findApplicablePrice(any());
+
+        // When: a new version replaces it, and the oldest files beyond retention are deleted
+        prices.set(List.of(price("30.00", 0)));
+        publisher.publish();
+        publisher.publish();
+
+        // Then
+        awaitVersion(3, first, second);
+        assertThat(second.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("30.00"));
+        assertThat(PriceSnapshotFormat.list(directory)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupted snapshot and keep answering from the previous one")
+    void shouldRejectCorruptedSnapshot() throws Exception {
+        // Given
+        stubResolver();
+        PriceSnapshotPublisher publisher = new PriceSnapshotPublisher(resolver, directory, 5, Clock.systemUTC());
+        prices.set(List.of(price("35.50", 0)));
+        publisher.publish();
+        SnapshotPriceRepository repository = instance();
+        assertThat(repository.version()).isEqualTo(1);
+
+        // When: version 2 gets a flipped byte before it is renamed into the directory
+        new PriceSnapshotPublisher(resolver, staging, 5, Clock.systemUTC()).publish();
+        new PriceSnapshotPublisher(resolver, staging, 5, Clock.systemUTC()).publish();
+        Path corrupted = staging.resolve(PriceSnapshotFormat.fileName(2));
+        byte[] bytes = Files.readAllBytes(corrupted);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(corrupted, bytes);
+        assertThatThrownBy(() -> PriceSnapshotFormat.read(corrupted)).isInstanceOf(InvalidSnapshotException.class);
+        Files.move(corrupted, directory.resolve(corrupted.getFileName()));
+
+        // Then
+        await(() -> watchers.get(0).lastRejection() != null);
+        assertThat(watchers.get(0).lastRejection()).startsWith(PriceSnapshotFormat.fileName(2));
+        assertThat(repository.version()).isEqualTo(1);
+        assertThat(repository.findApplicablePrice(new PriceQuery(DATE, 35455, 1)))
+                .map(Price::price).contains(new BigDecimal("35.50"));
+    }
+
+    private void stubResolver() {
+        when(resolver.resolve(any())).thenAnswer(invocation -> {
+            PartitionSink sink = invocation.getArgument(0);
+            sink.accept(List.of(PriceTimeline.resolve(KEY, prices.get())));
+            return ResolveStats.EMPTY;
+        });
+    }
+
+    private SnapshotPriceRepository instance() throws IOException {
+        SnapshotPriceRepository repository = new SnapshotPriceRepository(delegate, Clock.systemUTC(),
+                new SimpleMeterRegistry());
+        PriceSnapshotWatcher watcher = new PriceSnapshotWatcher(directory, repository, new SimpleMeterRegistry());
+        watcher.start();
+        watchers.add(watcher);
+        return repository;
+    }
+
+    private static void awaitVersion(long version, SnapshotPriceRepository... repositories) throws InterruptedException {
+        for (SnapshotPriceRepository repository : repositories) {
+            await(() -> repository.version() == version);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static Price price(String amount, int priority) {
+        return new Price(35455, 1, 1 + priority,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal(amount), "EUR", priority, 10L + priority);
+    }
+}
@@ -0,0 +1,79 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for Bulkhead.
+ */
+@DisplayName("Bulkhead Unit Tests")
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should admit up to the limit, queue up to the queue size and reject the rest at once")
+    void shouldAdmitQueueAndReject() throws Exception {
+        // Given - one slot, one place in the queue
+        Bulkhead bulkhead = bulkhead(WorkloadClass.BULK, 1, 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(bulkhead::acquire);
+        awaitQueued(bulkhead, 1);
+
+        // When / Then
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("bulk workload is saturated (queue full)");
+        bulkhead.release();
+        queued.get(5, TimeUnit.SECONDS);
+
+        assertThat(bulkhead.active()).isEqualTo(1);
+        assertThat(bulkhead.queued()).isZero();
+        assertThat(meterRegistry.get("pricing.bulkhead.calls").tags("class", "bulk", "result", "accepted")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("pricing.bulkhead.calls").tags("class", "bulk", "result", "rejected")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pricing.bulkhead.active").tag("class", "bulk").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject requests that wait too long, and run handed-off work with the class bound")
+    void shouldTimeOutAndBindClassOnExecutor() throws Exception {
+        // Given
+        Bulkhead bulkhead = bulkhead(WorkloadClass.BACKGROUND, 1, 4, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        // When
+        CompletableFuture<WorkloadClass> handedOff = new CompletableFuture<>();
+        bulkhead.executor().execute(() -> handedOff.complete(WorkloadClass.current()));
+
+        // Then
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("no slot within 50 ms");
+        assertThat(meterRegistry.get("pricing.bulkhead.calls").tags("class", "background", "result", "timeout")
+                .counter().count()).isEqualTo(1);
+        assertThat(handedOff.get(5, TimeUnit.SECONDS)).isEqualTo(WorkloadClass.BACKGROUND);
+        assertThat(WorkloadClass.current()).isEqualTo(WorkloadClass.INTERACTIVE);
+        bulkhead.close();
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.queued() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private Bulkhead bulkhead(WorkloadClass workloadClass, int maxConcurrent, int maxQueue, Duration maxWait) {
+        return new Bulkhead(workloadClass, new BulkheadProperties.Limits(maxConcurrent, maxQueue, maxWait, 1,
+                Duration.ofSeconds(1)), Duration.ofSeconds(1), meterRegistry);
+    }
+}
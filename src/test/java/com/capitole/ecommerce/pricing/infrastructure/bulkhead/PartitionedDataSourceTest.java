@@ -0,0 +1,106 @@
+package com.capitole.ecommerce.pricing.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PartitionedDataSource.
+ * The bulk partition holds a single connection, with a short timeout, so that a second bulk connection finds it
+ * exhausted.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionedDataSource Unit Tests")
+class PartitionedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should cap the connections of a class without touching the other classes")
+    void shouldIsolatePartitions() throws Exception {
+        // Given
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setBulk(new BulkheadProperties.Limits(1, 0, Duration.ZERO, 1, Duration.ofMillis(50)));
+        PartitionedDataSource dataSource = new PartitionedDataSource(target, properties, meterRegistry);
+
+        try (WorkloadClass.Scope scope = WorkloadClass.BULK.bind();
+             Connection held = dataSource.getConnection()) {
+            // When - a second bulk connection on the same thread, another bulk thread, then an interactive one
+            CompletableFuture<Connection> otherBulk = CompletableFuture.supplyAsync(() -> connect(dataSource,
+                    WorkloadClass.BULK));
+            Connection interactive = connect(dataSource, WorkloadClass.INTERACTIVE);
+
+            // Then
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessage("Connection partition of the bulk workload exhausted: 1 connections in use for 50 ms");
+            assertThatThrownBy(() -> otherBulk.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+            assertThat(held).isNotNull();
+            assertThat(dataSource.activeConnections(WorkloadClass.BULK)).isEqualTo(1);
+            assertThat(dataSource.activeConnections(WorkloadClass.INTERACTIVE)).isEqualTo(1);
+            assertThat(meterRegistry.get("pricing.bulkhead.connections.active").tag("class", "bulk").gauge().value())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("pricing.bulkhead.connections.timeouts").tag("class", "bulk").counter()
+                    .count()).isEqualTo(2);
+            interactive.close();
+        }
+
+        // Closing the connection gives it back to the partition
+        assertThat(dataSource.activeConnections(WorkloadClass.BULK)).isZero();
+        assertThat(CompletableFuture.supplyAsync(() -> connect(dataSource, WorkloadClass.BULK))
+                .get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should give the place back when the pool fails to open a connection, and close it only once")
+    void shouldReleaseOnFailureAndCloseOnce() throws Exception {
+        // Given
+        Connection connection = mock(Connection.class);
+        when(target.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool exhausted"))
+                .thenReturn(connection);
+        PartitionedDataSource dataSource = new PartitionedDataSource(target, new BulkheadProperties(), meterRegistry);
+
+        // When
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        Connection opened = dataSource.getConnection();
+        opened.close();
+        opened.close();
+
+        // Then
+        verify(connection).close();
+        assertThat(dataSource.activeConnections(WorkloadClass.INTERACTIVE)).isZero();
+    }
+
+    private static Connection connect(DataSource dataSource, WorkloadClass workloadClass) {
+        try (WorkloadClass.Scope scope = workloadClass.bind()) {
+            return dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
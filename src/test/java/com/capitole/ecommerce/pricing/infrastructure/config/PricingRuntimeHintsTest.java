@@ -0,0 +1,48 @@
+package com.capitole.ecommerce.pricing.infrastructure.config;
+
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.ErrorResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.persistence.entity.PriceEntity;
+import db.migration.V4__Resolve_price_segments;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the runtime hints used by AOT processing and native images.
+ */
+@DisplayName("PricingRuntimeHints Unit Tests")
+class PricingRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("Should register Jackson binding hints for the REST DTOs")
+    void shouldRegisterDtoBindingHints() {
+        new PricingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(PriceResponse.class, "getPrice")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class, "getMessage")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register reflection hints for the entity, Java migrations and domain records")
+    void shouldRegisterEntityAndRecordHints() {
+        new PricingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(PriceEntity.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Price.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PriceQuery.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(V4__Resolve_price_segments.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+}
@@ -0,0 +1,132 @@
+package com.capitole.ecommerce.pricing.infrastructure.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the read/write DataSource split.
+ * Uses separate in-memory H2 databases standing in for the primary and its replicas.
+ */
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = h2("routing-primary");
+    private final FailingDataSource replica1 = new FailingDataSource(h2("routing-replica-1"));
+    private final FailingDataSource replica2 = new FailingDataSource(h2("routing-replica-2"));
+
+    private final ReplicaDataSourcePool pool = new ReplicaDataSourcePool(
+            replicas(replica1, replica2), 2, Duration.ofSeconds(1));
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, pool);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should route connections outside read-only transactions to the primary")
+    void shouldRouteWritesToPrimary() throws SQLException {
+        assertThat(databaseOf(routing)).isEqualTo("routing-primary");
+    }
+
+    @Test
+    @DisplayName("Should balance read-only transactions across replicas")
+    void shouldBalanceReadsAcrossReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            served.add(databaseOf(routing));
+        }
+
+        assertThat(served).containsExactly(
+                "routing-replica-1", "routing-replica-2", "routing-replica-1", "routing-replica-2");
+    }
+
+    @Test
+    @DisplayName("Should eject a failing replica after the failure threshold")
+    void shouldEjectFailingReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica1.failing = true;
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(databaseOf(routing)).isEqualTo("routing-replica-2");
+        }
+
+        assertThat(pool.status()).containsEntry("replica-1", false).containsEntry("replica-2", true);
+    }
+
+    @Test
+    @DisplayName("Should re-admit an ejected replica once it passes a health check")
+    void shouldReadmitRecoveredReplica() {
+        replica1.failing = true;
+        pool.checkHealth();
+        pool.checkHealth();
+        assertThat(pool.status()).containsEntry("replica-1", false);
+
+        replica1.failing = false;
+        pool.checkHealth();
+
+        assertThat(pool.status()).containsEntry("replica-1", true);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when no replica is available")
+    void shouldFallBackToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica1.failing = true;
+        replica2.failing = true;
+
+        assertThat(databaseOf(routing)).isEqualTo("routing-primary");
+    }
+
+    private static String databaseOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog().toLowerCase();
+        }
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static Map<String, DataSource> replicas(DataSource... dataSources) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < dataSources.length; i++) {
+            replicas.put("replica-" + (i + 1), dataSources[i]);
+        }
+        return replicas;
+    }
+
+    private static final class FailingDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+
+        private FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Replica unavailable");
+            }
+            return super.getConnection();
+        }
+    }
+}
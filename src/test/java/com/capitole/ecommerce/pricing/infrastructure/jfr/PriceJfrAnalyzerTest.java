@@ -0,0 +1,88 @@
+package com.capitole.ecommerce.pricing.infrastructure.jfr;
+
+import com.capitole.ecommerce.pricing.application.port.out.PriceRepository;
+import com.capitole.ecommerce.pricing.application.service.PriceService;
+import com.capitole.ecommerce.pricing.domain.model.Deadline;
+import com.capitole.ecommerce.pricing.domain.model.Price;
+import com.capitole.ecommerce.pricing.domain.model.PriceKey;
+import com.capitole.ecommerce.pricing.domain.model.PriceQuery;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup.TimelinePriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PriceJfrAnalyzer.
+ * Lookups run through the service and the timeline layer under a recording configured by the bundled
+ * profile settings; the delegate is mocked, so only the service and timeline stages are recorded.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceJfrAnalyzer Unit Tests")
+class PriceJfrAnalyzerTest {
+
+    private static final PriceKey KEY = new PriceKey(35455, 1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    @Mock
+    private PriceRepository delegate;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should break down recorded lookups by stage and path, with self time")
+    void shouldBreakDownLookupsByStage() throws Exception {
+        // Given
+        when(delegate.findPrices(KEY, Deadline.NONE)).thenReturn(List.of(new Price(35455, 1, 1,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal("35.50"), "EUR", 0, 1L)));
+        PriceService service = new PriceService(
+                new TimelinePriceRepository(delegate, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        Path file = directory.resolve("pricing.jfr");
+
+        // When
+        try (Reader settings = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/pricing-profile.jfc"), StandardCharsets.UTF_8);
+             Recording recording = new Recording(Configuration.create(settings))) {
+            recording.start();
+            service.getPrice(new PriceQuery(DATE, 35455, 1));
+            service.getPrice(new PriceQuery(DATE, 35455, 1));
+            service.getPrice(new PriceQuery(DATE.plusHours(1), 35455, 1));
+            recording.stop();
+            recording.dump(file);
+        }
+        Map<String, PriceJfrAnalyzer.StageStats> stats = PriceJfrAnalyzer.analyze(file);
+
+        // Then
+        assertThat(stats).containsOnlyKeys("service",
+                "repository timeline.findApplicablePrice load", "repository timeline.findApplicablePrice cache");
+        assertThat(stats.get("service").count()).isEqualTo(3);
+        assertThat(stats.get("repository timeline.findApplicablePrice load").count()).isEqualTo(1);
+        assertThat(stats.get("repository timeline.findApplicablePrice cache").count()).isEqualTo(2);
+        assertThat(stats.values()).allSatisfy(stage -> {
+            assertThat(stage.meanSelfNanos()).isBetween(0.0, stage.meanNanos());
+            assertThat(stage.p50Nanos()).isLessThanOrEqualTo(stage.p99Nanos()).isLessThanOrEqualTo(stage.maxNanos());
+        });
+        // The service spends part of its time in the nested timeline layer
+        assertThat(stats.get("service").meanSelfNanos()).isLessThan(stats.get("service").meanNanos());
+    }
+}
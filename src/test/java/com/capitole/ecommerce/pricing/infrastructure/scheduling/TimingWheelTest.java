@@ -0,0 +1,109 @@
+package com.capitole.ecommerce.pricing.infrastructure.scheduling;
+
+import com.capitole.ecommerce.pricing.application.port.out.BoundaryScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TimingWheel.
+ * Uses a small wheel with short ticks so that tasks spanning several rotations run within the test.
+ */
+@DisplayName("TimingWheel Unit Tests")
+class TimingWheelTest {
+
+    private final Clock clock = Clock.systemUTC();
+    private final TimingWheel wheel = new TimingWheel(clock, Duration.ofMillis(5), 8, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    @DisplayName("Should run tasks no earlier than their instant, across several rotations")
+    void shouldRunTasksWhenDue() throws InterruptedException {
+        // Given
+        CountDownLatch ran = new CountDownLatch(1);
+        Instant due = clock.instant().plusMillis(120);
+        long[] ranAt = new long[1];
+
+        // When
+        wheel.schedule(due, () -> {
+            ranAt[0] = clock.millis();
+            ran.countDown();
+        });
+
+        // Then
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ranAt[0]).isGreaterThanOrEqualTo(due.toEpochMilli());
+        assertThat(wheel.pendingTasks()).isZero();
+        assertThat(wheel.expiredTasks()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run tasks due in the past on the next tick")
+    void shouldRunPastTasksImmediately() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        wheel.schedule(clock.instant().minusSeconds(60), ran::countDown);
+
+        assertThat(ran.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not run cancelled tasks")
+    void shouldNotRunCancelledTasks() throws InterruptedException {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch sentinel = new CountDownLatch(1);
+        BoundaryScheduler.Scheduled cancelled = wheel.schedule(clock.instant().plusMillis(50), runs::incrementAndGet);
+
+        // When
+        cancelled.cancel();
+        wheel.schedule(clock.instant().plusMillis(100), sentinel::countDown);
+
+        // Then
+        assertThat(sentinel.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(wheel.pendingTasks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold many pending tasks and run each exactly once")
+    void shouldRunManyTasksOnce() throws InterruptedException {
+        // Given
+        int tasks = 10_000;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+        Instant now = clock.instant();
+
+        // When
+        for (int i = 0; i < tasks; i++) {
+            wheel.schedule(now.plusMillis(i % 200), () -> {
+                runs.incrementAndGet();
+                done.countDown();
+            });
+        }
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(tasks);
+    }
+
+    @Test
+    @DisplayName("Should round the wheel size up to a power of two")
+    void shouldRoundWheelSize() {
+        assertThat(new TimingWheel(clock, Duration.ofMillis(10), 500, Runnable::run).wheelSize()).isEqualTo(512);
+        assertThat(new TimingWheel(clock, Duration.ofMillis(10), 1, Runnable::run).wheelSize()).isEqualTo(1);
+    }
+}
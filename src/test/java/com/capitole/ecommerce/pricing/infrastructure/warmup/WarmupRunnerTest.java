@@ -0,0 +1,119 @@
+package com.capitole.ecommerce.pricing.infrastructure.warmup;
+
+import com.capitole.ecommerce.pricing.domain.exception.PriceNotFoundException;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.PriceController;
+import com.capitole.ecommerce.pricing.infrastructure.adapter.in.rest.dto.PriceResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WarmupRunner.
+ * The controller is mocked so that rounds are fast and the stabilization logic is exercised.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarmupRunner Unit Tests")
+class WarmupRunnerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    @Mock
+    private PriceController priceController;
+
+    @Mock
+    private WarmupParticipant participant;
+
+    private final WarmupProperties properties = new WarmupProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setIterationsPerRound(5);
+        properties.setMinRounds(2);
+        properties.setMaxRounds(200);
+        properties.setStabilityTolerance(10.0);
+        properties.setQueries(List.of(
+                new WarmupProperties.Query(DATE, 35455, 1),
+                new WarmupProperties.Query(DATE, 99999, 1)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should replay queries, preload participants and report what it touched")
+    void shouldReplayQueriesAndReport() {
+        when(participant.warmupName()).thenReturn("test-cache");
+        when(priceController.getPrice(DATE, 35455, 1)).thenReturn(ResponseEntity.ok(response()));
+        when(priceController.getPrice(DATE, 99999, 1)).thenThrow(new PriceNotFoundException());
+
+        WarmupRunner runner = new WarmupRunner(properties, priceController, new ObjectMapper().findAndRegisterModules(),
+                List.of(participant));
+        runner.run(new DefaultApplicationArguments());
+
+        WarmupReport report = runner.getReport();
+        assertThat(report.status()).isEqualTo(WarmupReport.Status.COMPLETED);
+        assertThat(report.isFinished()).isTrue();
+        assertThat(report.stabilized()).isTrue();
+        assertThat(report.rounds()).isEqualTo(3);
+        assertThat(report.invocations()).isEqualTo(30);
+        assertThat(report.preloaded()).containsExactly("test-cache");
+        assertThat(report.queries()).hasSize(2);
+        assertThat(report.queries().values())
+                .anySatisfy(outcome -> assertThat(outcome).containsEntry(WarmupRunner.FOUND, 15L))
+                .anySatisfy(outcome -> assertThat(outcome).containsEntry(WarmupRunner.NOT_FOUND, 15L));
+        verify(participant).preload();
+    }
+
+    @Test
+    @DisplayName("Should stop at max rounds when latency never stabilizes")
+    void shouldStopAtMaxRounds() {
+        properties.setStabilityTolerance(-1);
+        properties.setMaxRounds(4);
+        when(priceController.getPrice(any(), any(), any())).thenReturn(ResponseEntity.ok(response()));
+
+        WarmupRunner runner = new WarmupRunner(properties, priceController, new ObjectMapper().findAndRegisterModules(),
+                List.of());
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(runner.getReport().rounds()).isEqualTo(4);
+        assertThat(runner.getReport().stabilized()).isFalse();
+        assertThat(runner.getReport().roundMedianMicros()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should report disabled and replay nothing when warm-up is off")
+    void shouldSkipWhenDisabled() {
+        properties.setEnabled(false);
+
+        WarmupRunner runner = new WarmupRunner(properties, priceController, new ObjectMapper(), List.of(participant));
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(runner.getReport().status()).isEqualTo(WarmupReport.Status.DISABLED);
+        assertThat(runner.getReport().isFinished()).isTrue();
+        verifyNoInteractions(priceController, participant);
+    }
+
+    private static PriceResponse response() {
+        return PriceResponse.builder()
+                .productId(35455)
+                .brandId(1)
+                .priceList(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.capitole.ecommerce.pricing.infrastructure.adapter.out.lookup;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Boundary search on the JDK incubator Vector API. Narrows the window with branchless halving steps
+ * while it spans more than a few vectors, then counts the boundaries at or before the key in the remaining window,
+ * a whole vector (4 longs with AVX2, 8 with AVX-512) per compare. Small boundary arrays, the common case for the
+ * segments of one product, skip the halving steps altogether.
+ * <p>
+ * Only referenced by name from {@link BoundarySearch#best()}, so that nothing links it when the
+ * {@code jdk.incubator.vector} module is missing.
+ */
+final class VectorBoundarySearch implements BoundarySearch {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Windows up to this length are counted rather than halved further.
+     */
+    private static final int WINDOW = 4 * LANES;
+
+    @Override
+    public void lastAtOrBefore(long[] boundaries, long[] keys, int[] indexes) {
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = lastAtOrBefore(boundaries, keys[i]);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    private static int lastAtOrBefore(long[] boundaries, long key) {
+        int base = 0;
+        int length = boundaries.length;
+        // Boundaries before the window are at or before the key, boundaries after it past the key
+        while (length > WINDOW) {
+            int half = length >>> 1;
+            base = boundaries[base + half] <= key ? base + half : base;
+            length -= half;
+        }
+
+        LongVector keys = LongVector.broadcast(SPECIES, key);
+        int end = base + length;
+        int count = 0;
+        int i = base;
+        for (int bound = base + SPECIES.loopBound(length); i < bound; i += LANES) {
+            count += LongVector.fromArray(SPECIES, boundaries, i).compare(VectorOperators.LE, keys).trueCount();
+        }
+        for (; i < end; i++) {
+            count += boundaries[i] <= key ? 1 : 0;
+        }
+        return base + count - 1;
+    }
+}